@@ -2,8 +2,10 @@ package absyn;
 
 import java.io.FileWriter;
 import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import semantical.TypeChecker;
+import symbol.Symbol;
 
 /**
  * A node of abstract syntax.
@@ -31,7 +33,7 @@ public abstract class Absyn {
 	 * field.
 	 */
 
-	private static int counter = 0;
+	private final static AtomicInteger counter = new AtomicInteger();
 
 	/**
 	 * A type error that occurred in this node during type-checking.
@@ -51,7 +53,7 @@ public abstract class Absyn {
 		this.pos = pos;
 
 		// we assign a unique identifier to this node of abstract syntax
-		this.identifier = counter++;
+		this.identifier = counter.getAndIncrement();
 
 		// no type-checking error at the beginning
 		this.typeError = null;
@@ -102,7 +104,7 @@ public abstract class Absyn {
 	 * @return the string representing this node in the dot file
 	 */
 
-	protected String toDot(String symbol, FileWriter where) throws IOException {
+	protected String toDot(Symbol symbol, FileWriter where) throws IOException {
 		String id = "symbol_" + symbol.toString();
 		where.write(id + " [label = \"" + symbol.toString() + "\" fontname = \"Times-Italic\" shape = box]\n");
 
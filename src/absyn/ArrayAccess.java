@@ -108,6 +108,10 @@ public class ArrayAccess extends Lvalue {
 		// we type-check the index and require it to have integer type
 		index.mustBeInt(checker);
 
+		// arrays are mutable, hence their elements cannot be cached
+		if (checker.isPure())
+			error("memo methods cannot access arrays");
+
 		// the array expression must have array type
 		if (!(arrayType instanceof ArrayType))
 			return error("array type required");
@@ -14,8 +14,6 @@ public class Assert extends Command {
 	
 	private String failureMsg;
 	
-	private final static ClassType STRING_TYPE = ClassType.mk(runTime.String.class.getSimpleName());
-
 	public Assert(int pos, Expression asserted) {
 		super(pos);
 		
@@ -56,16 +54,23 @@ public class Assert extends Command {
 		// else branch. This is just an optimisation!
 		// Try removing this line: everything will work, but the code will be larger
 		continuation.doNotMerge();
+
+		// the type of the message returned by the test. It is looked up here since
+		// assertions might be parsed outside the thread that builds the class types
+		ClassType stringType = ClassType.mk(runTime.String.class.getSimpleName());
 		
 		Block success = new NEWSTRING("").followedBy(
-							new Block(new RETURN(STRING_TYPE)));
+							new Block(new RETURN(stringType)));
 		
 		success.linkTo(continuation);
 		
 		Block failure = new NEWSTRING(failureMsg).followedBy(
-								new Block(new RETURN(STRING_TYPE)));
+								new Block(new RETURN(stringType)));
 		
 		failure.linkTo(continuation);
+
+		// assertions are expected to hold
+		failure.markRare();
 		
 		return asserted.translateAsTest(success, failure);
 	}
@@ -6,7 +6,9 @@ import java.io.IOException;
 import java.util.HashSet;
 import java.util.Set;
 
+import symbol.Symbol;
 import translation.Program;
+import translation.RapidTypeAnalysis;
 import types.ClassMemberSignature;
 import types.ClassType;
 import types.MethodSignature;
@@ -24,13 +26,13 @@ public class ClassDefinition extends Absyn {
      * The name of the class.
      */
 
-    private final String name;
+    private final Symbol name;
 
     /**
      * The name of the superclass.
      */
 
-    private final String superclassName;
+    private final Symbol superclassName;
 
     /**
      * The sequence of fields or methods declarations. This might be {@code null}.
@@ -56,7 +58,7 @@ public class ClassDefinition extends Absyn {
      *                     This might be {@code null}
      */
 
-    public ClassDefinition(int pos, String name, String superclassName, ClassMemberDeclaration declarations) {
+    public ClassDefinition(int pos, Symbol name, Symbol superclassName, ClassMemberDeclaration declarations) {
     	super(pos);
 
     	this.name = name;
@@ -70,7 +72,7 @@ public class ClassDefinition extends Absyn {
      * @return the name of the class defined with this abstract syntax
      */
 
-    public String getName() {
+    public Symbol getName() {
     	return name;
     }
 
@@ -82,7 +84,7 @@ public class ClassDefinition extends Absyn {
      *         defined with this abstract syntax
      */
 
-    public String getSuperclassName() {
+    public Symbol getSuperclassName() {
     	return superclassName;
     }
 
@@ -198,11 +200,15 @@ public class ClassDefinition extends Absyn {
     	Set<ClassMemberSignature> done = new HashSet<>();
 
     	// we look up for the main method, if any
-    	MethodSignature main = staticType.methodLookup("main", TypeList.EMPTY);
+    	MethodSignature main = staticType.methodLookup(MethodSignature.MAIN, TypeList.EMPTY);
 
-    	// we translate everything that is reachable from the main method of this class (if any)
+    	// we translate everything that is reachable from the main method of this class (if any).
+    	// In whole-program mode, only classes actually instantiated are considered as receivers of virtual calls
     	if (main != null)
-    		main.getAbstractSyntax().translate(done);
+    		if (RapidTypeAnalysis.isEnabled())
+    			new RapidTypeAnalysis(main, done);
+    		else
+    			main.getAbstractSyntax().translate(done);
 
     	return new Program(done, main);
     }
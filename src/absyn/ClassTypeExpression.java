@@ -2,6 +2,7 @@ package absyn;
 
 import java.io.FileWriter;
 
+import symbol.Symbol;
 import types.ClassType;
 import types.Type;
 
@@ -17,7 +18,7 @@ public class ClassTypeExpression extends TypeExpression {
 	 * The name (identifier) of the class.
 	 */
 
-	private final String name;
+	private final Symbol name;
 
 	/**
 	 * Constructs the abstract syntax of a Kitten class type.
@@ -27,7 +28,7 @@ public class ClassTypeExpression extends TypeExpression {
 	 * @param name the name (identifier) of the class
 	 */
 
-	public ClassTypeExpression(int pos, String name) {
+	public ClassTypeExpression(int pos, Symbol name) {
 		super(pos);
 
 		this.name = name;
@@ -39,7 +40,7 @@ public class ClassTypeExpression extends TypeExpression {
 	 * @return the name of the class
 	 */
 
-	public String getName() {
+	public Symbol getName() {
 		return name;
 	}
 
@@ -53,7 +54,7 @@ public class ClassTypeExpression extends TypeExpression {
 
 	@Override
 	protected Type typeCheckAux() {
-		ClassType result = ClassType.mk(name);
+		ClassType result = ClassType.mk(name.toString());
 
 		result.typeCheck();
 
@@ -70,7 +71,7 @@ public class ClassTypeExpression extends TypeExpression {
 
 	@Override
 	protected Type toTypeAux() {
-		return ClassType.mk(name);
+		return ClassType.mk(name.toString());
 	}
 
 	/**
@@ -117,15 +117,7 @@ public abstract class CodeDeclaration extends ClassMemberDeclaration {
 
     public void translate(Set<ClassMemberSignature> done) {
     	if (done.add(sig)) {
-    		// we translate the body of the constructor or
-    		// method with a block containing RETURN as continuation. This way,
-    		// all methods returning void and
-    		// with some missing return command are correctly
-    		// terminated anyway. If the method is not void, this
-    		// precaution is useless since we know that every execution path
-    		// ends with a return command, as guaranteed by
-    		// checkForDeadCode() (see typeCheck() in MethodDeclaration.java)
-    		sig.setCode(getBody().translate(new Block(new RETURN(VoidType.INSTANCE))));
+    		translateBody();
 
     		// we translate all methods and constructors that are referenced
     		// from the code we have generated
@@ -133,6 +125,23 @@ public abstract class CodeDeclaration extends ClassMemberDeclaration {
     	}
     }
 
+    /**
+     * Translates the body of this constructor or method into intermediate Kitten code,
+     * without translating the class members that it references.
+     */
+
+    public void translateBody() {
+    	// we translate the body of the constructor or
+    	// method with a block containing RETURN as continuation. This way,
+    	// all methods returning void and
+    	// with some missing return command are correctly
+    	// terminated anyway. If the method is not void, this
+    	// precaution is useless since we know that every execution path
+    	// ends with a return command, as guaranteed by
+    	// checkForDeadCode() (see typeCheck() in MethodDeclaration.java)
+    	sig.setCode(getBody().translate(new Block(new RETURN(VoidType.INSTANCE))));
+    }
+
     /**
      * Auxiliary method that translates into Kitten bytecode all class members that are
      * referenced from the given block and the blocks reachable from it.
@@ -3,6 +3,7 @@ package absyn;
 import java.io.FileWriter;
 
 import semantical.TypeChecker;
+import symbol.Symbol;
 import translation.Block;
 import types.ClassType;
 import types.FieldSignature;
@@ -32,7 +33,7 @@ public class FieldAccess extends Lvalue {
      * on the right of the dot in the {@code receiver.f} notation.
      */
 
-    private final String name;
+    private final Symbol name;
 
     /**
      * The signature of the field which is accessed. This is {@code null} if
@@ -53,7 +54,7 @@ public class FieldAccess extends Lvalue {
      *             {@code f} on the right of the dot in the {@code receiver.f} notation
      */
 
-    public FieldAccess(int pos, Expression receiver, String name) {
+    public FieldAccess(int pos, Expression receiver, Symbol name) {
     	super(pos);
 
     	this.receiver = receiver;
@@ -79,7 +80,7 @@ public class FieldAccess extends Lvalue {
      * @return the name of the field which is accessed
      */
 
-    public String getName() {
+    public Symbol getName() {
     	return name;
     }
 
@@ -134,6 +135,10 @@ public class FieldAccess extends Lvalue {
     protected Type typeCheckAux(TypeChecker checker) {
     	Type receiverType = receiver.typeCheck(checker);
 
+    	// fields are mutable, hence their value cannot be cached
+    	if (checker.isPure())
+    		error("memo methods cannot access fields");
+
     	// the receiver must have class type!
     	if (!(receiverType instanceof ClassType))
     		return error("class type required");
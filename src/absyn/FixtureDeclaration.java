@@ -4,6 +4,7 @@ import java.io.FileWriter;
 import java.io.IOException;
 
 import semantical.TypeChecker;
+import symbol.Symbol;
 import types.ClassType;
 import types.FixtureSignature;
 import types.VoidType;
@@ -36,7 +37,7 @@ public class FixtureDeclaration extends CodeDeclaration {
 		TypeChecker checker;
 		
 		checker = new TypeChecker(VoidType.INSTANCE , currentClass.getErrorMsg());
-		checker = checker.putVar("this", currentClass);
+		checker = checker.putVar(Symbol.THIS, currentClass);
 
 		// we type-check the body of the method in the resulting type-checker
 		getBody().typeCheck(checker);
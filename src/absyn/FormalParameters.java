@@ -4,6 +4,7 @@ import java.io.FileWriter;
 import java.io.IOException;
 
 import semantical.TypeChecker;
+import symbol.Symbol;
 import types.TypeList;
 
 /**
@@ -24,7 +25,7 @@ public class FormalParameters extends Absyn {
 	 * The name of the first parameter.
 	 */
 
-	private final String name;
+	private final Symbol name;
 
 	/**
 	 * The next parameters, if any.
@@ -43,7 +44,7 @@ public class FormalParameters extends Absyn {
 	 * @param next the declaration of the next parameters, if any
 	 */
 
-	public FormalParameters(int pos, TypeExpression type, String name, FormalParameters next) {
+	public FormalParameters(int pos, TypeExpression type, Symbol name, FormalParameters next) {
 		super(pos);
 
 		this.type = type;
@@ -67,7 +68,7 @@ public class FormalParameters extends Absyn {
 	 * @return the name of the first parameter
 	 */
 
-	public String getName() {
+	public Symbol getName() {
 		return name;
 	}
 
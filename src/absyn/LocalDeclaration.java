@@ -3,6 +3,7 @@ package absyn;
 import java.io.FileWriter;
 
 import semantical.TypeChecker;
+import symbol.Symbol;
 import translation.Block;
 import types.Type;
 import bytecode.STORE;
@@ -25,7 +26,7 @@ public class LocalDeclaration extends Command {
 	 * The name of the variable which is declared.
 	 */
 
-	private final String name;
+	private final Symbol name;
 
 	/**
 	 * The abstract syntax of the initialising expression
@@ -45,7 +46,7 @@ public class LocalDeclaration extends Command {
 	 *                    for the variable which is declared
 	 */
 
-	public LocalDeclaration(int pos, TypeExpression type, String name,
+	public LocalDeclaration(int pos, TypeExpression type, Symbol name,
 			Expression initialiser) {
 		super(pos);
 
@@ -72,7 +73,7 @@ public class LocalDeclaration extends Command {
 	 * @return the name of the variable which is declared
 	 */
 
-	public String getName() {
+	public Symbol getName() {
 		return name;
 	}
 
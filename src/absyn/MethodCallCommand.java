@@ -4,6 +4,7 @@ import java.io.FileWriter;
 import java.util.Set;
 
 import semantical.TypeChecker;
+import symbol.Symbol;
 import translation.Block;
 import types.ClassType;
 import types.MethodSignature;
@@ -33,7 +34,7 @@ public class MethodCallCommand extends Command {
 	 * The name of the method which is called.
 	 */
 
-	private final String name;
+	private final Symbol name;
 
 	/**
 	 * The abstract syntax of the actual parameters of the call.
@@ -62,7 +63,7 @@ public class MethodCallCommand extends Command {
 	 * @param actuals the abstract syntax of the actual parameters of the call
 	 */
 
-	public MethodCallCommand(int pos, Expression receiver, String name, ExpressionSeq actuals) {
+	public MethodCallCommand(int pos, Expression receiver, Symbol name, ExpressionSeq actuals) {
 		super(pos);
 
 		this.receiver = receiver;
@@ -90,7 +91,7 @@ public class MethodCallCommand extends Command {
 	 * @return the name of the method which is called
 	 */
 
-	public String getName() {
+	public Symbol getName() {
 		return name;
 	}
 
@@ -176,9 +177,14 @@ public class MethodCallCommand extends Command {
 				// more than two matching methods, and none of them is
 				// more specific of the other? Ambiguous call
 				error("call to method \"" + name + "\" is ambiguous");
-			else
+			else {
 				// there is only one candidate, that's fine
 				method = (MethodSignature) methods.iterator().next();
+
+				// memo methods can only call memo methods, that are pure as well
+				if (checker.isPure() && !method.isMemo())
+					error("memo methods can only call memo methods");
+			}
 		}
 
 		// the type-checker has not been modified
@@ -4,6 +4,7 @@ import java.io.FileWriter;
 import java.util.Set;
 
 import semantical.TypeChecker;
+import symbol.Symbol;
 import translation.Block;
 import types.ClassType;
 import types.MethodSignature;
@@ -32,7 +33,7 @@ public class MethodCallExpression extends Expression {
 	 * The name of the method which is called.
 	 */
 
-	private final String name;
+	private final Symbol name;
 
 	/**
 	 * The abstract syntax of the actual parameters of the call.
@@ -61,7 +62,7 @@ public class MethodCallExpression extends Expression {
 	 * @param actuals the abstract syntax of the actual parameters of the call.
 	 */
 
-	public MethodCallExpression(int pos, Expression receiver, String name, ExpressionSeq actuals) {
+	public MethodCallExpression(int pos, Expression receiver, Symbol name, ExpressionSeq actuals) {
 		super(pos);
 
 		this.receiver = receiver;
@@ -89,7 +90,7 @@ public class MethodCallExpression extends Expression {
 	 * @return the name of the method which is called
 	 */
 
-	public String getName() {
+	public Symbol getName() {
 		return name;
 	}
 
@@ -176,9 +177,16 @@ public class MethodCallExpression extends Expression {
 				// more than two matching methods, and none of them is
 				// more specific of the other? Ambiguous call
 				return error("call to method \"" + name + "\" is ambiguous");
-			else
+			else {
 				// there is only one candidate: we return its return type
-				return (method = (MethodSignature) methods.iterator().next()).getReturnType();
+				method = (MethodSignature) methods.iterator().next();
+
+				// memo methods can only call memo methods, that are pure as well
+				if (checker.isPure() && !method.isMemo())
+					error("memo methods can only call memo methods");
+
+				return method.getReturnType();
+			}
 		}
 	}
 
@@ -3,7 +3,11 @@ package absyn;
 import java.io.FileWriter;
 
 import semantical.TypeChecker;
+import symbol.Symbol;
+import types.BooleanType;
 import types.ClassType;
+import types.FloatType;
+import types.IntType;
 import types.MethodSignature;
 import types.Type;
 import types.TypeList;
@@ -27,7 +31,13 @@ public class MethodDeclaration extends CodeDeclaration {
 	 * The name of the method.
 	 */
 
-	private final String name;
+	private final Symbol name;
+
+	/**
+	 * True if and only if the method has been declared as {@code memo}.
+	 */
+
+	private final boolean memo;
 
 	/**
 	 * Constructs the abstract syntax of a method declaration.
@@ -42,12 +52,32 @@ public class MethodDeclaration extends CodeDeclaration {
 	 *             subsequent class member, if any
 	 */
 
-	public MethodDeclaration(int pos, TypeExpression returnType, String name,
+	public MethodDeclaration(int pos, TypeExpression returnType, Symbol name,
 			FormalParameters formals, Command body, ClassMemberDeclaration next) {
+		this(pos, returnType, name, formals, body, next, false);
+	}
+
+	/**
+	 * Constructs the abstract syntax of a method declaration, possibly declared as {@code memo}.
+	 *
+	 * @param pos the starting position in the source file of
+	 *            the concrete syntax represented by this abstract syntax
+	 * @param returnType the abstract syntax of the return type of the method
+	 * @param name the name of the method
+	 * @param formals the abstract syntax of the formal parameters of the method
+	 * @param body the abstract syntax of the body of the method
+	 * @param next the abstract syntax of the declaration of the
+	 *             subsequent class member, if any
+	 * @param memo true if and only if the method has been declared as {@code memo}
+	 */
+
+	public MethodDeclaration(int pos, TypeExpression returnType, Symbol name,
+			FormalParameters formals, Command body, ClassMemberDeclaration next, boolean memo) {
 		super(pos, formals, body, next);
 
 		this.name = name;
 		this.returnType = returnType;
+		this.memo = memo;
 	}
 
 	/**
@@ -66,10 +96,21 @@ public class MethodDeclaration extends CodeDeclaration {
 	 * @return the name of this method
 	 */
 
-	public String getName() {
+	public Symbol getName() {
 		return name;
 	}
 
+	/**
+	 * Determines if this method has been declared as {@code memo}. The results
+	 * of such a method are cached, hence its body must be pure.
+	 *
+	 * @return true if and only if this method has been declared as {@code memo}
+	 */
+
+	public boolean isMemo() {
+		return memo;
+	}
+
 	/**
 	 * Yields the signature of this method declaration.
 	 *
@@ -129,6 +170,9 @@ public class MethodDeclaration extends CodeDeclaration {
 	 * It then type-checks the body of the method in that type-checker.
 	 * It finally checks that if this method does not return {@code void},
 	 * then every execution path ends with a {@code return} command.
+	 * A {@code memo} method is moreover required to have at most two parameters,
+	 * of type {@code int}, {@code float} or {@code boolean}, to return one of
+	 * those types and to have a pure body.
 	 *
 	 * @param clazz the semantical type of the class where this method occurs
 	 */
@@ -148,14 +192,24 @@ public class MethodDeclaration extends CodeDeclaration {
 		checker = new TypeChecker(rt,clazz.getErrorMsg());
 
 		// the main method is the only <i>static</i> method, where there is no this variable
-		if (!getSignature().getName().equals("main"))
-			checker = checker.putVar("this", clazz);
+		if (getSignature().getName() != MethodSignature.MAIN)
+			checker = checker.putVar(Symbol.THIS, clazz);
+		else if (memo)
+			error(checker, "method \"main\" cannot be memo");
+
+		// the body of a memo method is type-checked in purity mode
+		if (memo)
+			checker = checker.pure();
 
 		// we enrich the type-checker with the formal parameters
 		checker = getFormals() != null ? getFormals().typeCheck(checker) : checker;
 
 		TypeList pars = getFormals() != null ? getFormals().typeCheck() : null;
 
+		// the results of a memo method are cached by the values of its parameters
+		if (memo)
+			checkMemoTypes(checker, rt, pars);
+
 		// we check if this method overrides a method of some superclass
 		superclass = clazz.getSuperclass();
 		if (superclass != null) {
@@ -169,6 +223,9 @@ public class MethodDeclaration extends CodeDeclaration {
 				if (!rt.canBeAssignedToSpecial(overridden.getReturnType()))
 					error(checker, "illegal return type for overriding method \"" +
 							name + "\". Was " + overridden.getReturnType());
+				// a call to a memo method must never reach an impure implementation
+				else if (overridden.isMemo() && !memo)
+					error(checker, "method \"" + name + "\" overrides a memo method and must be memo");
 		}
 
 		// we type-check the body of the method in the resulting type-checker
@@ -183,4 +240,40 @@ public class MethodDeclaration extends CodeDeclaration {
 		if (rt != VoidType.INSTANCE && !stopping)
 			error(checker, "missing return statement");
 	}
+
+	/**
+	 * Checks that the return type and the types of the parameters of this {@code memo}
+	 * method can be used as values and keys of its cache.
+	 *
+	 * @param checker the type-checker used to report errors
+	 * @param rt the return type of this method
+	 * @param pars the types of the parameters of this method, or {@code null} if it has none
+	 */
+
+	private void checkMemoTypes(TypeChecker checker, Type rt, TypeList pars) {
+		if (!isCacheable(rt))
+			error(checker, "memo method \"" + name + "\" must return int, float or boolean");
+
+		if (pars == null)
+			return;
+
+		for (TypeList cursor = pars; cursor != TypeList.EMPTY; cursor = cursor.getTail())
+			if (!isCacheable(cursor.getHead()))
+				error(checker, "memo method \"" + name + "\" can only have int, float or boolean parameters");
+
+		// the parameters are packed into a single 64 bits key
+		if (pars.getSize() > 2)
+			error(checker, "memo method \"" + name + "\" can have at most two parameters");
+	}
+
+	/**
+	 * Determines if values of the given type can be put into the cache of a {@code memo} method.
+	 *
+	 * @param type the type
+	 * @return true if and only if {@code type} is {@code int}, {@code float} or {@code boolean}
+	 */
+
+	private static boolean isCacheable(Type type) {
+		return type == IntType.INSTANCE || type == FloatType.INSTANCE || type == BooleanType.INSTANCE;
+	}
 }
\ No newline at end of file
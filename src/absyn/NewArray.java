@@ -93,6 +93,9 @@ public class NewArray extends Expression {
 	protected Type typeCheckAux(TypeChecker checker) {
 		size.mustBeInt(checker);
 
+		if (checker.isPure())
+			error("memo methods cannot create arrays");
+
 		return ArrayType.mk(elementsType.typeCheck());
 	}
 
@@ -4,6 +4,7 @@ import java.io.FileWriter;
 import java.util.Set;
 
 import semantical.TypeChecker;
+import symbol.Symbol;
 import translation.Block;
 import types.ClassType;
 import types.ConstructorSignature;
@@ -25,7 +26,7 @@ public class NewObject extends Expression {
 	 * The name of the class that in instantiated.
 	 */
 
-	private final String className;
+	private final Symbol className;
 
 	/**
 	 * The abstract syntax of the actual parameters passed to the constructor.
@@ -50,7 +51,7 @@ public class NewObject extends Expression {
 	 *                to a constructor of {@link #className}
 	 */
 
-	public NewObject(int pos, String className, ExpressionSeq actuals) {
+	public NewObject(int pos, Symbol className, ExpressionSeq actuals) {
 		super(pos);
 
 		this.className = className;
@@ -63,7 +64,7 @@ public class NewObject extends Expression {
 	 * @return the name of the class that is instantiated
 	 */
 
-	public String getClassName() {
+	public Symbol getClassName() {
 		return className;
 	}
 
@@ -129,12 +130,16 @@ public class NewObject extends Expression {
 
 	@Override
 	protected Type typeCheckAux(TypeChecker checker) {
-		ClassType target = ClassType.mk(className);
+		ClassType target = ClassType.mk(className.toString());
 
 		target.typeCheck();
 
 		TypeList actualsTypes = actuals != null ? actuals.typeCheck(checker) : TypeList.EMPTY;
 
+		// constructors might have side-effects
+		if (checker.isPure())
+			error("memo methods cannot create objects");
+
 		// we collect the set of constructors which are compatible
 		// with the static types of the parameters, and have no other
 		// compatible constructor which is more specific than them
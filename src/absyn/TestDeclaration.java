@@ -4,15 +4,16 @@ import java.io.FileWriter;
 import java.io.IOException;
 
 import semantical.TypeChecker;
+import symbol.Symbol;
 import types.ClassType;
 import types.TestSignature;
 import types.VoidType;
 
 public class TestDeclaration extends CodeDeclaration {
 
-	private String name;
+	private Symbol name;
 	
-	public TestDeclaration(int pos, String name, Command body, ClassMemberDeclaration next) {
+	public TestDeclaration(int pos, Symbol name, Command body, ClassMemberDeclaration next) {
 		super(pos, null, body, next);
 		this.name=name;
 		// TODO Auto-generated constructor stub
@@ -38,7 +39,7 @@ public class TestDeclaration extends CodeDeclaration {
 		TypeChecker checker;
 		
 		checker = new TypeChecker(VoidType.INSTANCE , currentClass.getErrorMsg(), true);
-		checker = checker.putVar("this", currentClass);
+		checker = checker.putVar(Symbol.THIS, currentClass);
 
 		// we type-check the body of the method in the resulting type-checker
 		getBody().typeCheck(checker);
@@ -3,6 +3,7 @@ package absyn;
 import java.io.FileWriter;
 
 import semantical.TypeChecker;
+import symbol.Symbol;
 import translation.Block;
 import types.Type;
 import bytecode.LOAD;
@@ -20,7 +21,7 @@ public class Variable extends Lvalue {
 	 * The name of the variable.
 	 */
 
-	private final String name;
+	private final Symbol name;
 
 	/**
 	 * Constructs the abstract syntax of a reference to a program variable.
@@ -30,7 +31,7 @@ public class Variable extends Lvalue {
 	 * @param name the name of the variable
 	 */
 
-	public Variable(int pos, String name) {
+	public Variable(int pos, Symbol name) {
 		super(pos);
 
 		this.name = name;
@@ -42,7 +43,7 @@ public class Variable extends Lvalue {
 	 * @return the name of the variable
 	 */
 
-	public String getName() {
+	public Symbol getName() {
 		return name;
 	}
 
@@ -0,0 +1,132 @@
+package benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.HashMap;
+import java.util.Map;
+
+import javaBytecodeGenerator.Devirtualizer;
+import javaBytecodeGenerator.JavaNormalClassGenerator;
+
+import org.apache.bcel.classfile.JavaClass;
+
+import translation.Program;
+import types.ClassType;
+
+/**
+ * Measures the effect of the devirtualization stage on a program in the style of
+ * {@code testcases/Virtual.kit}, where a hot loop calls methods of a small hierarchy
+ * of shapes. Some calls have many targets, some have a single one. The program is
+ * generated twice, without and with devirtualization, in two subdirectories of the
+ * current directory, and each version is run inside its own class loader.
+ * The current directory must contain {@code Object.kit} and {@code String.kit}.
+ *
+ * Arguments: [number of iterations of the hot loop] [number of measured repetitions]
+ *
+ * @author <A HREF="mailto:fausto.spoto@univr.it">Fausto Spoto</A>
+ */
+
+public class DevirtualizationBenchmark {
+
+	/**
+	 * The number of unmeasured repetitions that let the virtual machine warm up.
+	 */
+
+	private final static int WARMUP = 3;
+
+	public static void main(String[] args) throws Exception {
+		int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 10000000;
+		int repetitions = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+
+		Map<String, String> sources = new HashMap<>();
+		sources.put("Shape",
+			"class Shape {\n" +
+			"  constructor() {}\n" +
+			"  method int area() return 0\n" +
+			"  method int sides() return 0\n" +
+			"  method int weight() return this.area() + this.sides()\n" +
+			"}");
+		sources.put("Square",
+			"class Square extends Shape {\n" +
+			"  constructor() {}\n" +
+			"  method int area() return 4\n" +
+			"  method int sides() return 4\n" +
+			"}");
+		sources.put("Circle",
+			"class Circle extends Shape {\n" +
+			"  constructor() {}\n" +
+			"  method int area() return 3\n" +
+			"  method int radius() return 1\n" +
+			"}");
+		sources.put("Shapes",
+			"class Shapes {\n" +
+			"  constructor() {}\n" +
+			"  method void main() {\n" +
+			"    Shape s := new Square();\n" +
+			"    Circle c := new Circle();\n" +
+			"    int total := 0;\n" +
+			"    for (int i := 0; i < " + iterations + "; i := i + 1) {\n" +
+			"      total := total + s.weight() + c.radius();\n" +
+			"      s := c;\n" +
+			"      c := new Circle()\n" +
+			"    };\n" +
+			"    if (total = 0) then \"unexpected\\n\".output()\n" +
+			"  }\n" +
+			"}");
+
+		ClassType clazz = ClassType.mkFromSources("Shapes", sources);
+		if (clazz.getErrorMsg() == null || clazz.getErrorMsg().anyErrors())
+			return;
+
+		Program program = clazz.translate();
+
+		Devirtualizer.setEnabled(false);
+		File plain = generate(program, "plain");
+		Devirtualizer.setEnabled(true);
+		File devirtualized = generate(program, "devirtualized");
+
+		System.out.println("Hot loop of " + iterations + " iterations");
+		measure("without devirtualization", plain, repetitions);
+		measure("with devirtualization   ", devirtualized, repetitions);
+	}
+
+	private static File generate(Program program, String dirName) throws IOException {
+		File dir = new File(dirName);
+		dir.mkdirs();
+
+		int finalClasses = 0, finalMethods = 0;
+		for (ClassType clazz: ClassType.getAll()) {
+			JavaClass javaClass = new JavaNormalClassGenerator(clazz, program.getSigs()).getJavaClass();
+			javaClass.dump(new File(dir, clazz + ".class"));
+
+			if (javaClass.isFinal())
+				finalClasses++;
+
+			for (org.apache.bcel.classfile.Method method: javaClass.getMethods())
+				if (method.isFinal())
+					finalMethods++;
+		}
+
+		System.out.println(dirName + ": " + finalClasses + " final classes and " + finalMethods + " final methods");
+
+		return dir;
+	}
+
+	private static void measure(String description, File dir, int repetitions) throws Exception {
+		try (URLClassLoader loader = new URLClassLoader(new URL[] { dir.toURI().toURL() }, DevirtualizationBenchmark.class.getClassLoader())) {
+			Method main = loader.loadClass("Shapes").getMethod("main", String[].class);
+
+			for (int i = 0; i < WARMUP; i++)
+				main.invoke(null, (Object) new String[0]);
+
+			long time = System.nanoTime();
+			for (int i = 0; i < repetitions; i++)
+				main.invoke(null, (Object) new String[0]);
+
+			System.out.printf("%s: %9.3fms%n", description, (System.nanoTime() - time) / (repetitions * 1e6));
+		}
+	}
+}
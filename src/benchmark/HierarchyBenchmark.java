@@ -0,0 +1,115 @@
+package benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lexical.Sources;
+import types.ClassType;
+import types.Type;
+
+/**
+ * Measures subtype tests and least common supertype queries on synthetic
+ * class hierarchies: a deep one, where each class extends the previous one,
+ * and a wide one, where all classes extend {@code Object}. The interval
+ * numbering of the hierarchy is compared with a walk up the superclasses.
+ * The classes are provided in memory, hence no file is generated.
+ *
+ * Arguments: [number of classes per hierarchy] [number of measured repetitions]
+ *
+ * @author <A HREF="mailto:fausto.spoto@univr.it">Fausto Spoto</A>
+ */
+
+public class HierarchyBenchmark {
+
+	/**
+	 * The number of unmeasured repetitions that let the virtual machine warm up.
+	 */
+
+	private final static int WARMUP = 3;
+
+	/**
+	 * Avoids dead code elimination of the queries.
+	 */
+
+	private static int sink;
+
+	public static void main(String[] args) {
+		int classes = args.length > 0 ? Integer.parseInt(args[0]) : 300;
+		int repetitions = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+
+		Sources.put("Object", "class Object {}");
+		List<ClassType> deep = new ArrayList<>(), wide = new ArrayList<>();
+		for (int i = 0; i < classes; i++) {
+			Sources.put("Deep" + i, "class Deep" + i + " extends " + (i == 0 ? "Object" : "Deep" + (i - 1)) + " {}");
+			Sources.put("Wide" + i, "class Wide" + i + " {}");
+		}
+
+		// the leaf of the deep hierarchy loads all the others
+		for (int i = classes - 1; i >= 0; i--) {
+			deep.add(0, ClassType.mk("Deep" + i));
+			wide.add(ClassType.mk("Wide" + i));
+		}
+
+		System.out.println("Hierarchies of " + classes + " classes");
+		measure("deep, interval numbering", deep, repetitions, false);
+		measure("deep, superclass walk   ", deep, repetitions, true);
+		measure("wide, interval numbering", wide, repetitions, false);
+		measure("wide, superclass walk   ", wide, repetitions, true);
+
+		long time = System.nanoTime();
+		int instances = Type.getObjectType().getInstances().size();
+		System.out.printf("instances of Object: %d classes in %.3fms%n", instances, (System.nanoTime() - time) / 1e6);
+	}
+
+	private static void measure(String description, List<ClassType> hierarchy, int repetitions, boolean walk) {
+		for (int i = 0; i < WARMUP; i++)
+			run(hierarchy, walk);
+
+		long time = System.nanoTime();
+		for (int i = 0; i < repetitions; i++)
+			run(hierarchy, walk);
+
+		System.out.printf("%s: %9.3fms for %d subtype tests and least common supertypes%n",
+			description, (System.nanoTime() - time) / (repetitions * 1e6), hierarchy.size() * hierarchy.size());
+	}
+
+	private static void run(List<ClassType> hierarchy, boolean walk) {
+		for (ClassType first: hierarchy)
+			for (ClassType second: hierarchy)
+				if (walk) {
+					if (subclassByWalk(first, second))
+						sink++;
+
+					sink += leastCommonSupertypeByWalk(first, second).hashCode();
+				}
+				else {
+					if (first.subclass(second))
+						sink++;
+
+					sink += first.leastCommonSupertype(second).hashCode();
+				}
+	}
+
+	/**
+	 * The subtype test that walks up the superclasses, as a reference.
+	 */
+
+	private static boolean subclassByWalk(ClassType sub, ClassType sup) {
+		for (ClassType cursor = sub; cursor != null; cursor = cursor.getSuperclass())
+			if (cursor == sup)
+				return true;
+
+		return false;
+	}
+
+	/**
+	 * The least common supertype that tests each superclass
+	 * of the first class by walking up the superclasses, as a reference.
+	 */
+
+	private static ClassType leastCommonSupertypeByWalk(ClassType first, ClassType second) {
+		for (ClassType cursor = first; ; cursor = cursor.getSuperclass())
+			if (subclassByWalk(second, cursor))
+				return cursor;
+	}
+}
@@ -0,0 +1,133 @@
+package benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.HashMap;
+import java.util.Map;
+
+import javaBytecodeGenerator.JavaNormalClassGenerator;
+import translation.LoopOptimizer;
+import translation.Program;
+import types.ClassType;
+
+/**
+ * Measures the effect of the loop optimizer on {@code testcases/Primes.kit},
+ * {@code testcases/Loop.kit} and {@code testcases/ArrayLoop.kit}, as well as on
+ * a synthetic loop kernel that reads invariant fields and multiplies its counters
+ * by constants. Each program is translated twice, without and with the loop optimizer,
+ * and generated in two subdirectories of the current directory. Each version is run
+ * inside its own class loader, with its output discarded. Programs that do not
+ * compile are skipped. The current directory must contain the testcases.
+ *
+ * Arguments: [number of iterations of the loop kernel] [number of measured repetitions]
+ *
+ * @author <A HREF="mailto:fausto.spoto@univr.it">Fausto Spoto</A>
+ */
+
+public class LoopBenchmark {
+
+	/**
+	 * The number of unmeasured repetitions that let the virtual machine warm up.
+	 */
+
+	private final static int WARMUP = 3;
+
+	public static void main(String[] args) throws Exception {
+		int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 1000000;
+		int repetitions = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+
+		Map<String, String> sources = new HashMap<>();
+		sources.put("LoopKernel",
+			"class LoopKernel {\n" +
+			"  field int base\n" +
+			"  field int scale\n" +
+			"  constructor() {\n" +
+			"    this.base := 3;\n" +
+			"    this.scale := 7\n" +
+			"  }\n" +
+			"  method int run(int n) {\n" +
+			"    int total := 0;\n" +
+			"    for (int i := 0; i < n; i := i + 1) {\n" +
+			"      int j := 0;\n" +
+			"      while (j < 10) {\n" +
+			"        total := total + i * 12 + j * 4 + (this.base + 1) * this.scale;\n" +
+			"        j := j + 1\n" +
+			"      }\n" +
+			"    };\n" +
+			"    return total\n" +
+			"  }\n" +
+			"  method void main() {\n" +
+			"    if (new LoopKernel().run(" + iterations + ") = 0) then \"unexpected\\n\".output()\n" +
+			"  }\n" +
+			"}");
+
+		benchmark(ClassType.mkFromSources("LoopKernel", sources), repetitions);
+
+		for (String name: new String[] { "Primes", "Loop", "ArrayLoop" })
+			benchmark(ClassType.mkFromFileName(name + ".kit"), repetitions);
+	}
+
+	private static void benchmark(ClassType clazz, int repetitions) throws Exception {
+		if (clazz.getErrorMsg() == null || clazz.getErrorMsg().anyErrors()) {
+			System.out.println(clazz + " does not compile: skipped");
+			return;
+		}
+
+		// the program is translated again with the loop optimizer, since it modifies the Kitten code
+		LoopOptimizer.setEnabled(false);
+		File plain = generate(clazz.translate(), new File("plain", clazz.toString()));
+		LoopOptimizer.setEnabled(true);
+		Program optimized = clazz.translate();
+		File loops = generate(optimized, new File("loops", clazz.toString()));
+
+		System.out.println(clazz + ":");
+		for (String optimization: optimized.getOptimizations())
+			System.out.println("  " + optimization);
+
+		measure("without loop optimization", clazz, plain, repetitions);
+		measure("with loop optimization   ", clazz, loops, repetitions);
+	}
+
+	private static File generate(Program program, File dir) throws IOException {
+		dir.mkdirs();
+
+		for (ClassType clazz: ClassType.getAll())
+			new JavaNormalClassGenerator(clazz, program.getSigs()).getJavaClass().dump(new File(dir, clazz + ".class"));
+
+		return dir;
+	}
+
+	private static void measure(String description, ClassType clazz, File dir, int repetitions) throws Exception {
+		PrintStream out = System.out;
+
+		try (URLClassLoader loader = new URLClassLoader(new URL[] { dir.toURI().toURL() }, LoopBenchmark.class.getClassLoader())) {
+			Method main = loader.loadClass(clazz.toString()).getMethod("main", String[].class);
+
+			// the output of the program is not part of the measure
+			System.setOut(new PrintStream(new OutputStream() {
+
+				@Override
+				public void write(int b) {}
+			}));
+
+			for (int i = 0; i < WARMUP; i++)
+				main.invoke(null, (Object) new String[0]);
+
+			long time = System.nanoTime();
+			for (int i = 0; i < repetitions; i++)
+				main.invoke(null, (Object) new String[0]);
+
+			time = System.nanoTime() - time;
+			System.setOut(out);
+			System.out.printf("  %s: %9.3fms%n", description, time / (repetitions * 1e6));
+		}
+		finally {
+			System.setOut(out);
+		}
+	}
+}
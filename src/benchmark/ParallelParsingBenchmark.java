@@ -0,0 +1,117 @@
+package benchmark;
+
+import java.io.FileWriter;
+import java.io.IOException;
+
+import types.ParallelParser;
+
+/**
+ * Measures the time needed to parse a program made of many classes, sequentially
+ * and then with a growing number of parsing threads. The program is synthetic: it is
+ * generated in the current directory and consists of classes that
+ * reference each other through fields, local variables and object creations.
+ *
+ * Arguments: [number of classes] [number of measured repetitions]
+ *
+ * @author <A HREF="mailto:fausto.spoto@univr.it">Fausto Spoto</A>
+ */
+
+public class ParallelParsingBenchmark {
+
+	/**
+	 * The number of unmeasured repetitions that let the virtual machine warm up.
+	 */
+
+	private final static int WARMUP = 5;
+
+	public static void main(String[] args) throws IOException, InterruptedException {
+		int classes = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+		int repetitions = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+
+		for (int i = 0; i < classes; i++)
+			generate(i, classes);
+
+		int processors = Runtime.getRuntime().availableProcessors();
+		System.out.println("Parsing " + classes + " classes, " + processors + " processors available");
+
+		// the baseline is the sequential parsing performed without the -j option
+		for (int i = 0; i < WARMUP; i++)
+			ParallelParser.parseSequentially(name(0));
+
+		long time = System.nanoTime();
+		for (int i = 0; i < repetitions; i++)
+			ParallelParser.parseSequentially(name(0));
+
+		double sequential = (System.nanoTime() - time) / (repetitions * 1e6);
+		System.out.printf("sequential: %8.2fms per program%n", sequential);
+
+		for (int threads = 1; threads <= Math.max(processors, 4); threads *= 2) {
+			for (int i = 0; i < WARMUP; i++)
+				parse(threads);
+
+			time = System.nanoTime();
+			for (int i = 0; i < repetitions; i++)
+				parse(threads);
+
+			double parallel = (System.nanoTime() - time) / (repetitions * 1e6);
+			System.out.printf("%2d threads: %8.2fms per program, speedup %.2f%n", threads, parallel, sequential / parallel);
+		}
+	}
+
+	/**
+	 * Parses the synthetic program once, with the given number of threads.
+	 *
+	 * @param threads the number of threads
+	 * @return the number of parsed classes
+	 */
+
+	private static int parse(int threads) throws InterruptedException {
+		ParallelParser parser = new ParallelParser(threads);
+
+		try {
+			return parser.parseAll(name(0));
+		}
+		finally {
+			parser.shutdown();
+		}
+	}
+
+	private static String name(int i) {
+		return "Bench" + i;
+	}
+
+	/**
+	 * Generates the source file of the {@code i}th class of the synthetic program.
+	 * Each class extends the previous one and references a few of the following ones,
+	 * so that all classes are reachable from the first one.
+	 *
+	 * @param i the index of the class
+	 * @param classes the number of classes of the program
+	 */
+
+	private static void generate(int i, int classes) throws IOException {
+		String next = name((i + 1) % classes);
+		String other = name((i * 7 + 3) % classes);
+
+		try (FileWriter writer = new FileWriter(name(i) + ".kit")) {
+			writer.write("class " + name(i) + (i > 0 ? " extends " + name(i - 1) : "") + " {\n");
+			writer.write("  field " + next + " next\n");
+			writer.write("  field int[] values\n\n");
+			writer.write("  constructor() {}\n\n");
+
+			for (int m = 0; m < 20; m++) {
+				writer.write("  method int m" + m + "(int n, " + other + " o) {\n");
+				writer.write("    int sum := 0;\n");
+				writer.write("    for (int k := 0; k < n; k := k + 1) {\n");
+				writer.write("      if (k / 2 * 2 = k) then sum := sum + k * " + m + " else sum := sum - 1\n");
+				writer.write("    };\n");
+				writer.write("    " + other + " copy := new " + other + "();\n");
+				writer.write("    \"done\".output();\n");
+				writer.write("    return sum\n");
+				writer.write("  }\n\n");
+			}
+
+			writer.write("}\n");
+		}
+	}
+}
@@ -0,0 +1,82 @@
+package benchmark;
+
+import symbol.Symbol;
+import tables.Table;
+
+/**
+ * Compares the balanced symbol tables with the plain binary search trees
+ * on deep scopes, that is, on tables where many local variables are declared
+ * one after the other, as the type-checker does. Keys are inserted in
+ * increasing order, which is typical of generated code, and in random order.
+ *
+ * Arguments: [number of variables in scope] [number of measured repetitions]
+ *
+ * @author <A HREF="mailto:fausto.spoto@univr.it">Fausto Spoto</A>
+ */
+
+public class TableBenchmark {
+
+	/**
+	 * The number of unmeasured repetitions that let the virtual machine warm up.
+	 */
+
+	private final static int WARMUP = 10;
+
+	/**
+	 * Avoids dead code elimination of the lookups.
+	 */
+
+	private static int sink;
+
+	public static void main(String[] args) {
+		int variables = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+		int repetitions = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+
+		Symbol[] sorted = new Symbol[variables];
+		for (int i = 0; i < variables; i++)
+			sorted[i] = Symbol.mk(String.format("a%06d", i));
+
+		Symbol[] shuffled = sorted.clone();
+		java.util.Random random = new java.util.Random(42);
+		for (int i = shuffled.length - 1; i > 0; i--) {
+			int j = random.nextInt(i + 1);
+			Symbol temp = shuffled[i];
+			shuffled[i] = shuffled[j];
+			shuffled[j] = temp;
+		}
+
+		System.out.println("Scopes of " + variables + " variables");
+		measure("balanced,   sorted keys", Table.<Integer>empty(), sorted, repetitions);
+		measure("unbalanced, sorted keys", Table.<Integer>emptyUnbalanced(), sorted, repetitions);
+		measure("balanced,   random keys", Table.<Integer>empty(), shuffled, repetitions);
+		measure("unbalanced, random keys", Table.<Integer>emptyUnbalanced(), shuffled, repetitions);
+	}
+
+	private static void measure(String description, Table<Integer> empty, Symbol[] keys, int repetitions) {
+		for (int i = 0; i < WARMUP; i++)
+			run(empty, keys);
+
+		long time = System.nanoTime();
+		for (int i = 0; i < repetitions; i++)
+			run(empty, keys);
+
+		System.out.printf("%s: %8.3fms per scope%n", description, (System.nanoTime() - time) / (repetitions * 1e6));
+	}
+
+	/**
+	 * Declares all keys, one after the other, and looks up every
+	 * declared key after each declaration, as it happens when each
+	 * declaration is followed by code that uses all variables in scope.
+	 * Lookups are limited to the last 16 declarations, to keep the cost linear
+	 * for the balanced tables.
+	 */
+
+	private static void run(Table<Integer> table, Symbol[] keys) {
+		for (int i = 0; i < keys.length; i++) {
+			table = table.put(keys[i], i);
+
+			for (int j = Math.max(0, i - 15); j <= i; j++)
+				sink += table.get(keys[j]);
+		}
+	}
+}
@@ -37,7 +37,7 @@ public abstract class CALL extends SequentialBytecode {
 	 * redefinitions of {@link #staticTarget} in {@link #receiverType} and its subclasses.
 	 */
 
-	private final Set<CodeSignature> dynamicTargets;	
+	private Set<CodeSignature> dynamicTargets;
 
 	/**
 	 * Constructs a bytecode that calls a method.
@@ -83,6 +83,17 @@ public abstract class CALL extends SequentialBytecode {
 		return dynamicTargets;
 	}
 
+	/**
+	 * Replaces the set of dynamic targets of this instruction. This is used
+	 * by whole-program analyses that can prove that some targets are never called.
+	 *
+	 * @param dynamicTargets the new set of dynamic targets
+	 */
+
+	protected final void setDynamicTargets(Set<CodeSignature> dynamicTargets) {
+		this.dynamicTargets = dynamicTargets;
+	}
+
 	@Override
 	public String toString() {
 		return "call " + staticTarget + " " + dynamicTargets;
@@ -81,7 +81,7 @@ public class CONST extends SequentialBytecode {
 	 * @return the constant that is loaded on top of the stack
 	 */
 
-	protected Object getConstant() {
+	public Object getConstant() {
 		return constant;
 	}
 
@@ -41,6 +41,16 @@ public class STORE extends SequentialBytecode {
 		this.type = type;
 	}
 
+	/**
+	 * Yields the number of the local variable that is assigned.
+	 *
+	 * @return the number of the local variable that is assigned
+	 */
+
+	public int getVarNum() {
+		return varNum;
+	}
+
 	/**
 	 * Yields the type of the local variable that is assigned.
 	 *
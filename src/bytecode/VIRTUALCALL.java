@@ -1,5 +1,6 @@
 package bytecode;
 
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.List;
@@ -10,6 +11,7 @@ import org.apache.bcel.generic.InstructionList;
 import types.ClassType;
 import types.CodeSignature;
 import types.MethodSignature;
+import types.OutlinedMethodSignature;
 
 /**
  * A bytecode that calls a method of an object with dynamic lookup.
@@ -67,10 +69,31 @@ public class VIRTUALCALL extends CALL {
 		return dynamicTargets;
 	}
 
+	/**
+	 * Restricts the dynamic targets of this call to the methods that might
+	 * be called when the runtime class of the receiver is one of the given
+	 * instantiated classes. The static target is dropped if no such class
+	 * runs it. It is still generated, since the {@code invokevirtual}
+	 * refers to it, but it is not a target of the dispatch anymore.
+	 *
+	 * @param instantiated the classes that might be instantiated at runtime
+	 */
+
+	public void restrictTo(Set<ClassType> instantiated) {
+		List<ClassType> possibleRunTimeClasses = new ArrayList<>();
+		for (ClassType rec: ((ClassType) getReceiverType()).getInstances())
+			if (instantiated.contains(rec))
+				possibleRunTimeClasses.add(rec);
+
+		setDynamicTargets(dynamicTargets(possibleRunTimeClasses, getStaticTarget()));
+	}
+
 	/**
 	 * Generates the Java bytecode corresponding to this Kitten bytecode. Namely, it generates an
 	 * {@code invokevirtual staticTarget} Java bytecode. The Java {@code invokevirtual} bytecode
 	 * calls a method by using the runtime class of the receiver to look up for the method's implementation.
+	 * The synthetic methods extracted from oversized code are static, hence they are called through
+	 * an {@code invokestatic staticTarget} Java bytecode instead.
 	 *
 	 * @param classGen the Java class generator to be used for this generation
 	 * @return the Java {@code invokevirtual staticTarget} bytecode
@@ -78,6 +101,9 @@ public class VIRTUALCALL extends CALL {
 
 	@Override
 	public InstructionList generateJavaBytecode(JavaClassGenerator classGen) {
+		if (getStaticTarget() instanceof OutlinedMethodSignature)
+			return new InstructionList(((OutlinedMethodSignature) getStaticTarget()).createINVOKESTATIC(classGen));
+
 		return new InstructionList(((MethodSignature) getStaticTarget()).createINVOKEVIRTUAL(classGen));
 	}
 }
\ No newline at end of file
@@ -0,0 +1,163 @@
+package errorMsg;
+
+/**
+ * A diagnostic message about a source Kitten program.
+ *
+ * @author <A HREF="mailto:fausto.spoto@univr.it">Fausto Spoto</A>
+ */
+
+public final class Diagnostic {
+
+	/**
+	 * The severity of a diagnostic.
+	 */
+
+	public enum Severity { ERROR, WARNING }
+
+	/**
+	 * The name of the source file the diagnostic refers to.
+	 */
+
+	private final String fileName;
+
+	/**
+	 * The line of the diagnostic, starting at 1. This is 0 if the
+	 * diagnostic does not refer to any specific position.
+	 */
+
+	private final int line;
+
+	/**
+	 * The column of the diagnostic. This is meaningful only if {@link #line} is positive.
+	 */
+
+	private final int column;
+
+	/**
+	 * The severity of the diagnostic.
+	 */
+
+	private final Severity severity;
+
+	/**
+	 * The message of the diagnostic.
+	 */
+
+	private final String message;
+
+	/**
+	 * Builds a diagnostic.
+	 *
+	 * @param fileName the name of the source file the diagnostic refers to
+	 * @param line the line of the diagnostic, starting at 1, or 0 if it does not
+	 *             refer to any specific position
+	 * @param column the column of the diagnostic
+	 * @param severity the severity of the diagnostic
+	 * @param message the message of the diagnostic
+	 */
+
+	public Diagnostic(String fileName, int line, int column, Severity severity, String message) {
+		this.fileName = fileName;
+		this.line = line;
+		this.column = column;
+		this.severity = severity;
+		this.message = message;
+	}
+
+	/**
+	 * Yields the name of the source file this diagnostic refers to.
+	 *
+	 * @return the name of the source file this diagnostic refers to
+	 */
+
+	public String getFileName() {
+		return fileName;
+	}
+
+	/**
+	 * Yields the line of this diagnostic.
+	 *
+	 * @return the line, starting at 1, or 0 if this diagnostic
+	 *         does not refer to any specific position
+	 */
+
+	public int getLine() {
+		return line;
+	}
+
+	/**
+	 * Yields the column of this diagnostic.
+	 *
+	 * @return the column of this diagnostic
+	 */
+
+	public int getColumn() {
+		return column;
+	}
+
+	/**
+	 * Yields the severity of this diagnostic.
+	 *
+	 * @return the severity of this diagnostic
+	 */
+
+	public Severity getSeverity() {
+		return severity;
+	}
+
+	/**
+	 * Yields the message of this diagnostic.
+	 *
+	 * @return the message of this diagnostic
+	 */
+
+	public String getMessage() {
+		return message;
+	}
+
+	/**
+	 * Yields a human-readable representation of this diagnostic,
+	 * in the form {@code file::line.column: message}.
+	 */
+
+	@Override
+	public String toString() {
+		return fileName + "::" + (line > 0 ? line + "." + column : "") + ": "
+			+ (severity == Severity.WARNING ? "warning: " : "") + message;
+	}
+
+	/**
+	 * Yields a machine-readable representation of this diagnostic,
+	 * as a JSON object on a single line.
+	 *
+	 * @return the JSON representation of this diagnostic
+	 */
+
+	public String toJSON() {
+		return "{\"file\":" + quote(fileName) + ",\"line\":" + line + ",\"column\":" + column
+			+ ",\"severity\":\"" + severity.name().toLowerCase() + "\",\"message\":" + quote(message) + "}";
+	}
+
+	/**
+	 * Yields the JSON string literal for the given string.
+	 *
+	 * @param s the string
+	 * @return the literal, including the surrounding quotes
+	 */
+
+	private static String quote(String s) {
+		StringBuilder sb = new StringBuilder(s.length() + 2).append('"');
+
+		for (int pos = 0; pos < s.length(); pos++) {
+			char c = s.charAt(pos);
+			if (c == '"' || c == '\\')
+				sb.append('\\').append(c);
+			else if (c < ' ')
+				sb.append(String.format("\\u%04x", (int) c));
+			else
+				sb.append(c);
+		}
+
+		return sb.append('"').toString();
+	}
+}
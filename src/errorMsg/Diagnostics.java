@@ -0,0 +1,147 @@
+package errorMsg;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The collector of all diagnostics issued during a compilation.
+ * By default, diagnostics are printed as soon as they are reported.
+ * Otherwise, they are kept and printed in a single batch by {@link #flush()},
+ * possibly in a machine-readable format.
+ *
+ * @author <A HREF="mailto:fausto.spoto@univr.it">Fausto Spoto</A>
+ */
+
+public final class Diagnostics {
+
+	/**
+	 * The diagnostics reported so far and not flushed yet, in order of report.
+	 */
+
+	private final static List<Diagnostic> pending = new ArrayList<>();
+
+	/**
+	 * The diagnostics held back by each thread, if it is holding them back.
+	 */
+
+	private final static ThreadLocal<List<Diagnostic>> held = new ThreadLocal<>();
+
+	/**
+	 * True if diagnostics are printed only when {@link #flush()} is called.
+	 */
+
+	private static boolean batched;
+
+	/**
+	 * True if diagnostics are printed as JSON objects, one per line.
+	 */
+
+	private static boolean machineReadable;
+
+	private Diagnostics() {}
+
+	/**
+	 * Determines if diagnostics are printed in a single batch
+	 * by {@link #flush()} rather than as soon as they are reported.
+	 *
+	 * @param batched true if and only if diagnostics must be batched
+	 */
+
+	public static synchronized void setBatched(boolean batched) {
+		Diagnostics.batched = batched;
+	}
+
+	/**
+	 * Determines if diagnostics are printed as JSON objects, one per line.
+	 * This implies that they are batched.
+	 *
+	 * @param machineReadable true if and only if diagnostics must be machine-readable
+	 */
+
+	public static synchronized void setMachineReadable(boolean machineReadable) {
+		Diagnostics.machineReadable = machineReadable;
+		if (machineReadable)
+			batched = true;
+	}
+
+	/**
+	 * Reports a diagnostic. It is synchronized since classes might be parsed in parallel.
+	 *
+	 * @param diagnostic the diagnostic
+	 */
+
+	static synchronized void report(Diagnostic diagnostic) {
+		List<Diagnostic> held = Diagnostics.held.get();
+
+		if (held != null)
+			held.add(diagnostic);
+		else if (batched)
+			pending.add(diagnostic);
+		else
+			System.out.println(diagnostic);
+	}
+
+	/**
+	 * Reports the given diagnostics, in order.
+	 *
+	 * @param diagnostics the diagnostics
+	 */
+
+	public static synchronized void report(List<Diagnostic> diagnostics) {
+		for (Diagnostic diagnostic: diagnostics)
+			report(diagnostic);
+	}
+
+	/**
+	 * Holds back the diagnostics later reported by the current thread, until
+	 * {@link #release()} is called. This lets classes be parsed in parallel while
+	 * their diagnostics are reported in the same order as a sequential parsing.
+	 */
+
+	public static void hold() {
+		held.set(new ArrayList<Diagnostic>());
+	}
+
+	/**
+	 * Stops holding back the diagnostics reported by the current thread.
+	 *
+	 * @return the diagnostics held back since the last call to {@link #hold()}, in order of report
+	 */
+
+	public static List<Diagnostic> release() {
+		List<Diagnostic> result = held.get();
+		held.remove();
+
+		return result != null ? result : Collections.<Diagnostic>emptyList();
+	}
+
+	/**
+	 * Yields the diagnostics reported so far and not flushed yet.
+	 *
+	 * @return the diagnostics, in order of report
+	 */
+
+	public static synchronized List<Diagnostic> getPending() {
+		return Collections.unmodifiableList(new ArrayList<>(pending));
+	}
+
+	/**
+	 * Prints all batched diagnostics with a single write and forgets them.
+	 */
+
+	public static synchronized void flush() {
+		if (pending.isEmpty())
+			return;
+
+		StringBuilder sb = new StringBuilder();
+		String separator = System.lineSeparator();
+
+		for (Diagnostic diagnostic: pending)
+			sb.append(machineReadable ? diagnostic.toJSON() : diagnostic.toString()).append(separator);
+
+		System.out.print(sb);
+		System.out.flush();
+		pending.clear();
+	}
+}
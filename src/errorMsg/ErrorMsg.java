@@ -1,11 +1,11 @@
 package errorMsg;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Arrays;
 
 /**
- * An error reporting utility. It allows one to print error messages
+ * An error reporting utility. It allows one to report diagnostics
  * referring to a given position inside a source Kitten program.
+ * Diagnostics are forwarded to {@link Diagnostics}.
  *
  * @author <A HREF="mailto:fausto.spoto@univr.it">Fausto Spoto</A>
  */
@@ -13,11 +13,18 @@ import java.util.List;
 public class ErrorMsg {
 
 	/**
-	 * The sequence of newline positions in the source {@link #fileName}.
-	 * This is useful to know where source lines stop.
+	 * The sequence of newline positions in the source {@link #fileName},
+	 * in increasing order. This is useful to know where source lines stop.
+	 * Only the first {@link #lines} elements are meaningful.
 	 */
 
-	private final List<Integer> linePos = new ArrayList<>();
+	private int[] linePos = new int[64];
+
+	/**
+	 * The number of newline positions recorded in {@link #linePos}.
+	 */
+
+	private int lines;
 
 	/**
 	 * The name of the file to which this error reporting utility is associated.
@@ -63,13 +70,62 @@ public class ErrorMsg {
 
 	/**
 	 * Records that a new line character has been found at the given position.
+	 * Positions must be recorded in increasing order.
 	 *
 	 * @param pos the position of the new line character in the source file
 	 *            (number of characters from the beginning of the file)
 	 */
 
 	public void newline(int pos) {
-		linePos.add(pos);
+		if (lines == linePos.length)
+			linePos = Arrays.copyOf(linePos, lines * 2);
+
+		linePos[lines++] = pos;
+	}
+
+	/**
+	 * Yields the number of new line characters strictly before the given position.
+	 * This is computed through a binary search.
+	 *
+	 * @param pos the position (number of characters from the beginning of the file)
+	 * @return the number of new line characters before {@code pos}
+	 */
+
+	private int newlinesBefore(int pos) {
+		int low = 0, high = lines;
+
+		// invariant: linePos[i] < pos for i < low and linePos[i] >= pos for i >= high
+		while (low < high) {
+			int middle = (low + high) >>> 1;
+			if (linePos[middle] < pos)
+				low = middle + 1;
+			else
+				high = middle;
+		}
+
+		return low;
+	}
+
+	/**
+	 * Builds a diagnostic occurring at the given position in the source file.
+	 *
+	 * @param pos the position of the diagnostic (number of characters from the
+	 *            beginning of the file). If this is negative, the diagnostic
+	 *            does not refer to any line
+	 * @param severity the severity of the diagnostic
+	 * @param msg the message of the diagnostic
+	 * @return the diagnostic
+	 */
+
+	private Diagnostic mkDiagnostic(int pos, Diagnostic.Severity severity, String msg) {
+		if (pos < 0)
+			return new Diagnostic(fileName, 0, 0, severity, msg);
+
+		// we look for the last new line before position pos
+		int n = newlinesBefore(pos);
+		int last = n > 0 ? linePos[n - 1] : 0;
+
+		return new Diagnostic(fileName, n + 1, pos - last, severity, msg);
 	}
 
 	/**
@@ -78,7 +134,7 @@ public class ErrorMsg {
 	 *
 	 * @param pos the position where the error must be reported
 	 *            (number of characters from the beginning of the file).
-	 *            If this is negative, the message is printed without
+	 *            If this is negative, the message is reported without
 	 *            any line number reference
 	 * @param msg the message to be reported
 	 */
@@ -86,46 +142,39 @@ public class ErrorMsg {
 	public void error(int pos, String msg) {
 		anyErrors = true; // an error has been reported at least
 
-		String where;
-		if (pos >= 0) {
-			int last = 0, n = 1;
+		Diagnostics.report(mkDiagnostic(pos, Diagnostic.Severity.ERROR, msg));
+	}
 
-			// we look for the last new line before position pos
-			for (int line: linePos) {
-				if (line >= pos) break;
+	/**
+	 * Reports a warning message occurring at the given position
+	 * in the source file. Warnings do not count as errors.
+	 *
+	 * @param pos the position where the warning must be reported
+	 *            (number of characters from the beginning of the file).
+	 *            If this is negative, the message is reported without
+	 *            any line number reference
+	 * @param msg the message to be reported
+	 */
 
-				last = line;
-				n++;
-			}
+	public void warning(int pos, String msg) {
+		Diagnostics.report(mkDiagnostic(pos, Diagnostic.Severity.WARNING, msg));
+	}
 
-			where = n + "." + (pos - last);
-		}
-		else
-			where = "";
+	/**
+	 * Yields a description of the given position in the source file,
+	 * in the form {@code line::column}.
+	 *
+	 * @param pos the position (number of characters from the beginning of the file)
+	 * @return the description, or the empty string if {@code pos} is negative
+	 */
 
-		System.out.println(fileName + "::" + where + ": " + msg);
-	}
-	
-	public String getErrorPosition(int pos){
-		
-		String where;
-		
-		if (pos >= 0) {
-			int last = 0, n = 1;
-
-			// we look for the last new line before position pos
-			for (int line: linePos) {
-				if (line >= pos) break;
-
-				last = line;
-				n++;
-			}
-
-			where = n + "::" + (pos - last);
-		}
-		else
-			where = "";
-		
-		return where;
+	public String getErrorPosition(int pos) {
+		if (pos < 0)
+			return "";
+
+		int n = newlinesBefore(pos);
+		int last = n > 0 ? linePos[n - 1] : 0;
+
+		return (n + 1) + "::" + (pos - last);
 	}
-}
\ No newline at end of file
+}
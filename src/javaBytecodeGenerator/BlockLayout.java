@@ -0,0 +1,308 @@
+package javaBytecodeGenerator;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import translation.Block;
+
+/**
+ * A block layout stage of the Java bytecode generation. It chooses the order in which
+ * the blocks of code are laid out, without any profile information, so that the
+ * frequently executed paths fall through and jumps are taken rarely:
+ * <ul>
+ * <li> the successor of a branch that stays inside the innermost loop of the branch
+ *      is preferred to the successor that leaves the loop
+ * <li> the blocks that are executed rarely, such as the failures of assertions,
+ *      are placed at the end of the code
+ * <li> a join point is placed after all the branches that reach it
+ * <li> loops are rotated, so that their condition is placed at their end: the loop
+ *      is entered by a jump to its condition and each iteration takes a single
+ *      conditional jump back to the beginning of the body, rather than a jump
+ *      back to the condition and a jump out of the loop at its last iteration
+ * </ul>
+ *
+ * @author <A HREF="mailto:fausto.spoto@univr.it">Fausto Spoto</A>
+ */
+
+public class BlockLayout {
+
+	/**
+	 * True if and only if the block layout stage is enabled.
+	 */
+
+	private static boolean enabled;
+
+	/**
+	 * The predecessors of each block.
+	 */
+
+	private final Map<Block, List<Block>> predecessors = new HashMap<>();
+
+	/**
+	 * The blocks of each loop, for each loop header.
+	 */
+
+	private final Map<Block, Set<Block>> loops = new HashMap<>();
+
+	/**
+	 * The blocks that are expected to be executed rarely.
+	 */
+
+	private final Set<Block> rare = new HashSet<>();
+
+	/**
+	 * The blocks, in the order in which they are laid out.
+	 */
+
+	private final List<Block> order = new ArrayList<>();
+
+	/**
+	 * Determines if the block layout stage must be applied.
+	 *
+	 * @param enabled true if and only if the block layout stage must be applied
+	 */
+
+	public static void setEnabled(boolean enabled) {
+		BlockLayout.enabled = enabled;
+	}
+
+	/**
+	 * Determines if the block layout stage is applied.
+	 *
+	 * @return true if and only if the block layout stage is applied
+	 */
+
+	public static boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Lays out the given block of code and those reachable from it.
+	 *
+	 * @param start the block where the code starts
+	 */
+
+	BlockLayout(Block start) {
+		findLoops(start);
+		findRare();
+
+		// the blocks are laid out in reverse postorder, where the preferred
+		// successor of each block is visited last, so that it follows the block
+		postorder(start, new HashSet<Block>());
+		Collections.reverse(order);
+
+		// the blocks that are executed rarely are moved at the end, but the code must start at its first block
+		List<Block> frequent = new ArrayList<>(), infrequent = new ArrayList<>();
+		for (Block block: order)
+			(block == start || !rare.contains(block) ? frequent : infrequent).add(block);
+
+		order.clear();
+		order.addAll(frequent);
+		order.addAll(infrequent);
+
+		for (Block block: new ArrayList<>(order))
+			if (loops.containsKey(block) && block != start)
+				rotate(block);
+	}
+
+	/**
+	 * Yields the blocks of the code, in the order in which they must be laid out.
+	 * The first is the block where the code starts.
+	 *
+	 * @return the blocks
+	 */
+
+	List<Block> getOrder() {
+		return order;
+	}
+
+	/**
+	 * Computes the predecessors of the blocks and the natural loops of the code,
+	 * through a depth-first visit that identifies the jumps back to a block
+	 * that is still being visited.
+	 *
+	 * @param block the block where the code starts
+	 */
+
+	private void findLoops(Block block) {
+		// the visit is iterative, since the code might contain very long chains of blocks
+		Set<Block> seen = new HashSet<>(), active = new HashSet<>();
+		Deque<Block> stack = new ArrayDeque<>();
+		Deque<Integer> next = new ArrayDeque<>();
+		List<Block[]> backEdges = new ArrayList<>();
+
+		seen.add(block);
+		active.add(block);
+		stack.push(block);
+		next.push(0);
+		predecessors.put(block, new ArrayList<Block>());
+
+		while (!stack.isEmpty()) {
+			Block current = stack.peek();
+			int pos = next.pop();
+
+			if (pos < current.getFollows().size()) {
+				next.push(pos + 1);
+				Block follow = current.getFollows().get(pos);
+
+				List<Block> preds = predecessors.get(follow);
+				if (preds == null)
+					predecessors.put(follow, preds = new ArrayList<>());
+				preds.add(current);
+
+				if (active.contains(follow))
+					backEdges.add(new Block[] { current, follow });
+				else if (seen.add(follow)) {
+					active.add(follow);
+					stack.push(follow);
+					next.push(0);
+				}
+			}
+			else
+				active.remove(stack.pop());
+		}
+
+		// the natural loop of a jump back contains the blocks that reach the source of the jump without passing through its target
+		for (Block[] backEdge: backEdges) {
+			Block header = backEdge[1];
+			Set<Block> loop = loops.get(header);
+			if (loop == null)
+				loops.put(header, loop = new HashSet<>());
+
+			loop.add(header);
+			Deque<Block> worklist = new ArrayDeque<>();
+			worklist.push(backEdge[0]);
+			while (!worklist.isEmpty()) {
+				Block member = worklist.pop();
+				if (loop.add(member))
+					for (Block pred: predecessors.get(member))
+						worklist.push(pred);
+			}
+		}
+	}
+
+	/**
+	 * Computes the blocks that are executed rarely: those marked as such and
+	 * those that only lead to blocks that are executed rarely.
+	 */
+
+	private void findRare() {
+		boolean changed;
+
+		do {
+			changed = false;
+
+			for (Block block: predecessors.keySet())
+				if (!rare.contains(block) && (block.isRare() || (!block.getFollows().isEmpty() && rare.containsAll(block.getFollows()))))
+					changed |= rare.add(block);
+		}
+		while (changed);
+	}
+
+	/**
+	 * Adds to the layout the blocks reachable from the given one, in postorder.
+	 *
+	 * @param block the block
+	 * @param seen the blocks visited up to now
+	 */
+
+	private void postorder(Block block, Set<Block> seen) {
+		// the visit is iterative, since the code might contain very long chains of blocks
+		Deque<Block> stack = new ArrayDeque<>();
+		Deque<List<Block>> pending = new ArrayDeque<>();
+
+		seen.add(block);
+		stack.push(block);
+		pending.push(successors(block));
+
+		while (!stack.isEmpty()) {
+			List<Block> successors = pending.peek();
+
+			if (successors.isEmpty()) {
+				order.add(stack.pop());
+				pending.pop();
+			}
+			else {
+				Block follow = successors.remove(0);
+				if (seen.add(follow)) {
+					stack.push(follow);
+					pending.push(successors(follow));
+				}
+			}
+		}
+	}
+
+	/**
+	 * Yields the successors of the given block, in the order in which they
+	 * must be visited: the preferred successor is the last.
+	 *
+	 * @param block the block
+	 * @return the successors
+	 */
+
+	private List<Block> successors(Block block) {
+		List<Block> successors = new ArrayList<>(block.getFollows());
+
+		// by default, the second successor follows the block, as in the original layout
+		if (successors.size() == 2 && isPreferred(block, successors.get(0), successors.get(1)))
+			Collections.reverse(successors);
+
+		return successors;
+	}
+
+	/**
+	 * Determines if the first successor of a branch is preferred to the second.
+	 *
+	 * @param block the branch
+	 * @param first the first successor
+	 * @param second the second successor
+	 * @return true if and only if {@code first} is more likely executed than {@code second}
+	 */
+
+	private boolean isPreferred(Block block, Block first, Block second) {
+		if (rare.contains(first) != rare.contains(second))
+			return rare.contains(second);
+
+		// the successor that stays inside the innermost loop of the branch is preferred
+		Set<Block> innermost = null;
+		for (Set<Block> loop: loops.values())
+			if (loop.contains(block) && (innermost == null || loop.size() < innermost.size()))
+				innermost = loop;
+
+		return innermost != null && innermost.contains(first) && !innermost.contains(second);
+	}
+
+	/**
+	 * Rotates the loop with the given header, by moving the header after the last block
+	 * of the loop, if the header is a branch that leaves the loop and that last block
+	 * jumps back to the header.
+	 *
+	 * @param header the header of the loop
+	 */
+
+	private void rotate(Block header) {
+		Set<Block> loop = loops.get(header);
+		List<Block> follows = header.getFollows();
+		if (follows.size() != 2 || loop.contains(follows.get(0)) == loop.contains(follows.get(1)))
+			return;
+
+		// the blocks of the loop that follow the header must end with the jump back to the header
+		int position = order.indexOf(header);
+		int last = position;
+		while (last + 1 < order.size() && loop.contains(order.get(last + 1)))
+			last++;
+
+		if (last == position || !order.get(last).getFollows().contains(header))
+			return;
+
+		order.remove(position);
+		order.add(last, header);
+	}
+}
@@ -0,0 +1,86 @@
+package javaBytecodeGenerator;
+
+import java.util.Set;
+
+import types.ClassMemberSignature;
+import types.ClassType;
+import types.MethodSignature;
+
+/**
+ * A devirtualization stage of the Java bytecode generation. Since Kitten programs
+ * are compiled in a closed world, a class without subclasses is generated as
+ * {@code final} and a method that is not redefined in the generated subclasses of
+ * its defining class is generated as {@code final}. This way, the calls whose
+ * dynamic target is unique can be bound by the Java virtual machine without
+ * any dependency on the class hierarchy loaded at run-time.
+ *
+ * @author <A HREF="mailto:fausto.spoto@univr.it">Fausto Spoto</A>
+ */
+
+public class Devirtualizer {
+
+	/**
+	 * True if and only if the devirtualization stage is enabled.
+	 */
+
+	private static boolean enabled;
+
+	private Devirtualizer() {}
+
+	/**
+	 * Determines if the devirtualization stage must be applied.
+	 *
+	 * @param enabled true if and only if the devirtualization stage must be applied
+	 */
+
+	public static void setEnabled(boolean enabled) {
+		Devirtualizer.enabled = enabled;
+	}
+
+	/**
+	 * Determines if the devirtualization stage is applied.
+	 *
+	 * @return true if and only if the devirtualization stage is applied
+	 */
+
+	public static boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Determines if the given class can be generated as {@code final}.
+	 *
+	 * @param clazz the class
+	 * @return true if and only if devirtualization is enabled and {@code clazz} has no subclasses
+	 */
+
+	public static boolean isFinal(ClassType clazz) {
+		return enabled && !clazz.getSubclasses().iterator().hasNext();
+	}
+
+	/**
+	 * Determines if the given method can be generated as {@code final}.
+	 *
+	 * @param method the method
+	 * @param sigs the signatures of the program that are generated
+	 * @return true if and only if devirtualization is enabled and no method in {@code sigs}
+	 *         redefines {@code method} in a subclass of its defining class
+	 */
+
+	public static boolean isFinal(MethodSignature method, Set<ClassMemberSignature> sigs) {
+		if (!enabled)
+			return false;
+
+		ClassType definingClass = method.getDefiningClass();
+		for (ClassType subclass: definingClass.getInstances())
+			if (subclass != definingClass) {
+				Set<MethodSignature> candidates = subclass.getMethods().get(method.getName());
+				if (candidates != null)
+					for (MethodSignature candidate: candidates)
+						if (sigs.contains(candidate) && candidate.getParameters().equals(method.getParameters()))
+							return false;
+			}
+
+		return true;
+	}
+}
@@ -5,6 +5,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
+import org.apache.bcel.classfile.Method;
 import org.apache.bcel.generic.ClassGen;
 import org.apache.bcel.generic.ConstantPoolGen;
 import org.apache.bcel.generic.GOTO;
@@ -51,9 +52,25 @@ public abstract class JavaClassGenerator extends ClassGen {
 		// in the previous constant pool. This is useful for generating
 		// complex bytecodes that access the constant pool
 		this.factory = new InstructionFactory(getConstantPool());
+
+		// the class files with stack map frames are checked by the type-checking verifier
+		if (StackMapGenerator.isEnabled()) {
+			setMajor(StackMapGenerator.MAJOR_VERSION);
+			setMinor(0);
+		}
+	}
+
+	/**
+	 * Adds a method to the class. If the stack map generation stage is enabled,
+	 * the {@link StackMapGenerator} first adds the frames to its code.
+	 *
+	 * @param method the method
+	 */
+
+	@Override
+	public void addMethod(Method method) {
+		super.addMethod(StackMapGenerator.isEnabled() ? StackMapGenerator.addStackMapTable(method, this) : method);
 	}
-	
-	
 
 	/**
 	 * Yields the instruction factory that can be used to create complex
@@ -68,8 +85,10 @@ public abstract class JavaClassGenerator extends ClassGen {
 
 	/**
 	 * Generates the Java bytecode for the given block of code and for all
-	 * blocks reachable from it. It calls {@link #generateJavaBytecodeFollows(Block, Map, InstructionList)}
-	 * and then {@link #removeRedundancies(InstructionList)}.
+	 * blocks reachable from it. It calls {@link #generateJavaBytecodeFollows(Block, Map, InstructionList)},
+	 * or lays out the blocks as chosen by the {@link BlockLayout} if that stage is enabled,
+	 * and then {@link #removeRedundancies(InstructionList)}. If the peephole optimization
+	 * stage is enabled, the result is further simplified by the {@link PeepholeOptimizer}.
 	 *
 	 * @param block the code from which the generation starts
 	 * @return the Java bytecode for {@code block} and all blocks reachable from it
@@ -78,9 +97,17 @@ public abstract class JavaClassGenerator extends ClassGen {
 	public InstructionList generateJavaBytecode(Block block) {
 		InstructionList instructions = new InstructionList();
 
-		generateJavaBytecode(block, new HashMap<Block, InstructionHandle>(), instructions);
+		if (BlockLayout.isEnabled())
+			generateJavaBytecode(new BlockLayout(block).getOrder(), instructions);
+		else
+			generateJavaBytecode(block, new HashMap<Block, InstructionHandle>(), instructions);
+
+		removeRedundancies(instructions);
+
+		if (PeepholeOptimizer.isEnabled())
+			PeepholeOptimizer.optimize(instructions, getConstantPool());
 
-		return removeRedundancies(instructions);
+		return instructions;
 	}
 
 	/**
@@ -165,6 +192,51 @@ public abstract class JavaClassGenerator extends ClassGen {
 			}
 	}
 
+	/**
+	 * Auxiliary method that generates the Java bytecode for the given blocks of code,
+	 * laid out in the given order. Each block is followed by the <i>glue</i> that
+	 * jumps to its followers, unless they follow the block in the layout. In particular,
+	 * a branch jumps to the follower that is not laid out immediately after it, if any.
+	 *
+	 * @param order the blocks, in the order in which they must be laid out
+	 * @param instructions the Java bytecode that has already been generated.
+	 *                     It gets modified in order to include the Java bytecode generated
+	 *                     for the blocks in {@code order}
+	 */
+
+	private void generateJavaBytecode(List<Block> order, InstructionList instructions) {
+		Map<Block, InstructionHandle> starts = new HashMap<>();
+		Map<Block, InstructionHandle> ends = new HashMap<>();
+
+		for (Block block: order) {
+			starts.put(block, instructions.append(block.getBytecode().generateJavaBytecode(this)));
+			ends.put(block, instructions.getEnd());
+		}
+
+		for (int pos = 0; pos < order.size(); pos++) {
+			Block block = order.get(pos);
+			Block next = pos < order.size() - 1 ? order.get(pos + 1) : null;
+			List<Block> follows = block.getFollows();
+
+			if (follows.isEmpty())
+				continue;
+			else if (follows.get(0).getBytecode().getHead() instanceof BranchingBytecode) {
+				// we jump to the follower that is not laid out next, if any. The goto to the
+				// other follower is later removed, if it is laid out next
+				Block yes = follows.get(0), no = follows.get(1);
+				if (yes == next) {
+					yes = follows.get(1);
+					no = follows.get(0);
+				}
+
+				BranchingBytecode condition = (BranchingBytecode) yes.getBytecode().getHead();
+				instructions.append(ends.get(block), condition.generateJavaBytecode(this, starts.get(yes), starts.get(no)));
+			}
+			else
+				instructions.append(ends.get(block), new GOTO(starts.get(follows.get(0))));
+		}
+	}
+
 	/**
 	 * Simplifies a piece of Java bytecode, by removing:
 	 * <ul>
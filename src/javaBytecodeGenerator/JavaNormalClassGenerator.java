@@ -28,7 +28,8 @@ public class JavaNormalClassGenerator extends JavaClassGenerator {
 			// the superclass of the Kitten Object class is set to be the Java java.lang.Object class
 			clazz.getSuperclass() != null ? clazz.getSuperclass().getName() : "java.lang.Object",
 			clazz.getName() + ".kit", // source file
-			Constants.ACC_PUBLIC, // Java attributes: public!
+			// Java attributes: public! Classes without subclasses are final if devirtualization is enabled
+			Devirtualizer.isFinal(clazz) ? Constants.ACC_PUBLIC | Constants.ACC_FINAL : Constants.ACC_PUBLIC,
 			noInterfaces, // no interfaces
 			new ConstantPoolGen()); // empty constant pool, at the beginning
 
@@ -48,7 +49,7 @@ public class JavaNormalClassGenerator extends JavaClassGenerator {
 		for (Set<MethodSignature> s: clazz.getMethods().values())
 			for (MethodSignature method: s)
 				if (sigs.contains(method))
-					method.createMethod(this);
+					method.createMethod(this, Devirtualizer.isFinal(method, sigs));
 	}
 	
 	public JavaNormalClassGenerator(String className, String parentClassName,
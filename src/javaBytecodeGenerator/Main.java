@@ -1,8 +1,20 @@
 package javaBytecodeGenerator;
 
+import errorMsg.Diagnostics;
 import errorMsg.ErrorMsg;
 import types.ClassType;
+import translation.ConstantPropagation;
+import translation.DeadCodeElimination;
+import translation.EscapeAnalysis;
+import translation.GlobalValueNumbering;
+import translation.Inliner;
+import translation.LoopOptimizer;
+import translation.MethodSplitter;
 import translation.Program;
+import translation.RapidTypeAnalysis;
+import translation.SlotAllocator;
+import translation.Specializer;
+import translation.TailCallElimination;
 
 public class Main {
 	public static void main(String[] args) {
@@ -11,6 +23,69 @@ public class Main {
 			return;
 		}
 
+		// the optional -j option sets the number of threads used for parsing.
+		// Options -batch and -json print all diagnostics at the end of the compilation.
+		// Option -rta prunes the targets of virtual calls on classes that are never instantiated.
+		// Option -devirt generates final classes and methods when they are not redefined.
+		// Option -layout lays out the generated Java bytecode so that loops are rotated and rarely executed code is moved at the end
+		// Option -frames generates Java 7 class files with stack map frames, that are verified faster
+		// Option -peephole rewrites short sequences of the generated Java bytecode into shorter and faster ones
+		// Option -tce turns self-recursive tail calls into jumps back to the beginning of their method
+		// Option -inline inlines small methods, whose size and nesting are bounded by -inline-size and -inline-depth.
+		// Option -specialize propagates constant parameters into their callees and copies the methods, up to -specialize-size bytecodes, called with distinct constants
+		// Option -sccp propagates constants and resolves the branches whose outcome is known
+		// Option -escape replaces the objects that do not escape from their code with a local variable for each field
+		// Option -gvn eliminates redundant computations and copies through a static single assignment form
+		// Option -loops moves invariant computations out of loops and reduces the multiplications of their counters
+		// Option -dce removes dead stores, unused computations and the code after return's
+		// Option -slots splits the local variables into their live ranges and reuses their local variables
+		// Option -split extracts regions of the code whose Java bytecode is larger than -split-size bytes into synthetic methods
+		for (int pos = 1; pos < args.length; pos++)
+			if (args[pos].equals("-j") && pos < args.length - 1)
+				ClassType.setParsingThreads(Integer.parseInt(args[++pos]));
+			else if (args[pos].equals("-batch"))
+				Diagnostics.setBatched(true);
+			else if (args[pos].equals("-json"))
+				Diagnostics.setMachineReadable(true);
+			else if (args[pos].equals("-rta"))
+				RapidTypeAnalysis.setEnabled(true);
+			else if (args[pos].equals("-devirt"))
+				Devirtualizer.setEnabled(true);
+			else if (args[pos].equals("-layout"))
+				BlockLayout.setEnabled(true);
+			else if (args[pos].equals("-frames"))
+				StackMapGenerator.setEnabled(true);
+			else if (args[pos].equals("-peephole"))
+				PeepholeOptimizer.setEnabled(true);
+			else if (args[pos].equals("-tce"))
+				TailCallElimination.setEnabled(true);
+			else if (args[pos].equals("-inline"))
+				Inliner.setEnabled(true);
+			else if (args[pos].equals("-inline-size") && pos < args.length - 1)
+				Inliner.setMaxSize(Integer.parseInt(args[++pos]));
+			else if (args[pos].equals("-inline-depth") && pos < args.length - 1)
+				Inliner.setMaxDepth(Integer.parseInt(args[++pos]));
+			else if (args[pos].equals("-specialize"))
+				Specializer.setEnabled(true);
+			else if (args[pos].equals("-specialize-size") && pos < args.length - 1)
+				Specializer.setMaxSize(Integer.parseInt(args[++pos]));
+			else if (args[pos].equals("-sccp"))
+				ConstantPropagation.setEnabled(true);
+			else if (args[pos].equals("-escape"))
+				EscapeAnalysis.setEnabled(true);
+			else if (args[pos].equals("-gvn"))
+				GlobalValueNumbering.setEnabled(true);
+			else if (args[pos].equals("-loops"))
+				LoopOptimizer.setEnabled(true);
+			else if (args[pos].equals("-dce"))
+				DeadCodeElimination.setEnabled(true);
+			else if (args[pos].equals("-slots"))
+				SlotAllocator.setEnabled(true);
+			else if (args[pos].equals("-split"))
+				MethodSplitter.setEnabled(true);
+			else if (args[pos].equals("-split-size") && pos < args.length - 1)
+				MethodSplitter.setMaxSize(Integer.parseInt(args[++pos]));
+
 		long totalTime = System.currentTimeMillis();
 
 		// we build the class type for the file name passed as a parameter.
@@ -29,6 +104,9 @@ public class Main {
 
 			System.out.println("Translation into Kitten bytecode completed \t[" + (System.currentTimeMillis() - time) + "ms]");
 
+			for (String optimization: program.getOptimizations())
+				System.out.println("  " + optimization);
+
 			time = System.currentTimeMillis();
 			program.dumpCodeDot();
 
@@ -45,6 +123,8 @@ public class Main {
 		    System.out.println("Java bytecode generation completed       \t[" + (System.currentTimeMillis() - time) + "ms]");
 		}
 
+		Diagnostics.flush();
+
 		System.out.println("Total compilation time was " + (System.currentTimeMillis() - totalTime) + "ms");
 	}
 }
\ No newline at end of file
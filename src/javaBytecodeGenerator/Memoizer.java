@@ -0,0 +1,222 @@
+package javaBytecodeGenerator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.bcel.Constants;
+import org.apache.bcel.generic.ALOAD;
+import org.apache.bcel.generic.ASTORE;
+import org.apache.bcel.generic.FLOAD;
+import org.apache.bcel.generic.FSTORE;
+import org.apache.bcel.generic.FieldGen;
+import org.apache.bcel.generic.IFEQ;
+import org.apache.bcel.generic.IFNONNULL;
+import org.apache.bcel.generic.ILOAD;
+import org.apache.bcel.generic.ISTORE;
+import org.apache.bcel.generic.Instruction;
+import org.apache.bcel.generic.InstructionConstants;
+import org.apache.bcel.generic.InstructionFactory;
+import org.apache.bcel.generic.InstructionHandle;
+import org.apache.bcel.generic.InstructionList;
+import org.apache.bcel.generic.LLOAD;
+import org.apache.bcel.generic.LSTORE;
+import org.apache.bcel.generic.LocalVariableInstruction;
+import org.apache.bcel.generic.ObjectType;
+import org.apache.bcel.generic.ReturnInstruction;
+import org.apache.bcel.generic.Type;
+
+import runTime.MemoCache;
+import types.FloatType;
+import types.MethodSignature;
+import types.TypeList;
+
+/**
+ * A stage of the Java bytecode generation that adds a cache of results to the
+ * {@code memo} methods. Each receiver gets a {@link runTime.MemoCache} for each
+ * of its {@code memo} methods, created at the first call and held in a private
+ * field. The code of the method looks up the cache before running its body, and
+ * each return of the body stores the result into the cache. Since a {@code memo}
+ * method has at most two {@code int}, {@code float} or {@code boolean} parameters
+ * and returns one of those types, keys and values are packed into primitive
+ * values and lookups never box.
+ *
+ * @author <A HREF="mailto:fausto.spoto@univr.it">Fausto Spoto</A>
+ */
+
+public class Memoizer {
+
+	/**
+	 * The Java type of the caches.
+	 */
+
+	private final static ObjectType CACHE_TYPE = new ObjectType(MemoCache.class.getName());
+
+	private Memoizer() {}
+
+	/**
+	 * Adds a cache of results to the Java bytecode of the given {@code memo} method.
+	 * This also adds to the class the field that holds the cache.
+	 *
+	 * @param method the {@code memo} method
+	 * @param classGen the generator of the class where the method lives
+	 * @param il the Java bytecode of the body of the method
+	 * @return {@code il}, modified in order to use the cache
+	 */
+
+	public static InstructionList memoize(MethodSignature method, JavaClassGenerator classGen, InstructionList il) {
+		String fieldName = cacheName(method);
+		classGen.addField(new FieldGen(Constants.ACC_PRIVATE, CACHE_TYPE, fieldName, classGen.getConstantPool()).getField());
+
+		// the cache and the key are kept in fresh local variables,
+		// since the body might modify the parameters
+		int cacheVar = nextLocal(method, classGen, il);
+		int keyVar = cacheVar + 1;
+		int resultVar = keyVar + 2;
+		boolean isFloat = method.getReturnType() == FloatType.INSTANCE;
+
+		// we store the result of the body into the cache, before each return
+		List<InstructionHandle> returns = new ArrayList<>();
+		for (InstructionHandle handle: il.getInstructionHandles())
+			if (handle.getInstruction() instanceof ReturnInstruction)
+				returns.add(handle);
+
+		for (InstructionHandle handle: returns) {
+			InstructionList store = new InstructionList();
+			store.append(InstructionConstants.DUP);
+			store.append(isFloat ? new FSTORE(resultVar) : new ISTORE(resultVar));
+			store.append(new ALOAD(cacheVar));
+			store.append(new LLOAD(keyVar));
+			store.append(isFloat ? new FLOAD(resultVar) : new ILOAD(resultVar));
+			if (isFloat)
+				store.append(floatToBits(classGen, "floatToRawIntBits"));
+			store.append(classGen.getFactory().createInvoke
+				(MemoCache.class.getName(), "put", Type.VOID, new Type[] { Type.LONG, Type.INT }, Constants.INVOKEVIRTUAL));
+
+			// the jumps to the return must now reach the store into the cache
+			il.redirectBranches(handle, il.insert(handle, store));
+		}
+
+		il.insert(lookup(method, classGen, fieldName, cacheVar, keyVar, isFloat, il.getStart()));
+
+		return il;
+	}
+
+	/**
+	 * Yields the Java bytecode that creates the cache if needed and returns
+	 * the cached result, if any.
+	 *
+	 * @param method the {@code memo} method
+	 * @param classGen the generator of the class where the method lives
+	 * @param fieldName the name of the field that holds the cache
+	 * @param cacheVar the local variable where the cache must be stored
+	 * @param keyVar the local variable where the key must be stored
+	 * @param isFloat true if and only if the method returns {@code float}
+	 * @param body the beginning of the body of the method
+	 * @return the Java bytecode
+	 */
+
+	private static InstructionList lookup(MethodSignature method, JavaClassGenerator classGen,
+			String fieldName, int cacheVar, int keyVar, boolean isFloat, InstructionHandle body) {
+
+		InstructionFactory factory = classGen.getFactory();
+		InstructionList il = new InstructionList();
+
+		// the cache is created at the first call on each receiver
+		il.append(InstructionConstants.ALOAD_0);
+		il.append(factory.createFieldAccess(classGen.getClassName(), fieldName, CACHE_TYPE, Constants.GETFIELD));
+		il.append(InstructionConstants.DUP);
+		IFNONNULL exists = new IFNONNULL(null);
+		il.append(exists);
+		il.append(InstructionConstants.POP);
+		il.append(InstructionConstants.ALOAD_0);
+		il.append(factory.createNew(CACHE_TYPE));
+		il.append(InstructionConstants.DUP);
+		il.append(factory.createInvoke(MemoCache.class.getName(), "<init>", Type.VOID, Type.NO_ARGS, Constants.INVOKESPECIAL));
+		il.append(InstructionConstants.DUP_X1);
+		il.append(factory.createFieldAccess(classGen.getClassName(), fieldName, CACHE_TYPE, Constants.PUTFIELD));
+		exists.setTarget(il.append(new ASTORE(cacheVar)));
+
+		// the key is made of the bits of the parameters, that start at local 1
+		int var = 1;
+		for (TypeList cursor = method.getParameters(); cursor != TypeList.EMPTY; cursor = cursor.getTail())
+			if (cursor.getHead() == FloatType.INSTANCE) {
+				il.append(new FLOAD(var++));
+				il.append(floatToBits(classGen, "floatToIntBits"));
+			}
+			else
+				il.append(new ILOAD(var++));
+
+		Type[] keyArgs = new Type[var - 1];
+		Arrays.fill(keyArgs, Type.INT);
+		il.append(factory.createInvoke(MemoCache.class.getName(), "key", Type.LONG, keyArgs, Constants.INVOKESTATIC));
+		il.append(new LSTORE(keyVar));
+
+		// if the key is in the cache, we return its value
+		il.append(new ALOAD(cacheVar));
+		il.append(new LLOAD(keyVar));
+		il.append(factory.createInvoke(MemoCache.class.getName(), "contains", Type.BOOLEAN, new Type[] { Type.LONG }, Constants.INVOKEVIRTUAL));
+		il.append(new IFEQ(body));
+		il.append(new ALOAD(cacheVar));
+		il.append(factory.createInvoke(MemoCache.class.getName(), "value", Type.INT, Type.NO_ARGS, Constants.INVOKEVIRTUAL));
+		if (isFloat) {
+			il.append(factory.createInvoke("java.lang.Float", "intBitsToFloat", Type.FLOAT, new Type[] { Type.INT }, Constants.INVOKESTATIC));
+			il.append(InstructionConstants.FRETURN);
+		}
+		else
+			il.append(InstructionConstants.IRETURN);
+
+		return il;
+	}
+
+	/**
+	 * Yields a call to a method of {@code java.lang.Float} that translates a {@code float} into its bits.
+	 *
+	 * @param classGen the generator of the class where the call occurs
+	 * @param name the name of the method
+	 * @return the call
+	 */
+
+	private static Instruction floatToBits(JavaClassGenerator classGen, String name) {
+		return classGen.getFactory().createInvoke
+			("java.lang.Float", name, Type.INT, new Type[] { Type.FLOAT }, Constants.INVOKESTATIC);
+	}
+
+	/**
+	 * Yields the first local variable that is not used by the given Java bytecode of a method.
+	 *
+	 * @param method the method
+	 * @param classGen the generator of the class where the method lives
+	 * @param il the Java bytecode of the method
+	 * @return the first unused local variable
+	 */
+
+	private static int nextLocal(MethodSignature method, JavaClassGenerator classGen, InstructionList il) {
+		int next = 1 + method.getParameters().getSize();
+
+		for (InstructionHandle handle: il.getInstructionHandles())
+			if (handle.getInstruction() instanceof LocalVariableInstruction) {
+				LocalVariableInstruction instruction = (LocalVariableInstruction) handle.getInstruction();
+				next = Math.max(next, instruction.getIndex() + instruction.getType(classGen.getConstantPool()).getSize());
+			}
+
+		return next;
+	}
+
+	/**
+	 * Yields the name of the field that holds the cache of the given method.
+	 * It contains the types of the parameters, so that overloaded methods
+	 * get distinct caches.
+	 *
+	 * @param method the method
+	 * @return the name of the field
+	 */
+
+	private static String cacheName(MethodSignature method) {
+		StringBuilder name = new StringBuilder("memo$").append(method.getName());
+		for (TypeList cursor = method.getParameters(); cursor != TypeList.EMPTY; cursor = cursor.getTail())
+			name.append('$').append(cursor.getHead());
+
+		return name.toString();
+	}
+}
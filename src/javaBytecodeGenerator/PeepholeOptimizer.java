@@ -0,0 +1,409 @@
+package javaBytecodeGenerator;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.apache.bcel.generic.ACONST_NULL;
+import org.apache.bcel.generic.BranchInstruction;
+import org.apache.bcel.generic.ConstantPoolGen;
+import org.apache.bcel.generic.ConstantPushInstruction;
+import org.apache.bcel.generic.DUP;
+import org.apache.bcel.generic.GOTO;
+import org.apache.bcel.generic.GotoInstruction;
+import org.apache.bcel.generic.IADD;
+import org.apache.bcel.generic.IFEQ;
+import org.apache.bcel.generic.IFNE;
+import org.apache.bcel.generic.IINC;
+import org.apache.bcel.generic.ILOAD;
+import org.apache.bcel.generic.ISTORE;
+import org.apache.bcel.generic.ISUB;
+import org.apache.bcel.generic.IfInstruction;
+import org.apache.bcel.generic.Instruction;
+import org.apache.bcel.generic.InstructionConstants;
+import org.apache.bcel.generic.InstructionHandle;
+import org.apache.bcel.generic.InstructionList;
+import org.apache.bcel.generic.LDC;
+import org.apache.bcel.generic.LoadInstruction;
+import org.apache.bcel.generic.NOP;
+import org.apache.bcel.generic.POP;
+import org.apache.bcel.generic.ReturnInstruction;
+import org.apache.bcel.generic.StoreInstruction;
+import org.apache.bcel.generic.TargetLostException;
+import org.apache.bcel.generic.UnconditionalBranch;
+
+/**
+ * A peephole optimization stage of the Java bytecode generation. It applies a
+ * table of rewritings to short sequences of Java bytecodes, until no rewriting
+ * applies anymore. A sequence is rewritten only if no jump reaches its bytecodes
+ * but the first, whose jumps are redirected to the rewritten code. The rewritings are:
+ * <ul>
+ * <li> a store into a local variable followed by a load from the same local variable
+ *      becomes a {@code dup} followed by the store, or disappears if the local variable
+ *      is never read elsewhere
+ * <li> the increment or decrement of a local {@code int} variable by a small constant
+ *      becomes an {@code iinc}
+ * <li> a jump to a {@code goto} jumps to the target of the {@code goto}, and
+ *      a {@code goto} to a {@code return} becomes a copy of the {@code return}
+ * <li> a conditional jump over a {@code goto} becomes the opposite conditional jump
+ *      to the target of the {@code goto}
+ * <li> a constant followed by a test of that constant becomes a {@code goto}
+ * <li> a value that is pushed and immediately popped disappears
+ * <li> the code that follows an unconditional jump or a {@code return}, and that is not reached by any jump,
+ *      disappears, as well as {@code nop}'s and {@code goto}'s to the subsequent bytecode
+ * </ul>
+ *
+ * @author <A HREF="mailto:fausto.spoto@univr.it">Fausto Spoto</A>
+ */
+
+public class PeepholeOptimizer {
+
+	/**
+	 * True if and only if the peephole optimization stage is enabled.
+	 */
+
+	private static boolean enabled;
+
+	/**
+	 * A rewriting of a sequence of Java bytecodes.
+	 */
+
+	private interface Rule {
+
+		/**
+		 * Rewrites the sequence of Java bytecodes that starts at the given instruction, if it matches.
+		 *
+		 * @param il the Java bytecode where the sequence occurs
+		 * @param handle the first instruction of the sequence
+		 * @param cpg the constant pool of the class where the Java bytecode lives
+		 * @return true if and only if the sequence has been rewritten
+		 */
+
+		boolean rewrite(InstructionList il, InstructionHandle handle, ConstantPoolGen cpg);
+	}
+
+	/**
+	 * The table of rewritings.
+	 */
+
+	private final static Rule[] RULES = {
+		PeepholeOptimizer::redundant,
+		PeepholeOptimizer::unreachable,
+		PeepholeOptimizer::storeLoad,
+		PeepholeOptimizer::increment,
+		PeepholeOptimizer::jumpToJump,
+		PeepholeOptimizer::jumpOverGoto,
+		PeepholeOptimizer::constantTest,
+		PeepholeOptimizer::pushPop
+	};
+
+	private PeepholeOptimizer() {}
+
+	/**
+	 * Determines if the peephole optimization stage must be applied.
+	 *
+	 * @param enabled true if and only if the peephole optimization stage must be applied
+	 */
+
+	public static void setEnabled(boolean enabled) {
+		PeepholeOptimizer.enabled = enabled;
+	}
+
+	/**
+	 * Determines if the peephole optimization stage is applied.
+	 *
+	 * @return true if and only if the peephole optimization stage is applied
+	 */
+
+	public static boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Applies the rewritings to the given Java bytecode, until no rewriting applies anymore.
+	 *
+	 * @param il the Java bytecode
+	 * @param cpg the constant pool of the class where the Java bytecode lives
+	 * @return {@code il}, rewritten
+	 */
+
+	public static InstructionList optimize(InstructionList il, ConstantPoolGen cpg) {
+		boolean changed;
+
+		do {
+			changed = false;
+
+			for (InstructionHandle handle = il.getStart(); handle != null; ) {
+				// a rewriting might remove the instruction, hence we restart from the previous one
+				InstructionHandle previous = handle.getPrev();
+				boolean rewritten = false;
+
+				for (Rule rule: RULES)
+					if (rule.rewrite(il, handle, cpg)) {
+						rewritten = changed = true;
+						break;
+					}
+
+				if (!rewritten)
+					handle = handle.getNext();
+				else if (previous != null)
+					handle = previous;
+				else
+					handle = il.getStart();
+			}
+		}
+		while (changed);
+
+		il.setPositions();
+
+		return il;
+	}
+
+	/**
+	 * Removes a {@code nop} or a {@code goto} to the subsequent instruction.
+	 */
+
+	private static boolean redundant(InstructionList il, InstructionHandle handle, ConstantPoolGen cpg) {
+		Instruction instruction = handle.getInstruction();
+
+		return (instruction instanceof NOP || (instruction instanceof GotoInstruction && ((GotoInstruction) instruction).getTarget() == handle.getNext()))
+			&& replace(il, handle, handle, new InstructionList());
+	}
+
+	/**
+	 * Removes the instructions after an unconditional jump or a {@code return} that are not reached by any jump.
+	 */
+
+	private static boolean unreachable(InstructionList il, InstructionHandle handle, ConstantPoolGen cpg) {
+		if (!(handle.getInstruction() instanceof UnconditionalBranch || handle.getInstruction() instanceof ReturnInstruction))
+			return false;
+
+		InstructionHandle last = handle;
+		while (last.getNext() != null && !last.getNext().hasTargeters())
+			last = last.getNext();
+
+		if (last == handle)
+			return false;
+
+		try {
+			il.delete(handle.getNext(), last);
+		}
+		catch (TargetLostException e) {
+			// impossible, since the removed instructions are not reached by any jump
+		}
+
+		return true;
+	}
+
+	/**
+	 * Rewrites a store into a local variable followed by a load from the same local variable.
+	 */
+
+	private static boolean storeLoad(InstructionList il, InstructionHandle handle, ConstantPoolGen cpg) {
+		InstructionHandle next = handle.getNext();
+		if (!(handle.getInstruction() instanceof StoreInstruction) || next == null || !(next.getInstruction() instanceof LoadInstruction))
+			return false;
+
+		StoreInstruction store = (StoreInstruction) handle.getInstruction();
+		LoadInstruction load = (LoadInstruction) next.getInstruction();
+		if (store.getIndex() != load.getIndex() || !store.getType(cpg).equals(load.getType(cpg)) || next.hasTargeters())
+			return false;
+
+		InstructionList replacement = new InstructionList();
+
+		// if the local variable is read elsewhere, the value is both kept on the stack and stored
+		if (isRead(il, store.getIndex(), next)) {
+			replacement.append(store.getType(cpg).getSize() == 2 ? InstructionConstants.DUP2 : InstructionConstants.DUP);
+			replacement.append(store.copy());
+		}
+
+		return replace(il, handle, next, replacement);
+	}
+
+	/**
+	 * Rewrites the increment or decrement of a local {@code int} variable by a constant into an {@code iinc}.
+	 * Both {@code x + c} and {@code c + x} are recognised.
+	 */
+
+	private static boolean increment(InstructionList il, InstructionHandle handle, ConstantPoolGen cpg) {
+		InstructionHandle second = handle.getNext();
+		InstructionHandle operation = second != null ? second.getNext() : null;
+		InstructionHandle last = operation != null ? operation.getNext() : null;
+		if (last == null || !(last.getInstruction() instanceof ISTORE))
+			return false;
+
+		Instruction first = handle.getInstruction();
+		int var = ((ISTORE) last.getInstruction()).getIndex();
+		Number constant;
+
+		if (first instanceof ILOAD && ((ILOAD) first).getIndex() == var && second.getInstruction() instanceof ConstantPushInstruction)
+			constant = ((ConstantPushInstruction) second.getInstruction()).getValue();
+		else if (first instanceof ConstantPushInstruction && second.getInstruction() instanceof ILOAD
+				&& ((ILOAD) second.getInstruction()).getIndex() == var && operation.getInstruction() instanceof IADD)
+			constant = ((ConstantPushInstruction) first).getValue();
+		else
+			return false;
+
+		if (!(constant instanceof Integer))
+			return false;
+
+		int increment = constant.intValue();
+		if (operation.getInstruction() instanceof ISUB)
+			increment = -increment;
+		else if (!(operation.getInstruction() instanceof IADD))
+			return false;
+
+		return increment >= Short.MIN_VALUE && increment <= Short.MAX_VALUE
+			&& replace(il, handle, last, new InstructionList(new IINC(var, increment)));
+	}
+
+	/**
+	 * Redirects a jump to a {@code goto} towards the target of the {@code goto},
+	 * and replaces a {@code goto} to a {@code return} with a copy of the {@code return}.
+	 */
+
+	private static boolean jumpToJump(InstructionList il, InstructionHandle handle, ConstantPoolGen cpg) {
+		if (!(handle.getInstruction() instanceof BranchInstruction))
+			return false;
+
+		BranchInstruction branch = (BranchInstruction) handle.getInstruction();
+		InstructionHandle target = branch.getTarget();
+
+		if (branch instanceof GotoInstruction && target.getInstruction() instanceof ReturnInstruction)
+			return replace(il, handle, handle, new InstructionList(target.getInstruction().copy()));
+
+		if (!(target.getInstruction() instanceof GotoInstruction))
+			return false;
+
+		// we follow the chain of goto's, that might be an infinite loop
+		Set<InstructionHandle> seen = new HashSet<>();
+		while (target.getInstruction() instanceof GotoInstruction && seen.add(target))
+			target = ((GotoInstruction) target.getInstruction()).getTarget();
+
+		if (target.getInstruction() instanceof GotoInstruction || target == branch.getTarget())
+			return false;
+
+		branch.setTarget(target);
+
+		return true;
+	}
+
+	/**
+	 * Rewrites a conditional jump over a {@code goto} into the opposite
+	 * conditional jump to the target of the {@code goto}.
+	 */
+
+	private static boolean jumpOverGoto(InstructionList il, InstructionHandle handle, ConstantPoolGen cpg) {
+		InstructionHandle next = handle.getNext();
+		if (!(handle.getInstruction() instanceof IfInstruction) || next == null
+				|| !(next.getInstruction() instanceof GotoInstruction) || next.hasTargeters())
+			return false;
+
+		IfInstruction condition = (IfInstruction) handle.getInstruction();
+		if (condition.getTarget() != next.getNext())
+			return false;
+
+		IfInstruction negation = condition.negate();
+		negation.setTarget(((GotoInstruction) next.getInstruction()).getTarget());
+
+		return replace(il, handle, next, new InstructionList(negation));
+	}
+
+	/**
+	 * Rewrites an {@code int} constant followed by an {@code ifeq} or {@code ifne}
+	 * into a {@code goto} to the target of the test or to the instruction after the test.
+	 * The constant can be followed by a {@code goto} to the test.
+	 */
+
+	private static boolean constantTest(InstructionList il, InstructionHandle handle, ConstantPoolGen cpg) {
+		if (!(handle.getInstruction() instanceof ConstantPushInstruction) || handle.getNext() == null)
+			return false;
+
+		Number constant = ((ConstantPushInstruction) handle.getInstruction()).getValue();
+		if (!(constant instanceof Integer))
+			return false;
+
+		InstructionHandle last = handle;
+		InstructionHandle test = handle.getNext();
+		if (test.getInstruction() instanceof GOTO && !test.hasTargeters()) {
+			last = test;
+			test = ((GOTO) test.getInstruction()).getTarget();
+		}
+
+		Instruction instruction = test.getInstruction();
+		if (!(instruction instanceof IFEQ || instruction instanceof IFNE) || test.getNext() == null)
+			return false;
+
+		boolean jumps = (constant.intValue() == 0) == (instruction instanceof IFEQ);
+		InstructionHandle target = jumps ? ((IfInstruction) instruction).getTarget() : test.getNext();
+
+		return replace(il, handle, last, new InstructionList(new GOTO(target)));
+	}
+
+	/**
+	 * Removes a value that is pushed without side-effects and immediately popped.
+	 */
+
+	private static boolean pushPop(InstructionList il, InstructionHandle handle, ConstantPoolGen cpg) {
+		InstructionHandle next = handle.getNext();
+		Instruction instruction = handle.getInstruction();
+
+		return next != null && next.getInstruction() instanceof POP && !next.hasTargeters()
+			&& (instruction instanceof DUP || instruction instanceof ConstantPushInstruction || instruction instanceof ACONST_NULL
+				|| instruction instanceof LDC || (instruction instanceof LoadInstruction && ((LoadInstruction) instruction).getType(cpg).getSize() == 1))
+			&& replace(il, handle, next, new InstructionList());
+	}
+
+	/**
+	 * Determines if the given local variable is read by an instruction other than the given one.
+	 *
+	 * @param il the Java bytecode
+	 * @param var the local variable
+	 * @param except the instruction that is not considered
+	 * @return true if and only if that is the case
+	 */
+
+	private static boolean isRead(InstructionList il, int var, InstructionHandle except) {
+		for (InstructionHandle handle = il.getStart(); handle != null; handle = handle.getNext())
+			if (handle != except) {
+				Instruction instruction = handle.getInstruction();
+				if ((instruction instanceof LoadInstruction && ((LoadInstruction) instruction).getIndex() == var)
+						|| (instruction instanceof IINC && ((IINC) instruction).getIndex() == var))
+					return true;
+			}
+
+		return false;
+	}
+
+	/**
+	 * Replaces a sequence of instructions with the given instructions. The jumps
+	 * to the first instruction of the sequence are redirected to the replacement.
+	 *
+	 * @param il the Java bytecode where the sequence occurs
+	 * @param first the first instruction of the sequence
+	 * @param last the last instruction of the sequence
+	 * @param replacement the instructions that replace the sequence
+	 * @return true if and only if the sequence has been replaced. This is false
+	 *         if the sequence is empty and nothing follows it
+	 */
+
+	private static boolean replace(InstructionList il, InstructionHandle first, InstructionHandle last, InstructionList replacement) {
+		InstructionHandle start;
+		if (!replacement.isEmpty())
+			start = il.insert(first, replacement);
+		else if (last.getNext() != null)
+			start = last.getNext();
+		else
+			return false;
+
+		il.redirectBranches(first, start);
+
+		try {
+			il.delete(first, last);
+		}
+		catch (TargetLostException e) {
+			// impossible, since the jumps to the sequence have been redirected
+		}
+
+		return true;
+	}
+}
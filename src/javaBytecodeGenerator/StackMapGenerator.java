@@ -0,0 +1,750 @@
+package javaBytecodeGenerator;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.bcel.Constants;
+import org.apache.bcel.classfile.Attribute;
+import org.apache.bcel.classfile.Code;
+import org.apache.bcel.classfile.Method;
+import org.apache.bcel.classfile.Unknown;
+import org.apache.bcel.generic.AALOAD;
+import org.apache.bcel.generic.ACONST_NULL;
+import org.apache.bcel.generic.ANEWARRAY;
+import org.apache.bcel.generic.ARRAYLENGTH;
+import org.apache.bcel.generic.ArrayType;
+import org.apache.bcel.generic.BranchInstruction;
+import org.apache.bcel.generic.ConstantPoolGen;
+import org.apache.bcel.generic.DCMPG;
+import org.apache.bcel.generic.DCMPL;
+import org.apache.bcel.generic.FCMPG;
+import org.apache.bcel.generic.FCMPL;
+import org.apache.bcel.generic.INSTANCEOF;
+import org.apache.bcel.generic.INVOKESPECIAL;
+import org.apache.bcel.generic.INVOKESTATIC;
+import org.apache.bcel.generic.Instruction;
+import org.apache.bcel.generic.InstructionHandle;
+import org.apache.bcel.generic.InstructionList;
+import org.apache.bcel.generic.InvokeInstruction;
+import org.apache.bcel.generic.LCMP;
+import org.apache.bcel.generic.LoadInstruction;
+import org.apache.bcel.generic.NEW;
+import org.apache.bcel.generic.NEWARRAY;
+import org.apache.bcel.generic.ObjectType;
+import org.apache.bcel.generic.ReferenceType;
+import org.apache.bcel.generic.ReturnInstruction;
+import org.apache.bcel.generic.Select;
+import org.apache.bcel.generic.StackInstruction;
+import org.apache.bcel.generic.StoreInstruction;
+import org.apache.bcel.generic.Type;
+import org.apache.bcel.generic.TypedInstruction;
+import org.apache.bcel.generic.UnconditionalBranch;
+
+import types.ClassType;
+
+/**
+ * A stage of the Java bytecode generation that adds a {@code StackMapTable} attribute
+ * to the code of the methods, so that the class files can be checked by the fast
+ * type-checking verifier of Java 7 and later, rather than by the type-inferencing one.
+ * The BCEL library does not know that attribute, hence it is built here, byte by byte.
+ * The frames are computed by an abstract execution of the Java bytecode as it is dumped,
+ * since the other stages of the generation rewrite the code of the blocks. A frame is
+ * recorded at each target of a jump and after each unconditional jump. Reference types
+ * are joined at their least common superclass, while local variables with incompatible
+ * types are never read later, hence they are joined into {@code top}. The code that is
+ * never executed is replaced by a {@code throw} of {@code null}, as the verifier requires.
+ *
+ * @author <A HREF="mailto:fausto.spoto@univr.it">Fausto Spoto</A>
+ */
+
+public class StackMapGenerator {
+
+	/**
+	 * The major version of the class files that contain stack map frames. It is that
+	 * of Java 7, the first version where the type-checking verifier is mandatory.
+	 */
+
+	public final static int MAJOR_VERSION = 51;
+
+	/**
+	 * True if and only if the stack map generation stage is enabled.
+	 */
+
+	private static boolean enabled;
+
+	/**
+	 * The type of the local variables and stack elements that cannot be used, and of the
+	 * second half of the {@code long} and {@code double} ones.
+	 */
+
+	private final static Type TOP = Type.UNKNOWN;
+
+	/**
+	 * The type of an object that has been created but not initialized yet.
+	 */
+
+	private final static class Uninitialized extends ObjectType {
+		private static final long serialVersionUID = 1L;
+
+		/**
+		 * The {@code new} that created the object, or {@code null} for the receiver of a constructor.
+		 */
+
+		private final InstructionHandle creation;
+
+		private Uninitialized(String className, InstructionHandle creation) {
+			super(className);
+
+			this.creation = creation;
+		}
+
+		@Override
+		public boolean equals(Object other) {
+			return other instanceof Uninitialized && ((Uninitialized) other).creation == creation && super.equals(other);
+		}
+
+		@Override
+		public int hashCode() {
+			return super.hashCode();
+		}
+	}
+
+	/**
+	 * The types of the local variables and of the stack elements at a program point.
+	 * The {@code long} and {@code double} values take two elements, as in the Java
+	 * virtual machine, whose second half is {@link #TOP}.
+	 */
+
+	private final static class Frame {
+		private final Type[] locals;
+		private final List<Type> stack;
+
+		private Frame(Type[] locals, List<Type> stack) {
+			this.locals = locals;
+			this.stack = stack;
+		}
+
+		private Frame copy() {
+			return new Frame(locals.clone(), new ArrayList<>(stack));
+		}
+	}
+
+	/**
+	 * The constant pool of the class where the method lives.
+	 */
+
+	private final ConstantPoolGen cpg;
+
+	/**
+	 * The Kitten classes, for the name of their Java class.
+	 */
+
+	private final Map<String, ClassType> classes = new HashMap<>();
+
+	/**
+	 * The frame at the beginning of each instruction reached by the execution.
+	 */
+
+	private final Map<InstructionHandle, Frame> frames = new HashMap<>();
+
+	/**
+	 * Determines if the stack map generation stage must be applied.
+	 *
+	 * @param enabled true if and only if the stack map generation stage must be applied
+	 */
+
+	public static void setEnabled(boolean enabled) {
+		StackMapGenerator.enabled = enabled;
+	}
+
+	/**
+	 * Determines if the stack map generation stage is applied.
+	 *
+	 * @return true if and only if the stack map generation stage is applied
+	 */
+
+	public static boolean isEnabled() {
+		return enabled;
+	}
+
+	private StackMapGenerator(ConstantPoolGen cpg) {
+		this.cpg = cpg;
+
+		for (ClassType clazz: ClassType.getAll())
+			classes.put(clazz.toBCEL().toString(), clazz);
+	}
+
+	/**
+	 * Adds a {@code StackMapTable} attribute to the code of the given method.
+	 *
+	 * @param method the method
+	 * @param classGen the generator of the class where the method lives
+	 * @return {@code method}, whose code contains the frames
+	 */
+
+	static Method addStackMapTable(Method method, JavaClassGenerator classGen) {
+		Code code = method.getCode();
+		if (code != null)
+			new StackMapGenerator(classGen.getConstantPool()).addStackMapTable(method, classGen.getClassName(), code);
+
+		return method;
+	}
+
+	/**
+	 * Computes the frames of the given code and adds them to it.
+	 *
+	 * @param method the method whose code is considered
+	 * @param className the name of the class where the method lives
+	 * @param code the code
+	 */
+
+	private void addStackMapTable(Method method, String className, Code code) {
+		byte[] bytes = code.getCode();
+		InstructionList il = new InstructionList(bytes);
+		Frame entry = entry(method, className, code.getMaxLocals());
+
+		// the generated code never catches exceptions, hence the frames only flow along jumps
+		Deque<InstructionHandle> worklist = new ArrayDeque<>();
+		frames.put(il.getStart(), entry.copy());
+		worklist.add(il.getStart());
+
+		while (!worklist.isEmpty()) {
+			InstructionHandle handle = worklist.pop();
+			Frame frame = frames.get(handle).copy();
+			execute(handle, frame);
+
+			for (InstructionHandle follow: successors(handle))
+				if (merge(follow, frame))
+					worklist.push(follow);
+		}
+
+		// the frames are needed at the targets of the jumps and after the unconditional jumps
+		Set<InstructionHandle> targets = new HashSet<>();
+		for (InstructionHandle handle: il.getInstructionHandles())
+			if (handle.getInstruction() instanceof BranchInstruction || handle.getInstruction() instanceof ReturnInstruction
+					|| handle.getInstruction() instanceof UnconditionalBranch) {
+
+				List<InstructionHandle> follows = successors(handle);
+				targets.addAll(follows);
+				if (handle.getNext() != null && !follows.contains(handle.getNext()))
+					targets.add(handle.getNext());
+			}
+
+		ByteArrayOutputStream table = new ByteArrayOutputStream();
+		DataOutputStream out = new DataOutputStream(table);
+		List<Type> previousLocals = entries(entry.locals, true);
+		int previous = -1, count = 0;
+
+		try {
+			for (InstructionHandle handle = il.getStart(); handle != null; handle = handle.getNext()) {
+				Frame frame = frames.get(handle);
+
+				if (frame == null) {
+					// the unreachable code is replaced by nop's followed by a throw of null
+					InstructionHandle last = handle;
+					while (last.getNext() != null && !frames.containsKey(last.getNext()))
+						last = last.getNext();
+
+					int end = last.getPosition() + last.getInstruction().getLength() - 1;
+					Arrays.fill(bytes, handle.getPosition(), end, (byte) Constants.NOP);
+					bytes[end] = (byte) Constants.ATHROW;
+
+					frame = new Frame(new Type[0], Collections.singletonList((Type) Type.NULL));
+					code.setMaxStack(Math.max(code.getMaxStack(), 1));
+				}
+				else if (!targets.contains(handle))
+					continue;
+
+				List<Type> locals = entries(frame.locals, true), stack = entries(frame.stack.toArray(new Type[0]), false);
+				writeFrame(out, handle.getPosition() - previous - 1, previousLocals, locals, stack);
+				previousLocals = locals;
+				previous = handle.getPosition();
+				count++;
+
+				// the unreachable code has a single frame, at its beginning
+				if (!frames.containsKey(handle))
+					while (handle.getNext() != null && !frames.containsKey(handle.getNext()))
+						handle = handle.getNext();
+			}
+		}
+		catch (IOException e) {
+			// impossible, since the frames are written into an array
+		}
+
+		if (count == 0)
+			return;
+
+		code.setCode(bytes);
+
+		// the attribute starts with the number of frames
+		byte[] frames = table.toByteArray();
+		byte[] attribute = new byte[frames.length + 2];
+		attribute[0] = (byte) (count >> 8);
+		attribute[1] = (byte) count;
+		System.arraycopy(frames, 0, attribute, 2, frames.length);
+
+		Attribute[] attributes = Arrays.copyOf(code.getAttributes(), code.getAttributes().length + 1);
+		attributes[attributes.length - 1] = new Unknown
+			(cpg.addUtf8("StackMapTable"), attribute.length, attribute, cpg.getConstantPool());
+		code.setAttributes(attributes);
+	}
+
+	/**
+	 * Yields the frame at the beginning of the code of the given method.
+	 *
+	 * @param method the method
+	 * @param className the name of the class where the method lives
+	 * @param maxLocals the number of local variables used by the code
+	 * @return the frame
+	 */
+
+	private Frame entry(Method method, String className, int maxLocals) {
+		Type[] locals = new Type[maxLocals];
+		Arrays.fill(locals, TOP);
+
+		int var = 0;
+		if (!method.isStatic())
+			// the receiver of a constructor must be initialized by the constructor of the superclass
+			locals[var++] = method.getName().equals("<init>") ? new Uninitialized(className, null) : new ObjectType(className);
+
+		for (Type type: method.getArgumentTypes()) {
+			locals[var] = normalize(type);
+			var += type.getSize();
+		}
+
+		return new Frame(locals, new ArrayList<Type>());
+	}
+
+	/**
+	 * Yields the instructions that might be executed after the given one.
+	 *
+	 * @param handle the instruction
+	 * @return the following instructions
+	 */
+
+	private static List<InstructionHandle> successors(InstructionHandle handle) {
+		Instruction instruction = handle.getInstruction();
+		List<InstructionHandle> successors = new ArrayList<>();
+
+		if (instruction instanceof BranchInstruction)
+			successors.add(((BranchInstruction) instruction).getTarget());
+
+		if (instruction instanceof Select)
+			successors.addAll(Arrays.asList(((Select) instruction).getTargets()));
+		else if (!(instruction instanceof UnconditionalBranch || instruction instanceof ReturnInstruction) && handle.getNext() != null)
+			successors.add(handle.getNext());
+
+		return successors;
+	}
+
+	/**
+	 * Modifies the given frame with the effects of the execution of an instruction.
+	 *
+	 * @param handle the instruction
+	 * @param frame the frame before the instruction, that becomes the frame after it
+	 */
+
+	private void execute(InstructionHandle handle, Frame frame) {
+		Instruction instruction = handle.getInstruction();
+		List<Type> stack = frame.stack;
+		Type[] locals = frame.locals;
+
+		if (instruction instanceof LoadInstruction)
+			push(stack, locals[((LoadInstruction) instruction).getIndex()]);
+		else if (instruction instanceof StoreInstruction) {
+			int index = ((StoreInstruction) instruction).getIndex();
+			int size = ((StoreInstruction) instruction).getType(cpg).getSize();
+			Type value = stack.get(stack.size() - size);
+			pop(stack, size);
+
+			// a value that is half overwritten cannot be used anymore
+			if (index > 0 && locals[index - 1].getSize() == 2)
+				locals[index - 1] = TOP;
+
+			locals[index] = value;
+			if (size == 2)
+				locals[index + 1] = TOP;
+		}
+		else if (instruction instanceof StackInstruction)
+			shuffle(instruction, stack);
+		else if (instruction instanceof NEW)
+			stack.add(new Uninitialized(((NEW) instruction).getLoadClassType(cpg).getClassName(), handle));
+		else if (instruction instanceof InvokeInstruction) {
+			InvokeInstruction invoke = (InvokeInstruction) instruction;
+			for (Type argument: invoke.getArgumentTypes(cpg))
+				pop(stack, argument.getSize());
+
+			if (!(invoke instanceof INVOKESTATIC)) {
+				Type receiver = stack.remove(stack.size() - 1);
+
+				// the constructor initializes every copy of its receiver
+				if (invoke instanceof INVOKESPECIAL && invoke.getMethodName(cpg).equals("<init>") && receiver instanceof Uninitialized)
+					initialize(frame, (Uninitialized) receiver);
+			}
+
+			if (invoke.getReturnType(cpg) != Type.VOID)
+				push(stack, invoke.getReturnType(cpg));
+		}
+		else {
+			Type produced = produced(instruction, stack);
+			pop(stack, instruction.consumeStack(cpg));
+			if (produced != null)
+				push(stack, produced);
+		}
+	}
+
+	/**
+	 * Yields the type of the value pushed on the stack by an instruction that is
+	 * not a load, a stack manipulation, a {@code new} nor a call.
+	 *
+	 * @param instruction the instruction
+	 * @param stack the stack before the instruction
+	 * @return the type of the value pushed on the stack, or {@code null} if no value is pushed
+	 */
+
+	private Type produced(Instruction instruction, List<Type> stack) {
+		if (instruction.produceStack(cpg) == 0)
+			return null;
+		else if (instruction instanceof ACONST_NULL)
+			return Type.NULL;
+		else if (instruction instanceof AALOAD) {
+			Type array = stack.get(stack.size() - 2);
+			return array instanceof ArrayType ? ((ArrayType) array).getElementType() : Type.NULL;
+		}
+		else if (instruction instanceof NEWARRAY)
+			return ((NEWARRAY) instruction).getType();
+		else if (instruction instanceof ANEWARRAY)
+			return new ArrayType(((ANEWARRAY) instruction).getType(cpg), 1);
+		else if (instruction instanceof ARRAYLENGTH || instruction instanceof INSTANCEOF
+				|| instruction instanceof LCMP || instruction instanceof FCMPL || instruction instanceof FCMPG
+				|| instruction instanceof DCMPL || instruction instanceof DCMPG)
+			return Type.INT;
+		else
+			return ((TypedInstruction) instruction).getType(cpg);
+	}
+
+	/**
+	 * Applies a stack manipulation instruction to the given stack.
+	 *
+	 * @param instruction the instruction
+	 * @param stack the stack
+	 */
+
+	private static void shuffle(Instruction instruction, List<Type> stack) {
+		int size = stack.size();
+
+		switch (instruction.getOpcode()) {
+		case Constants.POP: pop(stack, 1); break;
+		case Constants.POP2: pop(stack, 2); break;
+		case Constants.DUP: stack.add(stack.get(size - 1)); break;
+		case Constants.DUP_X1: stack.add(size - 2, stack.get(size - 1)); break;
+		case Constants.DUP_X2: stack.add(size - 3, stack.get(size - 1)); break;
+		case Constants.DUP2: stack.addAll(new ArrayList<>(stack.subList(size - 2, size))); break;
+		case Constants.DUP2_X1: stack.addAll(size - 3, new ArrayList<>(stack.subList(size - 2, size))); break;
+		case Constants.DUP2_X2: stack.addAll(size - 4, new ArrayList<>(stack.subList(size - 2, size))); break;
+		case Constants.SWAP: Collections.swap(stack, size - 1, size - 2); break;
+		default: throw new IllegalStateException("Unexpected stack instruction " + instruction);
+		}
+	}
+
+	/**
+	 * Replaces an object that has not been initialized yet with its initialized version.
+	 *
+	 * @param frame the frame where the replacement occurs
+	 * @param object the type of the object
+	 */
+
+	private static void initialize(Frame frame, Uninitialized object) {
+		ObjectType initialized = new ObjectType(object.getClassName());
+
+		for (int pos = 0; pos < frame.locals.length; pos++)
+			if (object.equals(frame.locals[pos]))
+				frame.locals[pos] = initialized;
+
+		for (int pos = 0; pos < frame.stack.size(); pos++)
+			if (object.equals(frame.stack.get(pos)))
+				frame.stack.set(pos, initialized);
+	}
+
+	private static void push(List<Type> stack, Type type) {
+		stack.add(normalize(type));
+		if (type.getSize() == 2)
+			stack.add(TOP);
+	}
+
+	private static void pop(List<Type> stack, int size) {
+		for (; size > 0; size--)
+			stack.remove(stack.size() - 1);
+	}
+
+	/**
+	 * Yields the type used by the verifier for values of the given type:
+	 * {@code boolean}, {@code byte}, {@code char} and {@code short} are {@code int}.
+	 *
+	 * @param type the type
+	 * @return the type used by the verifier
+	 */
+
+	private static Type normalize(Type type) {
+		if (type == Type.BOOLEAN || type == Type.BYTE || type == Type.CHAR || type == Type.SHORT)
+			return Type.INT;
+		else
+			return type;
+	}
+
+	/**
+	 * Joins the frame at the beginning of the given instruction with the given frame.
+	 *
+	 * @param handle the instruction
+	 * @param frame the frame
+	 * @return true if and only if the frame at the beginning of {@code handle} has changed
+	 */
+
+	private boolean merge(InstructionHandle handle, Frame frame) {
+		Frame old = frames.get(handle);
+		if (old == null) {
+			frames.put(handle, frame.copy());
+			return true;
+		}
+
+		if (old.stack.size() != frame.stack.size())
+			throw new IllegalStateException("Inconsistent stack height at " + handle);
+
+		boolean changed = false;
+
+		for (int pos = 0; pos < old.locals.length; pos++) {
+			Type joined = join(old.locals[pos], frame.locals[pos]);
+			changed |= !same(joined, old.locals[pos]);
+			old.locals[pos] = joined;
+		}
+
+		for (int pos = 0; pos < old.stack.size(); pos++) {
+			Type joined = join(old.stack.get(pos), frame.stack.get(pos));
+			changed |= !same(joined, old.stack.get(pos));
+			old.stack.set(pos, joined);
+		}
+
+		return changed;
+	}
+
+	private static boolean same(Type type1, Type type2) {
+		return type1 == type2 || (type1.getClass() == type2.getClass() && type1.equals(type2));
+	}
+
+	/**
+	 * Yields the least type that is larger than both the given types.
+	 *
+	 * @param type1 the first type
+	 * @param type2 the second type
+	 * @return the join of {@code type1} and {@code type2}
+	 */
+
+	private Type join(Type type1, Type type2) {
+		if (same(type1, type2))
+			return type1;
+		// objects that might not be initialized cannot be used
+		else if (type1 instanceof Uninitialized || type2 instanceof Uninitialized)
+			return TOP;
+		else if (type1 == Type.NULL && type2 instanceof ReferenceType)
+			return type2;
+		else if (type2 == Type.NULL && type1 instanceof ReferenceType)
+			return type1;
+		else if (type1 instanceof ReferenceType && type2 instanceof ReferenceType)
+			return joinReferences((ReferenceType) type1, (ReferenceType) type2);
+		else
+			return TOP;
+	}
+
+	/**
+	 * Yields the least common supertype of the given reference types, different from {@code null}.
+	 * Java arrays are covariant, hence arrays of references are joined elementwise.
+	 *
+	 * @param type1 the first type
+	 * @param type2 the second type
+	 * @return the least common supertype
+	 */
+
+	private ReferenceType joinReferences(ReferenceType type1, ReferenceType type2) {
+		if (type1 instanceof ArrayType && type2 instanceof ArrayType) {
+			Type elements1 = ((ArrayType) type1).getElementType(), elements2 = ((ArrayType) type2).getElementType();
+			if (elements1 instanceof ReferenceType && elements2 instanceof ReferenceType)
+				return new ArrayType(joinReferences((ReferenceType) elements1, (ReferenceType) elements2), 1);
+		}
+		else if (type1 instanceof ObjectType && type2 instanceof ObjectType) {
+			List<String> superclasses = superclasses(((ObjectType) type1).getClassName());
+			for (String superclass: superclasses(((ObjectType) type2).getClassName()))
+				if (superclasses.contains(superclass))
+					return new ObjectType(superclass);
+		}
+
+		return Type.OBJECT;
+	}
+
+	/**
+	 * Yields the given class and its superclasses, up to {@code java.lang.Object}.
+	 * The superclasses of the Kitten classes are looked up in their class types,
+	 * since their class files might not exist yet. The other classes, such as those
+	 * of the Kitten runtime, are looked up through reflection.
+	 *
+	 * @param className the name of the class
+	 * @return the class and its superclasses, from the class upwards
+	 */
+
+	private List<String> superclasses(String className) {
+		List<String> superclasses = new ArrayList<>();
+
+		for (String cursor = className; cursor != null; ) {
+			superclasses.add(cursor);
+			ClassType clazz = classes.get(cursor);
+
+			if (clazz != null && clazz.getName().equals(cursor))
+				cursor = clazz.getSuperclass() != null ? clazz.getSuperclass().toBCEL().toString() : "java.lang.Object";
+			else if (cursor.equals("java.lang.Object"))
+				cursor = null;
+			else
+				try {
+					Class<?> superclass = Class.forName(cursor, false, StackMapGenerator.class.getClassLoader()).getSuperclass();
+					cursor = superclass != null ? superclass.getName() : "java.lang.Object";
+				}
+				catch (ClassNotFoundException e) {
+					cursor = "java.lang.Object";
+				}
+		}
+
+		return superclasses;
+	}
+
+	/**
+	 * Yields the entries of a frame for the given local variables or stack elements,
+	 * where {@code long} and {@code double} values take a single entry.
+	 *
+	 * @param types the types of the local variables or stack elements
+	 * @param trim true if and only if the trailing {@code top} entries must be omitted,
+	 *             as it is the case for the local variables
+	 * @return the entries
+	 */
+
+	private static List<Type> entries(Type[] types, boolean trim) {
+		List<Type> entries = new ArrayList<>();
+		for (int pos = 0; pos < types.length; pos += types[pos].getSize())
+			entries.add(types[pos]);
+
+		while (trim && !entries.isEmpty() && entries.get(entries.size() - 1) == TOP)
+			entries.remove(entries.size() - 1);
+
+		return entries;
+	}
+
+	/**
+	 * Writes a frame, in the most compact form with respect to the previous frame.
+	 *
+	 * @param out where the frame is written
+	 * @param delta the distance from the previous frame, minus one
+	 * @param previousLocals the local variables of the previous frame
+	 * @param locals the local variables of the frame
+	 * @param stack the stack elements of the frame
+	 * @throws IOException never, since the frame is written into an array
+	 */
+
+	private void writeFrame(DataOutputStream out, int delta, List<Type> previousLocals, List<Type> locals, List<Type> stack) throws IOException {
+		int shared = 0;
+		while (shared < locals.size() && shared < previousLocals.size() && same(locals.get(shared), previousLocals.get(shared)))
+			shared++;
+
+		boolean sameLocals = shared == locals.size() && shared == previousLocals.size();
+
+		if (sameLocals && stack.isEmpty()) {
+			if (delta < 64)
+				// same_frame
+				out.writeByte(delta);
+			else {
+				// same_frame_extended
+				out.writeByte(251);
+				out.writeShort(delta);
+			}
+		}
+		else if (sameLocals && stack.size() == 1) {
+			if (delta < 64)
+				// same_locals_1_stack_item_frame
+				out.writeByte(64 + delta);
+			else {
+				// same_locals_1_stack_item_frame_extended
+				out.writeByte(247);
+				out.writeShort(delta);
+			}
+
+			writeType(out, stack.get(0));
+		}
+		else if (stack.isEmpty() && shared == locals.size() && previousLocals.size() - shared <= 3) {
+			// chop_frame
+			out.writeByte(251 - (previousLocals.size() - shared));
+			out.writeShort(delta);
+		}
+		else if (stack.isEmpty() && shared == previousLocals.size() && locals.size() - shared <= 3) {
+			// append_frame
+			out.writeByte(251 + (locals.size() - shared));
+			out.writeShort(delta);
+			for (Type type: locals.subList(shared, locals.size()))
+				writeType(out, type);
+		}
+		else {
+			// full_frame
+			out.writeByte(255);
+			out.writeShort(delta);
+			out.writeShort(locals.size());
+			for (Type type: locals)
+				writeType(out, type);
+			out.writeShort(stack.size());
+			for (Type type: stack)
+				writeType(out, type);
+		}
+	}
+
+	/**
+	 * Writes the verification type of a local variable or stack element.
+	 *
+	 * @param out where the type is written
+	 * @param type the type
+	 * @throws IOException never, since the type is written into an array
+	 */
+
+	private void writeType(DataOutputStream out, Type type) throws IOException {
+		if (type == TOP)
+			out.writeByte(0);
+		else if (type == Type.INT)
+			out.writeByte(1);
+		else if (type == Type.FLOAT)
+			out.writeByte(2);
+		else if (type == Type.DOUBLE)
+			out.writeByte(3);
+		else if (type == Type.LONG)
+			out.writeByte(4);
+		else if (type == Type.NULL)
+			out.writeByte(5);
+		else if (type instanceof Uninitialized && ((Uninitialized) type).creation == null)
+			out.writeByte(6);
+		else if (type instanceof Uninitialized) {
+			out.writeByte(8);
+			out.writeShort(((Uninitialized) type).creation.getPosition());
+		}
+		else if (type instanceof ArrayType) {
+			out.writeByte(7);
+			out.writeShort(cpg.addArrayClass((ArrayType) type));
+		}
+		else {
+			out.writeByte(7);
+			out.writeShort(cpg.addClass((ObjectType) type));
+		}
+	}
+}
@@ -199,7 +199,7 @@ public class TestClassGenerator extends JavaClassGenerator{
 			
 			instructions.append(t.createINVOKESTATIC(this));
 			
-			instructions.append(createCheckString(t.getName(), startTestIndex, testPassedIndex, testFailedIndex, outputIndex));
+			instructions.append(createCheckString(t.getName().toString(), startTestIndex, testPassedIndex, testFailedIndex, outputIndex));
 			
 			instructions.append(factory.createInvoke(STRING_TYPE.toBCEL().toString(), // name of the class
 								"output", // name of the method or constructor
@@ -8,8 +8,8 @@ package lexical;
  *
  * @author <A HREF="mailto:fausto.spoto@univr.it">Fausto Spoto</A>
  */
-import java.io.FileInputStream;
 import errorMsg.ErrorMsg;
+import symbol.Symbol;
 import syntactical.sym;
 @SuppressWarnings("unused")
 public
@@ -84,26 +84,54 @@ public ErrorMsg getErrorMsg() {
   return errorMsg;
 }
 /**
- * Creates a lexical analyser for a given class name.
+ * Creates a lexical analyser for a given class name. The source
+ * provided in memory for the class through {@link Sources} is used, if any.
+ * Otherwise, the source file of the class is read.
  *
  * @param fileName the name of the file to be lexically analysed
  *                 (with the trailing {@code .kit})
  * @throws java.io.FileNotFoundException if the source file cannot be found
+ * @throws java.io.IOException if the source file cannot be read
  */
-public Lexer(String fileName) throws java.io.FileNotFoundException {
+public Lexer(String fileName) throws java.io.IOException {
   this();
   String className = fileName.endsWith(".kit") ? fileName.substring(0, fileName.length() - 4) : fileName;
   fileName = className + ".kit";
   errorMsg = new ErrorMsg(fileName);
-  FileInputStream inp;
+  CharSequence source;
   try {
-    inp = new FileInputStream(fileName);
+    source = Sources.get(className);
   }
   catch (java.io.FileNotFoundException e) {
     errorMsg.error(-1, "Cannot find \"" + fileName + "\"");
     throw e;
   }
-  yy_reader = new java.io.BufferedReader(new java.io.InputStreamReader(inp));
+  catch (java.io.IOException e) {
+    errorMsg.error(-1, "Cannot read \"" + fileName + "\"");
+    throw e;
+  }
+  read(source);
+}
+/**
+ * Creates a lexical analyser for a given class, whose source is in memory.
+ *
+ * @param className the name of the class (without the trailing {@code .kit})
+ * @param source the source of the class
+ */
+public Lexer(String className, CharSequence source) {
+  this();
+  errorMsg = new ErrorMsg(className + ".kit");
+  read(source);
+}
+/**
+ * Uses the given source as input of this lexical analyser.
+ *
+ * @param source the source
+ */
+private void read(CharSequence source) {
+  // the source is already in memory: a buffer of size 1 lets the reader
+  // copy the characters directly into the buffer of this lexical analyser
+  yy_reader = new java.io.BufferedReader(Sources.reader(source), 1);
 }
 // ritorna il simbolo della classe che si sta parsando
 public String parsedClass() {
@@ -155,8 +183,8 @@ String myString = "";
 	private final int COMMENT = 2;
 	private final int yy_state_dtrans[] = {
 		0,
-		77,
-		86
+		78,
+		87
 	};
 	private void yybegin (int state) {
 		yy_lexical_state = state;
@@ -371,22 +399,22 @@ String myString = "";
 		/* 69 */ YY_NO_ANCHOR,
 		/* 70 */ YY_NO_ANCHOR,
 		/* 71 */ YY_NO_ANCHOR,
-		/* 72 */ YY_NOT_ACCEPT,
-		/* 73 */ YY_NO_ANCHOR,
+		/* 72 */ YY_NO_ANCHOR,
+		/* 73 */ YY_NOT_ACCEPT,
 		/* 74 */ YY_NO_ANCHOR,
 		/* 75 */ YY_NO_ANCHOR,
 		/* 76 */ YY_NO_ANCHOR,
-		/* 77 */ YY_NOT_ACCEPT,
-		/* 78 */ YY_NO_ANCHOR,
+		/* 77 */ YY_NO_ANCHOR,
+		/* 78 */ YY_NOT_ACCEPT,
 		/* 79 */ YY_NO_ANCHOR,
-		/* 80 */ YY_NOT_ACCEPT,
-		/* 81 */ YY_NO_ANCHOR,
-		/* 82 */ YY_NOT_ACCEPT,
-		/* 83 */ YY_NO_ANCHOR,
-		/* 84 */ YY_NOT_ACCEPT,
-		/* 85 */ YY_NO_ANCHOR,
-		/* 86 */ YY_NOT_ACCEPT,
-		/* 87 */ YY_NO_ANCHOR,
+		/* 80 */ YY_NO_ANCHOR,
+		/* 81 */ YY_NOT_ACCEPT,
+		/* 82 */ YY_NO_ANCHOR,
+		/* 83 */ YY_NOT_ACCEPT,
+		/* 84 */ YY_NO_ANCHOR,
+		/* 85 */ YY_NOT_ACCEPT,
+		/* 86 */ YY_NO_ANCHOR,
+		/* 87 */ YY_NOT_ACCEPT,
 		/* 88 */ YY_NO_ANCHOR,
 		/* 89 */ YY_NO_ANCHOR,
 		/* 90 */ YY_NO_ANCHOR,
@@ -455,63 +483,66 @@ String myString = "";
 		/* 153 */ YY_NO_ANCHOR,
 		/* 154 */ YY_NO_ANCHOR,
 		/* 155 */ YY_NO_ANCHOR,
-		/* 156 */ YY_NO_ANCHOR
+		/* 156 */ YY_NO_ANCHOR,
+		/* 157 */ YY_NO_ANCHOR,
+		/* 158 */ YY_NO_ANCHOR
 	};
 	private int yy_cmap[] = unpackFromString(1,130,
 "46:9,2,5,46,2,0,46:18,2,37,1,46:3,40,48,27,28,4,34,25,35,33,3,45:10,42,26,3" +
 "8,36,39,46:2,43:26,29,47,30,46,44,46,21,23,17,16,10,11,43,7,8,43:2,9,14,18," +
 "12,43:2,13,19,15,20,24,6,22,43:2,31,41,32,46:2,49:2")[0];
 
-	private int yy_rmap[] = unpackFromString(1,157,
-"0,1:2,2,3,1,4,1:4,5,1:3,6,1:3,7,8,9,1:2,10,11,1:3,12,13,1,6,1:4,12:21,1:6,1" +
+	private int yy_rmap[] = unpackFromString(1,159,
+"0,1:2,2,3,1,4,1:4,5,1:3,6,1:3,7,8,9,1:2,10,11,1:3,12,13,1,6,1:4,12:22,1:6,1" +
 "4,1:7,6,15,1,16,17,18,19,20,21,22,23,24,25,26,27,28,29,30,31,32,33,34,35,36" +
 ",37,38,39,40,41,42,43,44,45,46,47,48,49,50,51,52,53,54,55,56,57,58,59,60,61" +
 ",62,63,64,65,66,67,68,69,70,71,72,73,74,75,76,77,78,79,80,81,82,83,84,85,86" +
-",87,88,89,90,12,91,92,93,94,95,96")[0];
+",87,88,89,90,91,92,93,12,94,95,96,97")[0];
 
-	private int yy_nxt[][] = unpackFromString(97,50,
-"-1,1,2,3,4,5,6,150,73,150,124,105,150,152,154,125,150,155,106,150:2,78,150," +
-"156,126,7,8,9,10,11,12,13,14,15,16,17,18,19,20,21,22,23,24,150,74,25,74:3,2" +
-"6,-1:54,27,-1:48,28,-1:52,150,127,150:17,-1:18,150:3,-1:34,31,-1:64,32,-1:4" +
-"0,33,-1:49,34,-1:49,35,-1:49,36,-1:46,72,-1:11,25,-1:10,150:19,-1:18,150:3," +
-"-1:10,150:13,140,150:5,-1:18,150:3,-1:52,66,-1:7,150:5,29,150:6,81,150:6,-1" +
-":18,150:3,-1:5,61,80,-1:2,80,-1:9,62,-1:2,63,-1:26,82,-1,64,-1:6,70,-1:46,5" +
-"8,59:3,60,59:41,75,59,26,-1:6,150:13,30,150:5,-1:18,150:3,-1:7,71,-1:48,80," +
-"-1:2,80,-1:41,65,-1:8,150:9,37,150:9,-1:18,150:3,-1:49,84,-1:10,150:7,38,15" +
-"0:11,-1:18,150:3,-1:49,67,-1:10,150:3,39,150:15,-1:18,150:3,-1:5,68:2,76,79" +
-",69,68:43,26,-1:6,40,150:18,-1:18,150:3,-1:10,150:4,41,150:14,-1:18,150:3,-" +
-"1:10,150:12,42,150:6,-1:18,150:3,-1:10,150:9,43,150:9,-1:18,150:3,-1:10,150" +
-":4,44,150:14,-1:18,150:3,-1:10,150:10,45,150:8,-1:18,150:3,-1:10,150:4,46,1" +
-"50:14,-1:18,150:3,-1:10,150:10,47,150:8,-1:18,150:3,-1:10,150:9,48,150:9,-1" +
-":18,150:3,-1:10,150:4,49,150:14,-1:18,150:3,-1:10,150:13,50,150:5,-1:18,150" +
-":3,-1:10,150:12,51,150:6,-1:18,150:3,-1:10,150:10,52,150:8,-1:18,150:3,-1:1" +
-"0,150:9,53,150:9,-1:18,150:3,-1:10,150:13,54,150:5,-1:18,150:3,-1:10,150:4," +
-"55,150:14,-1:18,150:3,-1:10,150:12,56,150:6,-1:18,150:3,-1:10,150:7,57,150:" +
-"11,-1:18,150:3,-1:10,150:2,129,130,150:2,83,150:8,131,150:3,-1:18,150:3,-1:" +
-"10,150:2,85,150,87,150:14,-1:18,150:3,-1:10,150:13,88,150:5,-1:18,150:3,-1:" +
-"10,150:4,89,150:14,-1:18,150:3,-1:10,150:13,90,150:5,-1:18,150:3,-1:10,150:" +
-"14,91,150:4,-1:18,150:3,-1:10,150:2,92,150:16,-1:18,150:3,-1:10,150:3,93,15" +
-"0:15,-1:18,150:3,-1:10,150:3,94,150:15,-1:18,150:3,-1:10,150:15,95,150:3,-1" +
-":18,150:3,-1:10,150:13,96,150:5,-1:18,150:3,-1:10,150:13,97,150:5,-1:18,150" +
-":3,-1:10,150:7,98,150:11,-1:18,150:3,-1:10,150:6,99,150:12,-1:18,150:3,-1:1" +
-"0,150:7,100,150:11,-1:18,150:3,-1:10,150:10,101,150:8,-1:18,150:3,-1:10,150" +
-":7,102,150:11,-1:18,150:3,-1:10,150:15,103,150:3,-1:18,150:3,-1:10,150:6,10" +
-"4,150:12,-1:18,150:3,-1:10,150:3,107,150:12,128,150:2,-1:18,150:3,-1:10,150" +
-",108,150:2,109,150:2,110,150:11,-1:18,150:3,-1:10,150:6,111,150:12,-1:18,15" +
-"0:3,-1:10,150:2,112,150:16,-1:18,150:3,-1:10,150:9,135,150:9,-1:18,150:3,-1" +
-":10,150:4,113,150:11,136,150:2,-1:18,150:3,-1:10,150:6,114,150:12,-1:18,150" +
-":3,-1:10,150:3,115,150:15,-1:18,150:3,-1:10,150:15,116,150:3,-1:18,150:3,-1" +
-":10,150:12,139,150:6,-1:18,150:3,-1:10,150:6,141,150:12,-1:18,150:3,-1:10,1" +
-"50:4,142,150:14,-1:18,150:3,-1:10,150:9,143,150:9,-1:18,150:3,-1:10,150:14," +
-"117,150:4,-1:18,150:3,-1:10,150,118,150:17,-1:18,150:3,-1:10,150:13,144,150" +
-":5,-1:18,150:3,-1:10,150:4,119,150:14,-1:18,150:3,-1:10,150:3,145,150:15,-1" +
-":18,150:3,-1:10,150:12,120,150:6,-1:18,150:3,-1:10,150:14,121,150:4,-1:18,1" +
-"50:3,-1:10,150:9,146,150:9,-1:18,150:3,-1:10,150:4,122,150:14,-1:18,150:3,-" +
-"1:10,150:7,147,150:11,-1:18,150:3,-1:10,150:14,148,150:4,-1:18,150:3,-1:10," +
-"150:11,149,150:7,-1:18,150:3,-1:10,150:9,123,150:9,-1:18,150:3,-1:10,150:9," +
-"137,150:9,-1:18,150:3,-1:10,150:4,151,150:14,-1:18,150:3,-1:10,150:9,138,15" +
-"0:9,-1:18,150:3,-1:10,150:4,153,150:14,-1:18,150:3,-1:10,150:3,132,150:2,13" +
-"3,150:12,-1:18,150:3,-1:10,150:6,134,150:12,-1:18,150:3,-1:4");
+	private int yy_nxt[][] = unpackFromString(98,50,
+"-1,1,2,3,4,5,6,154,74,154,127,107,154,156,128,129,154,157,108,154:2,79,154," +
+"158,130,7,8,9,10,11,12,13,14,15,16,17,18,19,20,21,22,23,24,154,75,25,75:3,2" +
+"6,-1:54,27,-1:48,28,-1:52,154,131,154:17,-1:18,154:3,-1:34,31,-1:64,32,-1:4" +
+"0,33,-1:49,34,-1:49,35,-1:49,36,-1:46,73,-1:11,25,-1:10,154:19,-1:18,154:3," +
+"-1:10,154:13,144,154:5,-1:18,154:3,-1:52,67,-1:7,154:5,29,154:6,82,154:6,-1" +
+":18,154:3,-1:5,62,81,-1:2,81,-1:9,63,-1:2,64,-1:26,83,-1,65,-1:6,71,-1:46,5" +
+"9,60:3,61,60:41,76,60,26,-1:6,154:13,30,154:5,-1:18,154:3,-1:7,72,-1:48,81," +
+"-1:2,81,-1:41,66,-1:8,154:9,37,154:9,-1:18,154:3,-1:49,85,-1:10,154:7,38,15" +
+"4:11,-1:18,154:3,-1:49,68,-1:10,154:3,39,154:15,-1:18,154:3,-1:5,69:2,77,80" +
+",70,69:43,26,-1:6,40,154:18,-1:18,154:3,-1:10,154:4,41,154:14,-1:18,154:3,-" +
+"1:10,154:6,42,154:12,-1:18,154:3,-1:10,154:12,43,154:6,-1:18,154:3,-1:10,15" +
+"4:9,44,154:9,-1:18,154:3,-1:10,154:4,45,154:14,-1:18,154:3,-1:10,154:10,46," +
+"154:8,-1:18,154:3,-1:10,154:4,47,154:14,-1:18,154:3,-1:10,154:10,48,154:8,-" +
+"1:18,154:3,-1:10,154:9,49,154:9,-1:18,154:3,-1:10,154:4,50,154:14,-1:18,154" +
+":3,-1:10,154:13,51,154:5,-1:18,154:3,-1:10,154:12,52,154:6,-1:18,154:3,-1:1" +
+"0,154:10,53,154:8,-1:18,154:3,-1:10,154:9,54,154:9,-1:18,154:3,-1:10,154:13" +
+",55,154:5,-1:18,154:3,-1:10,154:4,56,154:14,-1:18,154:3,-1:10,154:12,57,154" +
+":6,-1:18,154:3,-1:10,154:7,58,154:11,-1:18,154:3,-1:10,154:2,133,134,154:2," +
+"84,154:8,135,154:3,-1:18,154:3,-1:10,154:2,86,154,88,154:14,-1:18,154:3,-1:" +
+"10,154:13,89,154:5,-1:18,154:3,-1:10,154:8,90,142,154:9,-1:18,154:3,-1:10,1" +
+"54:4,91,154:14,-1:18,154:3,-1:10,154:13,92,154:5,-1:18,154:3,-1:10,154:14,9" +
+"3,154:4,-1:18,154:3,-1:10,154:2,94,154:16,-1:18,154:3,-1:10,154:3,95,154:15" +
+",-1:18,154:3,-1:10,154:3,96,154:15,-1:18,154:3,-1:10,154:15,97,154:3,-1:18," +
+"154:3,-1:10,154:13,98,154:5,-1:18,154:3,-1:10,154:13,99,154:5,-1:18,154:3,-" +
+"1:10,154:7,100,154:11,-1:18,154:3,-1:10,154:6,101,154:12,-1:18,154:3,-1:10," +
+"154:7,102,154:11,-1:18,154:3,-1:10,154:10,103,154:8,-1:18,154:3,-1:10,154:7" +
+",104,154:11,-1:18,154:3,-1:10,154:15,105,154:3,-1:18,154:3,-1:10,154:6,106," +
+"154:12,-1:18,154:3,-1:10,154:3,109,154:12,132,154:2,-1:18,154:3,-1:10,154:4" +
+",110,154:14,-1:18,154:3,-1:10,154,111,154:2,112,154:2,113,154:11,-1:18,154:" +
+"3,-1:10,154:6,114,154:12,-1:18,154:3,-1:10,154:2,115,154:16,-1:18,154:3,-1:" +
+"10,154:9,139,154:9,-1:18,154:3,-1:10,154:4,116,154:11,140,154:2,-1:18,154:3" +
+",-1:10,154:6,117,154:12,-1:18,154:3,-1:10,154:3,118,154:15,-1:18,154:3,-1:1" +
+"0,154:15,119,154:3,-1:18,154:3,-1:10,154:12,143,154:6,-1:18,154:3,-1:10,154" +
+":6,145,154:12,-1:18,154:3,-1:10,154:4,146,154:14,-1:18,154:3,-1:10,154:9,14" +
+"7,154:9,-1:18,154:3,-1:10,154:14,120,154:4,-1:18,154:3,-1:10,154,121,154:17" +
+",-1:18,154:3,-1:10,154:13,148,154:5,-1:18,154:3,-1:10,154:4,122,154:14,-1:1" +
+"8,154:3,-1:10,154:3,149,154:15,-1:18,154:3,-1:10,154:12,123,154:6,-1:18,154" +
+":3,-1:10,154:14,124,154:4,-1:18,154:3,-1:10,154:9,150,154:9,-1:18,154:3,-1:" +
+"10,154:4,125,154:14,-1:18,154:3,-1:10,154:7,151,154:11,-1:18,154:3,-1:10,15" +
+"4:14,152,154:4,-1:18,154:3,-1:10,154:11,153,154:7,-1:18,154:3,-1:10,154:9,1" +
+"26,154:9,-1:18,154:3,-1:10,154:9,141,154:9,-1:18,154:3,-1:10,154:4,155,154:" +
+"14,-1:18,154:3,-1:10,154:3,136,154:2,137,154:12,-1:18,154:3,-1:10,154:6,138" +
+",154:12,-1:18,154:3,-1:4");
 
 	public java_cup.runtime.Symbol nextToken ()
 		throws java.io.IOException {
@@ -582,7 +613,7 @@ String myString = "";
 					case -6:
 						break;
 					case 6:
-						{return tok(sym.ID, yytext());}
+						{return tok(sym.ID, Symbol.mk(yytext()));}
 					case -7:
 						break;
 					case 7:
@@ -726,446 +757,454 @@ String myString = "";
 					case -42:
 						break;
 					case 42:
-						{return tok(sym.THEN, null);}
+						{return tok(sym.MEMO, null);}
 					case -43:
 						break;
 					case 43:
-						{return tok(sym.TEST, null);}
+						{return tok(sym.THEN, null);}
 					case -44:
 						break;
 					case 44:
-						{return tok(sym.TRUE, null);}
+						{return tok(sym.TEST, null);}
 					case -45:
 						break;
 					case 45:
-						{return tok(sym.VOID, null);}
+						{return tok(sym.TRUE, null);}
 					case -46:
 						break;
 					case 46:
-						{return tok(sym.WHILE, null);}
+						{return tok(sym.VOID, null);}
 					case -47:
 						break;
 					case 47:
-						{return tok(sym.FIELD, null);}
+						{return tok(sym.WHILE, null);}
 					case -48:
 						break;
 					case 48:
-						{return tok(sym.FLOAT, null);}
+						{return tok(sym.FIELD, null);}
 					case -49:
 						break;
 					case 49:
-						{return tok(sym.FALSE, null);}
+						{return tok(sym.FLOAT, null);}
 					case -50:
 						break;
 					case 50:
-						{return tok(sym.CLASS, null);}
+						{return tok(sym.FALSE, null);}
 					case -51:
 						break;
 					case 51:
-						{return tok(sym.RETURN, null);}
+						{return tok(sym.CLASS, null);}
 					case -52:
 						break;
 					case 52:
-						{return tok(sym.METHOD, null);}
+						{return tok(sym.RETURN, null);}
 					case -53:
 						break;
 					case 53:
-						{return tok(sym.ASSERT, null);}
+						{return tok(sym.METHOD, null);}
 					case -54:
 						break;
 					case 54:
-						{return tok(sym.EXTENDS, null);}
+						{return tok(sym.ASSERT, null);}
 					case -55:
 						break;
 					case 55:
-						{return tok(sym.FIXTURE, null);}
+						{return tok(sym.EXTENDS, null);}
 					case -56:
 						break;
 					case 56:
-						{return tok(sym.BOOLEAN, null);}
+						{return tok(sym.FIXTURE, null);}
 					case -57:
 						break;
 					case 57:
-						{return tok(sym.CONSTRUCTOR, null);}
+						{return tok(sym.BOOLEAN, null);}
 					case -58:
 						break;
 					case 58:
-						{yybegin(YYINITIAL); return tok(sym.STRING, myString);}
+						{return tok(sym.CONSTRUCTOR, null);}
 					case -59:
 						break;
 					case 59:
-						{myString += yytext();}
+						{yybegin(YYINITIAL); return tok(sym.STRING, myString);}
 					case -60:
 						break;
 					case 60:
-						{newline(); myString += "\n";}
+						{myString += yytext();}
 					case -61:
 						break;
 					case 61:
-						{myString += "\"";}
+						{newline(); myString += "\n";}
 					case -62:
 						break;
 					case 62:
-						{myString+="\t";}
+						{myString += "\"";}
 					case -63:
 						break;
 					case 63:
-						{myString+="\n";}
+						{myString+="\t";}
 					case -64:
 						break;
 					case 64:
-						{myString += "\\";}
+						{myString+="\n";}
 					case -65:
 						break;
 					case 65:
-						{}
+						{myString += "\\";}
 					case -66:
 						break;
 					case 66:
-						{myString += "'";}
+						{}
 					case -67:
 						break;
 					case 67:
+						{myString += "'";}
+					case -68:
+						break;
+					case 68:
 						{myNum=(yytext().charAt(1)-48)*100+
 			   				(yytext().charAt(2)-48)*10+
                             (yytext().charAt(3)-48);
                         if (myNum>255) err("Overflow in ASCII Code");
                         else myString += (char)myNum;}
-					case -68:
-						break;
-					case 68:
-						{}
 					case -69:
 						break;
 					case 69:
-						{newline();}
+						{}
 					case -70:
 						break;
 					case 70:
-						{commentCount++;}
+						{newline();}
 					case -71:
 						break;
 					case 71:
-						{commentCount--;
-                         if (commentCount==0) yybegin(YYINITIAL);}
+						{commentCount++;}
 					case -72:
 						break;
-					case 73:
-						{return tok(sym.ID, yytext());}
+					case 72:
+						{commentCount--;
+                         if (commentCount==0) yybegin(YYINITIAL);}
 					case -73:
 						break;
 					case 74:
-						{err("Unmatched input");}
+						{return tok(sym.ID, Symbol.mk(yytext()));}
 					case -74:
 						break;
 					case 75:
-						{myString += yytext();}
+						{err("Unmatched input");}
 					case -75:
 						break;
 					case 76:
-						{}
+						{myString += yytext();}
 					case -76:
 						break;
-					case 78:
-						{return tok(sym.ID, yytext());}
+					case 77:
+						{}
 					case -77:
 						break;
 					case 79:
-						{}
+						{return tok(sym.ID, Symbol.mk(yytext()));}
 					case -78:
 						break;
-					case 81:
-						{return tok(sym.ID, yytext());}
+					case 80:
+						{}
 					case -79:
 						break;
-					case 83:
-						{return tok(sym.ID, yytext());}
+					case 82:
+						{return tok(sym.ID, Symbol.mk(yytext()));}
 					case -80:
 						break;
-					case 85:
-						{return tok(sym.ID, yytext());}
+					case 84:
+						{return tok(sym.ID, Symbol.mk(yytext()));}
 					case -81:
 						break;
-					case 87:
-						{return tok(sym.ID, yytext());}
+					case 86:
+						{return tok(sym.ID, Symbol.mk(yytext()));}
 					case -82:
 						break;
 					case 88:
-						{return tok(sym.ID, yytext());}
+						{return tok(sym.ID, Symbol.mk(yytext()));}
 					case -83:
 						break;
 					case 89:
-						{return tok(sym.ID, yytext());}
+						{return tok(sym.ID, Symbol.mk(yytext()));}
 					case -84:
 						break;
 					case 90:
-						{return tok(sym.ID, yytext());}
+						{return tok(sym.ID, Symbol.mk(yytext()));}
 					case -85:
 						break;
 					case 91:
-						{return tok(sym.ID, yytext());}
+						{return tok(sym.ID, Symbol.mk(yytext()));}
 					case -86:
 						break;
 					case 92:
-						{return tok(sym.ID, yytext());}
+						{return tok(sym.ID, Symbol.mk(yytext()));}
 					case -87:
 						break;
 					case 93:
-						{return tok(sym.ID, yytext());}
+						{return tok(sym.ID, Symbol.mk(yytext()));}
 					case -88:
 						break;
 					case 94:
-						{return tok(sym.ID, yytext());}
+						{return tok(sym.ID, Symbol.mk(yytext()));}
 					case -89:
 						break;
 					case 95:
-						{return tok(sym.ID, yytext());}
+						{return tok(sym.ID, Symbol.mk(yytext()));}
 					case -90:
 						break;
 					case 96:
-						{return tok(sym.ID, yytext());}
+						{return tok(sym.ID, Symbol.mk(yytext()));}
 					case -91:
 						break;
 					case 97:
-						{return tok(sym.ID, yytext());}
+						{return tok(sym.ID, Symbol.mk(yytext()));}
 					case -92:
 						break;
 					case 98:
-						{return tok(sym.ID, yytext());}
+						{return tok(sym.ID, Symbol.mk(yytext()));}
 					case -93:
 						break;
 					case 99:
-						{return tok(sym.ID, yytext());}
+						{return tok(sym.ID, Symbol.mk(yytext()));}
 					case -94:
 						break;
 					case 100:
-						{return tok(sym.ID, yytext());}
+						{return tok(sym.ID, Symbol.mk(yytext()));}
 					case -95:
 						break;
 					case 101:
-						{return tok(sym.ID, yytext());}
+						{return tok(sym.ID, Symbol.mk(yytext()));}
 					case -96:
 						break;
 					case 102:
-						{return tok(sym.ID, yytext());}
+						{return tok(sym.ID, Symbol.mk(yytext()));}
 					case -97:
 						break;
 					case 103:
-						{return tok(sym.ID, yytext());}
+						{return tok(sym.ID, Symbol.mk(yytext()));}
 					case -98:
 						break;
 					case 104:
-						{return tok(sym.ID, yytext());}
+						{return tok(sym.ID, Symbol.mk(yytext()));}
 					case -99:
 						break;
 					case 105:
-						{return tok(sym.ID, yytext());}
+						{return tok(sym.ID, Symbol.mk(yytext()));}
 					case -100:
 						break;
 					case 106:
-						{return tok(sym.ID, yytext());}
+						{return tok(sym.ID, Symbol.mk(yytext()));}
 					case -101:
 						break;
 					case 107:
-						{return tok(sym.ID, yytext());}
+						{return tok(sym.ID, Symbol.mk(yytext()));}
 					case -102:
 						break;
 					case 108:
-						{return tok(sym.ID, yytext());}
+						{return tok(sym.ID, Symbol.mk(yytext()));}
 					case -103:
 						break;
 					case 109:
-						{return tok(sym.ID, yytext());}
+						{return tok(sym.ID, Symbol.mk(yytext()));}
 					case -104:
 						break;
 					case 110:
-						{return tok(sym.ID, yytext());}
+						{return tok(sym.ID, Symbol.mk(yytext()));}
 					case -105:
 						break;
 					case 111:
-						{return tok(sym.ID, yytext());}
+						{return tok(sym.ID, Symbol.mk(yytext()));}
 					case -106:
 						break;
 					case 112:
-						{return tok(sym.ID, yytext());}
+						{return tok(sym.ID, Symbol.mk(yytext()));}
 					case -107:
 						break;
 					case 113:
-						{return tok(sym.ID, yytext());}
+						{return tok(sym.ID, Symbol.mk(yytext()));}
 					case -108:
 						break;
 					case 114:
-						{return tok(sym.ID, yytext());}
+						{return tok(sym.ID, Symbol.mk(yytext()));}
 					case -109:
 						break;
 					case 115:
-						{return tok(sym.ID, yytext());}
+						{return tok(sym.ID, Symbol.mk(yytext()));}
 					case -110:
 						break;
 					case 116:
-						{return tok(sym.ID, yytext());}
+						{return tok(sym.ID, Symbol.mk(yytext()));}
 					case -111:
 						break;
 					case 117:
-						{return tok(sym.ID, yytext());}
+						{return tok(sym.ID, Symbol.mk(yytext()));}
 					case -112:
 						break;
 					case 118:
-						{return tok(sym.ID, yytext());}
+						{return tok(sym.ID, Symbol.mk(yytext()));}
 					case -113:
 						break;
 					case 119:
-						{return tok(sym.ID, yytext());}
+						{return tok(sym.ID, Symbol.mk(yytext()));}
 					case -114:
 						break;
 					case 120:
-						{return tok(sym.ID, yytext());}
+						{return tok(sym.ID, Symbol.mk(yytext()));}
 					case -115:
 						break;
 					case 121:
-						{return tok(sym.ID, yytext());}
+						{return tok(sym.ID, Symbol.mk(yytext()));}
 					case -116:
 						break;
 					case 122:
-						{return tok(sym.ID, yytext());}
+						{return tok(sym.ID, Symbol.mk(yytext()));}
 					case -117:
 						break;
 					case 123:
-						{return tok(sym.ID, yytext());}
+						{return tok(sym.ID, Symbol.mk(yytext()));}
 					case -118:
 						break;
 					case 124:
-						{return tok(sym.ID, yytext());}
+						{return tok(sym.ID, Symbol.mk(yytext()));}
 					case -119:
 						break;
 					case 125:
-						{return tok(sym.ID, yytext());}
+						{return tok(sym.ID, Symbol.mk(yytext()));}
 					case -120:
 						break;
 					case 126:
-						{return tok(sym.ID, yytext());}
+						{return tok(sym.ID, Symbol.mk(yytext()));}
 					case -121:
 						break;
 					case 127:
-						{return tok(sym.ID, yytext());}
+						{return tok(sym.ID, Symbol.mk(yytext()));}
 					case -122:
 						break;
 					case 128:
-						{return tok(sym.ID, yytext());}
+						{return tok(sym.ID, Symbol.mk(yytext()));}
 					case -123:
 						break;
 					case 129:
-						{return tok(sym.ID, yytext());}
+						{return tok(sym.ID, Symbol.mk(yytext()));}
 					case -124:
 						break;
 					case 130:
-						{return tok(sym.ID, yytext());}
+						{return tok(sym.ID, Symbol.mk(yytext()));}
 					case -125:
 						break;
 					case 131:
-						{return tok(sym.ID, yytext());}
+						{return tok(sym.ID, Symbol.mk(yytext()));}
 					case -126:
 						break;
 					case 132:
-						{return tok(sym.ID, yytext());}
+						{return tok(sym.ID, Symbol.mk(yytext()));}
 					case -127:
 						break;
 					case 133:
-						{return tok(sym.ID, yytext());}
+						{return tok(sym.ID, Symbol.mk(yytext()));}
 					case -128:
 						break;
 					case 134:
-						{return tok(sym.ID, yytext());}
+						{return tok(sym.ID, Symbol.mk(yytext()));}
 					case -129:
 						break;
 					case 135:
-						{return tok(sym.ID, yytext());}
+						{return tok(sym.ID, Symbol.mk(yytext()));}
 					case -130:
 						break;
 					case 136:
-						{return tok(sym.ID, yytext());}
+						{return tok(sym.ID, Symbol.mk(yytext()));}
 					case -131:
 						break;
 					case 137:
-						{return tok(sym.ID, yytext());}
+						{return tok(sym.ID, Symbol.mk(yytext()));}
 					case -132:
 						break;
 					case 138:
-						{return tok(sym.ID, yytext());}
+						{return tok(sym.ID, Symbol.mk(yytext()));}
 					case -133:
 						break;
 					case 139:
-						{return tok(sym.ID, yytext());}
+						{return tok(sym.ID, Symbol.mk(yytext()));}
 					case -134:
 						break;
 					case 140:
-						{return tok(sym.ID, yytext());}
+						{return tok(sym.ID, Symbol.mk(yytext()));}
 					case -135:
 						break;
 					case 141:
-						{return tok(sym.ID, yytext());}
+						{return tok(sym.ID, Symbol.mk(yytext()));}
 					case -136:
 						break;
 					case 142:
-						{return tok(sym.ID, yytext());}
+						{return tok(sym.ID, Symbol.mk(yytext()));}
 					case -137:
 						break;
 					case 143:
-						{return tok(sym.ID, yytext());}
+						{return tok(sym.ID, Symbol.mk(yytext()));}
 					case -138:
 						break;
 					case 144:
-						{return tok(sym.ID, yytext());}
+						{return tok(sym.ID, Symbol.mk(yytext()));}
 					case -139:
 						break;
 					case 145:
-						{return tok(sym.ID, yytext());}
+						{return tok(sym.ID, Symbol.mk(yytext()));}
 					case -140:
 						break;
 					case 146:
-						{return tok(sym.ID, yytext());}
+						{return tok(sym.ID, Symbol.mk(yytext()));}
 					case -141:
 						break;
 					case 147:
-						{return tok(sym.ID, yytext());}
+						{return tok(sym.ID, Symbol.mk(yytext()));}
 					case -142:
 						break;
 					case 148:
-						{return tok(sym.ID, yytext());}
+						{return tok(sym.ID, Symbol.mk(yytext()));}
 					case -143:
 						break;
 					case 149:
-						{return tok(sym.ID, yytext());}
+						{return tok(sym.ID, Symbol.mk(yytext()));}
 					case -144:
 						break;
 					case 150:
-						{return tok(sym.ID, yytext());}
+						{return tok(sym.ID, Symbol.mk(yytext()));}
 					case -145:
 						break;
 					case 151:
-						{return tok(sym.ID, yytext());}
+						{return tok(sym.ID, Symbol.mk(yytext()));}
 					case -146:
 						break;
 					case 152:
-						{return tok(sym.ID, yytext());}
+						{return tok(sym.ID, Symbol.mk(yytext()));}
 					case -147:
 						break;
 					case 153:
-						{return tok(sym.ID, yytext());}
+						{return tok(sym.ID, Symbol.mk(yytext()));}
 					case -148:
 						break;
 					case 154:
-						{return tok(sym.ID, yytext());}
+						{return tok(sym.ID, Symbol.mk(yytext()));}
 					case -149:
 						break;
 					case 155:
-						{return tok(sym.ID, yytext());}
+						{return tok(sym.ID, Symbol.mk(yytext()));}
 					case -150:
 						break;
 					case 156:
-						{return tok(sym.ID, yytext());}
+						{return tok(sym.ID, Symbol.mk(yytext()));}
 					case -151:
 						break;
+					case 157:
+						{return tok(sym.ID, Symbol.mk(yytext()));}
+					case -152:
+						break;
+					case 158:
+						{return tok(sym.ID, Symbol.mk(yytext()));}
+					case -153:
+						break;
 					default:
 						yy_error(YY_E_INTERNAL,false);
 					case -1:
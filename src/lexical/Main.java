@@ -26,6 +26,10 @@ public class Main {
 			System.out.println("Cannot find " + fileName);
 			return;
 		}
+		catch (IOException e) {
+			System.out.println("Cannot read " + fileName);
+			return;
+		}
 
 		do {
 			try {
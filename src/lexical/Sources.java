@@ -0,0 +1,177 @@
+package lexical;
+
+import java.io.CharArrayReader;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * The sources of the Kitten classes. A source can be provided in memory,
+ * for instance by a tool that generates Kitten code. Otherwise it is read from
+ * the file system, through a memory-mapped file that is decoded in one go.
+ *
+ * @author <A HREF="mailto:fausto.spoto@univr.it">Fausto Spoto</A>
+ */
+
+public final class Sources {
+
+	/**
+	 * A map from class names to the sources that have been provided in memory.
+	 * It is concurrent since classes might be parsed in parallel.
+	 */
+
+	private final static ConcurrentMap<String, CharSequence> inMemory = new ConcurrentHashMap<>();
+
+	/**
+	 * The decoder of the source files of each thread. It is reused for all files.
+	 */
+
+	private final static ThreadLocal<CharsetDecoder> decoder = new ThreadLocal<CharsetDecoder>() {
+
+		@Override
+		protected CharsetDecoder initialValue() {
+			// the same behaviour as an InputStreamReader with the default charset
+			return Charset.defaultCharset().newDecoder()
+				.onMalformedInput(CodingErrorAction.REPLACE)
+				.onUnmappableCharacter(CodingErrorAction.REPLACE);
+		}
+	};
+
+	/**
+	 * The buffer where each thread decodes the source files. It is reused for all
+	 * files and only grows when a file does not fit into it.
+	 */
+
+	private final static ThreadLocal<CharBuffer> decoded = new ThreadLocal<CharBuffer>() {
+
+		@Override
+		protected CharBuffer initialValue() {
+			return CharBuffer.allocate(8192);
+		}
+	};
+
+	private Sources() {}
+
+	/**
+	 * Provides the source of a class in memory. From now on, that source
+	 * is used in place of the file of the class.
+	 *
+	 * @param className the name of the class, without the trailing {@code .kit}
+	 * @param source the source of the class
+	 */
+
+	public static void put(String className, CharSequence source) {
+		inMemory.put(className, source);
+	}
+
+	/**
+	 * Provides the source of a class in memory. From now on, that source
+	 * is used in place of the file of the class. The array is not copied,
+	 * hence it should not be modified afterwards.
+	 *
+	 * @param className the name of the class, without the trailing {@code .kit}
+	 * @param source the source of the class
+	 */
+
+	public static void put(String className, char[] source) {
+		inMemory.put(className, CharBuffer.wrap(source));
+	}
+
+	/**
+	 * Forgets the source of a class that has been provided in memory,
+	 * if any. From now on, the file of the class is used again.
+	 *
+	 * @param className the name of the class, without the trailing {@code .kit}
+	 */
+
+	public static void remove(String className) {
+		inMemory.remove(className);
+	}
+
+	/**
+	 * Yields the source of the given class.
+	 *
+	 * @param className the name of the class, without the trailing {@code .kit}
+	 * @return the source provided in memory for the class or, if none,
+	 *         the content of the file {@code className.kit}
+	 * @throws FileNotFoundException if no source has been provided in memory
+	 *                               and the file of the class does not exist
+	 * @throws IOException if the file of the class cannot be read
+	 */
+
+	static CharSequence get(String className) throws IOException {
+		CharSequence source = inMemory.get(className);
+		return source != null ? source : read(className + ".kit");
+	}
+
+	/**
+	 * Reads the given file through a memory-mapped buffer,
+	 * which is decoded into characters in one go. The characters are
+	 * decoded into the buffer of the current thread, hence they are only
+	 * valid until the same thread reads another file. This is the case of
+	 * the lexical analysers, that consume a file before the next one is read.
+	 *
+	 * @param fileName the name of the file
+	 * @return the characters in the file
+	 * @throws FileNotFoundException if the file does not exist
+	 * @throws IOException if the file cannot be read
+	 */
+
+	private static CharSequence read(String fileName) throws IOException {
+		try (FileChannel channel = FileChannel.open(Paths.get(fileName), StandardOpenOption.READ)) {
+			MappedByteBuffer bytes = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			CharsetDecoder decoder = Sources.decoder.get().reset();
+
+			CharBuffer chars = decoded.get();
+			int needed = (int) Math.ceil(bytes.remaining() * (double) decoder.maxCharsPerByte());
+			if (chars.capacity() < needed)
+				decoded.set(chars = CharBuffer.allocate(needed));
+
+			// the buffer is large enough for the whole file, hence it never overflows
+			chars.clear();
+			CoderResult result = decoder.decode(bytes, chars, true);
+			if (!result.isUnderflow())
+				result.throwException();
+
+			result = decoder.flush(chars);
+			if (!result.isUnderflow())
+				result.throwException();
+
+			chars.flip();
+			return chars;
+		}
+		catch (NoSuchFileException e) {
+			throw new FileNotFoundException(fileName);
+		}
+	}
+
+	/**
+	 * Yields a reader over the given source. No copy is performed if the
+	 * source is backed by an array of characters or is a string.
+	 *
+	 * @param source the source
+	 * @return the reader
+	 */
+
+	static Reader reader(CharSequence source) {
+		if (source instanceof CharBuffer && ((CharBuffer) source).hasArray()) {
+			CharBuffer buffer = (CharBuffer) source;
+			return new CharArrayReader(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+		}
+		else
+			return new StringReader(source.toString());
+	}
+}
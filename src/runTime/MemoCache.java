@@ -0,0 +1,152 @@
+package runTime;
+
+/**
+ * The cache of the results of a {@code memo} Kitten method. Keys and values are
+ * kept in arrays of primitive values, so that lookups never box. Keys are the
+ * bits of up to two {@code int}, {@code float} or {@code boolean} arguments and
+ * values are the bits of an {@code int}, {@code float} or {@code boolean} result.
+ * The cache holds a bounded number of entries and evicts the least recently used one.
+ */
+
+public class MemoCache {
+
+	/* the number of entries that the cache can hold. This is a power of two */
+	private final static int CAPACITY = 1 << 10;
+
+	/* the keys of the entries */
+	private final long[] keys = new long[CAPACITY];
+
+	/* the values of the entries */
+	private final int[] values = new int[CAPACITY];
+
+	/* the first entry of each bucket, plus one. 0 stands for an empty bucket */
+	private final int[] buckets = new int[CAPACITY];
+
+	/* the entry after each entry in its bucket, plus one. 0 stands for the end of the bucket */
+	private final int[] chain = new int[CAPACITY];
+
+	/* the entry used just before and just after each entry. -1 if there is none */
+	private final int[] older = new int[CAPACITY];
+	private final int[] newer = new int[CAPACITY];
+
+	/* the number of entries in the cache */
+	private int size;
+
+	/* the least and the most recently used entries, -1 if the cache is empty */
+	private int oldest = -1;
+	private int newest = -1;
+
+	/* the entry found by the last successful lookup */
+	private int found;
+
+	/* yields the key for a method without arguments */
+	public static long key() {
+		return 0L;
+	}
+
+	/* yields the key for a method with a single argument, given by its bits */
+	public static long key(int first) {
+		return first & 0xffffffffL;
+	}
+
+	/* yields the key for a method with two arguments, given by their bits */
+	public static long key(int first, int second) {
+		return ((long) first << 32) | (second & 0xffffffffL);
+	}
+
+	/* determines if the cache contains the given key. In that case, its value
+	   is available through value() until the next call to a method of this cache */
+	public boolean contains(long key) {
+		for (int entry = buckets[bucket(key)] - 1; entry >= 0; entry = chain[entry] - 1)
+			if (keys[entry] == key) {
+				found = entry;
+
+				// the entry becomes the most recently used
+				if (entry != newest) {
+					unlink(entry);
+					link(entry);
+				}
+
+				return true;
+			}
+
+		return false;
+	}
+
+	/* yields the bits of the value found by the last successful call to contains() */
+	public int value() {
+		return values[found];
+	}
+
+	/* binds the given key to the value with the given bits */
+	public void put(long key, int value) {
+		// a recursive call might have added the key already
+		if (contains(key))
+			return;
+
+		int entry;
+		if (size < CAPACITY)
+			entry = size++;
+		else {
+			// we reuse the least recently used entry
+			entry = oldest;
+			unlink(entry);
+			removeFromBucket(entry);
+		}
+
+		keys[entry] = key;
+		values[entry] = value;
+
+		int bucket = bucket(key);
+		chain[entry] = buckets[bucket];
+		buckets[bucket] = entry + 1;
+
+		link(entry);
+	}
+
+	/* yields the bucket of a key, by Fibonacci hashing */
+	private static int bucket(long key) {
+		return (int) ((key * 0x9E3779B97F4A7C15L) >>> (64 - Integer.numberOfTrailingZeros(CAPACITY)));
+	}
+
+	/* removes an entry from the chain of its bucket */
+	private void removeFromBucket(int entry) {
+		int bucket = bucket(keys[entry]);
+
+		if (buckets[bucket] == entry + 1)
+			buckets[bucket] = chain[entry];
+		else {
+			int previous = buckets[bucket] - 1;
+			while (chain[previous] != entry + 1)
+				previous = chain[previous] - 1;
+
+			chain[previous] = chain[entry];
+		}
+	}
+
+	/* removes an entry from the list of recently used entries */
+	private void unlink(int entry) {
+		if (older[entry] >= 0)
+			newer[older[entry]] = newer[entry];
+		else
+			oldest = newer[entry];
+
+		if (newer[entry] >= 0)
+			older[newer[entry]] = older[entry];
+		else
+			newest = older[entry];
+	}
+
+	/* adds an entry as the most recently used one */
+	private void link(int entry) {
+		older[entry] = newest;
+		newer[entry] = -1;
+
+		if (newest >= 0)
+			newer[newest] = entry;
+		else
+			oldest = entry;
+
+		newest = entry;
+	}
+}
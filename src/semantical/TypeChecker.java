@@ -1,5 +1,6 @@
 package semantical;
 
+import symbol.Symbol;
 import tables.Table;
 import types.Type;
 import errorMsg.ErrorMsg;
@@ -41,6 +42,13 @@ public class TypeChecker {
 	
 	private final boolean isAssertAllowed;
 
+	/**
+	 * True if and only if this type-checker checks the body of a {@code memo}
+	 * method, whose code must be free of side-effects.
+	 */
+
+	private final boolean isPure;
+
 	/**
 	 * Constructs a type-checker.
 	 *
@@ -48,14 +56,17 @@ public class TypeChecker {
 	 * @param env the environment of the type-checker
 	 * @param varNum the number of local variables seen by the type-checker
 	 * @param errorMsg the error reporting utility of the type-checker
+	 * @param isAssertAllowed true if and only if assertions are allowed
+	 * @param isPure true if and only if side-effects are forbidden
 	 */
 
-	private TypeChecker(Type returnType, Table<TypeAndNumber> env, int varNum, ErrorMsg errorMsg, boolean isAssertAllowed) {
+	private TypeChecker(Type returnType, Table<TypeAndNumber> env, int varNum, ErrorMsg errorMsg, boolean isAssertAllowed, boolean isPure) {
 		this.returnType = returnType;
 		this.env = env;
 		this.varNum = varNum;
 		this.errorMsg = errorMsg;
 		this.isAssertAllowed = isAssertAllowed;
+		this.isPure = isPure;
 	}
 
 	/**
@@ -73,6 +84,7 @@ public class TypeChecker {
 		this.varNum = 0;
 		this.errorMsg = errorMsg;
 		this.isAssertAllowed = false;
+		this.isPure = false;
 	}
 
 	public TypeChecker(Type returnType, ErrorMsg errorMsg, boolean isAssertAllowed){
@@ -81,11 +93,33 @@ public class TypeChecker {
 		this.varNum = 0;
 		this.errorMsg = errorMsg;
 		this.isAssertAllowed = isAssertAllowed;
+		this.isPure = false;
 	}
 	
 	public boolean isAssertAllowed(){
 		return this.isAssertAllowed;
 	}
+
+	/**
+	 * Determines if this type-checker forbids side-effects, as required
+	 * for the body of {@code memo} methods.
+	 *
+	 * @return true if and only if side-effects are forbidden
+	 */
+
+	public boolean isPure() {
+		return isPure;
+	}
+
+	/**
+	 * Yields a new type-checker identical to this but where side-effects are forbidden.
+	 *
+	 * @return the new type-checker
+	 */
+
+	public TypeChecker pure() {
+		return new TypeChecker(returnType, env, varNum, errorMsg, isAssertAllowed, true);
+	}
 	
 	
 	/**
@@ -107,11 +141,11 @@ public class TypeChecker {
 	 * @return the new type-checker where {@code var} is bound to {@code type}
 	 */
 
-	public TypeChecker putVar(String var, Type type) {
+	public TypeChecker putVar(Symbol var, Type type) {
 		// note that in the new type-checker the number of local
 		// variables is one more than in this type-checker
 		return new TypeChecker(returnType,
-			env.put(var, new TypeAndNumber(type, varNum)), varNum + 1, errorMsg, isAssertAllowed);
+			env.put(var, new TypeAndNumber(type, varNum)), varNum + 1, errorMsg, isAssertAllowed, isPure);
 	}
 
 	/**
@@ -122,7 +156,7 @@ public class TypeChecker {
 	 *         Yields {@code null} if {@code var} is not bound in this type-checker
 	 */
 
-	public Type getVar(String var) {
+	public Type getVar(Symbol var) {
 		TypeAndNumber tan = env.get(var);
 
 		return tan != null ? tan.getType() : null;
@@ -140,7 +174,7 @@ public class TypeChecker {
 	 *         -1 if {@code var} is not bound in this type-checker
 	 */
 
-	public int getVarNum(String var) {
+	public int getVarNum(Symbol var) {
 		TypeAndNumber tan = env.get(var);
 
 		return tan != null ? tan.getNumber() : -1;
@@ -0,0 +1,116 @@
+package symbol;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A symbol, that is, an identifier of the source code. Symbols are interned:
+ * there is a single symbol for each identifier, hence symbols can be compared
+ * by identity. Each symbol has a dense integer identifier, in order of creation,
+ * that can be used for fast comparisons and as index in tables.
+ *
+ * @author <A HREF="mailto:fausto.spoto@univr.it">Fausto Spoto</A>
+ */
+
+public final class Symbol implements Comparable<Symbol> {
+
+	/**
+	 * The name of this symbol.
+	 */
+
+	private final String name;
+
+	/**
+	 * The identifier of this symbol. Distinct symbols have distinct identifiers,
+	 * from 0 upwards.
+	 */
+
+	private final int id;
+
+	/**
+	 * A map from names to the symbol with that name.
+	 */
+
+	private final static Map<String, Symbol> memory = new HashMap<>();
+
+	/**
+	 * The symbols created so far, in order of identifier.
+	 */
+
+	private final static List<Symbol> symbols = new ArrayList<>();
+
+	/**
+	 * The symbol of the implicit receiver of constructors and methods.
+	 */
+
+	public final static Symbol THIS = mk("this");
+
+	/**
+	 * Builds a symbol.
+	 *
+	 * @param name the name of the symbol
+	 * @param id the identifier of the symbol
+	 */
+
+	private Symbol(String name, int id) {
+		this.name = name;
+		this.id = id;
+	}
+
+	/**
+	 * Yields the unique symbol with the given name. It is synchronized
+	 * since classes might be parsed in parallel.
+	 *
+	 * @param name the name of the symbol
+	 * @return the unique symbol with the given name
+	 */
+
+	public static synchronized Symbol mk(String name) {
+		Symbol result = memory.get(name);
+
+		if (result == null) {
+			memory.put(name, result = new Symbol(name, symbols.size()));
+			symbols.add(result);
+		}
+
+		return result;
+	}
+
+	/**
+	 * Yields the symbol with the given identifier.
+	 *
+	 * @param id the identifier
+	 * @return the symbol with identifier {@code id}
+	 */
+
+	public static synchronized Symbol get(int id) {
+		return symbols.get(id);
+	}
+
+	/**
+	 * Yields the identifier of this symbol.
+	 *
+	 * @return the identifier of this symbol, from 0 upwards
+	 */
+
+	public int getId() {
+		return id;
+	}
+
+	@Override
+	public int compareTo(Symbol other) {
+		return id < other.id ? -1 : (id == other.id ? 0 : 1);
+	}
+
+	@Override
+	public int hashCode() {
+		return id;
+	}
+
+	@Override
+	public String toString() {
+		return name;
+	}
+}
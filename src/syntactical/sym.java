@@ -1,7 +1,7 @@
 
 //----------------------------------------------------
 // The following code was generated by CUP v0.10j
-// Wed Jun 17 10:30:04 CEST 2015
+// Sun Oct 18 16:41:31 UTC 2026
 //----------------------------------------------------
 
 package syntactical;
@@ -9,59 +9,60 @@ package syntactical;
 /** CUP generated class containing symbol constants. */
 public class sym {
   /* terminals */
-  public static final int DIVIDE = 29;
-  public static final int GE = 35;
-  public static final int UMINUS = 50;
+  public static final int DIVIDE = 30;
+  public static final int GE = 36;
+  public static final int UMINUS = 51;
   public static final int INTEGER = 4;
-  public static final int LPAREN = 19;
-  public static final int INT = 12;
-  public static final int ASSERT = 52;
-  public static final int FOR = 45;
-  public static final int MINUS = 27;
-  public static final int RPAREN = 20;
-  public static final int NOT = 38;
-  public static final int AND = 36;
+  public static final int LPAREN = 20;
+  public static final int INT = 13;
+  public static final int ASSERT = 53;
+  public static final int FOR = 46;
+  public static final int MINUS = 28;
+  public static final int RPAREN = 21;
+  public static final int NOT = 39;
+  public static final int AND = 37;
   public static final int FIELD = 8;
-  public static final int SEMICOLON = 17;
-  public static final int LT = 32;
-  public static final int NIL = 47;
-  public static final int OR = 37;
-  public static final int COMMA = 16;
+  public static final int SEMICOLON = 18;
+  public static final int LT = 33;
+  public static final int NIL = 48;
+  public static final int OR = 38;
+  public static final int COMMA = 17;
   public static final int CLASS = 6;
-  public static final int PLUS = 26;
-  public static final int IF = 41;
-  public static final int ASSIGN = 39;
-  public static final int DOT = 25;
+  public static final int PLUS = 27;
+  public static final int IF = 42;
+  public static final int ASSIGN = 40;
+  public static final int DOT = 26;
   public static final int ID = 2;
-  public static final int LE = 33;
+  public static final int LE = 34;
   public static final int FLOATING = 5;
   public static final int EOF = 0;
-  public static final int BOOLEAN = 14;
-  public static final int RETURN = 46;
-  public static final int ARRAYSYMBOL = 40;
+  public static final int BOOLEAN = 15;
+  public static final int RETURN = 47;
+  public static final int ARRAYSYMBOL = 41;
   public static final int METHOD = 9;
-  public static final int TEST = 51;
-  public static final int TRUE = 48;
-  public static final int NEW = 11;
+  public static final int TEST = 52;
+  public static final int TRUE = 49;
+  public static final int NEW = 12;
   public static final int error = 1;
-  public static final int NEQ = 31;
-  public static final int VOID = 15;
-  public static final int EQ = 30;
-  public static final int LBRACK = 21;
-  public static final int TIMES = 28;
-  public static final int ELSE = 43;
-  public static final int LBRACE = 23;
-  public static final int RBRACK = 22;
-  public static final int WHILE = 44;
-  public static final int CONSTRUCTOR = 10;
-  public static final int FLOAT = 13;
-  public static final int THEN = 42;
-  public static final int RBRACE = 24;
+  public static final int NEQ = 32;
+  public static final int VOID = 16;
+  public static final int EQ = 31;
+  public static final int LBRACK = 22;
+  public static final int MEMO = 10;
+  public static final int TIMES = 29;
+  public static final int ELSE = 44;
+  public static final int LBRACE = 24;
+  public static final int RBRACK = 23;
+  public static final int WHILE = 45;
+  public static final int CONSTRUCTOR = 11;
+  public static final int FLOAT = 14;
+  public static final int THEN = 43;
+  public static final int RBRACE = 25;
   public static final int EXTENDS = 7;
   public static final int STRING = 3;
-  public static final int FIXTURE = 53;
-  public static final int FALSE = 49;
-  public static final int AS = 18;
-  public static final int GT = 34;
+  public static final int FIXTURE = 54;
+  public static final int FALSE = 50;
+  public static final int AS = 19;
+  public static final int GT = 35;
 }
 
@@ -1,5 +1,7 @@
 package tables;
 
+import symbol.Symbol;
+
 /**
  * A non-empty symbol table. It is organized as a binary search tree.
  *
@@ -12,7 +14,7 @@ final class NonEmptyTable<E> extends Table<E> {
 	 * the key on top of the tree.
 	 */
 
-	private final String key;
+	private final Symbol key;
 
 	/**
 	 * the value bound on key at the top of the tree.
@@ -41,7 +43,7 @@ final class NonEmptyTable<E> extends Table<E> {
 	 * @param right the right subtree
 	 */
 
-	private NonEmptyTable(String key, E value, Table<E> left, Table<E> right) {
+	private NonEmptyTable(Symbol key, E value, Table<E> left, Table<E> right) {
 		this.key = key;
 		this.value = value;
 		this.left = left;
@@ -55,15 +57,15 @@ final class NonEmptyTable<E> extends Table<E> {
 	 * @param value the value bound to {@code key}
 	 */
 
-	NonEmptyTable(String key, E value) {
+	NonEmptyTable(Symbol key, E value) {
 		this.key = key;
 		this.value = value;
-		this.left = Table.empty();
-		this.right = Table.empty();
+		this.left = Table.emptyUnbalanced();
+		this.right = Table.emptyUnbalanced();
 	}
 
 	@Override
-	public E get(String key) {
+	public E get(Symbol key) {
 		int comp = this.key.compareTo(key);
 
 		if (comp < 0)
@@ -75,7 +77,7 @@ final class NonEmptyTable<E> extends Table<E> {
 	}
 
 	@Override
-	public Table<E> put(String key, E value) {
+	public Table<E> put(Symbol key, E value) {
 		int comp = this.key.compareTo(key);
 
 		if (comp < 0) {
@@ -0,0 +1,171 @@
+package tables;
+
+import symbol.Symbol;
+
+/**
+ * A symbol table organized as a persistent red-black tree. Differently from
+ * a plain binary search tree, it stays balanced whatever the order of insertion
+ * of the keys is, hence lookups and insertions cost O(log n).
+ * Insertion follows Okasaki's functional formulation: only the nodes on the
+ * path to the inserted key are copied, the rest of the tree is shared.
+ *
+ * @author  <A HREF="mailto:fausto.spoto@univr.it">Fausto Spoto</A>
+ */
+
+final class RedBlackTable<E> extends Table<E> {
+
+	/**
+	 * The root of the tree. This is {@code null} for the empty table.
+	 */
+
+	private final Node<E> root;
+
+	/**
+	 * Builds a table with the given tree.
+	 *
+	 * @param root the root of the tree, {@code null} for the empty table
+	 */
+
+	RedBlackTable(Node<E> root) {
+		this.root = root;
+	}
+
+	@Override
+	public E get(Symbol key) {
+		Node<E> cursor = root;
+
+		while (cursor != null) {
+			int comp = key.compareTo(cursor.key);
+
+			if (comp < 0)
+				cursor = cursor.left;
+			else if (comp > 0)
+				cursor = cursor.right;
+			else
+				return cursor.value;
+		}
+
+		return null;
+	}
+
+	@Override
+	public Table<E> put(Symbol key, E value) {
+		Node<E> inserted = insert(root, key, value);
+		if (inserted == root)
+			return this;
+
+		// the root is always black
+		if (inserted.red)
+			inserted = new Node<E>(false, inserted.left, inserted.key, inserted.value, inserted.right);
+
+		return new RedBlackTable<E>(inserted);
+	}
+
+	/**
+	 * Inserts a binding into a tree. The result might have a red root with a red child.
+	 *
+	 * @param node the root of the tree, possibly {@code null}
+	 * @param key the key of the binding
+	 * @param value the value of the binding
+	 * @return the root of the resulting tree. This is {@code node} itself if
+	 *         {@code key} was already bound to {@code value}
+	 */
+
+	private static <E> Node<E> insert(Node<E> node, Symbol key, E value) {
+		if (node == null)
+			return new Node<E>(true, null, key, value, null);
+
+		int comp = key.compareTo(node.key);
+
+		if (comp < 0) {
+			Node<E> left = insert(node.left, key, value);
+			return left == node.left ? node : balance(node.red, left, node.key, node.value, node.right);
+		}
+		else if (comp > 0) {
+			Node<E> right = insert(node.right, key, value);
+			return right == node.right ? node : balance(node.red, node.left, node.key, node.value, right);
+		}
+		else if (value == node.value)
+			return node;
+		else
+			return new Node<E>(node.red, node.left, key, value, node.right);
+	}
+
+	/**
+	 * Builds a node, removing a red node with a red child below it, if the node is black.
+	 *
+	 * @param red the color of the node
+	 * @param left the left subtree
+	 * @param key the key of the node
+	 * @param value the value of the node
+	 * @param right the right subtree
+	 * @return the resulting tree
+	 */
+
+	private static <E> Node<E> balance(boolean red, Node<E> left, Symbol key, E value, Node<E> right) {
+		if (!red) {
+			if (isRed(left)) {
+				if (isRed(left.left))
+					return new Node<E>(true,
+						left.left.blacken(), left.key, left.value,
+						new Node<E>(false, left.right, key, value, right));
+
+				if (isRed(left.right))
+					return new Node<E>(true,
+						new Node<E>(false, left.left, left.key, left.value, left.right.left),
+						left.right.key, left.right.value,
+						new Node<E>(false, left.right.right, key, value, right));
+			}
+
+			if (isRed(right)) {
+				if (isRed(right.left))
+					return new Node<E>(true,
+						new Node<E>(false, left, key, value, right.left.left),
+						right.left.key, right.left.value,
+						new Node<E>(false, right.left.right, right.key, right.value, right.right));
+
+				if (isRed(right.right))
+					return new Node<E>(true,
+						new Node<E>(false, left, key, value, right.left),
+						right.key, right.value,
+						right.right.blacken());
+			}
+		}
+
+		return new Node<E>(red, left, key, value, right);
+	}
+
+	private static boolean isRed(Node<?> node) {
+		return node != null && node.red;
+	}
+
+	/**
+	 * A node of a red-black tree.
+	 */
+
+	static final class Node<E> {
+		private final boolean red;
+		private final Node<E> left;
+		private final Symbol key;
+		private final E value;
+		private final Node<E> right;
+
+		private Node(boolean red, Node<E> left, Symbol key, E value, Node<E> right) {
+			this.red = red;
+			this.left = left;
+			this.key = key;
+			this.value = value;
+			this.right = right;
+		}
+
+		/**
+		 * Yields a black copy of this node.
+		 *
+		 * @return the copy
+		 */
+
+		private Node<E> blacken() {
+			return red ? new Node<E>(false, left, key, value, right) : this;
+		}
+	}
+}
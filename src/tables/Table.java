@@ -1,5 +1,7 @@
 package tables;
 
+import symbol.Symbol;
+
 /**
  * A table mapping symbols to objects.
  *
@@ -9,14 +11,21 @@ package tables;
 public abstract class Table<E> {
 
     /**
-     * An empty table.
+     * An empty table, organized as a balanced tree.
+     */
+
+    private final static Table<?> EMPTY = new RedBlackTable<Object>(null);
+
+    /**
+     * An empty table, organized as a plain binary search tree.
      */
 
     @SuppressWarnings("rawtypes")
-	private final static Table<?> EMPTY = new EmptyTable();
+	private final static Table<?> EMPTY_UNBALANCED = new EmptyTable();
 
     /**
-     * Yields the empty table.
+     * Yields the empty table. Its extensions are kept balanced, hence
+     * lookups and insertions cost O(log n) whatever the order of insertion is.
      *
      * @param <T> the type of the elements that will be added to the empty table
      * @return the empty table
@@ -27,6 +36,20 @@ public abstract class Table<E> {
     	return (Table<T>) EMPTY;
     }
 
+    /**
+     * Yields the empty table organized as a plain binary search tree.
+     * Its extensions are not balanced, hence they degenerate into
+     * lists if keys are inserted in order.
+     *
+     * @param <T> the type of the elements that will be added to the empty table
+     * @return the empty table
+     */
+
+    @SuppressWarnings("unchecked")
+	public static <T> Table<T> emptyUnbalanced() {
+    	return (Table<T>) EMPTY_UNBALANCED;
+    }
+
     /**
      * Returns the object bound to a given symbol, if any.
      *
@@ -35,7 +58,7 @@ public abstract class Table<E> {
      *         Yields {@code null} if no object is bound to {@code key}
      */
 
-    public abstract E get(String key);
+    public abstract E get(Symbol key);
 
     /**
      * Builds a new table, identical to this, but where a given symbol is
@@ -47,5 +70,5 @@ public abstract class Table<E> {
      *         is bound to {@code value}
      */
 
-    public abstract Table<E> put(String key, E value);
+    public abstract Table<E> put(Symbol key, E value);
 }
\ No newline at end of file
@@ -50,6 +50,12 @@ public class Block {
 
 	private boolean mergeable;
 
+	/**
+	 * True if this block is expected to be executed rarely, such as the failure of an assertion.
+	 */
+
+	private boolean rare;
+
 	/**
 	 * The number of blocks created so far.
 	 */
@@ -63,7 +69,7 @@ public class Block {
 	 * @param follows the list of successors of this block
 	 */
 
-	private Block(BytecodeList bytecode, List<Block> follows) {
+	Block(BytecodeList bytecode, List<Block> follows) {
 		this.bytecode = bytecode;
 		this.follows = follows;
 		this.mergeable = true;
@@ -181,6 +187,25 @@ public class Block {
 		mergeable = false;
 	}
 
+	/**
+	 * Specifies that this block is expected to be executed rarely. The Java
+	 * bytecode generation can then lay it out of the frequently executed code.
+	 */
+
+	public void markRare() {
+		rare = true;
+	}
+
+	/**
+	 * Determines if this block is expected to be executed rarely.
+	 *
+	 * @return true if and only if this block has been marked as rarely executed
+	 */
+
+	public boolean isRare() {
+		return rare;
+	}
+
 	/**
 	 * Yields the bytecode inside this block.
 	 *
@@ -191,6 +216,26 @@ public class Block {
 		return bytecode;
 	}
 
+	/**
+	 * Replaces the bytecode inside this block.
+	 *
+	 * @param bytecode the new bytecode inside this block
+	 */
+
+	void setBytecode(BytecodeList bytecode) {
+		this.bytecode = bytecode;
+	}
+
+	/**
+	 * Replaces the successors of this block.
+	 *
+	 * @param follows the new list of successors. This should not be {@code null}
+	 */
+
+	void setFollows(List<Block> follows) {
+		this.follows = follows;
+	}
+
 	/**
 	 * Adds a bytecode before this block. This results in the same
 	 * block being modified or in a new block linked to {@code this}.
@@ -272,10 +317,14 @@ public class Block {
 				// we take note that the program contains the bytecodes in the block
 				program.storeBytecode(bytecode);
 
-				if (bytecode instanceof CALL)
+				if (bytecode instanceof CALL) {
 					// we continue by cleaning the dynamic targets
 					for (CodeSignature target: ((CALL) bytecode).getDynamicTargets())
 						target.getCode().cleanUp(done,program);
+
+					// and the static target, that the Java bytecode refers to even if it is never run
+					((CALL) bytecode).getStaticTarget().getCode().cleanUp(done, program);
+				}
 				
 				cleanupTestsAndFixtures(bytecode, done, program);
 				
@@ -0,0 +1,683 @@
+package translation;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import types.BooleanType;
+import types.CodeSignature;
+import types.Type;
+import types.VoidType;
+import bytecode.ADD;
+import bytecode.AND;
+import bytecode.ARRAYLOAD;
+import bytecode.ARRAYSTORE;
+import bytecode.ArithmeticBinOpBytecode;
+import bytecode.BinOpBytecode;
+import bytecode.BranchingBytecode;
+import bytecode.BranchingComparisonBytecode;
+import bytecode.Bytecode;
+import bytecode.BytecodeList;
+import bytecode.CALL;
+import bytecode.CAST;
+import bytecode.CONST;
+import bytecode.ComparisonBinOpBytecode;
+import bytecode.DIV;
+import bytecode.DUP;
+import bytecode.EQ;
+import bytecode.GE;
+import bytecode.GETFIELD;
+import bytecode.GT;
+import bytecode.IF_CMPEQ;
+import bytecode.IF_CMPGE;
+import bytecode.IF_CMPGT;
+import bytecode.IF_CMPLE;
+import bytecode.IF_CMPLT;
+import bytecode.IF_CMPNE;
+import bytecode.IF_FALSE;
+import bytecode.IF_TRUE;
+import bytecode.LE;
+import bytecode.LOAD;
+import bytecode.LT;
+import bytecode.MUL;
+import bytecode.NE;
+import bytecode.NEG;
+import bytecode.NEW;
+import bytecode.NEWARRAY;
+import bytecode.NEWSTRING;
+import bytecode.NOP;
+import bytecode.OR;
+import bytecode.POP;
+import bytecode.PUTFIELD;
+import bytecode.RETURN;
+import bytecode.STORE;
+import bytecode.SUB;
+
+/**
+ * A sparse conditional constant propagation over the Kitten code of a constructor,
+ * method, test or fixture. It computes, for the entry of each block, which
+ * elements of the stack and which local variables hold a constant, by following only
+ * the branches that might be taken. Then it replaces the loading of constant local
+ * variables and the operations over constants with the constant result, resolves the
+ * branches whose outcome is known and drops the blocks that become unreachable.
+ *
+ * @author <A HREF="mailto:fausto.spoto@univr.it">Fausto Spoto</A>
+ */
+
+public class ConstantPropagation {
+
+	/**
+	 * True if and only if constants must be propagated.
+	 */
+
+	private static boolean enabled;
+
+	/**
+	 * The abstract value of a stack element or local variable that is not known to be constant.
+	 */
+
+	private final static Object UNKNOWN = new Object();
+
+	/**
+	 * The abstract value of the {@code nil} constant.
+	 */
+
+	private final static Object NIL = new Object();
+
+	/**
+	 * The abstract state at the entry of the blocks reached up to now.
+	 */
+
+	private final Map<Block, State> entries = new HashMap<>();
+
+	/**
+	 * The number of operations replaced with their constant result.
+	 */
+
+	private int folded;
+
+	/**
+	 * The number of branches whose outcome has been resolved.
+	 */
+
+	private int resolved;
+
+	/**
+	 * Determines if constants must be propagated.
+	 *
+	 * @param enabled true if and only if constants must be propagated
+	 */
+
+	public static void setEnabled(boolean enabled) {
+		ConstantPropagation.enabled = enabled;
+	}
+
+	/**
+	 * Determines if constants must be propagated.
+	 *
+	 * @return true if and only if constants must be propagated
+	 */
+
+	public static boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Propagates the constants in the code of the given constructor, method,
+	 * test or fixture. Its code gets modified.
+	 *
+	 * @param sig the signature of the code
+	 */
+
+	ConstantPropagation(CodeSignature sig) {
+		try {
+			analyse(sig.getCode());
+		}
+		catch (IllegalStateException e) {
+			// the code contains something we do not understand: we leave it as it is
+			return;
+		}
+
+		// we first rewrite the code inside the blocks and only later we resolve
+		// the branches, since that copies the code of some successors
+		Map<Block, Integer> branches = new HashMap<>();
+		for (Map.Entry<Block, State> entry: entries.entrySet()) {
+			int taken = rewrite(entry.getKey(), entry.getValue());
+			if (taken >= 0)
+				branches.put(entry.getKey(), taken);
+		}
+
+		for (Map.Entry<Block, Integer> branch: branches.entrySet())
+			resolve(branch.getKey(), branch.getValue());
+	}
+
+	/**
+	 * Yields the number of operations that have been replaced with their constant result.
+	 *
+	 * @return the number of operations
+	 */
+
+	int getFolded() {
+		return folded;
+	}
+
+	/**
+	 * Yields the number of branches whose outcome has been resolved.
+	 *
+	 * @return the number of branches
+	 */
+
+	int getResolved() {
+		return resolved;
+	}
+
+	/**
+	 * An abstract state: the abstract values of the stack elements
+	 * and of the local variables. Local variables that are not
+	 * reported have an {@link ConstantPropagation#UNKNOWN} value.
+	 */
+
+	private static class State {
+		private final List<Object> stack;
+		private final Map<Integer, Object> locals;
+
+		private State(List<Object> stack, Map<Integer, Object> locals) {
+			this.stack = stack;
+			this.locals = locals;
+		}
+
+		private State() {
+			this(new ArrayList<>(), new HashMap<Integer, Object>());
+		}
+
+		private State copy() {
+			return new State(new ArrayList<>(stack), new HashMap<>(locals));
+		}
+
+		private void push(Object value) {
+			stack.add(value);
+		}
+
+		private Object pop() {
+			if (stack.isEmpty())
+				throw new IllegalStateException("stack underflow");
+
+			return stack.remove(stack.size() - 1);
+		}
+
+		private Object peek(int depth) {
+			if (stack.size() <= depth)
+				throw new IllegalStateException("stack underflow");
+
+			return stack.get(stack.size() - 1 - depth);
+		}
+
+		/**
+		 * Merges the given state into this.
+		 *
+		 * @param other the other state
+		 * @return true if and only if this state has been modified
+		 */
+
+		private boolean merge(State other) {
+			if (stack.size() != other.stack.size())
+				throw new IllegalStateException("inconsistent stack heights");
+
+			boolean changed = false;
+			for (int pos = 0; pos < stack.size(); pos++)
+				if (stack.get(pos) != UNKNOWN && !stack.get(pos).equals(other.stack.get(pos))) {
+					stack.set(pos, UNKNOWN);
+					changed = true;
+				}
+
+			for (Map.Entry<Integer, Object> local: locals.entrySet())
+				if (local.getValue() != UNKNOWN && !local.getValue().equals(other.locals.get(local.getKey()))) {
+					local.setValue(UNKNOWN);
+					changed = true;
+				}
+
+			return changed;
+		}
+	}
+
+	/**
+	 * Computes the abstract states at the entry of the blocks reachable from the given one.
+	 *
+	 * @param start the first block of the code
+	 */
+
+	private void analyse(Block start) {
+		Deque<Block> worklist = new ArrayDeque<>();
+		entries.put(start, new State());
+		worklist.add(start);
+
+		while (!worklist.isEmpty()) {
+			Block block = worklist.pop();
+			State state = entries.get(block).copy();
+
+			for (BytecodeList cursor = block.getBytecode(); cursor != null; cursor = cursor.getTail())
+				execute(cursor.getHead(), state);
+
+			for (Block follow: feasibleFollows(block, state)) {
+				State entry = entries.get(follow);
+				if (entry == null) {
+					entries.put(follow, state.copy());
+					worklist.add(follow);
+				}
+				else if (entry.merge(state))
+					worklist.add(follow);
+			}
+		}
+	}
+
+	/**
+	 * Yields the successors of a block that might be executed after it.
+	 *
+	 * @param block the block
+	 * @param exit the abstract state at the end of {@code block}
+	 * @return the successors that might be executed
+	 */
+
+	private static List<Block> feasibleFollows(Block block, State exit) {
+		int taken = takenBranch(block, exit);
+		if (taken < 0)
+			return block.getFollows();
+
+		List<Block> result = new ArrayList<>();
+		result.add(block.getFollows().get(taken));
+
+		return result;
+	}
+
+	/**
+	 * Determines which successor of a block is executed, if that is known.
+	 *
+	 * @param block the block
+	 * @param exit the abstract state at the end of {@code block}
+	 * @return the position of the successor that is executed, or -1 if {@code block}
+	 *         does not end with a branch or if the outcome of the branch is not known
+	 */
+
+	private static int takenBranch(Block block, State exit) {
+		List<Block> follows = block.getFollows();
+		if (follows.size() != 2 || !(follows.get(0).getBytecode().getHead() instanceof BranchingBytecode))
+			return -1;
+
+		Boolean outcome = evaluate((BranchingBytecode) follows.get(0).getBytecode().getHead(), exit);
+		if (outcome == null)
+			return -1;
+
+		// the first successor starts with the branching condition, the second with its negation
+		return outcome ? 0 : 1;
+	}
+
+	/**
+	 * Determines the outcome of a branching bytecode.
+	 *
+	 * @param condition the branching bytecode
+	 * @param state the abstract state before {@code condition}
+	 * @return the outcome, or {@code null} if it is not known
+	 */
+
+	private static Boolean evaluate(BranchingBytecode condition, State state) {
+		Object value;
+
+		if (condition instanceof IF_TRUE || condition instanceof IF_FALSE) {
+			if (!((value = state.peek(0)) instanceof Boolean))
+				return null;
+
+			return condition instanceof IF_TRUE == (Boolean) value;
+		}
+		else if (condition instanceof BranchingComparisonBytecode) {
+			value = compare(condition instanceof IF_CMPEQ || condition instanceof IF_CMPNE,
+				state.peek(1), state.peek(0));
+			if (!(value instanceof Integer))
+				return null;
+
+			int comparison = (Integer) value;
+			if (condition instanceof IF_CMPEQ)
+				return comparison == 0;
+			else if (condition instanceof IF_CMPNE)
+				return comparison != 0;
+			else if (condition instanceof IF_CMPLT)
+				return comparison < 0;
+			else if (condition instanceof IF_CMPLE)
+				return comparison <= 0;
+			else if (condition instanceof IF_CMPGT)
+				return comparison > 0;
+			else if (condition instanceof IF_CMPGE)
+				return comparison >= 0;
+		}
+
+		return null;
+	}
+
+	/**
+	 * Compares two abstract values.
+	 *
+	 * @param equality true if only equality is checked
+	 * @param left the first value
+	 * @param right the second value
+	 * @return a negative, zero or positive {@code Integer} if the first value is smaller,
+	 *         equal or larger than the second; {@link #UNKNOWN} if that is not known
+	 */
+
+	private static Object compare(boolean equality, Object left, Object right) {
+		if (left instanceof Integer && right instanceof Integer)
+			return Integer.compare((Integer) left, (Integer) right);
+		else if (left instanceof Float && right instanceof Float && !((Float) left).isNaN() && !((Float) right).isNaN())
+			return Float.compare((Float) left, (Float) right);
+		else if (equality && left instanceof Boolean && right instanceof Boolean)
+			return left.equals(right) ? 0 : 1;
+		else if (equality && left == NIL && right == NIL)
+			return 0;
+		else
+			return UNKNOWN;
+	}
+
+	/**
+	 * Executes a bytecode over an abstract state.
+	 *
+	 * @param bytecode the bytecode
+	 * @param state the abstract state, that gets modified
+	 */
+
+	private static void execute(Bytecode bytecode, State state) {
+		if (bytecode instanceof NOP || bytecode instanceof RETURN)
+			return;
+		else if (bytecode instanceof CONST)
+			state.push(valueOf((CONST) bytecode));
+		else if (bytecode instanceof LOAD) {
+			Object value = state.locals.get(((LOAD) bytecode).getVarNum());
+			state.push(value != null ? value : UNKNOWN);
+		}
+		else if (bytecode instanceof STORE)
+			state.locals.put(((STORE) bytecode).getVarNum(), state.pop());
+		else if (bytecode instanceof POP || bytecode instanceof IF_TRUE || bytecode instanceof IF_FALSE)
+			state.pop();
+		else if (bytecode instanceof BranchingComparisonBytecode || bytecode instanceof PUTFIELD) {
+			state.pop();
+			state.pop();
+		}
+		else if (bytecode instanceof ARRAYSTORE) {
+			state.pop();
+			state.pop();
+			state.pop();
+		}
+		else if (bytecode instanceof DUP)
+			state.push(state.peek(0));
+		else if (bytecode instanceof BinOpBytecode) {
+			Object right = state.pop(), left = state.pop();
+			state.push(fold((BinOpBytecode) bytecode, left, right));
+		}
+		else if (bytecode instanceof NEG)
+			state.push(negate(state.pop()));
+		else if (bytecode instanceof CAST)
+			state.push(cast((CAST) bytecode, state.pop()));
+		else if (bytecode instanceof NEW || bytecode instanceof NEWSTRING)
+			state.push(UNKNOWN);
+		else if (bytecode instanceof NEWARRAY) {
+			for (int dim = ((NEWARRAY) bytecode).getDimensions(); dim > 0; dim--)
+				state.pop();
+
+			state.push(UNKNOWN);
+		}
+		else if (bytecode instanceof GETFIELD) {
+			state.pop();
+			state.push(UNKNOWN);
+		}
+		else if (bytecode instanceof ARRAYLOAD) {
+			state.pop();
+			state.pop();
+			state.push(UNKNOWN);
+		}
+		else if (bytecode instanceof CALL) {
+			CodeSignature target = ((CALL) bytecode).getStaticTarget();
+			for (int pos = target.getParameters().getSize(); pos >= 0; pos--)
+				state.pop();
+
+			if (target.getReturnType() != VoidType.INSTANCE)
+				state.push(UNKNOWN);
+		}
+		else
+			throw new IllegalStateException("unexpected bytecode " + bytecode);
+	}
+
+	private static Object valueOf(CONST constant) {
+		Object value = constant.getConstant();
+		return value == null ? NIL : value;
+	}
+
+	private static CONST mkConst(Object value) {
+		if (value == NIL)
+			return new CONST();
+		else if (value instanceof Boolean)
+			return new CONST((Boolean) value);
+		else if (value instanceof Integer)
+			return new CONST((Integer) value);
+		else
+			return new CONST((Float) value);
+	}
+
+	/**
+	 * Computes the result of a binary operation over two abstract values.
+	 *
+	 * @param operation the operation
+	 * @param left the first operand
+	 * @param right the second operand
+	 * @return the abstract value of the result
+	 */
+
+	private static Object fold(BinOpBytecode operation, Object left, Object right) {
+		if (operation instanceof ComparisonBinOpBytecode) {
+			Object value = compare(operation instanceof EQ || operation instanceof NE, left, right);
+			if (!(value instanceof Integer))
+				return UNKNOWN;
+
+			int comparison = (Integer) value;
+			if (operation instanceof EQ)
+				return comparison == 0;
+			else if (operation instanceof NE)
+				return comparison != 0;
+			else if (operation instanceof LT)
+				return comparison < 0;
+			else if (operation instanceof LE)
+				return comparison <= 0;
+			else if (operation instanceof GT)
+				return comparison > 0;
+			else if (operation instanceof GE)
+				return comparison >= 0;
+		}
+		else if (left instanceof Boolean && right instanceof Boolean) {
+			if (operation instanceof AND)
+				return (Boolean) left && (Boolean) right;
+			else if (operation instanceof OR)
+				return (Boolean) left || (Boolean) right;
+		}
+		else if (left instanceof Integer && right instanceof Integer) {
+			int l = (Integer) left, r = (Integer) right;
+
+			if (operation instanceof ADD)
+				return l + r;
+			else if (operation instanceof SUB)
+				return l - r;
+			else if (operation instanceof MUL)
+				return l * r;
+			// a division by zero must stop the program at runtime
+			else if (operation instanceof DIV && r != 0)
+				return l / r;
+		}
+		else if (left instanceof Float && right instanceof Float) {
+			float l = (Float) left, r = (Float) right;
+
+			if (operation instanceof ADD)
+				return l + r;
+			else if (operation instanceof SUB)
+				return l - r;
+			else if (operation instanceof MUL)
+				return l * r;
+			else if (operation instanceof DIV)
+				return l / r;
+		}
+
+		return UNKNOWN;
+	}
+
+	private static Object negate(Object value) {
+		if (value instanceof Boolean)
+			return !(Boolean) value;
+		else if (value instanceof Integer)
+			return -(Integer) value;
+		else if (value instanceof Float)
+			return -(Float) value;
+		else
+			return UNKNOWN;
+	}
+
+	private static Object cast(CAST cast, Object value) {
+		if (value == NIL)
+			// nil can be cast into any reference type
+			return NIL;
+		else if (value instanceof Integer)
+			return cast.getIntoType() == types.FloatType.INSTANCE ? (Object) (float) (Integer) value : value;
+		else if (value instanceof Float)
+			return cast.getIntoType() == types.IntType.INSTANCE ? (Object) (int) (float) (Float) value : value;
+		else
+			return UNKNOWN;
+	}
+
+	/**
+	 * Rewrites a reachable block, by using the constants known at its entry.
+	 *
+	 * @param block the block
+	 * @param entry the abstract state at the entry of {@code block}
+	 * @return the position of the successor of {@code block} that is executed,
+	 *         or -1 if {@code block} does not end with a branch whose outcome is known
+	 */
+
+	private int rewrite(Block block, State entry) {
+		State state = entry.copy();
+		List<Bytecode> code = new ArrayList<>();
+
+		for (BytecodeList cursor = block.getBytecode(); cursor != null; cursor = cursor.getTail()) {
+			Bytecode bytecode = cursor.getHead();
+			List<Type> operands = operandTypes(bytecode);
+			execute(bytecode, state);
+
+			Object result;
+			if (operands != null && (result = state.peek(0)) != UNKNOWN) {
+				// the operation is replaced by the removal of its operands and the load of its result
+				for (Type operand: operands)
+					emit(code, new POP(operand));
+
+				emit(code, mkConst(result));
+				folded++;
+			}
+			else
+				emit(code, bytecode);
+		}
+
+		block.setBytecode(mkList(code));
+
+		return takenBranch(block, state);
+	}
+
+	/**
+	 * Replaces the branch at the end of a block with its successor that is always executed.
+	 *
+	 * @param block the block
+	 * @param taken the position of the successor that is always executed
+	 */
+
+	private void resolve(Block block, int taken) {
+		Block follow = block.getFollows().get(taken);
+		BranchingBytecode condition = (BranchingBytecode) follow.getBytecode().getHead();
+		Type type = condition instanceof BranchingComparisonBytecode ? ((BranchingComparisonBytecode) condition).getType() : BooleanType.INSTANCE;
+
+		// the operands of the condition are removed from the stack
+		List<Bytecode> code = new ArrayList<>();
+		for (BytecodeList cursor = block.getBytecode(); cursor != null; cursor = cursor.getTail())
+			code.add(cursor.getHead());
+
+		emit(code, new POP(type));
+		if (condition instanceof BranchingComparisonBytecode)
+			emit(code, new POP(type));
+
+		block.setBytecode(mkList(code));
+
+		// the successor might be shared with other branches, hence we use a copy without the condition
+		List<Block> follows = new ArrayList<>();
+		follows.add(new Block(follow.getBytecode().getTail() != null ? follow.getBytecode().getTail() : new BytecodeList(new NOP()),
+			new ArrayList<>(follow.getFollows())));
+		block.setFollows(follows);
+		resolved++;
+	}
+
+	private static BytecodeList mkList(List<Bytecode> code) {
+		BytecodeList result = null;
+		for (int pos = code.size() - 1; pos >= 0; pos--)
+			result = new BytecodeList(code.get(pos), result);
+
+		return result != null ? result : new BytecodeList(new NOP());
+	}
+
+	/**
+	 * Yields the types of the operands of a bytecode that can be replaced
+	 * with the load of a constant, when its result is known.
+	 *
+	 * @param bytecode the bytecode
+	 * @return the types of the operands, from the top of the stack downwards,
+	 *         or {@code null} if {@code bytecode} cannot be replaced
+	 */
+
+	private static List<Type> operandTypes(Bytecode bytecode) {
+		List<Type> result = new ArrayList<>();
+
+		if (bytecode instanceof LOAD)
+			return result;
+		else if (bytecode instanceof ArithmeticBinOpBytecode)
+			result.add(((ArithmeticBinOpBytecode) bytecode).getType());
+		else if (bytecode instanceof ComparisonBinOpBytecode)
+			result.add(((ComparisonBinOpBytecode) bytecode).getType());
+		else if (bytecode instanceof AND || bytecode instanceof OR)
+			result.add(BooleanType.INSTANCE);
+		else if (bytecode instanceof NEG) {
+			result.add(((NEG) bytecode).getType());
+			return result;
+		}
+		else if (bytecode instanceof CAST) {
+			result.add(((CAST) bytecode).getFromType());
+			return result;
+		}
+		else
+			return null;
+
+		// binary operations have two operands of the same type
+		result.add(result.get(0));
+
+		return result;
+	}
+
+	/**
+	 * Adds a bytecode at the end of a list, removing the load of
+	 * a value that is immediately removed from the stack.
+	 *
+	 * @param code the list
+	 * @param bytecode the bytecode to add
+	 */
+
+	private static void emit(List<Bytecode> code, Bytecode bytecode) {
+		if (bytecode instanceof POP && !code.isEmpty()) {
+			Bytecode last = code.get(code.size() - 1);
+			if (last instanceof CONST || last instanceof LOAD || last instanceof DUP) {
+				code.remove(code.size() - 1);
+				return;
+			}
+		}
+
+		code.add(bytecode);
+	}
+}
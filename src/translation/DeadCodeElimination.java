@@ -0,0 +1,458 @@
+package translation;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import types.BooleanType;
+import types.CodeSignature;
+import types.ConstructorSignature;
+import types.IntType;
+import types.MethodSignature;
+import types.NumericalType;
+import types.Type;
+import types.TypeList;
+import types.VoidType;
+import bytecode.AND;
+import bytecode.ArithmeticBinOpBytecode;
+import bytecode.Bytecode;
+import bytecode.BytecodeList;
+import bytecode.CAST;
+import bytecode.CONST;
+import bytecode.ComparisonBinOpBytecode;
+import bytecode.DIV;
+import bytecode.DUP;
+import bytecode.FinalBytecode;
+import bytecode.LOAD;
+import bytecode.NEG;
+import bytecode.NEW;
+import bytecode.NEWSTRING;
+import bytecode.NOP;
+import bytecode.OR;
+import bytecode.POP;
+import bytecode.STORE;
+import bytecode.VIRTUALCALL;
+
+/**
+ * A dead code eliminator for the Kitten code of a constructor, method, test or fixture.
+ * It removes the links from the blocks that end with a final bytecode, since they are
+ * never followed, computes the liveness of the local variables at the end of each
+ * block and replaces the stores into local variables that are not live with the
+ * removal of the stored value. Finally, it removes the computations without side-effects
+ * whose value is just removed from the stack. This includes the calls on a receiver that
+ * is never {@code nil}, whose targets have no side-effects and always return, according
+ * to their summaries.
+ *
+ * @author <A HREF="mailto:fausto.spoto@univr.it">Fausto Spoto</A>
+ */
+
+public class DeadCodeElimination {
+
+	/**
+	 * True if and only if dead code must be eliminated.
+	 */
+
+	private static boolean enabled;
+
+	/**
+	 * The code whose dead code is eliminated.
+	 */
+
+	private final CodeSignature sig;
+
+	/**
+	 * The number of links removed from the blocks ending with a final bytecode.
+	 */
+
+	private int unlinked;
+
+	/**
+	 * The number of dead stores removed.
+	 */
+
+	private int deadStores;
+
+	/**
+	 * The number of computations removed since their value was not used.
+	 */
+
+	private int deadComputations;
+
+	/**
+	 * The number of calls removed since they have no side-effects and their value, if any, was not used.
+	 */
+
+	private int uselessCalls;
+
+	/**
+	 * Determines if dead code must be eliminated.
+	 *
+	 * @param enabled true if and only if dead code must be eliminated
+	 */
+
+	public static void setEnabled(boolean enabled) {
+		DeadCodeElimination.enabled = enabled;
+	}
+
+	/**
+	 * Determines if dead code must be eliminated.
+	 *
+	 * @return true if and only if dead code must be eliminated
+	 */
+
+	public static boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Eliminates the dead code of the given constructor, method,
+	 * test or fixture. Its code gets modified.
+	 *
+	 * @param sig the signature of the code
+	 */
+
+	DeadCodeElimination(CodeSignature sig) {
+		this.sig = sig;
+
+		List<Block> blocks = reachableBlocks(sig.getCode());
+		Map<Block, Set<Integer>> liveIn = liveness(blocks);
+
+		for (Block block: blocks) {
+			// the variables live at the end of the block are those live at the beginning of its successors
+			Set<Integer> live = new HashSet<>();
+			for (Block follow: block.getFollows())
+				live.addAll(liveIn.get(follow));
+
+			rewrite(block, live);
+		}
+	}
+
+	/**
+	 * Yields the number of links removed from the blocks ending with a final bytecode.
+	 *
+	 * @return the number of links
+	 */
+
+	int getUnlinked() {
+		return unlinked;
+	}
+
+	/**
+	 * Yields the number of dead stores that have been removed.
+	 *
+	 * @return the number of dead stores
+	 */
+
+	int getDeadStores() {
+		return deadStores;
+	}
+
+	/**
+	 * Yields the number of computations that have been removed since their value was not used.
+	 *
+	 * @return the number of computations
+	 */
+
+	int getDeadComputations() {
+		return deadComputations;
+	}
+
+	/**
+	 * Yields the number of calls that have been removed since they have
+	 * no side-effects and their value, if any, was not used.
+	 *
+	 * @return the number of calls
+	 */
+
+	int getUselessCalls() {
+		return uselessCalls;
+	}
+
+	/**
+	 * Yields the blocks reachable from the given one, after removing
+	 * the links from the blocks that end with a final bytecode.
+	 *
+	 * @param start the block
+	 * @return the reachable blocks
+	 */
+
+	private List<Block> reachableBlocks(Block start) {
+		List<Block> result = new ArrayList<>();
+		Set<Block> seen = new HashSet<>();
+		Deque<Block> worklist = new ArrayDeque<>();
+		worklist.push(start);
+
+		while (!worklist.isEmpty()) {
+			Block block = worklist.pop();
+			if (seen.add(block)) {
+				result.add(block);
+
+				BytecodeList last = block.getBytecode();
+				while (last.getTail() != null)
+					last = last.getTail();
+
+				// the code after a final bytecode is never executed
+				if (last.getHead() instanceof FinalBytecode && !block.getFollows().isEmpty()) {
+					unlinked += block.getFollows().size();
+					block.setFollows(new ArrayList<Block>());
+				}
+
+				for (Block follow: block.getFollows())
+					worklist.push(follow);
+			}
+		}
+
+		return result;
+	}
+
+	/**
+	 * Computes the local variables that are live at the beginning of each block,
+	 * that is, that might be read before being written.
+	 *
+	 * @param blocks the blocks
+	 * @return the live variables at the beginning of each block in {@code blocks}
+	 */
+
+	private static Map<Block, Set<Integer>> liveness(List<Block> blocks) {
+		Map<Block, Set<Integer>> liveIn = new HashMap<>();
+		for (Block block: blocks)
+			liveIn.put(block, new HashSet<Integer>());
+
+		boolean changed;
+		do {
+			changed = false;
+
+			// a backwards analysis converges faster if blocks are considered from the last one
+			for (int pos = blocks.size() - 1; pos >= 0; pos--) {
+				Block block = blocks.get(pos);
+				Set<Integer> live = new HashSet<>();
+				for (Block follow: block.getFollows())
+					live.addAll(liveIn.get(follow));
+
+				List<Bytecode> code = toList(block.getBytecode());
+				for (int index = code.size() - 1; index >= 0; index--)
+					update(code.get(index), live);
+
+				if (liveIn.get(block).addAll(live))
+					changed = true;
+			}
+		}
+		while (changed);
+
+		return liveIn;
+	}
+
+	/**
+	 * Updates the set of live variables before the given bytecode.
+	 *
+	 * @param bytecode the bytecode
+	 * @param live the variables live after {@code bytecode}. It gets modified
+	 *             into the variables live before {@code bytecode}
+	 */
+
+	private static void update(Bytecode bytecode, Set<Integer> live) {
+		if (bytecode instanceof STORE)
+			live.remove(((STORE) bytecode).getVarNum());
+		else if (bytecode instanceof LOAD)
+			live.add(((LOAD) bytecode).getVarNum());
+	}
+
+	/**
+	 * Rewrites a block, by removing its dead stores and the
+	 * computations whose value is not used.
+	 *
+	 * @param block the block
+	 * @param live the variables live at the end of {@code block}
+	 */
+
+	private void rewrite(Block block, Set<Integer> live) {
+		List<Bytecode> code = toList(block.getBytecode());
+
+		for (int index = code.size() - 1; index >= 0; index--) {
+			Bytecode bytecode = code.get(index);
+
+			if (bytecode instanceof STORE && !live.contains(((STORE) bytecode).getVarNum())) {
+				// the stored value is just removed from the stack
+				code.set(index, new POP(((STORE) bytecode).getType()));
+				deadStores++;
+			}
+			else
+				update(bytecode, live);
+		}
+
+		List<Bytecode> result = new ArrayList<>();
+		for (Bytecode bytecode: code)
+			emit(result, bytecode);
+
+		BytecodeList list = null;
+		for (int pos = result.size() - 1; pos >= 0; pos--)
+			list = new BytecodeList(result.get(pos), list);
+
+		block.setBytecode(list != null ? list : new BytecodeList(new NOP()));
+	}
+
+	/**
+	 * Adds a bytecode at the end of a list. If the bytecode removes the
+	 * top of the stack, computed by a bytecode without side-effects, that
+	 * computation is removed and its operands are removed from the stack instead.
+	 *
+	 * @param code the list
+	 * @param bytecode the bytecode to add
+	 */
+
+	private void emit(List<Bytecode> code, Bytecode bytecode) {
+		if (bytecode instanceof POP && !code.isEmpty()) {
+			Bytecode last = code.get(code.size() - 1);
+			List<Type> operands = pureOperands(last);
+			if (operands != null)
+				deadComputations++;
+			else if (last instanceof VIRTUALCALL && (operands = uselessCallOperands(code, (VIRTUALCALL) last, code.size() - 2)) != null)
+				uselessCalls++;
+
+			if (operands != null) {
+				code.remove(code.size() - 1);
+
+				for (Type operand: operands)
+					emit(code, new POP(operand));
+
+				return;
+			}
+		}
+		else if (bytecode instanceof VIRTUALCALL && ((VIRTUALCALL) bytecode).getStaticTarget().getReturnType() == VoidType.INSTANCE) {
+			// a call to a void method is useless if it has no side-effects
+			List<Type> operands = uselessCallOperands(code, (VIRTUALCALL) bytecode, code.size() - 1);
+			if (operands != null) {
+				uselessCalls++;
+
+				for (Type operand: operands)
+					emit(code, new POP(operand));
+
+				return;
+			}
+		}
+
+		code.add(bytecode);
+	}
+
+	/**
+	 * Yields the types of the operands of a call that can be removed, since its
+	 * targets have no side-effects and always return and its receiver is never {@code nil}.
+	 *
+	 * @param code the bytecodes that precede the call
+	 * @param call the call
+	 * @param end the position in {@code code} of the last bytecode before the call
+	 * @return the types of the operands, from the topmost, or {@code null} if the call cannot be removed
+	 */
+
+	private List<Type> uselessCallOperands(List<Bytecode> code, VIRTUALCALL call, int end) {
+		if (!SideEffects.isRemovable(call))
+			return null;
+
+		List<Type> result = new ArrayList<>();
+		for (TypeList cursor = call.getStaticTarget().getParameters(); cursor != TypeList.EMPTY; cursor = cursor.getTail()) {
+			result.add(0, cursor.getHead());
+
+			// we skip the computations of the parameters, looking for that of the receiver
+			if (end >= 0)
+				end = start(code, end) - 1;
+		}
+
+		if (end < 0 || !isNeverNil(code.get(end)))
+			return null;
+
+		result.add(call.getReceiverType());
+
+		return result;
+	}
+
+	/**
+	 * Yields the position where the computation of the value pushed by the given bytecode starts.
+	 *
+	 * @param code the bytecodes
+	 * @param end the position of the bytecode in {@code code}
+	 * @return the position, or -1 if the computation cannot be identified
+	 */
+
+	private static int start(List<Bytecode> code, int end) {
+		Bytecode bytecode = code.get(end);
+		List<Type> operands = pureOperands(bytecode);
+
+		// a duplication does not compute its value from its operand
+		if (operands == null || bytecode instanceof DUP)
+			return -1;
+
+		for (int count = 0; count < operands.size() && end >= 0; count++)
+			end = end > 0 ? start(code, end - 1) : -1;
+
+		return end;
+	}
+
+	/**
+	 * Determines if the value pushed by the given bytecode is never {@code nil}.
+	 *
+	 * @param bytecode the bytecode
+	 * @return true if and only if that is the case
+	 */
+
+	private boolean isNeverNil(Bytecode bytecode) {
+		// the receiver of a constructor or method is never nil. The main method is
+		// translated into a static Java method, without receiver
+		return bytecode instanceof NEWSTRING
+			|| (bytecode instanceof LOAD && ((LOAD) bytecode).getVarNum() == 0
+				&& (sig instanceof ConstructorSignature || (sig instanceof MethodSignature && sig.getName() != MethodSignature.MAIN)));
+	}
+
+	/**
+	 * Yields the types of the operands of a bytecode that pushes a value on the
+	 * stack without any other side-effect, that is, without modifying the memory,
+	 * without calling code and without stopping the program.
+	 *
+	 * @param bytecode the bytecode
+	 * @return the types of the operands, or {@code null} if {@code bytecode} has side-effects
+	 */
+
+	private static List<Type> pureOperands(Bytecode bytecode) {
+		List<Type> result = new ArrayList<>();
+
+		if (bytecode instanceof CONST || bytecode instanceof LOAD || bytecode instanceof DUP
+				|| bytecode instanceof NEW || bytecode instanceof NEWSTRING)
+			return result;
+		else if (bytecode instanceof NEG) {
+			result.add(((NEG) bytecode).getType());
+			return result;
+		}
+		else if (bytecode instanceof CAST && ((CAST) bytecode).getFromType() instanceof NumericalType
+				&& ((CAST) bytecode).getIntoType() instanceof NumericalType) {
+			result.add(((CAST) bytecode).getFromType());
+			return result;
+		}
+		// an integer division by zero stops the program
+		else if (bytecode instanceof ArithmeticBinOpBytecode
+				&& !(bytecode instanceof DIV && ((DIV) bytecode).getType() == IntType.INSTANCE))
+			result.add(((ArithmeticBinOpBytecode) bytecode).getType());
+		else if (bytecode instanceof ComparisonBinOpBytecode)
+			result.add(((ComparisonBinOpBytecode) bytecode).getType());
+		else if (bytecode instanceof AND || bytecode instanceof OR)
+			result.add(BooleanType.INSTANCE);
+		else
+			return null;
+
+		// binary operations have two operands of the same type
+		result.add(result.get(0));
+
+		return result;
+	}
+
+	private static List<Bytecode> toList(BytecodeList bytecode) {
+		List<Bytecode> result = new ArrayList<>();
+		for (BytecodeList cursor = bytecode; cursor != null; cursor = cursor.getTail())
+			result.add(cursor.getHead());
+
+		return result;
+	}
+}
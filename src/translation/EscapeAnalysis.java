@@ -0,0 +1,465 @@
+package translation;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import types.BooleanType;
+import types.CodeSignature;
+import types.ConstructorSignature;
+import types.FieldSignature;
+import types.FloatType;
+import types.IntType;
+import types.Type;
+import types.TypeList;
+import bytecode.BranchingBytecode;
+import bytecode.BranchingComparisonBytecode;
+import bytecode.Bytecode;
+import bytecode.BytecodeList;
+import bytecode.CONST;
+import bytecode.CONSTRUCTORCALL;
+import bytecode.DUP;
+import bytecode.GETFIELD;
+import bytecode.IF_CMPNE;
+import bytecode.LOAD;
+import bytecode.NEW;
+import bytecode.NOP;
+import bytecode.POP;
+import bytecode.PUTFIELD;
+import bytecode.RETURN;
+import bytecode.STORE;
+import translation.SSAForm.Instruction;
+import translation.SSAForm.Value;
+
+/**
+ * An escape analysis of the Kitten code of a constructor, method, test or fixture,
+ * followed by the scalar replacement of the objects that do not escape. An object
+ * created by a {@code new} bytecode does not escape if it is only stored into local
+ * variables, read and written through its fields and initialised by a constructor
+ * that does the same with its receiver. Such an object is replaced with a local
+ * variable for each of its fields, the constructor is copied in place of its call
+ * and the allocation disappears. Since the inliner guards the copies of the methods
+ * with a comparison of their receiver with {@code nil}, the comparisons of a freshly
+ * created object with {@code nil} are resolved first. This analysis is more effective
+ * after the inlining of the methods called on the objects.
+ *
+ * @author <A HREF="mailto:fausto.spoto@univr.it">Fausto Spoto</A>
+ */
+
+public class EscapeAnalysis {
+
+	/**
+	 * True if and only if the objects that do not escape must be replaced with local variables.
+	 */
+
+	private static boolean enabled;
+
+	/**
+	 * The description of the eliminations performed up to now, one per code.
+	 */
+
+	private final List<String> report = new ArrayList<>();
+
+	/**
+	 * The number of allocations eliminated up to now.
+	 */
+
+	private int eliminated;
+
+	/**
+	 * The first local variable that is not used in the code under analysis.
+	 */
+
+	private int nextVar;
+
+	/**
+	 * Determines if the objects that do not escape must be replaced with local variables.
+	 *
+	 * @param enabled true if and only if the objects that do not escape must be replaced
+	 */
+
+	public static void setEnabled(boolean enabled) {
+		EscapeAnalysis.enabled = enabled;
+	}
+
+	/**
+	 * Determines if the objects that do not escape must be replaced with local variables.
+	 *
+	 * @return true if and only if the objects that do not escape must be replaced
+	 */
+
+	public static boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Yields a description of the eliminations performed up to now, one per code.
+	 *
+	 * @return the description
+	 */
+
+	List<String> getReport() {
+		return report;
+	}
+
+	/**
+	 * Yields the number of allocations eliminated up to now.
+	 *
+	 * @return the number of allocations
+	 */
+
+	int getEliminated() {
+		return eliminated;
+	}
+
+	/**
+	 * Eliminates the allocations of the objects that do not escape from the code of
+	 * the given constructor, method, test or fixture. Its code gets modified.
+	 *
+	 * @param sig the signature of the code
+	 */
+
+	void eliminate(CodeSignature sig) {
+		int count = 0;
+
+		try {
+			// a resolution might copy blocks that contain further comparisons to resolve
+			while (resolveNilComparisons(new SSAForm(sig)));
+
+			// each elimination modifies the code, hence its static single assignment form is recomputed
+			Instruction allocation;
+			Set<FieldSignature> fields = new LinkedHashSet<>();
+			SSAForm ssa;
+			while ((allocation = nonEscaping(ssa = new SSAForm(sig), sig, fields)) != null) {
+				replace(ssa, sig, allocation, fields);
+				fields.clear();
+				count++;
+			}
+		}
+		catch (IllegalStateException e) {
+			// the code contains something we do not understand: we leave the rest of it as it is
+		}
+
+		if (count > 0) {
+			eliminated += count;
+			report.add(count + (count == 1 ? " allocation" : " allocations") + " eliminated from " + sig);
+		}
+	}
+
+	/**
+	 * Resolves the branches that compare a freshly created object with {@code nil}.
+	 * Their outcome is known, since the object cannot be {@code nil}.
+	 *
+	 * @param ssa the static single assignment form of the code
+	 * @return true if and only if at least a branch has been resolved
+	 */
+
+	private static boolean resolveNilComparisons(SSAForm ssa) {
+		boolean resolved = false;
+
+		for (Block block: ssa.getBlocks()) {
+			List<Block> follows = block.getFollows();
+			if (follows.size() != 2 || !(follows.get(0).getBytecode().getHead() instanceof BranchingComparisonBytecode))
+				continue;
+
+			List<Value> operands = ssa.getPopped(follows.get(0), 0);
+			if ((isAllocation(ssa.find(operands.get(0))) && isNil(ssa.find(operands.get(1))))
+					|| (isNil(ssa.find(operands.get(0))) && isAllocation(ssa.find(operands.get(1))))) {
+				// an object is never equal to nil
+				Block taken = follows.get(follows.get(0).getBytecode().getHead() instanceof IF_CMPNE ? 0 : 1);
+				BranchingComparisonBytecode condition = (BranchingComparisonBytecode) taken.getBytecode().getHead();
+
+				List<Bytecode> code = toList(block.getBytecode());
+				emit(code, new POP(condition.getType()));
+				emit(code, new POP(condition.getType()));
+				block.setBytecode(mkList(code));
+
+				// the successor might be shared with other branches, hence we use a copy without the condition
+				List<Block> newFollows = new ArrayList<>();
+				newFollows.add(new Block(taken.getBytecode().getTail() != null ? taken.getBytecode().getTail() : new BytecodeList(new NOP()),
+					new ArrayList<>(taken.getFollows())));
+				block.setFollows(newFollows);
+				resolved = true;
+			}
+		}
+
+		return resolved;
+	}
+
+	private static boolean isAllocation(Value value) {
+		return value instanceof Instruction && ((Instruction) value).bytecode instanceof NEW;
+	}
+
+	private static boolean isNil(Value value) {
+		return value instanceof Instruction && ((Instruction) value).bytecode instanceof CONST
+			&& ((CONST) ((Instruction) value).bytecode).getConstant() == null;
+	}
+
+	/**
+	 * Yields an allocation of an object that does not escape from the given code, if any.
+	 *
+	 * @param ssa the static single assignment form of the code
+	 * @param sig the signature of the code
+	 * @param fields the set where the fields of the object, that are accessed by the code, get added
+	 * @return the instruction that allocates the object, or {@code null} if there is no such object
+	 */
+
+	private static Instruction nonEscaping(SSAForm ssa, CodeSignature sig, Set<FieldSignature> fields) {
+		for (Block block: ssa.getBlocks())
+			for (Instruction instruction: ssa.getInstructions(block))
+				if (instruction.bytecode instanceof NEW && !ssa.isMerged(instruction) && !escapes(ssa, ssa.getBlocks(), instruction, sig, fields))
+					return instruction;
+				else
+					fields.clear();
+
+		return null;
+	}
+
+	/**
+	 * Determines if the given value escapes from the given blocks, that is, if
+	 * it is used by a bytecode other than those that move it between the stack and
+	 * the local variables, access its fields or call a constructor that does not escape.
+	 *
+	 * @param ssa the static single assignment form of the code
+	 * @param blocks the blocks where the value is used
+	 * @param value the value
+	 * @param sig the signature of the code under analysis
+	 * @param fields the set where the fields of the value, that are accessed by the blocks, get added
+	 * @return true if and only if {@code value} escapes
+	 */
+
+	private static boolean escapes(SSAForm ssa, List<Block> blocks, Value value, CodeSignature sig, Set<FieldSignature> fields) {
+		for (Block block: blocks) {
+			int pos = 0;
+			for (BytecodeList cursor = block.getBytecode(); cursor != null; cursor = cursor.getTail(), pos++) {
+				Bytecode bytecode = cursor.getHead();
+				List<Value> operands = new ArrayList<>();
+				for (Value operand: ssa.getPopped(block, pos))
+					operands.add(ssa.find(operand));
+
+				if (!operands.contains(value) || bytecode instanceof STORE || bytecode instanceof POP)
+					continue;
+				else if (bytecode instanceof GETFIELD)
+					fields.add(((GETFIELD) bytecode).getField());
+				// the value must not be stored into its own field
+				else if (bytecode instanceof PUTFIELD && operands.get(1) != value)
+					fields.add(((PUTFIELD) bytecode).getField());
+				else if (!(bytecode instanceof CONSTRUCTORCALL) || operands.lastIndexOf(value) != 0
+						|| escapes((ConstructorSignature) ((CONSTRUCTORCALL) bytecode).getStaticTarget(), sig, fields))
+					return true;
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * Determines if the receiver of a constructor escapes from it. Only constructors
+	 * made of a sequence of blocks, that do not allocate other objects, are considered,
+	 * so that their copy does not contain further allocations to eliminate.
+	 *
+	 * @param constructor the constructor
+	 * @param sig the signature of the code under analysis
+	 * @param fields the set where the fields of the receiver, that are accessed by the constructor, get added
+	 * @return true if and only if the receiver escapes
+	 */
+
+	private static boolean escapes(ConstructorSignature constructor, CodeSignature sig, Set<FieldSignature> fields) {
+		if (constructor.getCode() == null || constructor == sig)
+			return true;
+
+		SSAForm ssa = new SSAForm(constructor);
+		List<Block> chain = chain(constructor);
+		if (chain == null)
+			return true;
+
+		for (Block block: chain)
+			for (BytecodeList cursor = block.getBytecode(); cursor != null; cursor = cursor.getTail())
+				if (cursor.getHead() instanceof NEW)
+					return true;
+
+		Value receiver = ssa.find(ssa.getInitialValue(0));
+
+		return ssa.isMerged(receiver) || escapes(ssa, chain, receiver, sig, fields);
+	}
+
+	/**
+	 * Yields the blocks of the given constructor, if they form a sequence
+	 * that ends with a {@code return} bytecode.
+	 *
+	 * @param constructor the constructor
+	 * @return the blocks, in order of execution, or {@code null} if they do not form such a sequence
+	 */
+
+	private static List<Block> chain(ConstructorSignature constructor) {
+		List<Block> result = new ArrayList<>();
+		Set<Block> seen = new HashSet<>();
+
+		for (Block block = constructor.getCode(); ; block = block.getFollows().get(0)) {
+			if (!seen.add(block) || block.getFollows().size() > 1 || block.getBytecode().getHead() instanceof BranchingBytecode)
+				return null;
+
+			result.add(block);
+
+			if (block.getFollows().isEmpty()) {
+				BytecodeList last = block.getBytecode();
+				while (last.getTail() != null)
+					last = last.getTail();
+
+				return last.getHead() instanceof RETURN ? result : null;
+			}
+		}
+	}
+
+	/**
+	 * Replaces an object that does not escape with a local variable for each of its fields.
+	 *
+	 * @param ssa the static single assignment form of the code
+	 * @param sig the signature of the code. Its code gets modified
+	 * @param allocation the instruction that allocates the object
+	 * @param fields the fields of the object that are accessed
+	 */
+
+	private void replace(SSAForm ssa, CodeSignature sig, Instruction allocation, Set<FieldSignature> fields) {
+		nextVar = Inliner.frameSize(sig);
+
+		Map<FieldSignature, Integer> locals = new LinkedHashMap<>();
+		for (FieldSignature field: fields)
+			locals.put(field, nextVar++);
+
+		for (Block block: ssa.getBlocks()) {
+			List<Bytecode> code = new ArrayList<>();
+			translate(ssa, block, allocation, locals, 0, code);
+			block.setBytecode(mkList(code));
+		}
+	}
+
+	/**
+	 * Translates the code of a block, by replacing the uses of an object that does not escape.
+	 *
+	 * @param ssa the static single assignment form of the code where the block occurs
+	 * @param block the block
+	 * @param object the object
+	 * @param locals the local variable that holds each field of {@code object}
+	 * @param base the number of the local variable that the local variable 0 becomes
+	 * @param code the list where the translation gets added
+	 */
+
+	private void translate(SSAForm ssa, Block block, Value object, Map<FieldSignature, Integer> locals, int base, List<Bytecode> code) {
+		int pos = 0;
+		for (BytecodeList cursor = block.getBytecode(); cursor != null; cursor = cursor.getTail(), pos++) {
+			Bytecode bytecode = cursor.getHead();
+			Value pushed = ssa.getPushed(block, pos);
+			List<Value> popped = ssa.getPopped(block, pos);
+			boolean uses = !popped.isEmpty() && ssa.find(popped.get(0)) == object;
+
+			if (bytecode instanceof NEW && pushed == object)
+				// the fields of the object start with their default value
+				for (Map.Entry<FieldSignature, Integer> local: locals.entrySet()) {
+					Type type = local.getKey().getType();
+					code.add(defaultValue(type));
+					code.add(new STORE(local.getValue(), type));
+				}
+			else if ((bytecode instanceof LOAD || bytecode instanceof DUP) && pushed != null && ssa.find(pushed) == object)
+				continue;
+			else if ((bytecode instanceof STORE || bytecode instanceof POP) && uses)
+				continue;
+			else if (bytecode instanceof GETFIELD && uses) {
+				FieldSignature field = ((GETFIELD) bytecode).getField();
+				code.add(new LOAD(locals.get(field), field.getType()));
+			}
+			else if (bytecode instanceof PUTFIELD && uses) {
+				FieldSignature field = ((PUTFIELD) bytecode).getField();
+				code.add(new STORE(locals.get(field), field.getType()));
+			}
+			else if (bytecode instanceof CONSTRUCTORCALL && uses)
+				inline((ConstructorSignature) ((CONSTRUCTORCALL) bytecode).getStaticTarget(), locals, code);
+			else if (bytecode instanceof LOAD)
+				code.add(new LOAD(((LOAD) bytecode).getVarNum() + base, ((LOAD) bytecode).getType()));
+			else if (bytecode instanceof STORE)
+				code.add(new STORE(((STORE) bytecode).getVarNum() + base, ((STORE) bytecode).getType()));
+			else if (!(bytecode instanceof NOP))
+				code.add(bytecode);
+		}
+	}
+
+	/**
+	 * Adds a copy of the code of a constructor in place of its call on an object that does not escape.
+	 *
+	 * @param constructor the constructor
+	 * @param locals the local variable that holds each field of the object
+	 * @param code the list where the copy gets added
+	 */
+
+	private void inline(ConstructorSignature constructor, Map<FieldSignature, Integer> locals, List<Bytecode> code) {
+		SSAForm ssa = new SSAForm(constructor);
+		int base = nextVar;
+		nextVar += Inliner.frameSize(constructor);
+
+		List<Type> parameters = new ArrayList<>();
+		for (TypeList cursor = constructor.getParameters(); cursor != TypeList.EMPTY; cursor = cursor.pop(cursor.getHead()))
+			parameters.add(cursor.getHead());
+
+		// the actual parameters are moved from the stack into fresh local variables
+		for (int pos = parameters.size(); pos > 0; pos--)
+			code.add(new STORE(base + pos, parameters.get(pos - 1)));
+
+		Value receiver = ssa.find(ssa.getInitialValue(0));
+		for (Block block: chain(constructor))
+			translate(ssa, block, receiver, locals, base, code);
+
+		// the final return of the constructor continues with the code after the call
+		code.remove(code.size() - 1);
+	}
+
+	private static CONST defaultValue(Type type) {
+		if (type == IntType.INSTANCE)
+			return new CONST(0);
+		else if (type == FloatType.INSTANCE)
+			return new CONST(0.0f);
+		else if (type == BooleanType.INSTANCE)
+			return new CONST(false);
+		else
+			return new CONST();
+	}
+
+	/**
+	 * Adds a bytecode at the end of a list. If the bytecode removes the top of
+	 * the stack, pushed by a constant or by a load, both bytecodes are removed.
+	 *
+	 * @param code the list
+	 * @param bytecode the bytecode to add
+	 */
+
+	private static void emit(List<Bytecode> code, Bytecode bytecode) {
+		if (bytecode instanceof POP && !code.isEmpty()) {
+			Bytecode last = code.get(code.size() - 1);
+			if (last instanceof CONST || last instanceof LOAD || last instanceof DUP) {
+				code.remove(code.size() - 1);
+				return;
+			}
+		}
+
+		code.add(bytecode);
+	}
+
+	private static List<Bytecode> toList(BytecodeList bytecode) {
+		List<Bytecode> result = new ArrayList<>();
+		for (BytecodeList cursor = bytecode; cursor != null; cursor = cursor.getTail())
+			result.add(cursor.getHead());
+
+		return result;
+	}
+
+	private static BytecodeList mkList(List<Bytecode> code) {
+		BytecodeList result = null;
+		for (int pos = code.size() - 1; pos >= 0; pos--)
+			result = new BytecodeList(code.get(pos), result);
+
+		return result != null ? result : new BytecodeList(new NOP());
+	}
+}
@@ -0,0 +1,174 @@
+package translation;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import types.CodeSignature;
+import bytecode.ARRAYLOAD;
+import bytecode.CALL;
+import bytecode.GETFIELD;
+import translation.SSAForm.Instruction;
+import translation.SSAForm.Value;
+
+/**
+ * A global value numbering of the Kitten code of a constructor, method, test or fixture,
+ * performed on its static single assignment form. Two instructions get the same number if
+ * they apply the same bytecode to operands with the same number and, for the reads of
+ * fields and arrays and for the calls without side-effects, to the same version of the
+ * memory. An instruction is a common subexpression, and is hence redundant, if an
+ * instruction with the same number is always computed before it, that is, in a
+ * dominator of its block or before it in its block. Since copies of local variables do not create new values in the static single
+ * assignment form, the lowering of the form propagates copies as well.
+ *
+ * @author <A HREF="mailto:fausto.spoto@univr.it">Fausto Spoto</A>
+ */
+
+public class GlobalValueNumbering {
+
+	/**
+	 * True if and only if redundant computations must be eliminated.
+	 */
+
+	private static boolean enabled;
+
+	/**
+	 * The static single assignment form of the code.
+	 */
+
+	private SSAForm ssa;
+
+	/**
+	 * The redundant instructions, bound to an equivalent instruction that is always computed before them.
+	 */
+
+	private final Map<Instruction, Instruction> redundant = new HashMap<>();
+
+	/**
+	 * The blocks immediately dominated by each block.
+	 */
+
+	private final Map<Block, List<Block>> dominated = new HashMap<>();
+
+	/**
+	 * Determines if redundant computations must be eliminated.
+	 *
+	 * @param enabled true if and only if redundant computations must be eliminated
+	 */
+
+	public static void setEnabled(boolean enabled) {
+		GlobalValueNumbering.enabled = enabled;
+	}
+
+	/**
+	 * Determines if redundant computations must be eliminated.
+	 *
+	 * @return true if and only if redundant computations must be eliminated
+	 */
+
+	public static boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Eliminates the redundant computations and copies of the given
+	 * constructor, method, test or fixture. Its code gets modified.
+	 *
+	 * @param sig the signature of the code
+	 */
+
+	GlobalValueNumbering(CodeSignature sig) {
+		try {
+			this.ssa = new SSAForm(sig);
+		}
+		catch (IllegalStateException e) {
+			// the code contains something we do not understand: we leave it as it is
+			return;
+		}
+
+		for (Block block: ssa.getBlocks()) {
+			dominated.put(block, new ArrayList<Block>());
+
+			Block idom = ssa.getImmediateDominator(block);
+			if (idom != null)
+				dominated.get(idom).add(block);
+		}
+
+		number(sig.getCode(), new HashMap<String, Instruction>());
+		ssa.lower(redundant);
+	}
+
+	/**
+	 * Yields the number of redundant computations that have been eliminated.
+	 *
+	 * @return the number of computations
+	 */
+
+	int getEliminated() {
+		return ssa != null ? ssa.getEliminated() : 0;
+	}
+
+	/**
+	 * Yields the number of loads of a local variable replaced by the load
+	 * of another local variable that holds the same value.
+	 *
+	 * @return the number of loads
+	 */
+
+	int getPropagated() {
+		return ssa != null ? ssa.getPropagated() : 0;
+	}
+
+	/**
+	 * Numbers the instructions of the given block and of those it dominates.
+	 *
+	 * @param block the block
+	 * @param available the instructions always computed before {@code block}, for each key of their number
+	 */
+
+	private void number(Block block, Map<String, Instruction> available) {
+		for (Instruction instruction: ssa.getInstructions(block)) {
+			String key = key(instruction);
+
+			if (key != null) {
+				Instruction equivalent = available.get(key);
+				if (equivalent != null)
+					redundant.put(instruction, equivalent);
+				else
+					available.put(key, instruction);
+			}
+		}
+
+		for (Block follow: dominated.get(block))
+			number(follow, new HashMap<>(available));
+	}
+
+	/**
+	 * Yields a string that identifies the number of the given instruction.
+	 *
+	 * @param instruction the instruction
+	 * @return the string, or {@code null} if the instruction is never equivalent to another
+	 */
+
+	private String key(Instruction instruction) {
+		if (!SSAForm.isExpression(instruction.bytecode))
+			return null;
+
+		StringBuilder key = new StringBuilder(instruction.bytecode.toString()).append('(');
+		for (Value operand: instruction.operands) {
+			Value value = ssa.find(operand);
+			Instruction equivalent = redundant.get(value);
+			key.append(equivalent != null ? equivalent.id : value.id).append(' ');
+		}
+
+		key.append(')');
+
+		// the reads of the memory depend on its version
+		if (instruction.bytecode instanceof GETFIELD || instruction.bytecode instanceof ARRAYLOAD
+				|| (instruction.bytecode instanceof CALL && SideEffects.readsMemory((CALL) instruction.bytecode)))
+			key.append('@').append(instruction.memory);
+
+		return key.toString();
+	}
+}
@@ -0,0 +1,458 @@
+package translation;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import types.CodeSignature;
+import types.ComparableType;
+import types.ConstructorSignature;
+import types.MethodSignature;
+import types.OutlinedMethodSignature;
+import types.Type;
+import types.TypeList;
+import bytecode.Bytecode;
+import bytecode.BytecodeList;
+import bytecode.CONST;
+import bytecode.IF_CMPEQ;
+import bytecode.LOAD;
+import bytecode.NOP;
+import bytecode.RETURN;
+import bytecode.STORE;
+import bytecode.VIRTUALCALL;
+import translation.SSAForm.Value;
+
+/**
+ * An inliner of the Kitten code of methods. It replaces a call with a single
+ * dynamic target by a copy of the code of that target, whose local variables are
+ * renumbered after those of the caller and whose {@code return} bytecodes become
+ * jumps to the code following the call. Since a call on a {@code nil} receiver must
+ * stop the computation, the copy is guarded by a test of the receiver: if it is
+ * {@code nil}, the original call is performed. The guard is not needed when the
+ * receiver is that of the code under inlining, which is never {@code nil}. Only methods up to a maximal size are
+ * inlined and code that has been inlined is inlined in turn up to a maximal depth.
+ *
+ * @author <A HREF="mailto:fausto.spoto@univr.it">Fausto Spoto</A>
+ */
+
+public class Inliner {
+
+	/**
+	 * True if and only if methods must be inlined.
+	 */
+
+	private static boolean enabled;
+
+	/**
+	 * The maximal number of bytecodes of an inlined method.
+	 */
+
+	private static int maxSize = 30;
+
+	/**
+	 * The maximal number of nested inlinings.
+	 */
+
+	private static int maxDepth = 3;
+
+	/**
+	 * The description of the inlinings performed up to now.
+	 */
+
+	private final List<String> report = new ArrayList<>();
+
+	/**
+	 * The blocks of the code under inlining that have been already processed.
+	 */
+
+	private Set<Block> done;
+
+	/**
+	 * The blocks of the code under inlining that must still be processed.
+	 */
+
+	private Deque<Block> worklist;
+
+	/**
+	 * Binds each block of the code under inlining to the chain of methods
+	 * whose code has been inlined in order to get that block. The first
+	 * element of the chain is the code under inlining itself.
+	 */
+
+	private Map<Block, List<CodeSignature>> chains;
+
+	/**
+	 * The calls of the code under inlining, before any inlining, whose receiver
+	 * is the receiver of that code. They are never performed on {@code nil}.
+	 */
+
+	private Set<VIRTUALCALL> callsOnThis;
+
+	/**
+	 * The first local variable that is not used in the code under inlining.
+	 */
+
+	private int nextVar;
+
+	/**
+	 * Determines if methods must be inlined.
+	 *
+	 * @param enabled true if and only if methods must be inlined
+	 */
+
+	public static void setEnabled(boolean enabled) {
+		Inliner.enabled = enabled;
+	}
+
+	/**
+	 * Determines if methods must be inlined.
+	 *
+	 * @return true if and only if methods must be inlined
+	 */
+
+	public static boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Sets the maximal number of bytecodes of an inlined method.
+	 *
+	 * @param maxSize the maximal number of bytecodes
+	 */
+
+	public static void setMaxSize(int maxSize) {
+		if (maxSize < 1)
+			throw new IllegalArgumentException("the maximal size of inlined methods must be positive");
+
+		Inliner.maxSize = maxSize;
+	}
+
+	/**
+	 * Sets the maximal number of nested inlinings.
+	 *
+	 * @param maxDepth the maximal number of nested inlinings
+	 */
+
+	public static void setMaxDepth(int maxDepth) {
+		if (maxDepth < 1)
+			throw new IllegalArgumentException("the maximal depth of inlining must be positive");
+
+		Inliner.maxDepth = maxDepth;
+	}
+
+	/**
+	 * Yields a description of the inlinings performed up to now, one per call site.
+	 *
+	 * @return the description
+	 */
+
+	List<String> getReport() {
+		return report;
+	}
+
+	/**
+	 * Inlines the methods called from the code of the given constructor, method,
+	 * test or fixture. Its code gets modified.
+	 *
+	 * @param sig the signature of the code
+	 */
+
+	void inline(CodeSignature sig) {
+		done = new HashSet<>();
+		worklist = new ArrayDeque<>();
+		chains = new HashMap<>();
+		callsOnThis = callsOnThis(sig);
+		nextVar = frameSize(sig);
+
+		List<CodeSignature> chain = new ArrayList<>();
+		chain.add(sig);
+		chains.put(sig.getCode(), chain);
+		worklist.push(sig.getCode());
+
+		while (!worklist.isEmpty()) {
+			Block block = worklist.pop();
+			if (done.add(block))
+				process(block);
+		}
+	}
+
+	/**
+	 * Inlines the first call in the given block that can be inlined, if any,
+	 * and schedules the following blocks for processing.
+	 *
+	 * @param block the block
+	 */
+
+	private void process(Block block) {
+		List<CodeSignature> chain = chains.get(block);
+		List<Bytecode> before = new ArrayList<>();
+
+		for (BytecodeList cursor = block.getBytecode(); cursor != null; cursor = cursor.getTail()) {
+			Bytecode bytecode = cursor.getHead();
+			CodeSignature callee = inlinableTarget(bytecode, chain);
+
+			if (callee != null) {
+				// the code after the call is moved into a new block, that will be processed later
+				Block continuation = new Block(cursor.getTail() != null ? cursor.getTail() : new BytecodeList(new NOP()), block.getFollows());
+				chains.put(continuation, chain);
+				worklist.push(continuation);
+
+				// the copies of inlined code might perform the same call on another receiver
+				boolean onThis = chain.size() == 1 && callsOnThis.contains(bytecode);
+				splice(block, before, (VIRTUALCALL) bytecode, callee, continuation, chain, onThis);
+
+				return;
+			}
+
+			before.add(bytecode);
+		}
+
+		for (Block follow: block.getFollows()) {
+			if (!chains.containsKey(follow))
+				chains.put(follow, chain);
+
+			worklist.push(follow);
+		}
+	}
+
+	/**
+	 * Yields the calls of the given code whose receiver is the receiver of the code.
+	 *
+	 * @param sig the signature of the code
+	 * @return the calls
+	 */
+
+	private static Set<VIRTUALCALL> callsOnThis(CodeSignature sig) {
+		Set<VIRTUALCALL> calls = new HashSet<>();
+
+		// the local variable 0 of tests, fixtures and synthetic methods is not a receiver
+		if (!(sig instanceof ConstructorSignature) && (!(sig instanceof MethodSignature) || sig instanceof OutlinedMethodSignature))
+			return calls;
+
+		try {
+			SSAForm ssa = new SSAForm(sig);
+			Value thisValue = ssa.find(ssa.getInitialValue(0));
+
+			for (Block block: ssa.getBlocks()) {
+				int pos = 0;
+				for (BytecodeList cursor = block.getBytecode(); cursor != null; cursor = cursor.getTail(), pos++)
+					if (cursor.getHead() instanceof VIRTUALCALL && ssa.find(ssa.getPopped(block, pos).get(0)) == thisValue)
+						calls.add((VIRTUALCALL) cursor.getHead());
+			}
+		}
+		catch (IllegalStateException e) {
+			// the code uses the stack inconsistently: all calls get guarded
+		}
+
+		return calls;
+	}
+
+	/**
+	 * Yields the method that can be inlined in place of the given bytecode, if any.
+	 *
+	 * @param bytecode the bytecode
+	 * @param chain the chain of methods inlined in order to get {@code bytecode}
+	 * @return the method, or {@code null} if {@code bytecode} cannot be inlined
+	 */
+
+	private static CodeSignature inlinableTarget(Bytecode bytecode, List<CodeSignature> chain) {
+		if (!(bytecode instanceof VIRTUALCALL) || chain.size() > maxDepth)
+			return null;
+
+		Set<CodeSignature> targets = ((VIRTUALCALL) bytecode).getDynamicTargets();
+		if (targets.size() != 1)
+			return null;
+
+		CodeSignature target = targets.iterator().next();
+
+		// the methods of the strings are implemented natively and recursion is never unfolded.
+		// Memo methods are kept out of line, so that their calls go through their cache
+		if (target.getCode() == null || chain.contains(target)
+				|| target.getDefiningClass().getName().equals(runTime.String.class.getSimpleName())
+				|| (target instanceof MethodSignature && ((MethodSignature) target).isMemo()))
+			return null;
+
+		// we count the bytecodes of the target and check that
+		// its return bytecodes actually end the code
+		int size = 0;
+		Set<Block> seen = new HashSet<>();
+		Deque<Block> blocks = new ArrayDeque<>();
+		blocks.push(target.getCode());
+
+		while (!blocks.isEmpty()) {
+			Block block = blocks.pop();
+			if (seen.add(block)) {
+				for (BytecodeList cursor = block.getBytecode(); cursor != null; cursor = cursor.getTail())
+					if (++size > maxSize || (cursor.getHead() instanceof RETURN && !block.getFollows().isEmpty()))
+						return null;
+
+				for (Block follow: block.getFollows())
+					blocks.push(follow);
+			}
+		}
+
+		return target;
+	}
+
+	/**
+	 * Replaces a call at the end of the given code with a copy of the code of its target,
+	 * guarded by a test of the receiver unless it is the receiver of the code under inlining.
+	 *
+	 * @param block the block where the call occurs
+	 * @param before the bytecodes of {@code block} that precede the call
+	 * @param call the call
+	 * @param callee the only dynamic target of {@code call}
+	 * @param continuation the block that must be executed after the call
+	 * @param chain the chain of methods inlined in order to get {@code block}
+	 * @param onThis true if and only if the receiver of {@code call} is the receiver of the code under inlining
+	 */
+
+	private void splice(Block block, List<Bytecode> before, VIRTUALCALL call, CodeSignature callee, Block continuation, List<CodeSignature> chain, boolean onThis) {
+		int base = nextVar;
+		nextVar += frameSize(callee);
+
+		Type receiverType = call.getReceiverType();
+		List<Type> parameters = new ArrayList<>();
+		for (TypeList cursor = callee.getParameters(); cursor != TypeList.EMPTY; cursor = cursor.pop(cursor.getHead()))
+			parameters.add(cursor.getHead());
+
+		// the receiver and the actual parameters are moved from the stack into fresh local variables
+		List<Bytecode> code = new ArrayList<>(before);
+		for (int pos = parameters.size(); pos > 0; pos--)
+			code.add(new STORE(base + pos, parameters.get(pos - 1)));
+		code.add(new STORE(base, receiverType));
+
+		List<CodeSignature> calleeChain = new ArrayList<>(chain);
+		calleeChain.add(callee);
+		Block copy = copy(callee.getCode(), base, continuation, calleeChain, new HashMap<Block, Block>());
+
+		if (onThis) {
+			// the receiver is not nil, hence the copy of the code of the callee is executed directly
+			block.setBytecode(mkList(code, 0));
+			chains.put(copy, calleeChain);
+			worklist.push(copy);
+			block.setFollows(mkFollows(copy));
+		}
+		else {
+			// the receiver is compared with nil
+			code.add(new LOAD(base, receiverType));
+			code.add(new CONST());
+			block.setBytecode(mkList(code, 0));
+
+			// if the receiver is nil, the original call stops the computation
+			code.clear();
+			code.add(new LOAD(base, receiverType));
+			for (int pos = 1; pos <= parameters.size(); pos++)
+				code.add(new LOAD(base + pos, parameters.get(pos - 1)));
+			code.add(call);
+			Block nil = new Block(mkList(code, 0), mkFollows(continuation));
+			nil.markRare();
+			done.add(nil);
+
+			// otherwise, the copy of the code of the callee is executed
+			Block nonNil = new Block(new BytecodeList(new NOP()), mkFollows(copy));
+			chains.put(nonNil, calleeChain);
+
+			Block guard = new Block(new IF_CMPEQ((ComparableType) receiverType), nil, nonNil);
+			chains.put(guard, chain);
+			worklist.push(guard);
+			block.setFollows(mkFollows(guard));
+		}
+
+		report.add(callee + " inlined into " + chain.get(0) + " at depth " + chain.size());
+	}
+
+	/**
+	 * Copies the given block and those reachable from it, renumbering
+	 * their local variables and linking their {@code return} bytecodes
+	 * to the given continuation.
+	 *
+	 * @param original the block to copy
+	 * @param base the number of the local variable that the local variable 0 becomes
+	 * @param continuation the block executed at the end of the copy
+	 * @param chain the chain of methods inlined in order to get the copy
+	 * @param copies the copies performed up to now
+	 * @return the copy of {@code original}
+	 */
+
+	private Block copy(Block original, int base, Block continuation, List<CodeSignature> chain, Map<Block, Block> copies) {
+		Block result = copies.get(original);
+		if (result != null)
+			return result;
+
+		List<Bytecode> code = new ArrayList<>();
+		List<Block> follows = new ArrayList<>();
+		for (BytecodeList cursor = original.getBytecode(); cursor != null; cursor = cursor.getTail()) {
+			Bytecode bytecode = cursor.getHead();
+
+			if (bytecode instanceof LOAD)
+				code.add(new LOAD(((LOAD) bytecode).getVarNum() + base, ((LOAD) bytecode).getType()));
+			else if (bytecode instanceof STORE)
+				code.add(new STORE(((STORE) bytecode).getVarNum() + base, ((STORE) bytecode).getType()));
+			else if (bytecode instanceof RETURN) {
+				// the returned value, if any, is left on the stack for the continuation
+				code.add(new NOP());
+				follows.add(continuation);
+			}
+			else
+				code.add(bytecode);
+		}
+
+		result = new Block(mkList(code, 0), follows);
+		if (original.isRare())
+			result.markRare();
+
+		copies.put(original, result);
+		chains.put(result, chain);
+
+		for (Block follow: original.getFollows())
+			follows.add(copy(follow, base, continuation, chain, copies));
+
+		return result;
+	}
+
+	/**
+	 * Yields the number of local variables used by the given code.
+	 *
+	 * @param sig the signature of the code
+	 * @return the number of local variables, including the receiver and the parameters
+	 */
+
+	static int frameSize(CodeSignature sig) {
+		int size = sig.getParameters().getSize() + 1;
+		Set<Block> seen = new HashSet<>();
+		Deque<Block> blocks = new ArrayDeque<>();
+		blocks.push(sig.getCode());
+
+		while (!blocks.isEmpty()) {
+			Block block = blocks.pop();
+			if (seen.add(block)) {
+				for (BytecodeList cursor = block.getBytecode(); cursor != null; cursor = cursor.getTail())
+					if (cursor.getHead() instanceof LOAD)
+						size = Math.max(size, ((LOAD) cursor.getHead()).getVarNum() + 1);
+					else if (cursor.getHead() instanceof STORE)
+						size = Math.max(size, ((STORE) cursor.getHead()).getVarNum() + 1);
+
+				for (Block follow: block.getFollows())
+					blocks.push(follow);
+			}
+		}
+
+		return size;
+	}
+
+	private static BytecodeList mkList(List<Bytecode> code, int pos) {
+		return pos == code.size() - 1 ? new BytecodeList(code.get(pos)) : new BytecodeList(code.get(pos), mkList(code, pos + 1));
+	}
+
+	private static List<Block> mkFollows(Block follow) {
+		List<Block> follows = new ArrayList<>();
+		follows.add(follow);
+		return follows;
+	}
+}
@@ -0,0 +1,713 @@
+package translation;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import types.BooleanType;
+import types.CodeSignature;
+import types.ConstructorSignature;
+import types.FieldSignature;
+import types.IntType;
+import types.MethodSignature;
+import types.NumericalType;
+import types.Type;
+import bytecode.ADD;
+import bytecode.AND;
+import bytecode.ArithmeticBinOpBytecode;
+import bytecode.BranchingBytecode;
+import bytecode.Bytecode;
+import bytecode.BytecodeList;
+import bytecode.CALL;
+import bytecode.CAST;
+import bytecode.CONST;
+import bytecode.ComparisonBinOpBytecode;
+import bytecode.DIV;
+import bytecode.GETFIELD;
+import bytecode.LOAD;
+import bytecode.MUL;
+import bytecode.NEG;
+import bytecode.OR;
+import bytecode.PUTFIELD;
+import bytecode.STORE;
+import bytecode.SUB;
+
+/**
+ * An optimizer of the loops in the Kitten code of a constructor, method, test or fixture.
+ * It finds the natural loops of the code, that is, the blocks that can reach the source
+ * of an edge back to a block that dominates them, from the innermost to the outermost.
+ * For each loop, it moves into a new block executed before the loop the computations
+ * whose value does not change inside the loop and that can neither have side-effects
+ * nor stop the program, so that they can be executed even if the loop is never entered.
+ * Then it recognizes the integer local variables that are only incremented by a constant
+ * inside the loop (induction variables) and replaces their multiplications by a constant
+ * with a new local variable that is incremented together with the induction variable.
+ *
+ * @author <A HREF="mailto:fausto.spoto@univr.it">Fausto Spoto</A>
+ */
+
+public class LoopOptimizer {
+
+	/**
+	 * True if and only if loops must be optimized.
+	 */
+
+	private static boolean enabled;
+
+	/**
+	 * The code whose loops are optimized.
+	 */
+
+	private final CodeSignature sig;
+
+	/**
+	 * The first local variable that is not used in the code.
+	 */
+
+	private int nextVar;
+
+	/**
+	 * The number of loops found in the code.
+	 */
+
+	private int loops;
+
+	/**
+	 * The number of computations moved before their loop.
+	 */
+
+	private int hoisted;
+
+	/**
+	 * The number of induction variables found in the loops.
+	 */
+
+	private int inductionVariables;
+
+	/**
+	 * The number of multiplications by an induction variable replaced by an increment.
+	 */
+
+	private int reduced;
+
+	/**
+	 * Determines if loops must be optimized.
+	 *
+	 * @param enabled true if and only if loops must be optimized
+	 */
+
+	public static void setEnabled(boolean enabled) {
+		LoopOptimizer.enabled = enabled;
+	}
+
+	/**
+	 * Determines if loops must be optimized.
+	 *
+	 * @return true if and only if loops must be optimized
+	 */
+
+	public static boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Optimizes the loops of the given constructor, method, test or fixture.
+	 * Its code gets modified.
+	 *
+	 * @param sig the signature of the code
+	 */
+
+	LoopOptimizer(CodeSignature sig) {
+		this.sig = sig;
+		this.nextVar = Inliner.frameSize(sig);
+
+		final Map<Block, Set<Block>> bodies = naturalLoops();
+		List<Block> headers = new ArrayList<>(bodies.keySet());
+
+		// inner loops are smaller than the loops that contain them, hence they are optimized first
+		Collections.sort(headers, new Comparator<Block>() {
+
+			@Override
+			public int compare(Block header1, Block header2) {
+				return bodies.get(header1).size() - bodies.get(header2).size();
+			}
+		});
+
+		loops = headers.size();
+
+		for (Block header: headers) {
+			// the optimization of an inner loop adds blocks to the loops that contain it,
+			// hence the body of the loop must be computed again
+			Set<Block> body = naturalLoops().get(header);
+			if (body != null && !(header.getBytecode().getHead() instanceof BranchingBytecode))
+				optimize(header, body);
+		}
+	}
+
+	/**
+	 * Yields the number of loops found in the code.
+	 *
+	 * @return the number of loops
+	 */
+
+	int getLoops() {
+		return loops;
+	}
+
+	/**
+	 * Yields the number of computations moved before their loop.
+	 *
+	 * @return the number of computations
+	 */
+
+	int getHoisted() {
+		return hoisted;
+	}
+
+	/**
+	 * Yields the number of induction variables found in the loops.
+	 *
+	 * @return the number of induction variables
+	 */
+
+	int getInductionVariables() {
+		return inductionVariables;
+	}
+
+	/**
+	 * Yields the number of multiplications by an induction variable replaced by an increment.
+	 *
+	 * @return the number of multiplications
+	 */
+
+	int getReduced() {
+		return reduced;
+	}
+
+	/**
+	 * Yields the natural loops of the code, each with its header, that is,
+	 * the block that dominates the loop and where the loop starts again
+	 * at each iteration. Loops with the same header are merged.
+	 *
+	 * @return a map from each header to the blocks of its loop, header included
+	 */
+
+	private Map<Block, Set<Block>> naturalLoops() {
+		List<Block> blocks = new ArrayList<>();
+		Map<Block, List<Block>> predecessors = new HashMap<>();
+		Deque<Block> worklist = new ArrayDeque<>();
+		worklist.push(sig.getCode());
+		predecessors.put(sig.getCode(), new ArrayList<Block>());
+
+		while (!worklist.isEmpty()) {
+			Block block = worklist.pop();
+			blocks.add(block);
+
+			for (Block follow: block.getFollows()) {
+				List<Block> preds = predecessors.get(follow);
+				if (preds == null) {
+					predecessors.put(follow, preds = new ArrayList<>());
+					worklist.push(follow);
+				}
+
+				preds.add(block);
+			}
+		}
+
+		Map<Block, Set<Block>> dominators = dominators(blocks, predecessors);
+		Map<Block, Set<Block>> result = new HashMap<>();
+
+		for (Block block: blocks)
+			for (Block follow: block.getFollows())
+				// an edge towards a dominator goes back to the header of a loop
+				if (dominators.get(block).contains(follow)) {
+					Set<Block> body = result.get(follow);
+					if (body == null) {
+						result.put(follow, body = new HashSet<>());
+						body.add(follow);
+					}
+
+					// the loop contains the blocks that reach the source of the edge without passing through the header
+					if (body.add(block))
+						worklist.push(block);
+
+					while (!worklist.isEmpty())
+						for (Block pred: predecessors.get(worklist.pop()))
+							if (body.add(pred))
+								worklist.push(pred);
+				}
+
+		return result;
+	}
+
+	/**
+	 * Computes the dominators of each block, that is, the blocks that
+	 * are crossed by every path from the beginning of the code to that block.
+	 *
+	 * @param blocks the blocks of the code, starting with the first one
+	 * @param predecessors the predecessors of each block in {@code blocks}
+	 * @return the dominators of each block in {@code blocks}, the block itself included
+	 */
+
+	private static Map<Block, Set<Block>> dominators(List<Block> blocks, Map<Block, List<Block>> predecessors) {
+		Map<Block, Set<Block>> result = new HashMap<>();
+		Block start = blocks.get(0);
+
+		for (Block block: blocks)
+			if (block == start)
+				result.put(block, new HashSet<Block>(Collections.singleton(block)));
+			else
+				result.put(block, new HashSet<Block>(blocks));
+
+		boolean changed;
+		do {
+			changed = false;
+
+			for (Block block: blocks)
+				if (block != start) {
+					Set<Block> dominators = null;
+					for (Block pred: predecessors.get(block))
+						if (dominators == null)
+							dominators = new HashSet<>(result.get(pred));
+						else
+							dominators.retainAll(result.get(pred));
+
+					dominators.add(block);
+					if (!dominators.equals(result.get(block))) {
+						result.put(block, dominators);
+						changed = true;
+					}
+				}
+		}
+		while (changed);
+
+		return result;
+	}
+
+	/**
+	 * Optimizes a loop, by moving its invariant computations before the loop
+	 * and by reducing the strength of the multiplications of its induction variables.
+	 *
+	 * @param header the header of the loop
+	 * @param body the blocks of the loop
+	 */
+
+	private void optimize(Block header, Set<Block> body) {
+		// we look for what might change during the loop
+		Set<Integer> stored = new HashSet<>();
+		Set<FieldSignature> written = new HashSet<>();
+
+		for (Block block: body)
+			for (BytecodeList cursor = block.getBytecode(); cursor != null; cursor = cursor.getTail()) {
+				Bytecode bytecode = cursor.getHead();
+				if (bytecode instanceof STORE)
+					stored.add(((STORE) bytecode).getVarNum());
+				else if (bytecode instanceof PUTFIELD)
+					written.add(((PUTFIELD) bytecode).getField());
+				else if (bytecode instanceof CALL)
+					// a call might modify the fields written by its dynamic targets
+					for (CodeSignature target: ((CALL) bytecode).getDynamicTargets())
+						written.addAll(SideEffects.of(target).getWrittenFields());
+			}
+
+		List<Bytecode> preheader = new ArrayList<>();
+		Map<String, Integer> temporaries = new HashMap<>();
+		for (Block block: body)
+			hoist(block, stored, written, preheader, temporaries);
+
+		Map<Integer, List<Integer>> increments = inductionVariables(body, stored);
+		inductionVariables += increments.size();
+
+		Map<Integer, Map<Integer, Integer>> products = new HashMap<>();
+		for (Block block: body)
+			reduce(block, increments, products, preheader);
+
+		if (!products.isEmpty())
+			for (Block block: body)
+				updateProducts(block, products);
+
+		if (!preheader.isEmpty())
+			addPreheader(header, body, preheader);
+	}
+
+	/**
+	 * Replaces the invariant computations of a block with the load of a local
+	 * variable, that gets computed before the loop.
+	 *
+	 * @param block the block
+	 * @param stored the local variables that are modified inside the loop
+	 * @param written the fields that are modified inside the loop
+	 * @param preheader the code executed before the loop. It gets expanded with
+	 *                  the computation of the invariant values of {@code block}
+	 * @param temporaries the local variables holding the invariant values computed
+	 *                    before the loop, for each string representation of their computation
+	 */
+
+	private void hoist(Block block, Set<Integer> stored, Set<FieldSignature> written, List<Bytecode> preheader, Map<String, Integer> temporaries) {
+		List<Bytecode> code = toList(block.getBytecode());
+
+		// each computation is described by its first and last bytecode and by its type,
+		// or by a null type if its value might change inside the loop
+		Deque<Computation> stack = new ArrayDeque<>();
+		List<Computation> invariants = new ArrayList<>();
+
+		for (int pos = 0; pos < code.size(); pos++) {
+			Bytecode bytecode = code.get(pos);
+
+			if (bytecode instanceof CONST)
+				stack.push(new Computation(pos, pos, ((CONST) bytecode).getType()));
+			else if (bytecode instanceof LOAD) {
+				LOAD load = (LOAD) bytecode;
+				stack.push(new Computation(pos, pos, stored.contains(load.getVarNum()) ? null : load.getType()));
+			}
+			else if (bytecode instanceof GETFIELD) {
+				// the receiver of a constructor or method is never nil, hence reading its fields never stops the program
+				Computation receiver = pop(stack);
+				FieldSignature field = ((GETFIELD) bytecode).getField();
+				boolean invariant = receiver.start == pos - 1 && receiver.type != null && isReceiver(code.get(pos - 1))
+					&& !written.contains(field);
+
+				stack.push(new Computation(receiver.start, pos, invariant ? field.getType() : null));
+			}
+			else if (bytecode instanceof NEG || (bytecode instanceof CAST && ((CAST) bytecode).getIntoType() instanceof NumericalType)) {
+				Computation operand = pop(stack);
+				Type type = bytecode instanceof NEG ? ((NEG) bytecode).getType() : ((CAST) bytecode).getIntoType();
+				stack.push(new Computation(operand.start, pos, operand.type != null ? type : null));
+			}
+			else if (isSafeBinOp(bytecode)) {
+				Computation right = pop(stack), left = pop(stack);
+				Type type;
+				if (bytecode instanceof ArithmeticBinOpBytecode)
+					type = ((ArithmeticBinOpBytecode) bytecode).getType();
+				else
+					type = BooleanType.INSTANCE;
+
+				if (left.type == null || right.type == null || left.end + 1 != right.start) {
+					keep(left, invariants);
+					keep(right, invariants);
+					type = null;
+				}
+
+				stack.push(new Computation(left.start, pos, type));
+			}
+			else
+				// we do not track the other bytecodes, hence the computations
+				// on the stack cannot be expanded anymore
+				while (!stack.isEmpty())
+					keep(stack.pop(), invariants);
+		}
+
+		while (!stack.isEmpty())
+			keep(stack.pop(), invariants);
+
+		if (invariants.isEmpty())
+			return;
+
+		// the invariant computations are disjoint, hence they can be replaced from the last one
+		Collections.sort(invariants, new Comparator<Computation>() {
+
+			@Override
+			public int compare(Computation computation1, Computation computation2) {
+				return computation2.start - computation1.start;
+			}
+		});
+
+		for (Computation invariant: invariants) {
+			List<Bytecode> computation = new ArrayList<>(code.subList(invariant.start, invariant.end + 1));
+			String key = computation.toString();
+			Integer temporary = temporaries.get(key);
+			if (temporary == null) {
+				temporaries.put(key, temporary = nextVar++);
+				preheader.addAll(computation);
+				preheader.add(new STORE(temporary, invariant.type));
+			}
+
+			code.subList(invariant.start, invariant.end + 1).clear();
+			code.add(invariant.start, new LOAD(temporary, invariant.type));
+			hoisted++;
+		}
+
+		block.setBytecode(toBytecodeList(code));
+	}
+
+	/**
+	 * Determines if the given bytecode loads the receiver of a constructor or method.
+	 *
+	 * @param bytecode the bytecode
+	 * @return true if and only if that is the case
+	 */
+
+	private boolean isReceiver(Bytecode bytecode) {
+		// the main method is translated into a static Java method, without receiver
+		return bytecode instanceof LOAD && ((LOAD) bytecode).getVarNum() == 0
+			&& (sig instanceof ConstructorSignature || (sig instanceof MethodSignature && sig.getName() != MethodSignature.MAIN));
+	}
+
+	/**
+	 * Determines if the given bytecode is a binary operation that can neither
+	 * have side-effects nor stop the program.
+	 *
+	 * @param bytecode the bytecode
+	 * @return true if and only if that is the case
+	 */
+
+	private static boolean isSafeBinOp(Bytecode bytecode) {
+		// an integer division by zero stops the program
+		return (bytecode instanceof ArithmeticBinOpBytecode
+				&& !(bytecode instanceof DIV && ((DIV) bytecode).getType() == IntType.INSTANCE))
+			|| bytecode instanceof ComparisonBinOpBytecode || bytecode instanceof AND || bytecode instanceof OR;
+	}
+
+	private static Computation pop(Deque<Computation> stack) {
+		// values pushed by bytecodes that we do not track are not invariant
+		return stack.isEmpty() ? new Computation(-1, -1, null) : stack.pop();
+	}
+
+	/**
+	 * Takes note that the given computation cannot be expanded anymore.
+	 * If it is invariant, it is worth moving before the loop.
+	 *
+	 * @param computation the computation
+	 * @param invariants the invariant computations that are worth moving before the loop
+	 */
+
+	private static void keep(Computation computation, List<Computation> invariants) {
+		// a single load or constant is not worth moving
+		if (computation.type != null && computation.end > computation.start)
+			invariants.add(computation);
+	}
+
+	/**
+	 * Yields the induction variables of a loop, that is, the integer local variables
+	 * that are only modified inside the loop by adding or subtracting a constant.
+	 *
+	 * @param body the blocks of the loop
+	 * @param stored the local variables that are modified inside the loop
+	 * @return the constant increments of each induction variable
+	 */
+
+	private static Map<Integer, List<Integer>> inductionVariables(Set<Block> body, Set<Integer> stored) {
+		Map<Integer, List<Integer>> result = new HashMap<>();
+		for (Integer var: stored)
+			result.put(var, new ArrayList<Integer>());
+
+		for (Block block: body) {
+			List<Bytecode> code = toList(block.getBytecode());
+
+			for (int pos = 0; pos < code.size(); pos++)
+				if (code.get(pos) instanceof STORE) {
+					STORE store = (STORE) code.get(pos);
+					List<Integer> increments = result.get(store.getVarNum());
+					if (increments != null) {
+						Integer increment = store.getType() == IntType.INSTANCE ? increment(code, pos, store.getVarNum()) : null;
+						if (increment != null)
+							increments.add(increment);
+						else
+							result.remove(store.getVarNum());
+					}
+				}
+		}
+
+		return result;
+	}
+
+	/**
+	 * Yields the constant that is added to a local variable by the code that precedes its store.
+	 *
+	 * @param code the code
+	 * @param pos the position of the store into the variable
+	 * @param var the variable
+	 * @return the constant, or {@code null} if the code does not add a constant to {@code var}
+	 */
+
+	private static Integer increment(List<Bytecode> code, int pos, int var) {
+		if (pos < 3)
+			return null;
+
+		Bytecode first = code.get(pos - 3), second = code.get(pos - 2), operation = code.get(pos - 1);
+		if (operation instanceof ADD && ((ADD) operation).getType() == IntType.INSTANCE) {
+			if (isLoadOf(first, var) && second instanceof CONST)
+				return (Integer) ((CONST) second).getConstant();
+			else if (first instanceof CONST && isLoadOf(second, var))
+				return (Integer) ((CONST) first).getConstant();
+		}
+		else if (operation instanceof SUB && ((SUB) operation).getType() == IntType.INSTANCE
+				&& isLoadOf(first, var) && second instanceof CONST)
+			return -((Integer) ((CONST) second).getConstant());
+
+		return null;
+	}
+
+	private static boolean isLoadOf(Bytecode bytecode, int var) {
+		return bytecode instanceof LOAD && ((LOAD) bytecode).getVarNum() == var;
+	}
+
+	/**
+	 * Replaces the multiplications of an induction variable by a constant with the
+	 * load of a local variable that holds their product. That variable is computed before
+	 * the loop and then incremented together with the induction variable.
+	 *
+	 * @param block the block
+	 * @param increments the constant increments of each induction variable
+	 * @param products the local variable holding the product of each induction variable
+	 *                 by each constant. It gets expanded with the products used in {@code block}
+	 * @param preheader the code executed before the loop. It gets expanded
+	 *                  with the computation of the products used in {@code block}
+	 */
+
+	private void reduce(Block block, Map<Integer, List<Integer>> increments, Map<Integer, Map<Integer, Integer>> products, List<Bytecode> preheader) {
+		List<Bytecode> code = toList(block.getBytecode());
+		boolean changed = false;
+
+		for (int pos = 2; pos < code.size(); pos++) {
+			Bytecode operation = code.get(pos);
+			if (operation instanceof MUL && ((MUL) operation).getType() == IntType.INSTANCE) {
+				Bytecode first = code.get(pos - 2), second = code.get(pos - 1);
+				LOAD load = (LOAD) (first instanceof LOAD ? first : second instanceof LOAD ? second : null);
+				CONST constant = (CONST) (first instanceof CONST ? first : second instanceof CONST ? second : null);
+
+				if (load != null && constant != null && increments.containsKey(load.getVarNum())) {
+					Map<Integer, Integer> factors = products.get(load.getVarNum());
+					if (factors == null)
+						products.put(load.getVarNum(), factors = new HashMap<>());
+
+					Integer factor = (Integer) constant.getConstant();
+					Integer product = factors.get(factor);
+					if (product == null) {
+						factors.put(factor, product = nextVar++);
+						preheader.add(new LOAD(load.getVarNum(), IntType.INSTANCE));
+						preheader.add(new CONST(factor));
+						preheader.add(new MUL(IntType.INSTANCE));
+						preheader.add(new STORE(product, IntType.INSTANCE));
+					}
+
+					code.subList(pos - 2, pos + 1).clear();
+					code.add(pos - 2, new LOAD(product, IntType.INSTANCE));
+					pos -= 2;
+					changed = true;
+					reduced++;
+				}
+			}
+		}
+
+		if (changed)
+			block.setBytecode(toBytecodeList(code));
+	}
+
+	/**
+	 * Adds, after each increment of an induction variable, the
+	 * increment of the variables holding its products by a constant.
+	 *
+	 * @param block the block
+	 * @param products the local variable holding the product of each induction variable by each constant
+	 */
+
+	private static void updateProducts(Block block, Map<Integer, Map<Integer, Integer>> products) {
+		List<Bytecode> code = toList(block.getBytecode());
+		boolean changed = false;
+
+		for (int pos = 0; pos < code.size(); pos++)
+			if (code.get(pos) instanceof STORE) {
+				int var = ((STORE) code.get(pos)).getVarNum();
+				Map<Integer, Integer> factors = products.get(var);
+
+				if (factors != null) {
+					int increment = increment(code, pos, var);
+
+					for (Map.Entry<Integer, Integer> entry: factors.entrySet()) {
+						int product = entry.getValue();
+						code.add(++pos, new LOAD(product, IntType.INSTANCE));
+						code.add(++pos, new CONST(increment * entry.getKey()));
+						code.add(++pos, new ADD(IntType.INSTANCE));
+						code.add(++pos, new STORE(product, IntType.INSTANCE));
+					}
+
+					changed = true;
+				}
+			}
+
+		if (changed)
+			block.setBytecode(toBytecodeList(code));
+	}
+
+	/**
+	 * Adds a block before a loop, that gets executed whenever the loop is entered.
+	 * The header keeps its identity but becomes that block, so that the code that
+	 * enters the loop needs no modification. A copy of the header becomes the new
+	 * header of the loop and the blocks of the loop are linked to it.
+	 *
+	 * @param header the header of the loop
+	 * @param body the blocks of the loop
+	 * @param preheader the code of the block to add
+	 */
+
+	private static void addPreheader(Block header, Set<Block> body, List<Bytecode> preheader) {
+		Block newHeader = new Block(header.getBytecode(), header.getFollows());
+
+		List<Block> follows = new ArrayList<>();
+		follows.add(newHeader);
+		header.setBytecode(toBytecodeList(preheader));
+		header.setFollows(follows);
+
+		for (Block block: body) {
+			List<Block> blockFollows = block == header ? newHeader.getFollows() : block.getFollows();
+			for (int pos = 0; pos < blockFollows.size(); pos++)
+				if (blockFollows.get(pos) == header)
+					blockFollows.set(pos, newHeader);
+		}
+	}
+
+	private static List<Bytecode> toList(BytecodeList bytecode) {
+		List<Bytecode> result = new ArrayList<>();
+		for (BytecodeList cursor = bytecode; cursor != null; cursor = cursor.getTail())
+			result.add(cursor.getHead());
+
+		return result;
+	}
+
+	private static BytecodeList toBytecodeList(List<Bytecode> code) {
+		BytecodeList result = null;
+		for (int pos = code.size() - 1; pos >= 0; pos--)
+			result = new BytecodeList(code.get(pos), result);
+
+		return result;
+	}
+
+	/**
+	 * A computation inside a block, that pushes a value on the stack.
+	 */
+
+	private static class Computation {
+
+		/**
+		 * The position of the first bytecode of the computation.
+		 */
+
+		private final int start;
+
+		/**
+		 * The position of the last bytecode of the computation.
+		 */
+
+		private final int end;
+
+		/**
+		 * The type of the computed value, or {@code null} if that value might change inside the loop.
+		 */
+
+		private final Type type;
+
+		private Computation(int start, int end, Type type) {
+			this.start = start;
+			this.end = end;
+			this.type = type;
+		}
+	}
+}
@@ -0,0 +1,1009 @@
+package translation;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javaBytecodeGenerator.JavaClassGenerator;
+import javaBytecodeGenerator.JavaNormalClassGenerator;
+
+import org.apache.bcel.Constants;
+import org.apache.bcel.generic.ConstantPoolGen;
+import org.apache.bcel.generic.InstructionList;
+
+import symbol.Symbol;
+import types.ArrayType;
+import types.ClassType;
+import types.CodeSignature;
+import types.ConstructorSignature;
+import types.FixtureSignature;
+import types.MethodSignature;
+import types.OutlinedMethodSignature;
+import types.ReferenceType;
+import types.Type;
+import types.TypeList;
+import types.VoidType;
+import bytecode.ARRAYLOAD;
+import bytecode.ARRAYSTORE;
+import bytecode.BranchingBytecode;
+import bytecode.Bytecode;
+import bytecode.BytecodeList;
+import bytecode.CONST;
+import bytecode.FinalBytecode;
+import bytecode.LOAD;
+import bytecode.NEWARRAY;
+import bytecode.NonBranchingBytecode;
+import bytecode.RETURN;
+import bytecode.STORE;
+import bytecode.VIRTUALCALL;
+
+/**
+ * A splitter of the oversized code of constructors, methods, tests and fixtures.
+ * The Java virtual machine does not compile into machine code the methods whose
+ * Java bytecode is larger than a threshold, hence oversized code would always be
+ * interpreted. This splitter measures the Java bytecode generated for each piece of
+ * code and, as long as it is larger than {@link #getMaxSize()} bytes, it extracts a
+ * region of its blocks into a synthetic method. The large blocks of oversized code,
+ * including the block where the code starts, are first cut where the stack is empty,
+ * so that straight-line code can be split as well. A region is entered through a
+ * single block and left towards a single block, that is, its immediate
+ * postdominator, with an empty stack. The local variables read in the region
+ * before being written become the parameters of the synthetic method. The local
+ * variables that the region writes and that are read after it are passed back:
+ * one is returned, the others are primitive and are written into arrays
+ * allocated by the caller. The largest region, within the threshold, is extracted first.
+ * If there is none, the smallest larger region is extracted, and its synthetic method
+ * is split in turn. The code that cannot be brought within the threshold is reported.
+ *
+ * @author <A HREF="mailto:fausto.spoto@univr.it">Fausto Spoto</A>
+ */
+
+public class MethodSplitter {
+
+	/**
+	 * True if and only if the oversized code must be split.
+	 */
+
+	private static boolean enabled;
+
+	/**
+	 * The maximal size, in bytes, of the Java bytecode of a method.
+	 * This is the threshold used by the Java virtual machine for just-in-time compilation.
+	 */
+
+	private static int maxSize = 8000;
+
+	/**
+	 * The minimal estimated size, in bytes, of the Java bytecode of a region
+	 * that is worth extracting into a synthetic method. It is halved
+	 * for thresholds smaller than twice this size.
+	 */
+
+	private final static int MIN_REGION_SIZE = 64;
+
+	/**
+	 * The number of pieces, at least, where the large blocks of oversized code are cut
+	 * for each threshold's worth of Java bytecode.
+	 */
+
+	private final static int PIECES = 32;
+
+	/**
+	 * The class generator used to measure the Java bytecode of the code.
+	 */
+
+	private final JavaClassGenerator generator = new JavaNormalClassGenerator
+		("MethodSplitter", "java.lang.Object", "MethodSplitter.kit", Constants.ACC_PUBLIC, new String[] {}, new ConstantPoolGen());
+
+	/**
+	 * The synthetic methods created by this splitter.
+	 */
+
+	private final List<OutlinedMethodSignature> outlined = new ArrayList<>();
+
+	/**
+	 * The number of pieces of code whose Java bytecode has been found to be oversized.
+	 */
+
+	private int oversized;
+
+	/**
+	 * A description of the pieces of code that remain oversized after the splitting.
+	 */
+
+	private final List<String> report = new ArrayList<>();
+
+	/**
+	 * Determines if the oversized code must be split.
+	 *
+	 * @param enabled true if and only if the oversized code must be split
+	 */
+
+	public static void setEnabled(boolean enabled) {
+		MethodSplitter.enabled = enabled;
+	}
+
+	/**
+	 * Determines if the oversized code must be split.
+	 *
+	 * @return true if and only if the oversized code must be split
+	 */
+
+	public static boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Sets the maximal size of the Java bytecode of a method.
+	 *
+	 * @param maxSize the maximal size, in bytes
+	 */
+
+	public static void setMaxSize(int maxSize) {
+		MethodSplitter.maxSize = maxSize;
+	}
+
+	/**
+	 * Yields the maximal size of the Java bytecode of a method.
+	 *
+	 * @return the maximal size, in bytes
+	 */
+
+	public static int getMaxSize() {
+		return maxSize;
+	}
+
+	/**
+	 * Splits the oversized code among the given constructors, methods, tests and fixtures.
+	 * Their code gets modified. The synthetic methods are split as well, if needed.
+	 *
+	 * @param code the signatures of the code
+	 */
+
+	MethodSplitter(List<CodeSignature> code) {
+		Deque<CodeSignature> worklist = new ArrayDeque<>(code);
+
+		while (!worklist.isEmpty()) {
+			CodeSignature sig = worklist.poll();
+			int size = size(sig);
+
+			if (size > maxSize) {
+				oversized++;
+				cut(sig);
+
+				Region region;
+				while (size > maxSize && (region = largestRegion(sig)) != null) {
+					OutlinedMethodSignature part = outline(sig, region);
+					outlined.add(part);
+
+					// the synthetic method is split in turn, if it is still oversized
+					worklist.add(part);
+
+					// the sizes are estimated: if the code does not shrink, the splitting might not terminate
+					int previous = size;
+					if ((size = size(sig)) >= previous)
+						break;
+				}
+
+				if (size > maxSize)
+					report.add(sig + " remains " + size + " bytes long");
+			}
+		}
+	}
+
+	/**
+	 * Yields the synthetic methods created by this splitter.
+	 *
+	 * @return the synthetic methods
+	 */
+
+	List<OutlinedMethodSignature> getOutlined() {
+		return outlined;
+	}
+
+	/**
+	 * Yields the number of pieces of code whose Java bytecode has been found to be oversized.
+	 *
+	 * @return the number of pieces of code
+	 */
+
+	int getOversized() {
+		return oversized;
+	}
+
+	/**
+	 * Yields a description of the pieces of code that remain oversized after the splitting.
+	 *
+	 * @return the description, one line for each piece of code
+	 */
+
+	List<String> getReport() {
+		return report;
+	}
+
+	/**
+	 * Yields the minimal estimated size, in bytes, of the Java bytecode
+	 * of a region that is worth extracting into a synthetic method.
+	 *
+	 * @return the minimal size
+	 */
+
+	private static int minRegionSize() {
+		return Math.min(MIN_REGION_SIZE, maxSize / 2);
+	}
+
+	/**
+	 * Yields the size of the Java bytecode generated for the given code.
+	 *
+	 * @param sig the signature of the code
+	 * @return the size, in bytes
+	 */
+
+	private int size(CodeSignature sig) {
+		// the positions are computed without dumping the code, whose jumps might be too long
+		InstructionList il = generator.generateJavaBytecode(sig.getCode());
+		il.setPositions();
+
+		return il.getEnd().getPosition() + il.getEnd().getInstruction().getLength();
+	}
+
+	/**
+	 * Cuts the large blocks of the given code where the stack is empty, into a chain
+	 * of blocks, so that the pieces of a block can be extracted into synthetic methods.
+	 * The Java bytecode does not change, since the pieces are laid out consecutively.
+	 *
+	 * @param sig the signature of the code
+	 */
+
+	private void cut(CodeSignature sig) {
+		SSAForm ssa;
+
+		try {
+			ssa = new SSAForm(sig);
+		}
+		catch (IllegalStateException e) {
+			// code that uses the stack inconsistently is not split
+			return;
+		}
+
+		int pieceSize = Math.max(minRegionSize(), maxSize / PIECES);
+
+		for (Block block: ssa.getBlocks()) {
+			List<Bytecode> bytecodes = new ArrayList<>();
+			for (BytecodeList cursor = block.getBytecode(); cursor != null; cursor = cursor.getTail())
+				bytecodes.add(cursor.getHead());
+
+			// the positions where a piece ends, that is, where the next piece starts
+			List<Integer> ends = new ArrayList<>();
+			int size = 0;
+			for (int pos = 1; pos < bytecodes.size(); pos++) {
+				if (bytecodes.get(pos - 1) instanceof NonBranchingBytecode)
+					size += ((NonBranchingBytecode) bytecodes.get(pos - 1)).generateJavaBytecode(generator).getByteCode().length;
+
+				if (size >= pieceSize && ssa.getStackHeight(block, pos) == 0) {
+					ends.add(pos);
+					size = 0;
+				}
+			}
+
+			if (!ends.isEmpty()) {
+				ends.add(bytecodes.size());
+
+				// the block keeps its first piece, so that its predecessors still jump to it
+				Block next = null;
+				List<Block> follows = block.getFollows();
+				for (int pos = ends.size() - 1; pos > 0; pos--) {
+					next = new Block(mkList(bytecodes.subList(ends.get(pos - 1), ends.get(pos)), 0), follows);
+					if (block.isRare())
+						next.markRare();
+
+					follows = new ArrayList<>();
+					follows.add(next);
+				}
+
+				block.setBytecode(mkList(bytecodes.subList(0, ends.get(0)), 0));
+				block.setFollows(follows);
+			}
+		}
+	}
+
+	/**
+	 * A region of blocks that can be extracted into a synthetic method.
+	 */
+
+	private static class Region {
+
+		/**
+		 * The block where the region is entered.
+		 */
+
+		private final Block head;
+
+		/**
+		 * The block that follows the region.
+		 */
+
+		private final Block exit;
+
+		/**
+		 * The blocks of the region, with {@link #head} at the beginning.
+		 */
+
+		private final Set<Block> blocks;
+
+		/**
+		 * The estimated size of the Java bytecode of the region.
+		 */
+
+		private final int size;
+
+		/**
+		 * The types of the local variables read in the region before being written,
+		 * or {@code null} for the other local variables.
+		 */
+
+		private Type[] parameters;
+
+		/**
+		 * The types of the local variables written in the region and read after it,
+		 * or {@code null} for the other local variables.
+		 */
+
+		private Type[] results;
+
+		/**
+		 * The local variable among {@link #results} that is returned by the synthetic
+		 * method, or -1 if there is none. The others are primitive and are passed
+		 * back inside an array for each type, that the caller allocates.
+		 */
+
+		private int returned = -1;
+
+		/**
+		 * The local variables among {@link #results} passed back inside an array, for each type.
+		 */
+
+		private final Map<Type, List<Integer>> arrays = new LinkedHashMap<>();
+
+		private Region(Block head, Block exit, Set<Block> blocks, int size) {
+			this.head = head;
+			this.exit = exit;
+			this.blocks = blocks;
+			this.size = size;
+		}
+	}
+
+	/**
+	 * Yields the blocks that are actually executed after the given one.
+	 *
+	 * @param block the block
+	 * @return the successors of {@code block}
+	 */
+
+	private static List<Block> successors(Block block) {
+		// the code after a final bytecode is never executed
+		for (BytecodeList cursor = block.getBytecode(); cursor != null; cursor = cursor.getTail())
+			if (cursor.getTail() == null && cursor.getHead() instanceof FinalBytecode)
+				return Collections.emptyList();
+
+		return block.getFollows();
+	}
+
+	/**
+	 * Yields the largest region of the given code that can be extracted into a synthetic method.
+	 *
+	 * @param sig the signature of the code
+	 * @return the region, or {@code null} if there is none
+	 */
+
+	private Region largestRegion(CodeSignature sig) {
+		SSAForm ssa;
+
+		try {
+			ssa = new SSAForm(sig);
+		}
+		catch (IllegalStateException e) {
+			// code that uses the stack inconsistently is not split
+			return null;
+		}
+
+		List<Block> blocks = ssa.getBlocks();
+		Map<Block, Integer> indexes = new HashMap<>();
+		for (Block block: blocks)
+			indexes.put(block, indexes.size());
+
+		Map<Block, List<Block>> predecessors = new HashMap<>();
+		Map<Block, Integer> sizes = new HashMap<>();
+		for (Block block: blocks) {
+			predecessors.put(block, new ArrayList<Block>());
+			sizes.put(block, estimate(block));
+		}
+
+		for (Block block: blocks)
+			for (Block follow: successors(block))
+				predecessors.get(follow).add(block);
+
+		int[] postdominators = immediatePostdominators(blocks, indexes);
+		Map<Block, BitSet> liveness = liveness(blocks, predecessors, Inliner.frameSize(sig));
+
+		// the regions of a head are left towards its postdominators, in turn, until they get too large
+		Region largest = null, smallestOversized = null;
+		for (Block head: blocks)
+			if (head != sig.getCode() && ssa.getStackHeight(head, 0) == 0) {
+				Set<Block> members = new LinkedHashSet<>();
+				Deque<Block> frontier = new ArrayDeque<>();
+				members.add(head);
+				frontier.add(head);
+				int size = 0;
+
+				for (int exit = postdominators[indexes.get(head)]; exit >= 0 && exit < blocks.size(); exit = postdominators[exit]) {
+					Block block = blocks.get(exit);
+
+					// the region is left with an empty stack, hence its exit cannot be a successor of a branch
+					if (ssa.getStackHeight(block, 0) == 0) {
+						if ((size = grow(members, frontier, size, block, sig.getCode(), sizes)) < 0)
+							break;
+
+						// the larger regions of this head are only useful if no region is within the threshold
+						if (size > maxSize) {
+							if (largest == null && (smallestOversized == null || size < smallestOversized.size)) {
+								Region region = new Region(head, block, new LinkedHashSet<>(members), size);
+								if (isExtractable(region, predecessors, liveness, sig))
+									smallestOversized = region;
+							}
+
+							break;
+						}
+
+						if ((largest == null || size > largest.size) && size >= minRegionSize()) {
+							Region region = new Region(head, block, new LinkedHashSet<>(members), size);
+							if (isExtractable(region, predecessors, liveness, sig))
+								largest = region;
+						}
+
+						// the larger regions include this exit
+						members.add(block);
+						frontier.add(block);
+					}
+				}
+			}
+
+		return largest != null ? largest : smallestOversized;
+	}
+
+	/**
+	 * Determines if the given region can be extracted into a synthetic method.
+	 *
+	 * @param region the region
+	 * @param predecessors the predecessors of each block
+	 * @param liveness the live local variables at the beginning of each block
+	 * @param sig the signature of the code
+	 * @return true if and only if the region can be extracted
+	 */
+
+	private static boolean isExtractable(Region region, Map<Block, List<Block>> predecessors, Map<Block, BitSet> liveness, CodeSignature sig) {
+		// the region must be larger than the call that replaces it, or otherwise the splitting might not terminate
+		return isSingleEntry(region, predecessors) && bindLocals(region, liveness, Inliner.frameSize(sig))
+			&& region.size >= 2 * callSize(region);
+	}
+
+	/**
+	 * Estimates the size of the Java bytecode of the given block.
+	 *
+	 * @param block the block
+	 * @return the estimated size, in bytes
+	 */
+
+	private int estimate(Block block) {
+		// a jump to the successors, if needed
+		int size = 3;
+
+		for (BytecodeList cursor = block.getBytecode(); cursor != null; cursor = cursor.getTail()) {
+			Bytecode bytecode = cursor.getHead();
+
+			if (bytecode instanceof NonBranchingBytecode)
+				size += ((NonBranchingBytecode) bytecode).generateJavaBytecode(generator).getByteCode().length;
+			else if (bytecode instanceof BranchingBytecode)
+				// a comparison and a conditional jump
+				size += 4;
+		}
+
+		return size;
+	}
+
+	/**
+	 * Computes the immediate postdominator of each block, by the iterative algorithm
+	 * by Cooper, Harvey and Kennedy applied to the reversed graph of the blocks,
+	 * where all blocks without successors lead to a virtual exit block.
+	 *
+	 * @param blocks the blocks
+	 * @param indexes the index of each block in {@code blocks}
+	 * @return the index of the immediate postdominator of each block; it is
+	 *         {@code blocks.size()} for the virtual exit block and -1 for the
+	 *         blocks that do not reach the exit
+	 */
+
+	private static int[] immediatePostdominators(List<Block> blocks, Map<Block, Integer> indexes) {
+		int exit = blocks.size();
+		List<List<Integer>> reversed = new ArrayList<>();
+		for (int pos = 0; pos <= exit; pos++)
+			reversed.add(new ArrayList<Integer>());
+
+		for (Block block: blocks) {
+			List<Block> follows = successors(block);
+			if (follows.isEmpty())
+				reversed.get(exit).add(indexes.get(block));
+
+			for (Block follow: follows)
+				reversed.get(indexes.get(follow)).add(indexes.get(block));
+		}
+
+		// the postorder of the reversed graph, computed iteratively since the code might contain very long chains of blocks
+		int[] postorder = new int[exit + 1];
+		List<Integer> order = new ArrayList<>();
+		boolean[] seen = new boolean[exit + 1];
+		Deque<Integer> stack = new ArrayDeque<>(), next = new ArrayDeque<>();
+		seen[exit] = true;
+		stack.push(exit);
+		next.push(0);
+
+		while (!stack.isEmpty()) {
+			int node = stack.peek(), pos = next.pop();
+
+			if (pos < reversed.get(node).size()) {
+				next.push(pos + 1);
+				int follow = reversed.get(node).get(pos);
+				if (!seen[follow]) {
+					seen[follow] = true;
+					stack.push(follow);
+					next.push(0);
+				}
+			}
+			else {
+				postorder[node] = order.size();
+				order.add(stack.pop());
+			}
+		}
+
+		// the predecessors in the reversed graph are the successors in the original graph
+		int[] idoms = new int[exit + 1];
+		Arrays.fill(idoms, -1);
+		idoms[exit] = exit;
+
+		boolean changed;
+		do {
+			changed = false;
+
+			for (int pos = order.size() - 2; pos >= 0; pos--) {
+				int node = order.get(pos);
+				int idom = -1;
+
+				for (Block follow: successors(blocks.get(node))) {
+					int pred = indexes.get(follow);
+					if (idoms[pred] >= 0)
+						idom = idom < 0 ? pred : intersect(pred, idom, idoms, postorder);
+				}
+
+				if (successors(blocks.get(node)).isEmpty())
+					idom = exit;
+
+				if (idom != idoms[node]) {
+					idoms[node] = idom;
+					changed = true;
+				}
+			}
+		}
+		while (changed);
+
+		return idoms;
+	}
+
+	private static int intersect(int node1, int node2, int[] idoms, int[] postorder) {
+		while (node1 != node2) {
+			while (postorder[node1] < postorder[node2])
+				node1 = idoms[node1];
+			while (postorder[node2] < postorder[node1])
+				node2 = idoms[node2];
+		}
+
+		return node1;
+	}
+
+	/**
+	 * Computes the local variables that are live at the beginning of each block.
+	 *
+	 * @param blocks the blocks
+	 * @param predecessors the predecessors of each block
+	 * @param frameSize the number of local variables used by the code
+	 * @return the live local variables at the beginning of each block
+	 */
+
+	private static Map<Block, BitSet> liveness(List<Block> blocks, Map<Block, List<Block>> predecessors, int frameSize) {
+		Map<Block, BitSet> liveIn = new HashMap<>();
+		for (Block block: blocks)
+			liveIn.put(block, new BitSet(frameSize));
+
+		Deque<Block> worklist = new ArrayDeque<>();
+		for (int pos = blocks.size() - 1; pos >= 0; pos--)
+			worklist.add(blocks.get(pos));
+		Set<Block> pending = new HashSet<>(blocks);
+
+		while (!worklist.isEmpty()) {
+			Block block = worklist.poll();
+			pending.remove(block);
+
+			BitSet live = new BitSet(frameSize);
+			for (Block follow: successors(block))
+				live.or(liveIn.get(follow));
+
+			List<Bytecode> bytecodes = new ArrayList<>();
+			for (BytecodeList cursor = block.getBytecode(); cursor != null; cursor = cursor.getTail())
+				bytecodes.add(cursor.getHead());
+
+			for (int pos = bytecodes.size() - 1; pos >= 0; pos--)
+				if (bytecodes.get(pos) instanceof STORE)
+					live.clear(((STORE) bytecodes.get(pos)).getVarNum());
+				else if (bytecodes.get(pos) instanceof LOAD)
+					live.set(((LOAD) bytecodes.get(pos)).getVarNum());
+
+			if (!live.equals(liveIn.get(block))) {
+				liveIn.put(block, live);
+				for (Block pred: predecessors.get(block))
+					if (pending.add(pred))
+						worklist.add(pred);
+			}
+		}
+
+		return liveIn;
+	}
+
+	/**
+	 * Grows a region with the blocks reachable from its frontier without passing
+	 * through the given exit, if it does not contain the beginning nor the end of the code.
+	 *
+	 * @param members the blocks of the region, that get expanded
+	 * @param frontier the blocks of the region whose successors have not been added yet
+	 * @param size the estimated size of the Java bytecode of the region, excluding {@code frontier}
+	 * @param exit the block that follows the region
+	 * @param start the block where the code starts
+	 * @param sizes the estimated size of the Java bytecode of each block
+	 * @return the estimated size of the grown region, or -1 if it cannot be extracted
+	 */
+
+	private static int grow(Set<Block> members, Deque<Block> frontier, int size, Block exit, Block start, Map<Block, Integer> sizes) {
+		if (members.contains(exit))
+			return -1;
+
+		while (!frontier.isEmpty()) {
+			Block block = frontier.poll();
+			size += sizes.get(block);
+			List<Block> follows = successors(block);
+
+			if (block == start || follows.isEmpty())
+				return -1;
+
+			for (Block follow: follows)
+				if (follow != exit && members.add(follow))
+					frontier.add(follow);
+		}
+
+		return size;
+	}
+
+	/**
+	 * Determines if the given region is entered only through its head.
+	 *
+	 * @param region the region
+	 * @param predecessors the predecessors of each block
+	 * @return true if and only if that condition holds
+	 */
+
+	private static boolean isSingleEntry(Region region, Map<Block, List<Block>> predecessors) {
+		for (Block block: region.blocks)
+			if (block != region.head && !region.blocks.containsAll(predecessors.get(block)))
+				return false;
+
+		return true;
+	}
+
+	/**
+	 * Determines the parameters and the results of the synthetic method for the given region.
+	 *
+	 * @param region the region
+	 * @param liveness the live local variables at the beginning of each block
+	 * @param frameSize the number of local variables used by the code
+	 * @return true if and only if the region writes at most a local variable of reference
+	 *         type that is read after it and each local variable read before being written
+	 *         in the region or read after it has a single type
+	 */
+
+	private static boolean bindLocals(Region region, Map<Block, BitSet> liveness, int frameSize) {
+		BitSet live = liveness.get(region.exit);
+		region.results = new Type[frameSize];
+
+		for (Block block: region.blocks)
+			for (BytecodeList cursor = block.getBytecode(); cursor != null; cursor = cursor.getTail())
+				if (cursor.getHead() instanceof STORE) {
+					STORE store = (STORE) cursor.getHead();
+					int var = store.getVarNum();
+
+					if (live.get(var))
+						if (region.results[var] == null)
+							region.results[var] = store.getType();
+						else if (region.results[var] != store.getType())
+							return false;
+				}
+
+		// a reference is returned, if any, since arrays of references would need casts
+		for (int var = 0; var < frameSize; var++)
+			if (region.results[var] instanceof ReferenceType)
+				if (region.returned < 0 || !(region.results[region.returned] instanceof ReferenceType))
+					region.returned = var;
+				else
+					return false;
+			else if (region.results[var] != null && region.returned < 0)
+				region.returned = var;
+
+		for (int var = 0; var < frameSize; var++)
+			if (region.results[var] != null && var != region.returned) {
+				List<Integer> vars = region.arrays.get(region.results[var]);
+				if (vars == null)
+					region.arrays.put(region.results[var], vars = new ArrayList<>());
+
+				vars.add(var);
+			}
+
+		// the local variables that might be unwritten at the beginning of each block of the region
+		Map<Block, BitSet> unwritten = new HashMap<>();
+		for (Block block: region.blocks)
+			unwritten.put(block, new BitSet(frameSize));
+
+		unwritten.get(region.head).set(0, frameSize);
+
+		boolean changed;
+		do {
+			changed = false;
+
+			for (Block block: region.blocks) {
+				BitSet out = (BitSet) unwritten.get(block).clone();
+				for (BytecodeList cursor = block.getBytecode(); cursor != null; cursor = cursor.getTail())
+					if (cursor.getHead() instanceof STORE)
+						out.clear(((STORE) cursor.getHead()).getVarNum());
+
+				for (Block follow: successors(block))
+					if (follow != region.exit) {
+						BitSet next = unwritten.get(follow);
+						BitSet old = (BitSet) next.clone();
+						next.or(out);
+						changed |= !next.equals(old);
+					}
+			}
+		}
+		while (changed);
+
+		region.parameters = new Type[frameSize];
+		for (Block block: region.blocks) {
+			BitSet current = (BitSet) unwritten.get(block).clone();
+
+			for (BytecodeList cursor = block.getBytecode(); cursor != null; cursor = cursor.getTail())
+				if (cursor.getHead() instanceof STORE)
+					current.clear(((STORE) cursor.getHead()).getVarNum());
+				else if (cursor.getHead() instanceof LOAD) {
+					LOAD load = (LOAD) cursor.getHead();
+					if (current.get(load.getVarNum()) && !bind(region, load.getVarNum(), load.getType()))
+						return false;
+				}
+
+			// the results are read when the region is left
+			if (successors(block).contains(region.exit))
+				for (int var = 0; var < frameSize; var++)
+					if (region.results[var] != null && current.get(var) && !bind(region, var, region.results[var]))
+						return false;
+		}
+
+		return true;
+	}
+
+	private static boolean bind(Region region, int var, Type type) {
+		if (region.parameters[var] == null)
+			region.parameters[var] = type;
+
+		return region.parameters[var] == type;
+	}
+
+	/**
+	 * Estimates the size of the Java bytecode of the call that replaces the given region.
+	 *
+	 * @param region the region
+	 * @return the estimated size, in bytes
+	 */
+
+	private static int callSize(Region region) {
+		// the receiver, the call and the returned value
+		int size = 6;
+
+		for (Type type: region.parameters)
+			if (type != null)
+				size += 2;
+
+		// the allocation of each array and the reading of its elements
+		for (List<Integer> vars: region.arrays.values())
+			size += 8 + 6 * vars.size();
+
+		return size;
+	}
+
+	/**
+	 * Extracts the given region of the given code into a synthetic method.
+	 * The region is replaced by a call to that method.
+	 *
+	 * @param sig the signature of the code
+	 * @param region the region
+	 * @return the synthetic method
+	 */
+
+	private OutlinedMethodSignature outline(CodeSignature sig, Region region) {
+		ClassType clazz = sig.getDefiningClass();
+		int frameSize = Inliner.frameSize(sig);
+
+		// the local variable 0 is passed as receiver, the others as parameters
+		Type receiverType = region.parameters[0] != null ? region.parameters[0] : clazz;
+		List<Integer> parameters = new ArrayList<>();
+		for (int var = 1; var < region.parameters.length; var++)
+			if (region.parameters[var] != null)
+				parameters.add(var);
+
+		// the arrays that pass back the results follow the parameters
+		List<Type> arrays = new ArrayList<>(region.arrays.keySet());
+		TypeList types = TypeList.EMPTY;
+		for (int pos = arrays.size() - 1; pos >= 0; pos--)
+			types = types.push(ArrayType.mk(arrays.get(pos)));
+		for (int pos = parameters.size() - 1; pos >= 0; pos--)
+			types = types.push(region.parameters[parameters.get(pos)]);
+
+		// the local variables of the region are renumbered, with the parameters first
+		int[] renaming = new int[region.parameters.length];
+		Arrays.fill(renaming, -1);
+		renaming[0] = 0;
+		for (int pos = 0; pos < parameters.size(); pos++)
+			renaming[parameters.get(pos)] = pos + 1;
+
+		int nextVar = parameters.size() + arrays.size() + 1;
+		for (Block block: region.blocks)
+			for (BytecodeList cursor = block.getBytecode(); cursor != null; cursor = cursor.getTail())
+				if (cursor.getHead() instanceof STORE && renaming[((STORE) cursor.getHead()).getVarNum()] < 0)
+					renaming[((STORE) cursor.getHead()).getVarNum()] = nextVar++;
+
+		Type returnType = region.returned >= 0 ? region.results[region.returned] : VoidType.INSTANCE;
+		OutlinedMethodSignature part = new OutlinedMethodSignature(sig, receiverType, returnType, types, name(sig));
+		clazz.addMethod(part.getName(), part);
+
+		// the region writes its results and returns instead of continuing at its exit
+		List<Bytecode> exit = new ArrayList<>();
+		for (int pos = 0; pos < arrays.size(); pos++) {
+			List<Integer> vars = region.arrays.get(arrays.get(pos));
+			for (int index = 0; index < vars.size(); index++) {
+				exit.add(new LOAD(parameters.size() + pos + 1, ArrayType.mk(arrays.get(pos))));
+				exit.add(new CONST(index));
+				exit.add(new LOAD(renaming[vars.get(index)], arrays.get(pos)));
+				exit.add(new ARRAYSTORE(arrays.get(pos)));
+			}
+		}
+
+		if (region.returned >= 0)
+			exit.add(new LOAD(renaming[region.returned], returnType));
+
+		exit.add(new RETURN(returnType));
+		Block ret = new Block(mkList(exit, 0), new ArrayList<Block>());
+
+		for (Block block: region.blocks) {
+			List<Bytecode> bytecodes = new ArrayList<>();
+			for (BytecodeList cursor = block.getBytecode(); cursor != null; cursor = cursor.getTail())
+				if (cursor.getHead() instanceof LOAD)
+					bytecodes.add(new LOAD(renaming[((LOAD) cursor.getHead()).getVarNum()], ((LOAD) cursor.getHead()).getType()));
+				else if (cursor.getHead() instanceof STORE)
+					bytecodes.add(new STORE(renaming[((STORE) cursor.getHead()).getVarNum()], ((STORE) cursor.getHead()).getType()));
+				else
+					bytecodes.add(cursor.getHead());
+
+			block.setBytecode(mkList(bytecodes, 0));
+			block.setFollows(replace(block.getFollows(), region.exit, ret));
+		}
+
+		// the caller allocates the arrays into fresh local variables
+		List<Bytecode> call = new ArrayList<>();
+		for (int pos = 0; pos < arrays.size(); pos++) {
+			call.add(new CONST(region.arrays.get(arrays.get(pos)).size()));
+			call.add(new NEWARRAY(arrays.get(pos)));
+			call.add(new STORE(frameSize + pos, ArrayType.mk(arrays.get(pos))));
+		}
+
+		// the call passes the local variable 0, or nil if the region does not read it, the parameters and the arrays
+		call.add(region.parameters[0] != null ? new LOAD(0, receiverType) : new CONST());
+		for (int var: parameters)
+			call.add(new LOAD(var, region.parameters[var]));
+		for (int pos = 0; pos < arrays.size(); pos++)
+			call.add(new LOAD(frameSize + pos, ArrayType.mk(arrays.get(pos))));
+
+		call.add(new VIRTUALCALL(clazz, part));
+		if (region.returned >= 0)
+			call.add(new STORE(region.returned, returnType));
+
+		for (int pos = 0; pos < arrays.size(); pos++) {
+			List<Integer> vars = region.arrays.get(arrays.get(pos));
+			for (int index = 0; index < vars.size(); index++) {
+				call.add(new LOAD(frameSize + pos, ArrayType.mk(arrays.get(pos))));
+				call.add(new CONST(index));
+				call.add(new ARRAYLOAD(arrays.get(pos)));
+				call.add(new STORE(vars.get(index), arrays.get(pos)));
+			}
+		}
+
+		List<Block> follows = new ArrayList<>();
+		follows.add(region.exit);
+		Block caller = new Block(mkList(call, 0), follows);
+		if (region.head.isRare())
+			caller.markRare();
+
+		// the blocks that entered the region now call the synthetic method
+		Deque<Block> worklist = new ArrayDeque<>();
+		Set<Block> seen = new HashSet<>();
+		worklist.add(sig.getCode());
+		seen.add(sig.getCode());
+		while (!worklist.isEmpty()) {
+			Block block = worklist.poll();
+			if (block.getFollows().contains(region.head))
+				block.setFollows(replace(block.getFollows(), region.head, caller));
+
+			for (Block follow: block.getFollows())
+				if (seen.add(follow))
+					worklist.add(follow);
+		}
+
+		part.setCode(region.head);
+
+		return part;
+	}
+
+	/**
+	 * Yields a fresh name for a synthetic method extracted from the given code.
+	 *
+	 * @param sig the signature of the code
+	 * @return the name
+	 */
+
+	private static Symbol name(CodeSignature sig) {
+		String base = sig instanceof ConstructorSignature ? "init" : sig instanceof FixtureSignature ? "fixture" : sig.getName().toString();
+		Map<Symbol, Set<MethodSignature>> methods = sig.getDefiningClass().getMethods();
+
+		Symbol name;
+		int counter = 0;
+		do
+			name = Symbol.mk(base + "$part" + ++counter);
+		while (methods.containsKey(name));
+
+		return name;
+	}
+
+	private static List<Block> replace(List<Block> blocks, Block old, Block replacement) {
+		List<Block> result = new ArrayList<>();
+		for (Block block: blocks)
+			result.add(block == old ? replacement : block);
+
+		return result;
+	}
+
+	private static BytecodeList mkList(List<Bytecode> code, int pos) {
+		return pos == code.size() - 1 ? new BytecodeList(code.get(pos)) : new BytecodeList(code.get(pos), mkList(code, pos + 1));
+	}
+}
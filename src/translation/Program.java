@@ -2,7 +2,9 @@ package translation;
 
 import java.io.FileWriter;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 import javaBytecodeGenerator.JavaNormalClassGenerator;
 import javaBytecodeGenerator.TestClassGenerator;
@@ -34,6 +36,12 @@ public class Program {
 
 	private final CodeSignature start;
 
+	/**
+	 * A description of the optimizations performed on the code of this program, if any.
+	 */
+
+	private final List<String> optimizations = new ArrayList<>();
+
 	/**
 	 * Builds a program, that is, a set of class member signatures.
 	 *
@@ -46,8 +54,144 @@ public class Program {
 		this.start = start;
 
 		// we clean-up the code, in order to remove useless nop's and merge blocks whenever possible
-		if (start != null)
+		if (start != null) {
 			cleanUp();
+
+			// the optimizations work on the code that is actually reachable. A further clean-up
+			// removes the nop's that they introduce and the code that is no longer called
+			if (TailCallElimination.isEnabled() || Inliner.isEnabled() || Specializer.isEnabled() || ConstantPropagation.isEnabled() || EscapeAnalysis.isEnabled() || GlobalValueNumbering.isEnabled() || LoopOptimizer.isEnabled() || DeadCodeElimination.isEnabled() || SlotAllocator.isEnabled() || MethodSplitter.isEnabled()) {
+				optimize();
+				cleanUp();
+			}
+		}
+	}
+
+	/**
+	 * Optimizes the code of this program, with the optimizations that are enabled.
+	 */
+
+	private void optimize() {
+		List<CodeSignature> code = new ArrayList<>();
+		for (ClassMemberSignature sig: sigs)
+			if (sig instanceof CodeSignature)
+				code.add((CodeSignature) sig);
+
+		// recursive methods become loops before being inlined, so that the other optimizations see those loops
+		if (TailCallElimination.isEnabled()) {
+			int eliminated = 0;
+			for (CodeSignature sig: code)
+				eliminated += new TailCallElimination(sig).getEliminated();
+
+			optimizations.add("eliminated " + eliminated + " self-recursive tail calls");
+		}
+
+		// small methods are inlined first, so that their code gets specialized by the other optimizations
+		if (Inliner.isEnabled()) {
+			Inliner inliner = new Inliner();
+			for (CodeSignature sig: code)
+				inliner.inline(sig);
+
+			optimizations.add("inlined " + inliner.getReport().size() + " call sites");
+			optimizations.addAll(inliner.getReport());
+		}
+
+		// the constant parameters are propagated into the callees before being folded inside them
+		if (Specializer.isEnabled()) {
+			Specializer specializer = new Specializer(code);
+			code.addAll(specializer.getCopies());
+
+			optimizations.add("created " + specializer.getCopies().size() + " specialized methods for "
+				+ specializer.getBound() + " call sites and propagated " + specializer.getFolded() + " constant parameters");
+		}
+
+		if (ConstantPropagation.isEnabled()) {
+			int folded = 0, resolved = 0;
+			for (CodeSignature sig: code) {
+				ConstantPropagation propagation = new ConstantPropagation(sig);
+				folded += propagation.getFolded();
+				resolved += propagation.getResolved();
+			}
+
+			optimizations.add("folded " + folded + " operations into constants and resolved " + resolved + " branches");
+		}
+
+		// the objects that do not escape are replaced after inlining the methods called on them
+		if (EscapeAnalysis.isEnabled()) {
+			EscapeAnalysis analysis = new EscapeAnalysis();
+			for (CodeSignature sig: code)
+				analysis.eliminate(sig);
+
+			optimizations.add("eliminated " + analysis.getEliminated() + " allocations of objects that do not escape");
+			optimizations.addAll(analysis.getReport());
+		}
+
+		if (GlobalValueNumbering.isEnabled()) {
+			int eliminated = 0, propagated = 0;
+			for (CodeSignature sig: code) {
+				GlobalValueNumbering numbering = new GlobalValueNumbering(sig);
+				eliminated += numbering.getEliminated();
+				propagated += numbering.getPropagated();
+			}
+
+			optimizations.add("eliminated " + eliminated + " redundant computations and propagated " + propagated + " copies");
+		}
+
+		if (LoopOptimizer.isEnabled()) {
+			int loops = 0, hoisted = 0, inductionVariables = 0, reduced = 0;
+			for (CodeSignature sig: code) {
+				LoopOptimizer optimizer = new LoopOptimizer(sig);
+				loops += optimizer.getLoops();
+				hoisted += optimizer.getHoisted();
+				inductionVariables += optimizer.getInductionVariables();
+				reduced += optimizer.getReduced();
+			}
+
+			optimizations.add("found " + loops + " loops with " + inductionVariables + " induction variables, hoisted "
+				+ hoisted + " invariant computations and reduced " + reduced + " multiplications");
+		}
+
+		// dead code is eliminated last, since the other optimizations leave stores and values that are no longer used
+		if (DeadCodeElimination.isEnabled()) {
+			int unlinked = 0, deadStores = 0, deadComputations = 0, uselessCalls = 0;
+			for (CodeSignature sig: code) {
+				DeadCodeElimination elimination = new DeadCodeElimination(sig);
+				unlinked += elimination.getUnlinked();
+				deadStores += elimination.getDeadStores();
+				deadComputations += elimination.getDeadComputations();
+				uselessCalls += elimination.getUselessCalls();
+			}
+
+			optimizations.add("removed " + unlinked + " unreachable links, " + deadStores + " dead stores, "
+				+ deadComputations + " unused computations and " + uselessCalls + " useless calls");
+		}
+
+		// the local variables are allocated at the end, when the other optimizations have shortened their live ranges
+		if (SlotAllocator.isEnabled()) {
+			int liveRanges = 0, variables = 0, slots = 0, pressure = 0;
+			long length = 0;
+			for (CodeSignature sig: code) {
+				SlotAllocator allocator = new SlotAllocator(sig);
+				liveRanges += allocator.getLiveRanges();
+				variables += allocator.getVariables();
+				slots += allocator.getSlots();
+				pressure = Math.max(pressure, allocator.getPressure());
+				length += allocator.getLength();
+			}
+
+			optimizations.add("allocated " + liveRanges + " live ranges of " + variables + " local variables into " + slots
+				+ " local variables, with at most " + pressure + " live at the same time and an average length of "
+				+ (liveRanges == 0 ? 0 : length / liveRanges) + " bytecodes");
+		}
+
+		// oversized code is split once its size is final
+		if (MethodSplitter.isEnabled()) {
+			MethodSplitter splitter = new MethodSplitter(code);
+			code.addAll(splitter.getOutlined());
+
+			optimizations.add("extracted " + splitter.getOutlined().size() + " regions of " + splitter.getOversized()
+				+ " pieces of code larger than " + MethodSplitter.getMaxSize() + " bytes into synthetic methods");
+			optimizations.addAll(splitter.getReport());
+		}
 	}
 
 	/**
@@ -60,6 +204,16 @@ public class Program {
 		return sigs;
 	}
 
+	/**
+	 * Yields a description of the optimizations performed on the code of this program.
+	 *
+	 * @return the description, empty if no optimization has been performed
+	 */
+
+	public List<String> getOptimizations() {
+		return optimizations;
+	}
+
 	/**
 	 * Yields the method from which the program starts.
 	 *
@@ -207,8 +361,12 @@ public class Program {
 	protected void storeBytecode(Bytecode bytecode) {
 		if (bytecode instanceof FieldAccessBytecode)
 			sigs.add(((FieldAccessBytecode) bytecode).getField());
-		else if (bytecode instanceof CALL)
+		else if (bytecode instanceof CALL) {
 			// a call instruction might call many methods or constructors at runtime
 			sigs.addAll(((CALL) bytecode).getDynamicTargets());
+
+			// its static target is referenced by the Java bytecode, even if it is never called
+			sigs.add(((CALL) bytecode).getStaticTarget());
+		}
 	}
 }
\ No newline at end of file
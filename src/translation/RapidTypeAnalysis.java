@@ -0,0 +1,218 @@
+package translation;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import types.ClassMemberSignature;
+import types.ClassType;
+import types.CodeSignature;
+import types.FixtureSignature;
+import types.MethodSignature;
+import types.TestSignature;
+import bytecode.Bytecode;
+import bytecode.BytecodeList;
+import bytecode.CALL;
+import bytecode.FieldAccessBytecode;
+import bytecode.NEW;
+import bytecode.NEWSTRING;
+import bytecode.VIRTUALCALL;
+
+/**
+ * A Rapid Type Analysis of a program. It translates into Kitten bytecode only
+ * the constructors, methods, tests and fixtures that are reachable from a starting
+ * method, by assuming that the receiver of a virtual call can only be an instance
+ * of a class that is instantiated somewhere in the reachable code. At the end,
+ * the dynamic targets of the virtual calls are restricted accordingly.
+ *
+ * @author <A HREF="mailto:fausto.spoto@univr.it">Fausto Spoto</A>
+ */
+
+public class RapidTypeAnalysis {
+
+	/**
+	 * True if and only if programs must be translated through this analysis.
+	 */
+
+	private static boolean enabled;
+
+	/**
+	 * The class member signatures translated or referenced up to now.
+	 */
+
+	private final Set<ClassMemberSignature> done;
+
+	/**
+	 * The classes instantiated in the reachable code.
+	 */
+
+	private final Set<ClassType> instantiated = new HashSet<>();
+
+	/**
+	 * The constructors, methods, tests and fixtures whose code has still to be scanned.
+	 */
+
+	private final Deque<CodeSignature> worklist = new ArrayDeque<>();
+
+	/**
+	 * The virtual calls found in the reachable code.
+	 */
+
+	private final List<VIRTUALCALL> virtualCalls = new ArrayList<>();
+
+	/**
+	 * Translates into Kitten bytecode the code reachable from the given method
+	 * and restricts the dynamic targets of its virtual calls to the classes
+	 * that are actually instantiated.
+	 *
+	 * @param start the method where the program starts
+	 * @param done the set where the translated or referenced class member
+	 *             signatures get added
+	 */
+
+	public RapidTypeAnalysis(CodeSignature start, Set<ClassMemberSignature> done) {
+		this.done = done;
+
+		reach(start);
+		while (!worklist.isEmpty())
+			scan(worklist.pop());
+
+		for (VIRTUALCALL call: virtualCalls)
+			call.restrictTo(instantiated);
+	}
+
+	/**
+	 * Determines if programs must be translated through this analysis.
+	 *
+	 * @param enabled true if and only if this analysis must be used
+	 */
+
+	public static void setEnabled(boolean enabled) {
+		RapidTypeAnalysis.enabled = enabled;
+	}
+
+	/**
+	 * Determines if programs must be translated through this analysis.
+	 *
+	 * @return true if and only if this analysis must be used
+	 */
+
+	public static boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Takes note that the given code is reachable, translating it if
+	 * it was not reached before.
+	 *
+	 * @param sig the signature of the code
+	 */
+
+	private void reach(CodeSignature sig) {
+		if (done.add(sig)) {
+			sig.getAbstractSyntax().translateBody();
+			worklist.push(sig);
+		}
+	}
+
+	/**
+	 * Takes note that the given code is reachable as the target of a call.
+	 * The tests and fixtures of its defining class become reachable as well.
+	 *
+	 * @param target the signature of the target of the call
+	 */
+
+	private void reachTarget(CodeSignature target) {
+		reach(target);
+		reachTestsAndFixtures(target.getDefiningClass());
+	}
+
+	private void reachTestsAndFixtures(ClassType clazz) {
+		for (TestSignature t: clazz.getTests().values())
+			reach(t);
+
+		for (FixtureSignature f: clazz.getFixtures())
+			reach(f);
+	}
+
+	/**
+	 * Takes note that the given class is instantiated. The redefinitions
+	 * of the targets of the virtual calls seen up to now become reachable.
+	 *
+	 * @param clazz the class
+	 */
+
+	private void instantiate(ClassType clazz) {
+		if (instantiated.add(clazz))
+			for (VIRTUALCALL call: virtualCalls)
+				reachFrom(call, clazz);
+	}
+
+	/**
+	 * Takes note that the given virtual call might be performed on
+	 * a receiver of the given runtime class.
+	 *
+	 * @param call the virtual call
+	 * @param rec the runtime class of the receiver
+	 */
+
+	private void reachFrom(VIRTUALCALL call, ClassType rec) {
+		if (rec.subclass((ClassType) call.getReceiverType())) {
+			CodeSignature staticTarget = call.getStaticTarget();
+			MethodSignature candidate = rec.methodLookup(staticTarget.getName(), staticTarget.getParameters());
+			if (candidate != null)
+				reachTarget(candidate);
+		}
+	}
+
+	/**
+	 * Scans the code of the given signature, looking for instantiated
+	 * classes, accessed fields and called code.
+	 *
+	 * @param sig the signature
+	 */
+
+	private void scan(CodeSignature sig) {
+		Set<Block> blocksDone = new HashSet<>();
+		Deque<Block> blocks = new ArrayDeque<>();
+		blocks.push(sig.getCode());
+
+		while (!blocks.isEmpty()) {
+			Block block = blocks.pop();
+			if (blocksDone.add(block)) {
+				for (BytecodeList cursor = block.getBytecode(); cursor != null; cursor = cursor.getTail())
+					scan(cursor.getHead());
+
+				for (Block follow: block.getFollows())
+					blocks.push(follow);
+			}
+		}
+	}
+
+	private void scan(Bytecode bytecode) {
+		if (bytecode instanceof NEW)
+			instantiate(((NEW) bytecode).getType());
+		else if (bytecode instanceof NEWSTRING)
+			instantiate(ClassType.mk(runTime.String.class.getSimpleName()));
+		else if (bytecode instanceof FieldAccessBytecode) {
+			FieldAccessBytecode access = (FieldAccessBytecode) bytecode;
+			done.add(access.getField());
+			reachTestsAndFixtures(access.getField().getDefiningClass());
+		}
+		else if (bytecode instanceof VIRTUALCALL) {
+			VIRTUALCALL call = (VIRTUALCALL) bytecode;
+			virtualCalls.add(call);
+
+			// the static target is always referenced by the Java bytecode
+			reachTarget(call.getStaticTarget());
+			for (ClassType rec: instantiated)
+				reachFrom(call, rec);
+		}
+		else if (bytecode instanceof CALL)
+			for (CodeSignature target: ((CALL) bytecode).getDynamicTargets())
+				reachTarget(target);
+	}
+}
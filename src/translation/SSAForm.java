@@ -0,0 +1,1095 @@
+package translation;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import types.BooleanType;
+import types.CodeSignature;
+import types.Type;
+import types.VoidType;
+import bytecode.ARRAYLOAD;
+import bytecode.ARRAYSTORE;
+import bytecode.ArithmeticBinOpBytecode;
+import bytecode.BinOpBytecode;
+import bytecode.BranchingBytecode;
+import bytecode.BranchingComparisonBytecode;
+import bytecode.Bytecode;
+import bytecode.BytecodeList;
+import bytecode.CALL;
+import bytecode.CAST;
+import bytecode.CONST;
+import bytecode.DUP;
+import bytecode.GETFIELD;
+import bytecode.LOAD;
+import bytecode.NEG;
+import bytecode.NEW;
+import bytecode.NEWARRAY;
+import bytecode.NEWSTRING;
+import bytecode.NOP;
+import bytecode.POP;
+import bytecode.PUTFIELD;
+import bytecode.RETURN;
+import bytecode.STORE;
+import bytecode.VIRTUALCALL;
+
+/**
+ * The static single assignment form of the Kitten code of a constructor, method,
+ * test or fixture. It describes the values that the bytecodes push on the stack and
+ * store into local variables, rather than the stack and the local variables themselves.
+ * Each value is computed by a single instruction, or is the initial value of a local
+ * variable, or is a phi node, that merges the values of a local variable or stack
+ * element at the beginning of a block with more than one predecessor. A load from
+ * a local variable or a copy of a local variable into another does not compute a new
+ * value, hence copies are transparent in this form. The memory is described by versions,
+ * that change at each modification of the memory and at each merge point.
+ * <br><br>
+ * This form is lowered back into the Kitten code it was built from, by replacing the
+ * redundant computations with the load of a local variable that holds their value,
+ * and each load of a local variable with the load of the first local variable that holds
+ * the same value. In this way, the stack discipline of the code is preserved.
+ *
+ * @author <A HREF="mailto:fausto.spoto@univr.it">Fausto Spoto</A>
+ */
+
+public class SSAForm {
+
+	/**
+	 * The code in this form.
+	 */
+
+	private final CodeSignature sig;
+
+	/**
+	 * The blocks of the code, in reverse postorder.
+	 */
+
+	private final List<Block> blocks = new ArrayList<>();
+
+	/**
+	 * The predecessors of each block.
+	 */
+
+	private final Map<Block, List<Block>> predecessors = new HashMap<>();
+
+	/**
+	 * The immediate dominator of each block. The first block of the code is its own immediate dominator.
+	 */
+
+	private final Map<Block, Block> idoms = new HashMap<>();
+
+	/**
+	 * The values of the local variables and of the stack elements at the beginning of each block.
+	 */
+
+	private final Map<Block, State> entries = new HashMap<>();
+
+	/**
+	 * The values of the local variables and of the stack elements at the end of each block.
+	 */
+
+	private final Map<Block, State> exits = new HashMap<>();
+
+	/**
+	 * The instructions of each block, in order.
+	 */
+
+	private final Map<Block, List<Instruction>> instructions = new HashMap<>();
+
+	/**
+	 * The value stored by each {@code store} bytecode of each block, indexed by position.
+	 */
+
+	private final Map<Block, Value[]> stored = new HashMap<>();
+
+	/**
+	 * The values popped from the stack by each bytecode of each block, indexed by position.
+	 * They are listed from the deepest to the topmost.
+	 */
+
+	private final Map<Block, List<List<Value>>> popped = new HashMap<>();
+
+	/**
+	 * The value pushed on the stack by each bytecode of each block, if any, indexed by position.
+	 */
+
+	private final Map<Block, Value[]> pushed = new HashMap<>();
+
+	/**
+	 * The height of the stack before each bytecode of each block, indexed by position.
+	 */
+
+	private final Map<Block, int[]> heights = new HashMap<>();
+
+	/**
+	 * The phi nodes that have been found to be equivalent to another value.
+	 */
+
+	private final Map<Phi, Value> replacements = new HashMap<>();
+
+	/**
+	 * The phi nodes of the code.
+	 */
+
+	private final List<Phi> phis = new ArrayList<>();
+
+	/**
+	 * The state at the beginning of the code, before its first block is executed.
+	 */
+
+	private State initial;
+
+	/**
+	 * The redundant instructions removed by the lowering, bound to an
+	 * equivalent instruction that is always computed before them.
+	 */
+
+	private Map<Instruction, Instruction> redundant;
+
+	/**
+	 * The number of local variables used by the code.
+	 */
+
+	private final int frameSize;
+
+	/**
+	 * The number of values created up to now.
+	 */
+
+	private int counter;
+
+	/**
+	 * The number of memory versions created up to now.
+	 */
+
+	private int memoryVersions;
+
+	/**
+	 * The number of redundant computations removed by the lowering.
+	 */
+
+	private int eliminated;
+
+	/**
+	 * The number of loads of a local variable replaced by the load of another local variable.
+	 */
+
+	private int propagated;
+
+	/**
+	 * Builds the static single assignment form of the given constructor, method, test or fixture.
+	 *
+	 * @param sig the signature of the code
+	 * @throws IllegalStateException if the code uses the stack inconsistently
+	 */
+
+	SSAForm(CodeSignature sig) {
+		this.sig = sig;
+		this.frameSize = Inliner.frameSize(sig);
+
+		order(sig.getCode(), new HashSet<Block>());
+		Collections.reverse(blocks);
+		computeDominators();
+
+		for (Block block: blocks)
+			build(block);
+
+		linkPhis();
+		simplifyPhis();
+	}
+
+	/**
+	 * Yields the blocks of the code, in reverse postorder.
+	 *
+	 * @return the blocks
+	 */
+
+	List<Block> getBlocks() {
+		return blocks;
+	}
+
+	/**
+	 * Yields the immediate dominator of the given block.
+	 *
+	 * @param block the block
+	 * @return the immediate dominator, or {@code null} for the first block of the code
+	 */
+
+	Block getImmediateDominator(Block block) {
+		return block == sig.getCode() ? null : idoms.get(block);
+	}
+
+	/**
+	 * Yields the instructions of the given block, in order.
+	 *
+	 * @param block the block
+	 * @return the instructions
+	 */
+
+	List<Instruction> getInstructions(Block block) {
+		return instructions.get(block);
+	}
+
+	/**
+	 * Yields the predecessors of the given block.
+	 *
+	 * @param block the block
+	 * @return the predecessors
+	 */
+
+	List<Block> getPredecessors(Block block) {
+		return predecessors.get(block);
+	}
+
+	/**
+	 * Yields the values popped from the stack by a bytecode.
+	 *
+	 * @param block the block where the bytecode occurs
+	 * @param position the position of the bytecode inside {@code block}
+	 * @return the values, from the deepest to the topmost
+	 */
+
+	List<Value> getPopped(Block block, int position) {
+		return popped.get(block).get(position);
+	}
+
+	/**
+	 * Yields the value pushed on the stack by a bytecode.
+	 *
+	 * @param block the block where the bytecode occurs
+	 * @param position the position of the bytecode inside {@code block}
+	 * @return the value, or {@code null} if the bytecode pushes nothing
+	 */
+
+	Value getPushed(Block block, int position) {
+		return pushed.get(block)[position];
+	}
+
+	/**
+	 * Yields the height of the stack before a bytecode.
+	 *
+	 * @param block the block where the bytecode occurs
+	 * @param position the position of the bytecode inside {@code block}
+	 * @return the number of values on the stack
+	 */
+
+	int getStackHeight(Block block, int position) {
+		return heights.get(block)[position];
+	}
+
+	/**
+	 * Yields the value of a local variable at the beginning of the code.
+	 *
+	 * @param var the local variable
+	 * @return the value
+	 */
+
+	Value getInitialValue(int var) {
+		return initialState().locals[var];
+	}
+
+	/**
+	 * Determines if the given value is merged with others by a phi node whose
+	 * result is used, directly or through other phi nodes. Phi nodes that are
+	 * never used merge, typically, a value with the undefined value that a
+	 * local variable holds before its declaration.
+	 *
+	 * @param value the value
+	 * @return true if and only if that is the case
+	 */
+
+	boolean isMerged(Value value) {
+		Set<Value> merging = new HashSet<>();
+		merging.add(value);
+
+		boolean changed;
+		do {
+			changed = false;
+			for (Phi phi: phis)
+				if (!replacements.containsKey(phi) && !merging.contains(phi))
+					for (Value operand: phi.operands)
+						if (merging.contains(find(operand))) {
+							merging.add(phi);
+							changed = true;
+							break;
+						}
+		}
+		while (changed);
+
+		merging.remove(value);
+		if (merging.isEmpty())
+			return false;
+
+		for (Block block: blocks) {
+			for (List<Value> values: popped.get(block))
+				for (Value used: values)
+					if (merging.contains(find(used)))
+						return true;
+
+			for (Value used: pushed.get(block))
+				if (used != null && merging.contains(find(used)))
+					return true;
+		}
+
+		return false;
+	}
+
+	/**
+	 * Yields the value that the given value stands for, after the
+	 * simplification of the phi nodes that merge a single value.
+	 *
+	 * @param value the value
+	 * @return the value it stands for
+	 */
+
+	Value find(Value value) {
+		Value replacement;
+		while (value instanceof Phi && (replacement = replacements.get(value)) != null)
+			value = replacement;
+
+		return value;
+	}
+
+	/**
+	 * Yields the number of redundant computations removed by the lowering.
+	 *
+	 * @return the number of computations
+	 */
+
+	int getEliminated() {
+		return eliminated;
+	}
+
+	/**
+	 * Yields the number of loads of a local variable that the lowering
+	 * replaced by the load of another local variable holding the same value.
+	 *
+	 * @return the number of loads
+	 */
+
+	int getPropagated() {
+		return propagated;
+	}
+
+	private void order(Block block, Set<Block> seen) {
+		if (seen.add(block)) {
+			if (!predecessors.containsKey(block))
+				predecessors.put(block, new ArrayList<Block>());
+
+			for (Block follow: block.getFollows()) {
+				if (!predecessors.containsKey(follow))
+					predecessors.put(follow, new ArrayList<Block>());
+
+				predecessors.get(follow).add(block);
+				order(follow, seen);
+			}
+
+			blocks.add(block);
+		}
+	}
+
+	/**
+	 * Computes the immediate dominators of the blocks, by iterating over their reverse postorder.
+	 */
+
+	private void computeDominators() {
+		Map<Block, Integer> positions = new HashMap<>();
+		for (Block block: blocks)
+			positions.put(block, positions.size());
+
+		Block start = sig.getCode();
+		idoms.put(start, start);
+
+		boolean changed;
+		do {
+			changed = false;
+
+			for (Block block: blocks)
+				if (block != start) {
+					Block idom = null;
+					for (Block pred: predecessors.get(block))
+						if (idoms.containsKey(pred))
+							idom = idom == null ? pred : intersect(pred, idom, positions);
+
+					if (idom != idoms.get(block)) {
+						idoms.put(block, idom);
+						changed = true;
+					}
+				}
+		}
+		while (changed);
+	}
+
+	private Block intersect(Block block1, Block block2, Map<Block, Integer> positions) {
+		while (block1 != block2) {
+			while (positions.get(block1) > positions.get(block2))
+				block1 = idoms.get(block1);
+
+			while (positions.get(block2) > positions.get(block1))
+				block2 = idoms.get(block2);
+		}
+
+		return block1;
+	}
+
+	/**
+	 * Builds the values of the given block, whose predecessors have been
+	 * already built unless they are reached through an edge back to the block.
+	 *
+	 * @param block the block
+	 */
+
+	private void build(Block block) {
+		State state;
+		List<Block> preds = predecessors.get(block);
+
+		if (block == sig.getCode() && preds.isEmpty())
+			state = initialState();
+		else if (preds.size() == 1 && block != sig.getCode()) {
+			State exit = exits.get(preds.get(0));
+			if (exit == null)
+				throw new IllegalStateException("unexpected block order");
+
+			state = exit.copy();
+		}
+		else {
+			// a predecessor that is not reached through an edge back to the block has been already built
+			State exit = block == sig.getCode() ? initialState() : null;
+			for (Block pred: preds)
+				if (exit == null)
+					exit = exits.get(pred);
+
+			state = new State(frameSize, memoryVersions++);
+			for (int var = 0; var < frameSize; var++)
+				state.locals[var] = new Phi(block);
+
+			for (int pos = 0; pos < exit.stack.size(); pos++)
+				state.stack.add(new Phi(block));
+		}
+
+		entries.put(block, state.copy());
+
+		List<Instruction> list = new ArrayList<>();
+		List<Bytecode> code = toList(block.getBytecode());
+		Value[] storedValues = new Value[code.size()];
+		List<List<Value>> poppedValues = new ArrayList<>();
+		Value[] pushedValues = new Value[code.size()];
+		int[] stackHeights = new int[code.size()];
+
+		for (int pos = 0; pos < code.size(); pos++) {
+			Bytecode bytecode = code.get(pos);
+			state.popped.clear();
+			state.pushed = null;
+			stackHeights[pos] = state.stack.size();
+
+			if (bytecode instanceof STORE)
+				storedValues[pos] = state.locals[((STORE) bytecode).getVarNum()] = pop(state);
+			else
+				execute(bytecode, block, pos, state, list);
+
+			poppedValues.add(new ArrayList<>(state.popped));
+			pushedValues[pos] = state.pushed;
+		}
+
+		instructions.put(block, list);
+		stored.put(block, storedValues);
+		popped.put(block, poppedValues);
+		pushed.put(block, pushedValues);
+		heights.put(block, stackHeights);
+		exits.put(block, state);
+	}
+
+	/**
+	 * Yields the state at the beginning of the code.
+	 *
+	 * @return the state
+	 */
+
+	private State initialState() {
+		if (initial == null) {
+			initial = new State(frameSize, memoryVersions++);
+
+			// the receiver and the parameters are defined, the other local variables are not
+			int parameters = sig.getParameters().getSize();
+			for (int var = 0; var < frameSize; var++)
+				initial.locals[var] = new Initial(var <= parameters);
+		}
+
+		return initial.copy();
+	}
+
+	/**
+	 * Executes a bytecode other than {@code store} on the values of the given state.
+	 *
+	 * @param bytecode the bytecode
+	 * @param block the block where the bytecode occurs
+	 * @param pos the position of the bytecode inside {@code block}
+	 * @param state the state. It gets modified
+	 * @param list the instructions of {@code block}. It gets expanded with the instruction of {@code bytecode}, if any
+	 */
+
+	private void execute(Bytecode bytecode, Block block, int pos, State state, List<Instruction> list) {
+		if (bytecode instanceof NOP)
+			return;
+		else if (bytecode instanceof LOAD)
+			push(state.locals[((LOAD) bytecode).getVarNum()], state);
+		else if (bytecode instanceof DUP)
+			push(state.stack.get(state.stack.size() - 1), state);
+		else if (bytecode instanceof POP)
+			pop(state);
+		else if (bytecode instanceof BranchingBytecode) {
+			pop(state);
+			if (bytecode instanceof BranchingComparisonBytecode)
+				pop(state);
+		}
+		else if (bytecode instanceof RETURN) {
+			if (((RETURN) bytecode).getType() != VoidType.INSTANCE)
+				pop(state);
+		}
+		else if (bytecode instanceof PUTFIELD || bytecode instanceof ARRAYSTORE) {
+			pop(state, bytecode instanceof PUTFIELD ? 2 : 3);
+			state.memory = memoryVersions++;
+		}
+		else if (bytecode instanceof CALL) {
+			CALL call = (CALL) bytecode;
+			List<Value> operands = pop(state, call.getStaticTarget().getParameters().getSize() + 1);
+
+			// calls that cannot modify the memory keep its version
+			if (SideEffects.modifiesMemory(call))
+				state.memory = memoryVersions++;
+
+			if (call instanceof VIRTUALCALL && call.getStaticTarget().getReturnType() != VoidType.INSTANCE)
+				push(new Instruction(bytecode, block, pos, operands, call.getStaticTarget().getReturnType(), state.memory), state, list);
+		}
+		else if (bytecode instanceof CONST)
+			push(new Instruction(bytecode, block, pos, new ArrayList<Value>(), ((CONST) bytecode).getType(), state.memory), state, list);
+		else if (bytecode instanceof NEW || bytecode instanceof NEWSTRING)
+			push(new Instruction(bytecode, block, pos, new ArrayList<Value>(), null, state.memory), state, list);
+		else if (bytecode instanceof NEWARRAY)
+			push(new Instruction(bytecode, block, pos, pop(state, ((NEWARRAY) bytecode).getDimensions()), null, state.memory), state, list);
+		else if (bytecode instanceof GETFIELD)
+			push(new Instruction(bytecode, block, pos, pop(state, 1), ((GETFIELD) bytecode).getField().getType(), state.memory), state, list);
+		else if (bytecode instanceof ARRAYLOAD)
+			push(new Instruction(bytecode, block, pos, pop(state, 2), ((ARRAYLOAD) bytecode).getType(), state.memory), state, list);
+		else if (bytecode instanceof NEG)
+			push(new Instruction(bytecode, block, pos, pop(state, 1), ((NEG) bytecode).getType(), state.memory), state, list);
+		else if (bytecode instanceof CAST)
+			push(new Instruction(bytecode, block, pos, pop(state, 1), ((CAST) bytecode).getIntoType(), state.memory), state, list);
+		else if (bytecode instanceof BinOpBytecode) {
+			Type type = bytecode instanceof ArithmeticBinOpBytecode ? ((ArithmeticBinOpBytecode) bytecode).getType() : BooleanType.INSTANCE;
+			push(new Instruction(bytecode, block, pos, pop(state, 2), type, state.memory), state, list);
+		}
+		else
+			throw new IllegalStateException("unexpected bytecode " + bytecode);
+	}
+
+	private static void push(Instruction instruction, State state, List<Instruction> list) {
+		push(instruction, state);
+		list.add(instruction);
+	}
+
+	private static void push(Value value, State state) {
+		state.stack.add(value);
+		state.pushed = value;
+	}
+
+	private static Value pop(State state) {
+		if (state.stack.isEmpty())
+			throw new IllegalStateException("stack underflow");
+
+		Value result = state.stack.remove(state.stack.size() - 1);
+		state.popped.add(0, result);
+
+		return result;
+	}
+
+	private static List<Value> pop(State state, int count) {
+		List<Value> result = new ArrayList<>();
+		for (int pos = 0; pos < count; pos++)
+			result.add(0, pop(state));
+
+		return result;
+	}
+
+	/**
+	 * Adds to each phi node the values that it merges, one for each predecessor of its block.
+	 */
+
+	private void linkPhis() {
+		for (Block block: blocks)
+			if (predecessors.get(block).size() > (block == sig.getCode() ? 0 : 1)) {
+				State entry = entries.get(block);
+
+				// the first block of the code is entered also from the beginning of the code
+				List<State> states = new ArrayList<>();
+				if (block == sig.getCode())
+					states.add(initialState());
+
+				for (Block pred: predecessors.get(block))
+					states.add(exits.get(pred));
+
+				for (State exit: states) {
+					if (exit.stack.size() != entry.stack.size())
+						throw new IllegalStateException("inconsistent stack at the beginning of a block");
+
+					for (int var = 0; var < frameSize; var++)
+						((Phi) entry.locals[var]).operands.add(exit.locals[var]);
+
+					for (int pos = 0; pos < entry.stack.size(); pos++)
+						((Phi) entry.stack.get(pos)).operands.add(exit.stack.get(pos));
+				}
+			}
+	}
+
+	/**
+	 * Replaces each phi node that merges a single value, besides itself, with that value.
+	 */
+
+	private void simplifyPhis() {
+		for (State entry: entries.values()) {
+			for (Value value: entry.locals)
+				if (value instanceof Phi)
+					phis.add((Phi) value);
+
+			for (Value value: entry.stack)
+				if (value instanceof Phi)
+					phis.add((Phi) value);
+		}
+
+		boolean changed;
+		do {
+			changed = false;
+
+			for (Phi phi: phis)
+				if (!replacements.containsKey(phi)) {
+					Set<Value> merged = new HashSet<>();
+					for (Value operand: phi.operands) {
+						Value value = find(operand);
+						if (value != phi)
+							merged.add(value);
+					}
+
+					if (merged.size() == 1) {
+						replacements.put(phi, merged.iterator().next());
+						changed = true;
+					}
+				}
+		}
+		while (changed);
+	}
+
+	/**
+	 * Lowers this form back into the Kitten code it was built from. Each redundant
+	 * computation is replaced with the load of a local variable holding the same value:
+	 * if no local variable holds it, a new one is stored right after the equivalent
+	 * computation. Each load of a local variable is replaced with the load of the first
+	 * local variable that holds the same value.
+	 *
+	 * @param redundant the redundant instructions, bound to an equivalent
+	 *                  instruction that is always computed before them
+	 */
+
+	void lower(Map<Instruction, Instruction> redundant) {
+		this.redundant = redundant;
+		int nextVar = frameSize;
+
+		// the computations to remove from each block, with the local variable that holds their value
+		Map<Block, List<Computation>> removals = new HashMap<>();
+		Map<Instruction, Integer> temporaries = new HashMap<>();
+
+		for (Block block: blocks) {
+			List<Computation> computations = removableComputations(block);
+			removals.put(block, computations);
+
+			for (Computation computation: computations) {
+				Instruction equivalent = redundant.get(computation.top);
+				computation.var = holder(block, computation.start, equivalent);
+
+				if (computation.var < 0) {
+					Integer temporary = temporaries.get(equivalent);
+					if (temporary == null)
+						temporaries.put(equivalent, temporary = nextVar++);
+
+					computation.var = temporary;
+				}
+			}
+		}
+
+		for (Block block: blocks)
+			rewrite(block, removals.get(block), temporaries);
+	}
+
+	/**
+	 * Yields the maximal computations of the given block that can be replaced
+	 * with the load of a local variable, since they are made of loads, constants
+	 * and redundant instructions only and end with a redundant instruction.
+	 *
+	 * @param block the block
+	 * @param redundant the redundant instructions
+	 * @return the computations, ordered by position
+	 */
+
+	private List<Computation> removableComputations(Block block) {
+		List<Computation> result = new ArrayList<>();
+		List<Computation> stack = new ArrayList<>();
+		List<Bytecode> code = toList(block.getBytecode());
+
+		Map<Integer, Instruction> byPosition = new HashMap<>();
+		for (Instruction instruction: instructions.get(block))
+			byPosition.put(instruction.position, instruction);
+
+		for (int pos = 0; pos < code.size(); pos++) {
+			Bytecode bytecode = code.get(pos);
+			Instruction instruction = byPosition.get(pos);
+
+			if (bytecode instanceof LOAD || bytecode instanceof CONST)
+				stack.add(new Computation(pos, pos, instruction, true));
+			else if (instruction != null && isExpression(bytecode)) {
+				int arity = instruction.operands.size();
+				boolean removable = redundant.containsKey(instruction) && stack.size() >= arity;
+				int start = pos;
+
+				for (int count = 0; count < arity; count++) {
+					Computation operand = stack.isEmpty() ? null : stack.remove(stack.size() - 1);
+					if (operand == null || !operand.removable || operand.end != start - 1)
+						removable = false;
+
+					if (operand != null) {
+						start = operand.start;
+						candidate(operand, result);
+					}
+				}
+
+				if (removable)
+					// the operands are part of this computation
+					for (Iterator<Computation> it = result.iterator(); it.hasNext(); )
+						if (it.next().start >= start)
+							it.remove();
+
+				stack.add(new Computation(start, pos, instruction, removable));
+			}
+			else {
+				for (Computation computation: stack)
+					candidate(computation, result);
+
+				stack.clear();
+			}
+		}
+
+		for (Computation computation: stack)
+			candidate(computation, result);
+
+		Collections.sort(result);
+
+		return result;
+	}
+
+	private void candidate(Computation computation, List<Computation> result) {
+		if (computation.removable && computation.top != null && computation.end > computation.start && redundant.containsKey(computation.top))
+			result.add(computation);
+	}
+
+	/**
+	 * Determines if the given bytecode computes a value from its operands only,
+	 * and possibly the memory, without modifying anything. This includes the
+	 * virtual calls whose targets have no side-effects, according to their summaries.
+	 *
+	 * @param bytecode the bytecode
+	 * @return true if and only if that is the case
+	 */
+
+	static boolean isExpression(Bytecode bytecode) {
+		return bytecode instanceof BinOpBytecode || bytecode instanceof NEG || bytecode instanceof CAST
+			|| bytecode instanceof GETFIELD || bytecode instanceof ARRAYLOAD || bytecode instanceof CONST
+			|| (bytecode instanceof VIRTUALCALL && SideEffects.isReplaceable((CALL) bytecode));
+	}
+
+	/**
+	 * Yields the first local variable that holds the given value before the given position of a block.
+	 *
+	 * @param block the block
+	 * @param position the position
+	 * @param value the value
+	 * @return the local variable, or -1 if no local variable holds {@code value}
+	 */
+
+	private int holder(Block block, int position, Value value) {
+		Value[] locals = localsAt(block, position);
+		for (int var = 0; var < locals.length; var++)
+			if (valueNumber(locals[var]) == value)
+				return var;
+
+		return -1;
+	}
+
+	/**
+	 * Yields a representative of the values equivalent to the given one.
+	 *
+	 * @param value the value
+	 * @return the representative
+	 */
+
+	private Value valueNumber(Value value) {
+		value = find(value);
+		Instruction equivalent = redundant.get(value);
+
+		return equivalent != null ? equivalent : value;
+	}
+
+	private Value[] localsAt(Block block, int position) {
+		Value[] locals = entries.get(block).locals.clone();
+		Value[] storedValues = stored.get(block);
+		List<Bytecode> code = toList(block.getBytecode());
+
+		for (int pos = 0; pos < position; pos++)
+			if (storedValues[pos] != null)
+				locals[((STORE) code.get(pos)).getVarNum()] = storedValues[pos];
+
+		return locals;
+	}
+
+	/**
+	 * Rewrites the code of a block, by removing the given computations, by storing the
+	 * values that are needed later into temporary local variables and by replacing each
+	 * load of a local variable with the load of the first local variable that holds its value.
+	 *
+	 * @param block the block
+	 * @param removals the computations to remove, ordered by position
+	 * @param temporaries the local variables that must hold the value of the instructions
+	 */
+
+	private void rewrite(Block block, List<Computation> removals, Map<Instruction, Integer> temporaries) {
+		List<Bytecode> code = toList(block.getBytecode());
+		Value[] locals = entries.get(block).locals.clone();
+		Value[] storedValues = stored.get(block);
+
+		Map<Integer, Instruction> byPosition = new HashMap<>();
+		for (Instruction instruction: instructions.get(block))
+			byPosition.put(instruction.position, instruction);
+
+		List<Bytecode> result = new ArrayList<>();
+		int next = 0;
+
+		for (int pos = 0; pos < code.size(); pos++) {
+			Bytecode bytecode = code.get(pos);
+
+			if (next < removals.size() && removals.get(next).start == pos) {
+				Computation computation = removals.get(next++);
+				result.add(new LOAD(computation.var, computation.top.type));
+				eliminated++;
+				pos = computation.end;
+				continue;
+			}
+
+			if (bytecode instanceof LOAD) {
+				LOAD load = (LOAD) bytecode;
+				Value value = valueNumber(locals[load.getVarNum()]);
+
+				for (int var = 0; var < load.getVarNum(); var++)
+					if (valueNumber(locals[var]) == value && !(value instanceof Initial && !((Initial) value).defined)) {
+						bytecode = new LOAD(var, load.getType());
+						propagated++;
+						break;
+					}
+			}
+
+			result.add(bytecode);
+
+			if (storedValues[pos] != null)
+				locals[((STORE) bytecode).getVarNum()] = storedValues[pos];
+
+			Instruction instruction = byPosition.get(pos);
+			Integer temporary = instruction != null ? temporaries.get(instruction) : null;
+			if (temporary != null) {
+				// the value is needed later, where no local variable holds it
+				result.add(new DUP(instruction.type));
+				result.add(new STORE(temporary, instruction.type));
+			}
+		}
+
+		BytecodeList list = null;
+		for (int pos = result.size() - 1; pos >= 0; pos--)
+			list = new BytecodeList(result.get(pos), list);
+
+		block.setBytecode(list);
+	}
+
+	private static List<Bytecode> toList(BytecodeList bytecode) {
+		List<Bytecode> result = new ArrayList<>();
+		for (BytecodeList cursor = bytecode; cursor != null; cursor = cursor.getTail())
+			result.add(cursor.getHead());
+
+		return result;
+	}
+
+	/**
+	 * A value of the static single assignment form.
+	 */
+
+	abstract class Value {
+
+		/**
+		 * The unique identifier of this value.
+		 */
+
+		final int id = counter++;
+	}
+
+	/**
+	 * The initial value of a local variable.
+	 */
+
+	class Initial extends Value {
+
+		/**
+		 * True if and only if the local variable is defined at the
+		 * beginning of the code, that is, it is the receiver or a parameter.
+		 */
+
+		private final boolean defined;
+
+		private Initial(boolean defined) {
+			this.defined = defined;
+		}
+	}
+
+	/**
+	 * A phi node, that merges the values of a local variable or stack
+	 * element at the beginning of a block with more than one predecessor.
+	 */
+
+	class Phi extends Value {
+
+		/**
+		 * The block where this phi node occurs.
+		 */
+
+		final Block block;
+
+		/**
+		 * The merged values, one for each predecessor of the block.
+		 */
+
+		final List<Value> operands = new ArrayList<>();
+
+		private Phi(Block block) {
+			this.block = block;
+		}
+	}
+
+	/**
+	 * A value computed by a bytecode.
+	 */
+
+	class Instruction extends Value {
+
+		/**
+		 * The bytecode that computes the value.
+		 */
+
+		final Bytecode bytecode;
+
+		/**
+		 * The block where the bytecode occurs.
+		 */
+
+		final Block block;
+
+		/**
+		 * The position of the bytecode inside its block.
+		 */
+
+		final int position;
+
+		/**
+		 * The values that the bytecode pops from the stack.
+		 */
+
+		final List<Value> operands;
+
+		/**
+		 * The type of the computed value, or {@code null} if it is not relevant.
+		 */
+
+		final Type type;
+
+		/**
+		 * The version of the memory when the bytecode is executed.
+		 */
+
+		final int memory;
+
+		private Instruction(Bytecode bytecode, Block block, int position, List<Value> operands, Type type, int memory) {
+			this.bytecode = bytecode;
+			this.block = block;
+			this.position = position;
+			this.operands = operands;
+			this.type = type;
+			this.memory = memory;
+		}
+	}
+
+	/**
+	 * The values of the local variables and of the stack elements at a program point.
+	 */
+
+	private static class State {
+		private final Value[] locals;
+		private final List<Value> stack = new ArrayList<>();
+		private int memory;
+
+		/**
+		 * The values popped and pushed by the last executed bytecode.
+		 */
+
+		private final List<Value> popped = new ArrayList<>();
+		private Value pushed;
+
+		private State(int frameSize, int memory) {
+			this.locals = new Value[frameSize];
+			this.memory = memory;
+		}
+
+		private State copy() {
+			State result = new State(locals.length, memory);
+			System.arraycopy(locals, 0, result.locals, 0, locals.length);
+			result.stack.addAll(stack);
+
+			return result;
+		}
+	}
+
+	/**
+	 * A contiguous sequence of bytecodes inside a block, that computes a value.
+	 */
+
+	private static class Computation implements Comparable<Computation> {
+		private final int start;
+		private final int end;
+		private final Instruction top;
+		private final boolean removable;
+
+		/**
+		 * The local variable that holds the value of this computation, when it is removed.
+		 */
+
+		private int var;
+
+		private Computation(int start, int end, Instruction top, boolean removable) {
+			this.start = start;
+			this.end = end;
+			this.top = top;
+			this.removable = removable;
+		}
+
+		@Override
+		public int compareTo(Computation other) {
+			return start - other.start;
+		}
+	}
+}
@@ -0,0 +1,612 @@
+package translation;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import types.ClassType;
+import types.CodeSignature;
+import types.ConstructorSignature;
+import types.FieldSignature;
+import types.IntType;
+import types.MethodSignature;
+import types.NumericalType;
+import types.PrimitiveType;
+import bytecode.ARRAYLOAD;
+import bytecode.ARRAYSTORE;
+import bytecode.Bytecode;
+import bytecode.BytecodeList;
+import bytecode.CALL;
+import bytecode.CAST;
+import bytecode.CONSTRUCTORCALL;
+import bytecode.DIV;
+import bytecode.GETFIELD;
+import bytecode.LOAD;
+import bytecode.NEW;
+import bytecode.NEWARRAY;
+import bytecode.NEWSTRING;
+import bytecode.PUTFIELD;
+
+/**
+ * A summary of the side-effects of a constructor or method, including those of the
+ * code that it calls: the fields that it might read and write, if it might read or
+ * write arrays, allocate objects or perform input or output, and if it always
+ * returns, that is, it never stops the program nor runs forever. Summaries are
+ * computed bottom-up over the strongly connected components of the call graph given
+ * by the dynamic targets of the calls, and are cached for each signature. The
+ * methods of the strings are native: their summary treats the characters of
+ * the strings as the elements of an array.
+ *
+ * @author <A HREF="mailto:fausto.spoto@univr.it">Fausto Spoto</A>
+ */
+
+public class SideEffects {
+
+	/**
+	 * The summaries computed up to now.
+	 */
+
+	private final static Map<CodeSignature, SideEffects> summaries = new HashMap<>();
+
+	/**
+	 * The fields that might be read.
+	 */
+
+	private final Set<FieldSignature> readFields = new HashSet<>();
+
+	/**
+	 * The fields that might be written.
+	 */
+
+	private final Set<FieldSignature> writtenFields = new HashSet<>();
+
+	/**
+	 * True if and only if the elements of some array might be read.
+	 */
+
+	private boolean readsArrays;
+
+	/**
+	 * True if and only if the elements of some array might be written.
+	 */
+
+	private boolean writesArrays;
+
+	/**
+	 * True if and only if some object or array might be allocated.
+	 */
+
+	private boolean allocates;
+
+	/**
+	 * True if and only if some input or output might be performed.
+	 */
+
+	private boolean performsIO;
+
+	/**
+	 * True if and only if the code always returns.
+	 */
+
+	private boolean alwaysReturns = true;
+
+	private SideEffects() {}
+
+	/**
+	 * Yields the summary of the side-effects of the given constructor or method.
+	 *
+	 * @param sig the signature of the constructor or method
+	 * @return the summary
+	 */
+
+	public static SideEffects of(CodeSignature sig) {
+		SideEffects result = summaries.get(sig);
+		if (result == null) {
+			new Builder().visit(sig);
+			result = summaries.get(sig);
+		}
+
+		return result;
+	}
+
+	/**
+	 * Determines if all the dynamic targets of the given call have no side-effects
+	 * and always return. Such a call can be removed if its result is not used and its
+	 * receiver is not {@code nil}.
+	 *
+	 * @param call the call
+	 * @return true if and only if that is the case
+	 */
+
+	public static boolean isRemovable(CALL call) {
+		for (CodeSignature target: call.getDynamicTargets()) {
+			SideEffects summary = of(target);
+			if (!summary.isSideEffectFree() || !summary.alwaysReturns)
+				return false;
+		}
+
+		return true;
+	}
+
+	/**
+	 * Determines if the given call always yields the same value, when its receiver and
+	 * parameters are the same and the memory read by its dynamic targets is not modified
+	 * in between. This is the case when those targets have no side-effects and either
+	 * return a primitive value or do not allocate the returned value.
+	 *
+	 * @param call the call
+	 * @return true if and only if that is the case
+	 */
+
+	public static boolean isReplaceable(CALL call) {
+		boolean primitive = call.getStaticTarget().getReturnType() instanceof PrimitiveType;
+
+		for (CodeSignature target: call.getDynamicTargets()) {
+			SideEffects summary = of(target);
+			if (!summary.isSideEffectFree() || (!primitive && summary.allocates))
+				return false;
+		}
+
+		return true;
+	}
+
+	/**
+	 * Determines if the given call might modify the memory or perform input or output.
+	 *
+	 * @param call the call
+	 * @return true if and only if that is the case
+	 */
+
+	public static boolean modifiesMemory(CALL call) {
+		for (CodeSignature target: call.getDynamicTargets())
+			if (!of(target).isSideEffectFree())
+				return true;
+
+		return false;
+	}
+
+	/**
+	 * Determines if the given call might read the memory.
+	 *
+	 * @param call the call
+	 * @return true if and only if that is the case
+	 */
+
+	public static boolean readsMemory(CALL call) {
+		for (CodeSignature target: call.getDynamicTargets()) {
+			SideEffects summary = of(target);
+			if (!summary.readFields.isEmpty() || summary.readsArrays)
+				return true;
+		}
+
+		return false;
+	}
+
+	/**
+	 * Yields the fields that might be read.
+	 *
+	 * @return the fields
+	 */
+
+	public Set<FieldSignature> getReadFields() {
+		return Collections.unmodifiableSet(readFields);
+	}
+
+	/**
+	 * Yields the fields that might be written.
+	 *
+	 * @return the fields
+	 */
+
+	public Set<FieldSignature> getWrittenFields() {
+		return Collections.unmodifiableSet(writtenFields);
+	}
+
+	/**
+	 * Determines if the elements of some array might be read.
+	 *
+	 * @return true if and only if that is the case
+	 */
+
+	public boolean readsArrays() {
+		return readsArrays;
+	}
+
+	/**
+	 * Determines if the elements of some array might be written.
+	 *
+	 * @return true if and only if that is the case
+	 */
+
+	public boolean writesArrays() {
+		return writesArrays;
+	}
+
+	/**
+	 * Determines if some object or array might be allocated.
+	 *
+	 * @return true if and only if that is the case
+	 */
+
+	public boolean allocates() {
+		return allocates;
+	}
+
+	/**
+	 * Determines if some input or output might be performed.
+	 *
+	 * @return true if and only if that is the case
+	 */
+
+	public boolean performsIO() {
+		return performsIO;
+	}
+
+	/**
+	 * Determines if the code always returns, that is, it never stops the program nor runs forever.
+	 *
+	 * @return true if and only if that is the case
+	 */
+
+	public boolean alwaysReturns() {
+		return alwaysReturns;
+	}
+
+	/**
+	 * Determines if the code neither writes fields or arrays nor performs input or output.
+	 * Allocations are not side-effects, since they do not modify existing objects.
+	 *
+	 * @return true if and only if that is the case
+	 */
+
+	public boolean isSideEffectFree() {
+		return writtenFields.isEmpty() && !writesArrays && !performsIO;
+	}
+
+	@Override
+	public String toString() {
+		return "reads " + readFields + (readsArrays ? " and arrays" : "")
+			+ ", writes " + writtenFields + (writesArrays ? " and arrays" : "")
+			+ (allocates ? ", allocates" : "") + (performsIO ? ", performs input/output" : "")
+			+ (alwaysReturns ? ", always returns" : "");
+	}
+
+	/**
+	 * Adds the side-effects of another summary to this.
+	 *
+	 * @param other the other summary
+	 * @return true if and only if this summary has changed
+	 */
+
+	private boolean join(SideEffects other) {
+		boolean changed = readFields.addAll(other.readFields) | writtenFields.addAll(other.writtenFields);
+
+		if (other.readsArrays && !readsArrays)
+			changed = readsArrays = true;
+
+		if (other.writesArrays && !writesArrays)
+			changed = writesArrays = true;
+
+		if (other.allocates && !allocates)
+			changed = allocates = true;
+
+		if (other.performsIO && !performsIO)
+			changed = performsIO = true;
+
+		if (!other.alwaysReturns && alwaysReturns) {
+			alwaysReturns = false;
+			changed = true;
+		}
+
+		return changed;
+	}
+
+	/**
+	 * Yields the summary of a native method or constructor of the strings.
+	 * Their characters are treated as the elements of an array. Input and output
+	 * include the conversions into numbers, that report illegal formats.
+	 *
+	 * @param sig the signature of the method or constructor
+	 * @return the summary
+	 */
+
+	private static SideEffects ofString(CodeSignature sig) {
+		SideEffects result = new SideEffects();
+		String name = sig.getName().toString();
+
+		if (sig instanceof ConstructorSignature) {
+			result.allocates = true;
+			result.readsArrays = sig.getParameters().getSize() > 0;
+		}
+		else if (name.equals("output") || name.equals("toInt") || name.equals("toFloat"))
+			result.performsIO = result.readsArrays = true;
+		else if (name.equals("input"))
+			result.performsIO = result.writesArrays = true;
+		else {
+			result.readsArrays = true;
+			result.allocates = name.equals("concat") || name.equals("substring");
+		}
+
+		// their parameters might be nil or out of bounds
+		result.alwaysReturns = sig.getParameters().getSize() == 0;
+
+		return result;
+	}
+
+	/**
+	 * Determines if the given signature is a native method or constructor of the strings.
+	 *
+	 * @param sig the signature
+	 * @return true if and only if that is the case
+	 */
+
+	private static boolean isNative(CodeSignature sig) {
+		return sig.getDefiningClass().getName().equals(runTime.String.class.getSimpleName());
+	}
+
+	/**
+	 * A builder of the summaries of the code reachable from a signature.
+	 * It uses Tarjan's algorithm, that finds the strongly connected components
+	 * of the call graph after those that they call.
+	 */
+
+	private static class Builder {
+
+		/**
+		 * The position of each signature in the order of visit.
+		 */
+
+		private final Map<CodeSignature, Integer> indexes = new HashMap<>();
+
+		/**
+		 * The least position of a signature reachable from each signature,
+		 * through signatures that are still on the stack.
+		 */
+
+		private final Map<CodeSignature, Integer> lowlinks = new HashMap<>();
+
+		/**
+		 * The signatures that have been visited but whose component has not been found yet.
+		 */
+
+		private final Deque<CodeSignature> stack = new ArrayDeque<>();
+
+		/**
+		 * The signatures on {@link #stack}.
+		 */
+
+		private final Set<CodeSignature> onStack = new HashSet<>();
+
+		private void visit(CodeSignature sig) {
+			int index = indexes.size();
+			indexes.put(sig, index);
+			lowlinks.put(sig, index);
+			stack.push(sig);
+			onStack.add(sig);
+
+			for (CodeSignature callee: callees(sig))
+				if (summaries.containsKey(callee))
+					continue;
+				else if (!indexes.containsKey(callee)) {
+					visit(callee);
+					lowlinks.put(sig, Math.min(lowlinks.get(sig), lowlinks.get(callee)));
+				}
+				else if (onStack.contains(callee))
+					lowlinks.put(sig, Math.min(lowlinks.get(sig), indexes.get(callee)));
+
+			if (lowlinks.get(sig) == index) {
+				List<CodeSignature> component = new ArrayList<>();
+				CodeSignature member;
+				do {
+					member = stack.pop();
+					onStack.remove(member);
+					component.add(member);
+				}
+				while (member != sig);
+
+				summarize(component);
+			}
+		}
+
+		/**
+		 * Computes the summaries of a strongly connected component of the call graph,
+		 * whose callees outside the component have been already summarized.
+		 *
+		 * @param component the signatures of the component
+		 */
+
+		private void summarize(List<CodeSignature> component) {
+			Map<CodeSignature, SideEffects> local = new HashMap<>();
+			for (CodeSignature sig: component)
+				local.put(sig, localEffects(sig));
+
+			// the summaries of the members of the component are
+			// computed together, starting from their local effects
+			for (CodeSignature sig: component)
+				summaries.put(sig, local.get(sig));
+
+			// recursive code might run forever
+			boolean recursive = component.size() > 1 || callees(component.get(0)).contains(component.get(0));
+
+			boolean changed;
+			do {
+				changed = false;
+				for (CodeSignature sig: component) {
+					SideEffects summary = summaries.get(sig);
+					if (recursive && summary.alwaysReturns) {
+						summary.alwaysReturns = false;
+						changed = true;
+					}
+
+					for (CodeSignature callee: callees(sig))
+						changed |= summary.join(summaries.get(callee));
+				}
+			}
+			while (changed);
+		}
+
+		/**
+		 * Yields the signatures called by the code of the given one.
+		 *
+		 * @param sig the signature
+		 * @return the signatures called by {@code sig}
+		 */
+
+		private static Set<CodeSignature> callees(CodeSignature sig) {
+			Set<CodeSignature> result = new HashSet<>();
+			if (!isNative(sig) && sig.getCode() != null)
+				for (Block block: reachableBlocks(sig.getCode()))
+					for (BytecodeList cursor = block.getBytecode(); cursor != null; cursor = cursor.getTail())
+						if (cursor.getHead() instanceof CALL)
+							result.addAll(((CALL) cursor.getHead()).getDynamicTargets());
+
+			return result;
+		}
+
+		/**
+		 * Yields the side-effects of the bytecodes of the given signature,
+		 * without considering the code that it calls.
+		 *
+		 * @param sig the signature
+		 * @return the side-effects
+		 */
+
+		private static SideEffects localEffects(CodeSignature sig) {
+			if (isNative(sig))
+				return ofString(sig);
+
+			SideEffects result = new SideEffects();
+
+			// code that has not been translated might do anything
+			if (sig.getCode() == null) {
+				result.readsArrays = result.writesArrays = result.allocates = result.performsIO = true;
+				result.alwaysReturns = false;
+				for (ClassType clazz: ClassType.getAll()) {
+					result.readFields.addAll(clazz.getFields().values());
+					result.writtenFields.addAll(clazz.getFields().values());
+				}
+
+				return result;
+			}
+
+			List<Block> blocks = reachableBlocks(sig.getCode());
+
+			// loops might run forever
+			if (hasLoops(sig.getCode()))
+				result.alwaysReturns = false;
+
+			for (Block block: blocks) {
+				Bytecode previous = null;
+				for (BytecodeList cursor = block.getBytecode(); cursor != null; cursor = cursor.getTail()) {
+					Bytecode bytecode = cursor.getHead();
+
+					if (bytecode instanceof GETFIELD) {
+						result.readFields.add(((GETFIELD) bytecode).getField());
+
+						// the fields of the receiver can always be read
+						if (!isReceiver(sig, previous))
+							result.alwaysReturns = false;
+					}
+					else if (bytecode instanceof PUTFIELD) {
+						result.writtenFields.add(((PUTFIELD) bytecode).getField());
+						result.alwaysReturns = false;
+					}
+					else if (bytecode instanceof ARRAYLOAD) {
+						result.readsArrays = true;
+						result.alwaysReturns = false;
+					}
+					else if (bytecode instanceof ARRAYSTORE) {
+						result.writesArrays = true;
+						result.alwaysReturns = false;
+					}
+					else if (bytecode instanceof NEW || bytecode instanceof NEWSTRING)
+						result.allocates = true;
+					else if (bytecode instanceof NEWARRAY) {
+						// a negative size stops the program
+						result.allocates = true;
+						result.alwaysReturns = false;
+					}
+					else if ((bytecode instanceof DIV && ((DIV) bytecode).getType() == IntType.INSTANCE)
+							|| (bytecode instanceof CAST && !(((CAST) bytecode).getIntoType() instanceof NumericalType)))
+						// an integer division by zero or a failed cast stops the program
+						result.alwaysReturns = false;
+					else if (bytecode instanceof CALL && !(bytecode instanceof CONSTRUCTORCALL)) {
+						// a call on the receiver without parameters never finds a nil receiver
+						CALL call = (CALL) bytecode;
+						if (call.getStaticTarget().getParameters().getSize() > 0 || !isReceiver(sig, previous))
+							result.alwaysReturns = false;
+					}
+
+					previous = bytecode;
+				}
+			}
+
+			return result;
+		}
+
+		/**
+		 * Determines if the given bytecode loads the receiver of the given signature.
+		 *
+		 * @param sig the signature
+		 * @param bytecode the bytecode, possibly {@code null}
+		 * @return true if and only if that is the case
+		 */
+
+		private static boolean isReceiver(CodeSignature sig, Bytecode bytecode) {
+			// the main method is translated into a static Java method, without receiver
+			return bytecode instanceof LOAD && ((LOAD) bytecode).getVarNum() == 0
+				&& (sig instanceof ConstructorSignature || (sig instanceof MethodSignature && sig.getName() != MethodSignature.MAIN));
+		}
+
+		/**
+		 * Determines if the blocks reachable from the given one contain a cycle.
+		 *
+		 * @param start the block
+		 * @return true if and only if that is the case
+		 */
+
+		private static boolean hasLoops(Block start) {
+			return hasLoops(start, new HashSet<Block>(), new HashSet<Block>());
+		}
+
+		private static boolean hasLoops(Block block, Set<Block> visiting, Set<Block> done) {
+			if (visiting.contains(block))
+				return true;
+			else if (!done.add(block))
+				return false;
+
+			visiting.add(block);
+			for (Block follow: block.getFollows())
+				if (hasLoops(follow, visiting, done))
+					return true;
+
+			visiting.remove(block);
+
+			return false;
+		}
+
+		private static List<Block> reachableBlocks(Block start) {
+			List<Block> result = new ArrayList<>();
+			Set<Block> seen = new HashSet<>();
+			Deque<Block> worklist = new ArrayDeque<>();
+			worklist.push(start);
+
+			while (!worklist.isEmpty()) {
+				Block block = worklist.pop();
+				if (seen.add(block)) {
+					result.add(block);
+					for (Block follow: block.getFollows())
+						worklist.push(follow);
+				}
+			}
+
+			return result;
+		}
+	}
+}
@@ -0,0 +1,592 @@
+package translation;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import types.CodeSignature;
+import bytecode.Bytecode;
+import bytecode.BytecodeList;
+import bytecode.FinalBytecode;
+import bytecode.LOAD;
+import bytecode.STORE;
+
+/**
+ * An allocator of the local variables of the Kitten code of a constructor, method,
+ * test or fixture. Each local variable is first split into its live ranges, that is,
+ * the sets of stores and loads that are linked since a store reaches a load. The
+ * live ranges that are never live at the same time are then allocated to the same
+ * local variable, by a greedy coloring of their interference graph, even if they
+ * hold distinct kinds of values, since all values of Kitten take a single local
+ * variable of the Java virtual machine. The receiver and the parameters keep their
+ * local variables, and the original local variables are kept if the coloring
+ * does not use fewer of them.
+ *
+ * @author <A HREF="mailto:fausto.spoto@univr.it">Fausto Spoto</A>
+ */
+
+public class SlotAllocator {
+
+	/**
+	 * True if and only if the local variables must be allocated.
+	 */
+
+	private static boolean enabled;
+
+	/**
+	 * The blocks of the code, with the first block of the code at the beginning.
+	 */
+
+	private final List<Block> blocks = new ArrayList<>();
+
+	/**
+	 * The bytecodes of each block.
+	 */
+
+	private final Map<Block, List<Bytecode>> code = new HashMap<>();
+
+	/**
+	 * The successors of each block that are actually executed after it.
+	 */
+
+	private final Map<Block, List<Block>> successors = new HashMap<>();
+
+	/**
+	 * The number of local variables used by the code before the allocation.
+	 */
+
+	private final int variables;
+
+	/**
+	 * The number of local variables of the receiver and of the parameters.
+	 */
+
+	private final int fixed;
+
+	/**
+	 * The stores of the code and the initial values of the local variables.
+	 * A store is identified by its block and position, while the initial value
+	 * of a local variable has a {@code null} block and the local variable as position.
+	 */
+
+	private final List<Definition> definitions = new ArrayList<>();
+
+	/**
+	 * The definitions of each local variable.
+	 */
+
+	private final List<List<Integer>> definitionsOf = new ArrayList<>();
+
+	/**
+	 * The union-find forest of the definitions that belong to the same live range.
+	 */
+
+	private final List<Integer> parents = new ArrayList<>();
+
+	/**
+	 * The definition of each store and the definitions that reach each load, as a live range.
+	 */
+
+	private final Map<Block, int[]> ranges = new HashMap<>();
+
+	/**
+	 * The number of live ranges, including those of the initial values of the local variables.
+	 */
+
+	private int liveRanges;
+
+	/**
+	 * The number of live ranges that have been allocated to a local variable.
+	 */
+
+	private int allocated;
+
+	/**
+	 * The number of local variables used by the code after the allocation.
+	 */
+
+	private int slots;
+
+	/**
+	 * The maximal number of live ranges that are live at the same program point.
+	 */
+
+	private int pressure;
+
+	/**
+	 * The total number of bytecodes where the live ranges are live.
+	 */
+
+	private long length;
+
+	/**
+	 * Determines if the local variables must be allocated.
+	 *
+	 * @param enabled true if and only if the local variables must be allocated
+	 */
+
+	public static void setEnabled(boolean enabled) {
+		SlotAllocator.enabled = enabled;
+	}
+
+	/**
+	 * Determines if the local variables must be allocated.
+	 *
+	 * @return true if and only if the local variables must be allocated
+	 */
+
+	public static boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Allocates the local variables of the given constructor, method,
+	 * test or fixture. Its code gets modified.
+	 *
+	 * @param sig the signature of the code
+	 */
+
+	SlotAllocator(CodeSignature sig) {
+		this.variables = Inliner.frameSize(sig);
+		this.fixed = sig.getParameters().getSize() + 1;
+
+		collect(sig.getCode());
+		linkDefinitions();
+
+		// the live ranges are numbered from 0, in order of first definition
+		Map<Integer, Integer> numbers = new HashMap<>();
+		int[] rangeOf = new int[definitions.size()];
+		for (int definition = 0; definition < definitions.size(); definition++) {
+			Integer number = numbers.get(find(definition));
+			if (number == null)
+				numbers.put(find(definition), number = liveRanges++);
+
+			rangeOf[definition] = number;
+		}
+
+		for (int[] positions: ranges.values())
+			for (int pos = 0; pos < positions.length; pos++)
+				if (positions[pos] >= 0)
+					positions[pos] = rangeOf[positions[pos]];
+
+		List<Set<Integer>> interferences = interferences(rangeOf);
+		int[] colors = color(rangeOf, interferences);
+
+		if (slots < variables)
+			rewrite(colors);
+		else
+			slots = variables;
+	}
+
+	/**
+	 * Yields the number of live ranges that have been allocated to a local variable.
+	 *
+	 * @return the number of live ranges
+	 */
+
+	int getLiveRanges() {
+		return allocated;
+	}
+
+	/**
+	 * Yields the number of local variables used by the code before the allocation.
+	 *
+	 * @return the number of local variables
+	 */
+
+	int getVariables() {
+		return variables;
+	}
+
+	/**
+	 * Yields the number of local variables used by the code after the allocation.
+	 *
+	 * @return the number of local variables
+	 */
+
+	int getSlots() {
+		return slots;
+	}
+
+	/**
+	 * Yields the maximal number of live ranges that are live at the same program point.
+	 *
+	 * @return the maximal number of live ranges
+	 */
+
+	int getPressure() {
+		return pressure;
+	}
+
+	/**
+	 * Yields the total number of bytecodes where the live ranges are live.
+	 *
+	 * @return the number of bytecodes
+	 */
+
+	long getLength() {
+		return length;
+	}
+
+	/**
+	 * A store into a local variable or the initial value of a local variable.
+	 */
+
+	private static class Definition {
+		private final int var;
+		private final Block block;
+		private final int position;
+
+		private Definition(int var, Block block, int position) {
+			this.var = var;
+			this.block = block;
+			this.position = position;
+		}
+	}
+
+	/**
+	 * Collects the blocks of the code, their bytecodes and the definitions of the local variables.
+	 *
+	 * @param start the first block of the code
+	 */
+
+	private void collect(Block start) {
+		Set<Block> seen = new HashSet<>();
+		Deque<Block> worklist = new ArrayDeque<>();
+		worklist.add(start);
+		seen.add(start);
+
+		while (!worklist.isEmpty()) {
+			Block block = worklist.poll();
+			blocks.add(block);
+
+			List<Bytecode> bytecodes = new ArrayList<>();
+			for (BytecodeList cursor = block.getBytecode(); cursor != null; cursor = cursor.getTail())
+				bytecodes.add(cursor.getHead());
+
+			code.put(block, bytecodes);
+			ranges.put(block, new int[bytecodes.size()]);
+
+			// the code after a final bytecode is never executed
+			List<Block> follows = bytecodes.get(bytecodes.size() - 1) instanceof FinalBytecode ? new ArrayList<Block>() : block.getFollows();
+			successors.put(block, follows);
+
+			for (Block follow: follows)
+				if (seen.add(follow))
+					worklist.add(follow);
+		}
+
+		for (int var = 0; var < variables; var++) {
+			definitionsOf.add(new ArrayList<Integer>());
+			addDefinition(new Definition(var, null, var));
+		}
+
+		for (Block block: blocks) {
+			List<Bytecode> bytecodes = code.get(block);
+			int[] positions = ranges.get(block);
+			for (int pos = 0; pos < bytecodes.size(); pos++)
+				if (bytecodes.get(pos) instanceof STORE) {
+					STORE store = (STORE) bytecodes.get(pos);
+					positions[pos] = definitions.size();
+					addDefinition(new Definition(store.getVarNum(), block, pos));
+				}
+				else
+					positions[pos] = -1;
+		}
+	}
+
+	private void addDefinition(Definition definition) {
+		definitionsOf.get(definition.var).add(definitions.size());
+		parents.add(definitions.size());
+		definitions.add(definition);
+	}
+
+	/**
+	 * Links the definitions that reach the same load into the same live range,
+	 * through an analysis of the reaching definitions.
+	 */
+
+	private void linkDefinitions() {
+		Map<Block, BitSet> reachingIn = new HashMap<>();
+		for (Block block: blocks)
+			reachingIn.put(block, new BitSet());
+
+		// the initial values of the local variables reach the beginning of the code
+		reachingIn.get(blocks.get(0)).set(0, variables);
+
+		Deque<Block> worklist = new ArrayDeque<>(blocks);
+		Set<Block> pending = new HashSet<>(blocks);
+		while (!worklist.isEmpty()) {
+			Block block = worklist.poll();
+			pending.remove(block);
+
+			BitSet reaching = transfer(block, reachingIn.get(block), false);
+			for (Block follow: successors.get(block)) {
+				BitSet in = reachingIn.get(follow);
+				BitSet old = (BitSet) in.clone();
+				in.or(reaching);
+				if (!in.equals(old) && pending.add(follow))
+					worklist.add(follow);
+			}
+		}
+
+		for (Block block: blocks)
+			transfer(block, reachingIn.get(block), true);
+	}
+
+	/**
+	 * Computes the definitions that reach the end of the given block.
+	 *
+	 * @param block the block
+	 * @param in the definitions that reach the beginning of {@code block}
+	 * @param link true if and only if the definitions that reach the same load
+	 *             must be linked and the loads must be bound to their live range
+	 * @return the definitions that reach the end of {@code block}
+	 */
+
+	private BitSet transfer(Block block, BitSet in, boolean link) {
+		BitSet reaching = (BitSet) in.clone();
+		List<Bytecode> bytecodes = code.get(block);
+		int[] positions = ranges.get(block);
+
+		for (int pos = 0; pos < bytecodes.size(); pos++) {
+			Bytecode bytecode = bytecodes.get(pos);
+
+			if (bytecode instanceof LOAD && link) {
+				int first = -1;
+				for (int definition: definitionsOf.get(((LOAD) bytecode).getVarNum()))
+					if (reaching.get(definition))
+						if (first < 0)
+							positions[pos] = first = definition;
+						else
+							union(first, definition);
+			}
+			else if (bytecode instanceof STORE) {
+				for (int definition: definitionsOf.get(((STORE) bytecode).getVarNum()))
+					reaching.clear(definition);
+
+				reaching.set(positions[pos]);
+			}
+		}
+
+		return reaching;
+	}
+
+	private int find(int definition) {
+		while (parents.get(definition) != definition) {
+			parents.set(definition, parents.get(parents.get(definition)));
+			definition = parents.get(definition);
+		}
+
+		return definition;
+	}
+
+	private void union(int definition1, int definition2) {
+		int root1 = find(definition1), root2 = find(definition2);
+
+		// the smaller definition is the root, so that an initial value is the root of its live range
+		if (root1 < root2)
+			parents.set(root2, root1);
+		else if (root2 < root1)
+			parents.set(root1, root2);
+	}
+
+	/**
+	 * Computes the interference graph of the live ranges, through an analysis of
+	 * their liveness. Two live ranges interfere if one is live where the other is defined.
+	 *
+	 * @param rangeOf the live range of each definition
+	 * @return the live ranges that interfere with each live range
+	 */
+
+	private List<Set<Integer>> interferences(int[] rangeOf) {
+		List<Set<Integer>> interferences = new ArrayList<>();
+		for (int range = 0; range < liveRanges; range++)
+			interferences.add(new HashSet<Integer>());
+
+		Map<Block, BitSet> liveIn = new HashMap<>();
+		for (Block block: blocks)
+			liveIn.put(block, new BitSet());
+
+		Map<Block, List<Block>> predecessors = new HashMap<>();
+		for (Block block: blocks)
+			predecessors.put(block, new ArrayList<Block>());
+		for (Block block: blocks)
+			for (Block follow: successors.get(block))
+				predecessors.get(follow).add(block);
+
+		// the blocks are processed backwards, for faster convergence
+		Deque<Block> worklist = new ArrayDeque<>();
+		for (int pos = blocks.size() - 1; pos >= 0; pos--)
+			worklist.add(blocks.get(pos));
+		Set<Block> pending = new HashSet<>(blocks);
+
+		while (!worklist.isEmpty()) {
+			Block block = worklist.poll();
+			pending.remove(block);
+
+			BitSet live = liveness(block, liveOut(block, liveIn), null);
+			if (!live.equals(liveIn.get(block))) {
+				liveIn.put(block, live);
+				for (Block pred: predecessors.get(block))
+					if (pending.add(pred))
+						worklist.add(pred);
+			}
+		}
+
+		for (Block block: blocks)
+			liveness(block, liveOut(block, liveIn), interferences);
+
+		// the receiver, the parameters and the initial values of the
+		// local variables are defined at the beginning of the code
+		BitSet live = liveIn.get(blocks.get(0));
+		for (int var = 0; var < variables; var++)
+			if (var < fixed || live.get(rangeOf[var]))
+				for (int other = live.nextSetBit(0); other >= 0; other = live.nextSetBit(other + 1))
+					interfere(rangeOf[var], other, interferences);
+
+		for (int var = 0; var < fixed; var++)
+			for (int other = 0; other < fixed; other++)
+				interfere(rangeOf[var], rangeOf[other], interferences);
+
+		return interferences;
+	}
+
+	private BitSet liveOut(Block block, Map<Block, BitSet> liveIn) {
+		BitSet live = new BitSet();
+		for (Block follow: successors.get(block))
+			live.or(liveIn.get(follow));
+
+		return live;
+	}
+
+	/**
+	 * Computes the live ranges that are live at the beginning of the given block.
+	 *
+	 * @param block the block
+	 * @param out the live ranges that are live at the end of {@code block}
+	 * @param interferences the interference graph, that gets completed with the
+	 *                      interferences inside {@code block}. If {@code null},
+	 *                      the interferences are not computed
+	 * @return the live ranges that are live at the beginning of {@code block}
+	 */
+
+	private BitSet liveness(Block block, BitSet out, List<Set<Integer>> interferences) {
+		BitSet live = out;
+		List<Bytecode> bytecodes = code.get(block);
+		int[] positions = ranges.get(block);
+
+		for (int pos = bytecodes.size() - 1; pos >= 0; pos--) {
+			Bytecode bytecode = bytecodes.get(pos);
+
+			if (bytecode instanceof STORE) {
+				live.clear(positions[pos]);
+
+				if (interferences != null)
+					for (int other = live.nextSetBit(0); other >= 0; other = live.nextSetBit(other + 1))
+						interfere(positions[pos], other, interferences);
+			}
+			else if (bytecode instanceof LOAD)
+				live.set(positions[pos]);
+
+			if (interferences != null) {
+				pressure = Math.max(pressure, live.cardinality());
+				length += live.cardinality();
+			}
+		}
+
+		return live;
+	}
+
+	private static void interfere(int range1, int range2, List<Set<Integer>> interferences) {
+		if (range1 != range2) {
+			interferences.get(range1).add(range2);
+			interferences.get(range2).add(range1);
+		}
+	}
+
+	/**
+	 * Allocates a local variable to each live range, so that live ranges that
+	 * interfere get distinct local variables.
+	 *
+	 * @param rangeOf the live range of each definition
+	 * @param interferences the interference graph
+	 * @return the local variable of each live range
+	 */
+
+	private int[] color(int[] rangeOf, List<Set<Integer>> interferences) {
+		int[] colors = new int[liveRanges];
+
+		// the receiver and the parameters keep their local variable
+		for (int var = 0; var < fixed; var++)
+			colors[rangeOf[var]] = var;
+
+		slots = fixed;
+
+		// the live ranges that are never loaded nor stored need no local variable
+		BitSet used = new BitSet();
+		for (int[] positions: ranges.values())
+			for (int range: positions)
+				if (range >= 0)
+					used.set(range);
+
+		used.set(0, fixed);
+		allocated = used.cardinality();
+
+		for (int range = used.nextSetBit(fixed); range >= 0; range = used.nextSetBit(range + 1)) {
+			Set<Integer> forbidden = new HashSet<>();
+			for (int other: interferences.get(range))
+				if (other < range && (other < fixed || used.get(other)))
+					forbidden.add(colors[other]);
+
+			int color = 0;
+			while (forbidden.contains(color))
+				color++;
+
+			colors[range] = color;
+			slots = Math.max(slots, color + 1);
+		}
+
+		return colors;
+	}
+
+	/**
+	 * Replaces the local variables of the loads and stores with those allocated to their live range.
+	 *
+	 * @param colors the local variable of each live range
+	 */
+
+	private void rewrite(int[] colors) {
+		for (Block block: blocks) {
+			List<Bytecode> bytecodes = code.get(block);
+			int[] positions = ranges.get(block);
+			boolean changed = false;
+
+			for (int pos = 0; pos < bytecodes.size(); pos++) {
+				Bytecode bytecode = bytecodes.get(pos);
+
+				if (bytecode instanceof LOAD && colors[positions[pos]] != ((LOAD) bytecode).getVarNum()) {
+					bytecodes.set(pos, new LOAD(colors[positions[pos]], ((LOAD) bytecode).getType()));
+					changed = true;
+				}
+				else if (bytecode instanceof STORE && colors[positions[pos]] != ((STORE) bytecode).getVarNum()) {
+					bytecodes.set(pos, new STORE(colors[positions[pos]], ((STORE) bytecode).getType()));
+					changed = true;
+				}
+			}
+
+			if (changed)
+				block.setBytecode(mkList(bytecodes, 0));
+		}
+	}
+
+	private static BytecodeList mkList(List<Bytecode> code, int pos) {
+		return pos == code.size() - 1 ? new BytecodeList(code.get(pos)) : new BytecodeList(code.get(pos), mkList(code, pos + 1));
+	}
+}
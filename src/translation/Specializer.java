@@ -0,0 +1,643 @@
+package translation;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import symbol.Symbol;
+import types.BooleanType;
+import types.ClassType;
+import types.CodeSignature;
+import types.FloatType;
+import types.IntType;
+import types.MethodSignature;
+import types.Type;
+import types.TypeList;
+import bytecode.Bytecode;
+import bytecode.BytecodeList;
+import bytecode.CALL;
+import bytecode.CONST;
+import bytecode.NOP;
+import bytecode.STORE;
+import bytecode.VIRTUALCALL;
+import translation.SSAForm.Instruction;
+import translation.SSAForm.Phi;
+import translation.SSAForm.Value;
+
+/**
+ * An interprocedural propagator of the constant actual parameters of the calls.
+ * It looks at every call of the program and determines which actual parameters
+ * are {@code int}, {@code float} or {@code boolean} constants. If a method is called
+ * with distinct constants from distinct call sites, the code of the method is copied
+ * into specialized methods, one for each combination of constants, whose code begins
+ * by storing those constants into the parameters. The calls with a single dynamic
+ * target are then bound to the specialized methods. Only small methods are specialized
+ * and the combinations passed by most call sites are specialized first, up to a maximal
+ * number of copies for each method. Afterwards, if all calls to a constructor or method
+ * pass the same constant for a parameter, that constant is stored into the parameter
+ * at the beginning of the code of the callee. In both cases, the constants are then
+ * folded into the code by the intraprocedural propagation of constants.
+ *
+ * @author <A HREF="mailto:fausto.spoto@univr.it">Fausto Spoto</A>
+ */
+
+public class Specializer {
+
+	/**
+	 * True if and only if methods must be specialized for their constant parameters.
+	 */
+
+	private static boolean enabled;
+
+	/**
+	 * The maximal number of bytecodes of a specialized method.
+	 */
+
+	private static int maxSize = 60;
+
+	/**
+	 * The maximal number of specialized copies of each method.
+	 */
+
+	private final static int MAX_COPIES = 4;
+
+	/**
+	 * A marker for an actual parameter that is the same formal parameter
+	 * of the callee, passed by a recursive call.
+	 */
+
+	private final static Object SAME = new Object();
+
+	/**
+	 * The specialized methods that have been created.
+	 */
+
+	private final List<CodeSignature> copies = new ArrayList<>();
+
+	/**
+	 * The number of calls that have been bound to a specialized method.
+	 */
+
+	private int bound;
+
+	/**
+	 * The number of parameters that are the same constant for all calls.
+	 */
+
+	private int folded;
+
+	/**
+	 * Determines if methods must be specialized for their constant parameters.
+	 *
+	 * @param enabled true if and only if methods must be specialized
+	 */
+
+	public static void setEnabled(boolean enabled) {
+		Specializer.enabled = enabled;
+	}
+
+	/**
+	 * Determines if methods must be specialized for their constant parameters.
+	 *
+	 * @return true if and only if methods must be specialized
+	 */
+
+	public static boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Sets the maximal number of bytecodes of a specialized method.
+	 *
+	 * @param maxSize the maximal number of bytecodes
+	 */
+
+	public static void setMaxSize(int maxSize) {
+		if (maxSize < 1)
+			throw new IllegalArgumentException("the maximal size of specialized methods must be positive");
+
+		Specializer.maxSize = maxSize;
+	}
+
+	/**
+	 * Specializes the given constructors, methods, tests and fixtures for the constant
+	 * parameters of their calls. They must be all the code of the program, since
+	 * a constant can be propagated into a callee only if all its calls are known.
+	 * Their code gets modified.
+	 *
+	 * @param code the code of the program
+	 */
+
+	Specializer(List<CodeSignature> code) {
+		specialize(collect(code));
+
+		List<CodeSignature> all = new ArrayList<>(code);
+		all.addAll(copies);
+		fold(collect(all));
+	}
+
+	/**
+	 * Yields the specialized methods that have been created. They are not yet in the program.
+	 *
+	 * @return the specialized methods
+	 */
+
+	List<CodeSignature> getCopies() {
+		return copies;
+	}
+
+	/**
+	 * Yields the number of calls that have been bound to a specialized method.
+	 *
+	 * @return the number of calls
+	 */
+
+	int getBound() {
+		return bound;
+	}
+
+	/**
+	 * Yields the number of parameters that are the same constant for all calls.
+	 *
+	 * @return the number of parameters
+	 */
+
+	int getFolded() {
+		return folded;
+	}
+
+	/**
+	 * A call of the program.
+	 */
+
+	private static class Site {
+
+		/**
+		 * The block where the call occurs.
+		 */
+
+		private final Block block;
+
+		/**
+		 * The position of the call inside {@code block}.
+		 */
+
+		private final int position;
+
+		/**
+		 * The actual parameters of the call: their constant value,
+		 * {@link #SAME} or {@code null} if they are not constant.
+		 */
+
+		private final Object[] actuals;
+
+		private Site(Block block, int position, Object[] actuals) {
+			this.block = block;
+			this.position = position;
+			this.actuals = actuals;
+		}
+	}
+
+	/**
+	 * Collects the calls in the given code, for each of their dynamic targets.
+	 *
+	 * @param code the code
+	 * @return the calls to each dynamic target
+	 */
+
+	private static Map<CodeSignature, List<Site>> collect(List<CodeSignature> code) {
+		Map<CodeSignature, List<Site>> sites = new LinkedHashMap<>();
+
+		for (CodeSignature caller: code) {
+			SSAForm ssa;
+			try {
+				ssa = new SSAForm(caller);
+			}
+			catch (IllegalStateException e) {
+				// the code contains something we do not understand: its calls pass unknown parameters
+				ssa = null;
+			}
+
+			for (Block block: ssa != null ? ssa.getBlocks() : reachableBlocks(caller.getCode())) {
+				int pos = 0;
+				for (BytecodeList cursor = block.getBytecode(); cursor != null; cursor = cursor.getTail(), pos++)
+					if (cursor.getHead() instanceof CALL) {
+						CALL call = (CALL) cursor.getHead();
+
+						for (CodeSignature target: call.getDynamicTargets()) {
+							Object[] actuals = new Object[target.getParameters().getSize()];
+							if (ssa != null) {
+								List<Value> popped = ssa.getPopped(block, pos);
+								TypeList formals = target.getParameters();
+								for (int par = 0; par < actuals.length; par++, formals = formals.getTail())
+									actuals[par] = actual(ssa, popped.get(par + 1), formals.getHead(), caller == target ? par + 1 : -1);
+							}
+
+							List<Site> calls = sites.get(target);
+							if (calls == null)
+								sites.put(target, calls = new ArrayList<>());
+
+							calls.add(new Site(block, pos, actuals));
+						}
+					}
+			}
+		}
+
+		return sites;
+	}
+
+	/**
+	 * Yields the abstraction of an actual parameter.
+	 *
+	 * @param ssa the static single assignment form of the caller
+	 * @param value the actual parameter
+	 * @param type the type of the formal parameter
+	 * @param var the local variable of the formal parameter if the call is recursive, -1 otherwise
+	 * @return the constant value of the actual parameter, {@link #SAME} if it is
+	 *         the same formal parameter, or {@code null} if it is not constant
+	 */
+
+	private static Object actual(SSAForm ssa, Value value, Type type, int var) {
+		if (var >= 0 && ssa.find(value) == ssa.find(ssa.getInitialValue(var)))
+			return SAME;
+
+		Object constant = constant(ssa, value, new HashSet<Value>());
+
+		// nil is not propagated, nor constants that should be converted into the type of the parameter
+		if (constant == null || constant == SAME
+				|| (type == IntType.INSTANCE && !(constant instanceof Integer))
+				|| (type == FloatType.INSTANCE && !(constant instanceof Float))
+				|| (type == BooleanType.INSTANCE && !(constant instanceof Boolean)))
+			return null;
+
+		return constant;
+	}
+
+	/**
+	 * Yields the constant that the given value always stands for, if any.
+	 *
+	 * @param ssa the static single assignment form where the value occurs
+	 * @param value the value
+	 * @param seen the phi nodes met up to now
+	 * @return the constant, {@link #SAME} if the value is a phi node already met,
+	 *         or {@code null} if the value is not constant
+	 */
+
+	private static Object constant(SSAForm ssa, Value value, Set<Value> seen) {
+		value = ssa.find(value);
+
+		if (value instanceof Instruction && ((Instruction) value).bytecode instanceof CONST)
+			return ((CONST) ((Instruction) value).bytecode).getConstant();
+		else if (value instanceof Phi) {
+			// a phi node in a loop can depend on itself
+			if (!seen.add(value))
+				return SAME;
+
+			Object result = SAME;
+			for (Value operand: ((Phi) value).operands) {
+				Object constant = constant(ssa, operand, seen);
+				if (constant == null || (result != SAME && constant != SAME && !constant.equals(result)))
+					return null;
+				else if (constant != SAME)
+					result = constant;
+			}
+
+			return result;
+		}
+		else
+			return null;
+	}
+
+	/**
+	 * Creates the specialized copies of the small methods called with constant
+	 * parameters and binds their calls with a single dynamic target to them.
+	 *
+	 * @param sites the calls to each dynamic target
+	 */
+
+	private void specialize(Map<CodeSignature, List<Site>> sites) {
+		for (Map.Entry<CodeSignature, List<Site>> entry: sites.entrySet()) {
+			CodeSignature target = entry.getKey();
+			if (!(target instanceof MethodSignature) || !isSpecializable((MethodSignature) target) || size(target) > maxSize)
+				continue;
+
+			// the calls that can be bound to a copy, grouped by their constant parameters
+			Map<List<Object>, List<Site>> combinations = new LinkedHashMap<>();
+			for (Site site: entry.getValue()) {
+				Bytecode call = nth(site.block.getBytecode(), site.position);
+				if (call instanceof VIRTUALCALL && ((CALL) call).getDynamicTargets().size() == 1) {
+					List<Object> constants = new ArrayList<>();
+					boolean someConstant = false;
+					for (Object actual: site.actuals) {
+						constants.add(actual == SAME ? null : actual);
+						someConstant |= actual != null && actual != SAME;
+					}
+
+					if (someConstant) {
+						List<Site> calls = combinations.get(constants);
+						if (calls == null)
+							combinations.put(constants, calls = new ArrayList<>());
+
+						calls.add(site);
+					}
+				}
+			}
+
+			// a single combination, that no other call contradicts, is better folded into the method itself
+			if (combinations.size() == 1 && agrees(combinations.keySet().iterator().next(), entry.getValue()))
+				continue;
+
+			// the combinations passed by most calls are specialized first
+			List<Map.Entry<List<Object>, List<Site>>> ordered = new ArrayList<>(combinations.entrySet());
+			ordered.sort((c1, c2) -> c2.getValue().size() - c1.getValue().size());
+
+			for (Map.Entry<List<Object>, List<Site>> combination: ordered.subList(0, Math.min(MAX_COPIES, ordered.size()))) {
+				MethodSignature copy = copy((MethodSignature) target, combination.getKey(), entry.getValue());
+
+				for (Site site: combination.getValue()) {
+					VIRTUALCALL call = (VIRTUALCALL) nth(site.block.getBytecode(), site.position);
+					replace(site.block, site.position, new VIRTUALCALL((ClassType) call.getReceiverType(), copy));
+					bound++;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Determines if the given method can be specialized.
+	 *
+	 * @param method the method
+	 * @return true if and only if that is the case
+	 */
+
+	private static boolean isSpecializable(MethodSignature method) {
+		// the methods of the strings are implemented natively, the main method is called by the
+		// Java runtime and memo methods are kept unique, so that their calls go through their cache
+		return method.getCode() != null && method.getName() != MethodSignature.MAIN && !method.isMemo()
+			&& !method.getDefiningClass().getName().equals(runTime.String.class.getSimpleName());
+	}
+
+	/**
+	 * Determines if the given calls pass the given constants or the same
+	 * formal parameters of the callee, for the parameters that are constant.
+	 *
+	 * @param constants the constant parameters, {@code null} for those that are not constant
+	 * @param sites the calls
+	 * @return true if and only if that is the case
+	 */
+
+	private static boolean agrees(List<Object> constants, List<Site> sites) {
+		for (Site site: sites)
+			for (int par = 0; par < constants.size(); par++)
+				if (constants.get(par) != null && site.actuals[par] != SAME && !constants.get(par).equals(site.actuals[par]))
+					return false;
+
+		return true;
+	}
+
+	/**
+	 * Creates a specialized copy of the given method and adds it to its class.
+	 * The recursive calls that pass the same constant parameters are bound to the copy itself.
+	 *
+	 * @param method the method
+	 * @param constants the constant parameters of the copy, {@code null} for those that are not constant
+	 * @param sites the calls to {@code method}
+	 * @return the copy
+	 */
+
+	private MethodSignature copy(MethodSignature method, List<Object> constants, List<Site> sites) {
+		ClassType clazz = method.getDefiningClass();
+
+		// the name of the copy cannot clash with that of a Kitten method
+		Symbol name;
+		int counter = 0;
+		do {
+			name = Symbol.mk(method.getName() + "$" + counter++);
+		}
+		while (clazz.getMethods().containsKey(name));
+
+		MethodSignature copy = new MethodSignature(clazz, method.getReturnType(), method.getParameters(), name, method.getAbstractSyntax());
+		Map<Block, Block> blocks = new HashMap<>();
+		Block code = copy(method.getCode(), blocks);
+
+		for (Site site: sites) {
+			Block block = blocks.get(site.block);
+			if (block != null) {
+				Bytecode call = nth(block.getBytecode(), site.position);
+				if (call instanceof VIRTUALCALL && ((CALL) call).getDynamicTargets().size() == 1
+						&& ((CALL) call).getDynamicTargets().contains(method) && isRecursive(constants, site)) {
+					replace(block, site.position, new VIRTUALCALL((ClassType) ((CALL) call).getReceiverType(), copy));
+					bound++;
+				}
+			}
+		}
+
+		copy.setCode(prefix(code, method, constants));
+		clazz.addMethod(name, copy);
+		copies.add(copy);
+
+		return copy;
+	}
+
+	/**
+	 * Determines if the given call passes the same formal parameters of the callee,
+	 * for the parameters that are constant.
+	 *
+	 * @param constants the constant parameters, {@code null} for those that are not constant
+	 * @param site the call
+	 * @return true if and only if that is the case
+	 */
+
+	private static boolean isRecursive(List<Object> constants, Site site) {
+		for (int par = 0; par < constants.size(); par++)
+			if (constants.get(par) != null && site.actuals[par] != SAME)
+				return false;
+
+		return true;
+	}
+
+	/**
+	 * Copies the given block and those reachable from it.
+	 *
+	 * @param original the block to copy
+	 * @param copies the copies performed up to now
+	 * @return the copy of {@code original}
+	 */
+
+	private static Block copy(Block original, Map<Block, Block> copies) {
+		Block result = copies.get(original);
+		if (result != null)
+			return result;
+
+		List<Block> follows = new ArrayList<>();
+		result = new Block(original.getBytecode(), follows);
+		if (original.isRare())
+			result.markRare();
+
+		copies.put(original, result);
+
+		for (Block follow: original.getFollows())
+			follows.add(copy(follow, copies));
+
+		return result;
+	}
+
+	/**
+	 * Propagates into each constructor and method the constant parameters
+	 * that are the same for all its calls.
+	 *
+	 * @param sites the calls to each dynamic target
+	 */
+
+	private void fold(Map<CodeSignature, List<Site>> sites) {
+		for (Map.Entry<CodeSignature, List<Site>> entry: sites.entrySet()) {
+			CodeSignature target = entry.getKey();
+
+			// the copies already begin with the stores of their constant parameters
+			if (target.getCode() == null || copies.contains(target) || target.getDefiningClass().getName().equals(runTime.String.class.getSimpleName()))
+				continue;
+
+			List<Object> constants = new ArrayList<>();
+			boolean someConstant = false;
+			for (int par = 0; par < target.getParameters().getSize(); par++) {
+				Object constant = SAME;
+				for (Site site: entry.getValue()) {
+					Object actual = site.actuals[par];
+					if (actual == null || (constant != SAME && actual != SAME && !actual.equals(constant))) {
+						constant = null;
+						break;
+					}
+					else if (actual != SAME)
+						constant = actual;
+				}
+
+				if (constant == SAME)
+					constant = null;
+				else if (constant != null) {
+					someConstant = true;
+					folded++;
+				}
+
+				constants.add(constant);
+			}
+
+			if (someConstant)
+				prefix(target.getCode(), target, constants);
+		}
+	}
+
+	/**
+	 * Stores the given constants into the parameters, at the beginning of the given code.
+	 *
+	 * @param code the code
+	 * @param sig the signature of the code
+	 * @param constants the constant parameters, {@code null} for those that are not constant
+	 * @return {@code code}, modified so that it begins with the stores
+	 */
+
+	private static Block prefix(Block code, CodeSignature sig, List<Object> constants) {
+		List<Bytecode> stores = new ArrayList<>();
+		TypeList formals = sig.getParameters();
+		for (int par = 0; par < constants.size(); par++, formals = formals.getTail()) {
+			Object constant = constants.get(par);
+			if (constant instanceof Integer)
+				stores.add(new CONST((Integer) constant));
+			else if (constant instanceof Float)
+				stores.add(new CONST((Float) constant));
+			else if (constant instanceof Boolean)
+				stores.add(new CONST((Boolean) constant));
+			else
+				continue;
+
+			stores.add(new STORE(par + 1, formals.getHead()));
+		}
+
+		// the beginning of the code is moved into a new block, so that
+		// the jumps back to the beginning of the code skip the stores
+		Block entry = new Block(code.getBytecode(), code.getFollows());
+		for (Block block: reachableBlocks(code))
+			if (block.getFollows().contains(code)) {
+				List<Block> follows = new ArrayList<>();
+				for (Block follow: block.getFollows())
+					follows.add(follow == code ? entry : follow);
+
+				block.setFollows(follows);
+			}
+
+		stores.add(new NOP());
+		code.setBytecode(mkList(stores, 0));
+		List<Block> follows = new ArrayList<>();
+		follows.add(entry);
+		code.setFollows(follows);
+
+		return code;
+	}
+
+	/**
+	 * Yields the number of bytecodes of the given code.
+	 *
+	 * @param sig the signature of the code
+	 * @return the number of bytecodes
+	 */
+
+	private static int size(CodeSignature sig) {
+		int size = 0;
+		for (Block block: reachableBlocks(sig.getCode()))
+			for (BytecodeList cursor = block.getBytecode(); cursor != null; cursor = cursor.getTail())
+				size++;
+
+		return size;
+	}
+
+	/**
+	 * Replaces a bytecode of the given block.
+	 *
+	 * @param block the block
+	 * @param position the position of the bytecode inside {@code block}
+	 * @param bytecode the new bytecode
+	 */
+
+	private static void replace(Block block, int position, Bytecode bytecode) {
+		List<Bytecode> code = new ArrayList<>();
+		for (BytecodeList cursor = block.getBytecode(); cursor != null; cursor = cursor.getTail())
+			code.add(cursor.getHead());
+
+		code.set(position, bytecode);
+		block.setBytecode(mkList(code, 0));
+	}
+
+	private static Bytecode nth(BytecodeList bytecode, int position) {
+		while (position-- > 0)
+			bytecode = bytecode.getTail();
+
+		return bytecode.getHead();
+	}
+
+	private static List<Block> reachableBlocks(Block start) {
+		List<Block> blocks = new ArrayList<>();
+		Set<Block> seen = new HashSet<>();
+		Deque<Block> worklist = new ArrayDeque<>();
+		worklist.push(start);
+
+		while (!worklist.isEmpty()) {
+			Block block = worklist.pop();
+			if (seen.add(block)) {
+				blocks.add(block);
+				for (Block follow: block.getFollows())
+					worklist.push(follow);
+			}
+		}
+
+		return blocks;
+	}
+
+	private static BytecodeList mkList(List<Bytecode> code, int pos) {
+		return pos == code.size() - 1 ? new BytecodeList(code.get(pos)) : new BytecodeList(code.get(pos), mkList(code, pos + 1));
+	}
+}
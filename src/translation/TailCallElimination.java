@@ -0,0 +1,244 @@
+package translation;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import types.CodeSignature;
+import types.ComparableType;
+import types.MethodSignature;
+import types.Type;
+import types.TypeList;
+import bytecode.Bytecode;
+import bytecode.BytecodeList;
+import bytecode.CONST;
+import bytecode.IF_CMPEQ;
+import bytecode.LOAD;
+import bytecode.NOP;
+import bytecode.RETURN;
+import bytecode.STORE;
+import bytecode.VIRTUALCALL;
+import translation.SSAForm.Value;
+
+/**
+ * An eliminator of the self-recursive tail calls in the Kitten code of a method.
+ * A call is a tail call if its result is immediately returned and a self-recursive
+ * call if its only dynamic target is the method itself. Such a call becomes the
+ * store of its receiver and actual parameters into the local variables of the
+ * method, followed by a jump back to the beginning of its code, so that the
+ * recursion runs in constant stack space. Since a call on a {@code nil} receiver
+ * must stop the computation, the jump is guarded by a test of the receiver, unless
+ * it is the receiver of the method itself: if it is {@code nil}, the original call is performed.
+ *
+ * @author <A HREF="mailto:fausto.spoto@univr.it">Fausto Spoto</A>
+ */
+
+public class TailCallElimination {
+
+	/**
+	 * True if and only if self-recursive tail calls must be eliminated.
+	 */
+
+	private static boolean enabled;
+
+	/**
+	 * The number of tail calls that have been eliminated.
+	 */
+
+	private int eliminated;
+
+	/**
+	 * Determines if self-recursive tail calls must be eliminated.
+	 *
+	 * @param enabled true if and only if self-recursive tail calls must be eliminated
+	 */
+
+	public static void setEnabled(boolean enabled) {
+		TailCallElimination.enabled = enabled;
+	}
+
+	/**
+	 * Determines if self-recursive tail calls must be eliminated.
+	 *
+	 * @return true if and only if self-recursive tail calls must be eliminated
+	 */
+
+	public static boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Eliminates the self-recursive tail calls of the given
+	 * constructor, method, test or fixture. Its code gets modified.
+	 *
+	 * @param sig the signature of the code
+	 */
+
+	TailCallElimination(CodeSignature sig) {
+		// the main method is translated into a static Java method, without receiver
+		if (!(sig instanceof MethodSignature) || sig.getName() == MethodSignature.MAIN)
+			return;
+
+		SSAForm ssa;
+		try {
+			ssa = new SSAForm(sig);
+		}
+		catch (IllegalStateException e) {
+			// the code contains something we do not understand: we leave it as it is
+			return;
+		}
+
+		// the position of the tail call inside each block that contains one
+		Map<Block, Integer> calls = new LinkedHashMap<>();
+		for (Block block: ssa.getBlocks()) {
+			int pos = 0;
+			for (BytecodeList cursor = block.getBytecode(); cursor != null; cursor = cursor.getTail(), pos++)
+				if (isSelfCall(cursor.getHead(), sig) && isTail(block, cursor.getTail())
+						// the stack must contain only the receiver and the actual parameters
+						&& ssa.getStackHeight(block, pos) == sig.getParameters().getSize() + 1)
+					calls.put(block, pos);
+		}
+
+		if (calls.isEmpty())
+			return;
+
+		// the beginning of the code is moved into a new block, that becomes the target of the jumps
+		Block start = sig.getCode();
+		Block entry = new Block(start.getBytecode(), start.getFollows());
+		start.setBytecode(new BytecodeList(new NOP()));
+		start.setFollows(mkFollows(entry));
+
+		Value thisValue = ssa.find(ssa.getInitialValue(0));
+		for (Map.Entry<Block, Integer> call: calls.entrySet()) {
+			Block block = call.getKey();
+			int pos = call.getValue();
+			boolean onThis = ssa.find(ssa.getPopped(block, pos).get(0)) == thisValue;
+
+			// the code of the start block has been moved into the entry block
+			eliminate(block == start ? entry : block, pos, sig, entry, onThis);
+		}
+	}
+
+	/**
+	 * Yields the number of tail calls that have been eliminated.
+	 *
+	 * @return the number of tail calls
+	 */
+
+	int getEliminated() {
+		return eliminated;
+	}
+
+	/**
+	 * Determines if the given bytecode is a call whose only dynamic target is the given method,
+	 * on a receiver whose static type is compatible with that of the receiver of that method.
+	 *
+	 * @param bytecode the bytecode
+	 * @param sig the method
+	 * @return true if and only if that is the case
+	 */
+
+	private static boolean isSelfCall(Bytecode bytecode, CodeSignature sig) {
+		if (!(bytecode instanceof VIRTUALCALL))
+			return false;
+
+		VIRTUALCALL call = (VIRTUALCALL) bytecode;
+
+		return call.getDynamicTargets().size() == 1 && call.getDynamicTargets().contains(sig)
+			&& call.getReceiverType().canBeAssignedTo(sig.getDefiningClass());
+	}
+
+	/**
+	 * Determines if the given code, and that executed after it, only returns the result of a call.
+	 *
+	 * @param block the block where the code occurs
+	 * @param code the code that follows the call inside {@code block}
+	 * @return true if and only if the code contains only {@code nop}'s up to a {@code return}
+	 */
+
+	private static boolean isTail(Block block, BytecodeList code) {
+		Set<Block> seen = new HashSet<>();
+
+		while (true) {
+			for (BytecodeList cursor = code; cursor != null; cursor = cursor.getTail())
+				if (cursor.getHead() instanceof RETURN)
+					return true;
+				else if (!(cursor.getHead() instanceof NOP))
+					return false;
+
+			// a cycle of empty blocks is never a tail
+			if (block.getFollows().size() != 1 || !seen.add(block))
+				return false;
+
+			block = block.getFollows().get(0);
+			code = block.getBytecode();
+		}
+	}
+
+	/**
+	 * Replaces a tail call with the store of its receiver and actual
+	 * parameters into the local variables and with a jump back to the entry block.
+	 *
+	 * @param block the block where the call occurs
+	 * @param pos the position of the call inside {@code block}
+	 * @param sig the method where the call occurs
+	 * @param entry the entry block of the method
+	 * @param onThis true if and only if the receiver of the call is that of the method
+	 */
+
+	private void eliminate(Block block, int pos, CodeSignature sig, Block entry, boolean onThis) {
+		List<Bytecode> code = new ArrayList<>();
+		BytecodeList cursor = block.getBytecode();
+		for (int index = 0; index < pos; index++, cursor = cursor.getTail())
+			code.add(cursor.getHead());
+
+		VIRTUALCALL call = (VIRTUALCALL) cursor.getHead();
+		Type receiverType = call.getReceiverType();
+		List<Type> parameters = new ArrayList<>();
+		for (TypeList types = sig.getParameters(); types != TypeList.EMPTY; types = types.pop(types.getHead()))
+			parameters.add(types.getHead());
+
+		// the actual parameters and the receiver are moved from the stack into the local variables
+		for (int var = parameters.size(); var > 0; var--)
+			code.add(new STORE(var, parameters.get(var - 1)));
+		code.add(new STORE(0, receiverType));
+
+		if (onThis) {
+			block.setBytecode(mkList(code, 0));
+			block.setFollows(mkFollows(entry));
+		}
+		else {
+			code.add(new LOAD(0, receiverType));
+			code.add(new CONST());
+			block.setBytecode(mkList(code, 0));
+
+			// if the receiver is nil, the original call stops the computation
+			code.clear();
+			code.add(new LOAD(0, receiverType));
+			for (int var = 1; var <= parameters.size(); var++)
+				code.add(new LOAD(var, parameters.get(var - 1)));
+			for (; cursor != null; cursor = cursor.getTail())
+				code.add(cursor.getHead());
+
+			Block nil = new Block(mkList(code, 0), block.getFollows());
+			nil.markRare();
+			Block nonNil = new Block(new BytecodeList(new NOP()), mkFollows(entry));
+			block.setFollows(mkFollows(new Block(new IF_CMPEQ((ComparableType) receiverType), nil, nonNil)));
+		}
+
+		eliminated++;
+	}
+
+	private static BytecodeList mkList(List<Bytecode> code, int pos) {
+		return pos == code.size() - 1 ? new BytecodeList(code.get(pos)) : new BytecodeList(code.get(pos), mkList(code, pos + 1));
+	}
+
+	private static List<Block> mkFollows(Block follow) {
+		List<Block> follows = new ArrayList<>();
+		follows.add(follow);
+		return follows;
+	}
+}
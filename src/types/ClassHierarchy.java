@@ -0,0 +1,218 @@
+package types;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * An index of the hierarchy of the class types, rooted at {@code Object}.
+ * Classes are numbered in pre-order, and each class records the last number
+ * in its subtree. Hence a class is a subclass of another if and only if its
+ * number lies in the interval of the other, which is checked in constant time,
+ * and the instances of a class are a contiguous range of the pre-order.
+ * Since class types are created lazily, the classes that join the hierarchy
+ * after it has been numbered are not numbered, and the checks that involve
+ * them walk their chain of superclasses. The hierarchy is numbered again only
+ * when those classes outnumber the numbered ones, so that the cost of the
+ * numbering remains linear in the number of classes, and once type-checking
+ * has loaded all classes.
+ *
+ * @author <A HREF="mailto:fausto.spoto@univr.it">Fausto Spoto</A>
+ */
+
+final class ClassHierarchy {
+
+	/**
+	 * The version of the hierarchy. It is incremented whenever a class
+	 * joins the hierarchy.
+	 */
+
+	private static volatile int version = 1;
+
+	/**
+	 * The current numbering of the hierarchy. It is incremented whenever
+	 * the hierarchy is numbered, and it is 0 before the first numbering.
+	 */
+
+	private static volatile int numbering;
+
+	/**
+	 * The number of classes that have joined the hierarchy since its last numbering.
+	 */
+
+	private static volatile int unnumbered;
+
+	/**
+	 * The numbered classes, in pre-order.
+	 */
+
+	private static volatile ClassType[] preorder = new ClassType[0];
+
+	private ClassHierarchy() {}
+
+	/**
+	 * Takes note that the given class has joined the hierarchy,
+	 * below its superclass. The class is not numbered yet.
+	 *
+	 * @param clazz the class
+	 */
+
+	static synchronized void add(ClassType clazz) {
+		version++;
+		unnumbered++;
+	}
+
+	/**
+	 * Numbers the classes that have joined the hierarchy since its last numbering, if any.
+	 * This is called once type-checking has loaded all classes, so that all later
+	 * checks are performed in constant time.
+	 */
+
+	static synchronized void freeze() {
+		if (unnumbered > 0)
+			number();
+	}
+
+	/**
+	 * Yields the current version of the hierarchy. It changes whenever
+	 * a class joins the hierarchy, hence it can be used to invalidate caches.
+	 *
+	 * @return the version
+	 */
+
+	static int getVersion() {
+		return version;
+	}
+
+	/**
+	 * Determines if the given class is numbered in the current numbering of the
+	 * hierarchy. The hierarchy is numbered again if the classes that have joined it
+	 * since its last numbering are more than the numbered ones. Classes in construction,
+	 * or whose chain of superclasses does not reach {@code Object}, are not numbered.
+	 *
+	 * @param clazz the class
+	 * @return true if and only if {@code clazz} is numbered
+	 */
+
+	private static boolean isNumbered(ClassType clazz) {
+		if (unnumbered > preorder.length)
+			synchronized (ClassHierarchy.class) {
+				if (unnumbered > preorder.length)
+					number();
+			}
+
+		return clazz.numbering == numbering;
+	}
+
+	/**
+	 * Numbers all classes reachable from {@code Object} through the
+	 * subclass relation, in pre-order. The visit uses an explicit stack,
+	 * so that deep hierarchies do not exhaust the Java stack.
+	 */
+
+	private static void number() {
+		List<ClassType> order = new ArrayList<>();
+		ClassType object = Type.getObjectType();
+		int numbering = ClassHierarchy.numbering + 1;
+
+		if (object != null) {
+			List<ClassType> stack = new ArrayList<>();
+			List<Iterator<ClassType>> children = new ArrayList<>();
+
+			visit(object, numbering, order, stack, children);
+
+			while (!stack.isEmpty()) {
+				int top = stack.size() - 1;
+				Iterator<ClassType> it = children.get(top);
+
+				if (it.hasNext()) {
+					ClassType sub = it.next();
+
+					// a class that has been already numbered in this
+					// numbering belongs to a cycle of superclasses
+					if (sub.numbering != numbering)
+						visit(sub, numbering, order, stack, children);
+				}
+				else {
+					// the subtree of the top class has been fully numbered
+					stack.remove(top).lastInSubtree = order.size() - 1;
+					children.remove(top);
+				}
+			}
+		}
+
+		// the numbering is published only once all classes have been numbered
+		preorder = order.toArray(new ClassType[order.size()]);
+		unnumbered = 0;
+		ClassHierarchy.numbering = numbering;
+	}
+
+	private static void visit(ClassType clazz, int numbering, List<ClassType> order, List<ClassType> stack, List<Iterator<ClassType>> children) {
+		clazz.preorderNumber = order.size();
+		clazz.numbering = numbering;
+		order.add(clazz);
+		stack.add(clazz);
+		children.add(clazz.getSubclasses().iterator());
+	}
+
+	/**
+	 * Determines if a class is a (non-necessarily strict) subclass of another.
+	 *
+	 * @param sub the first class
+	 * @param sup the second class
+	 * @return true if and only if {@code sub} is a subclass of {@code sup}
+	 */
+
+	static boolean subclass(ClassType sub, ClassType sup) {
+		if (sub == sup)
+			return true;
+
+		// the interval of sup contains sub
+		if (isNumbered(sub) && isNumbered(sup))
+			return sup.preorderNumber <= sub.preorderNumber && sub.preorderNumber <= sup.lastInSubtree;
+
+		// classes not numbered yet: we walk the chain of superclasses
+		for (ClassType cursor = sub.getSuperclass(); cursor != null; cursor = cursor.getSuperclass())
+			if (cursor == sup)
+				return true;
+
+		return false;
+	}
+
+	/**
+	 * Yields the least common superclass of two classes, if any.
+	 * It walks up the superclasses of the first class,
+	 * checking each in constant time.
+	 *
+	 * @param first the first class
+	 * @param second the second class
+	 * @return the least common superclass, or {@code null} if there is none
+	 */
+
+	static ClassType leastCommonSuperclass(ClassType first, ClassType second) {
+		for (ClassType cursor = first; cursor != null; cursor = cursor.getSuperclass())
+			if (subclass(second, cursor))
+				return cursor;
+
+		return null;
+	}
+
+	/**
+	 * Yields the (non-necessarily strict) subclasses of a class,
+	 * if all classes are numbered.
+	 *
+	 * @param clazz the class
+	 * @return the subclasses of {@code clazz}, in pre-order, starting with {@code clazz}
+	 *         itself, or {@code null} if {@code clazz} or some class is not numbered
+	 */
+
+	static List<ClassType> getInstances(ClassType clazz) {
+		// a class that is not numbered might be a subclass of clazz
+		if (!isNumbered(clazz) || unnumbered > 0)
+			return null;
+
+		return Collections.unmodifiableList(Arrays.asList(preorder).subList(clazz.preorderNumber, clazz.lastInSubtree + 1));
+	}
+}
@@ -4,14 +4,16 @@ import java.io.FileWriter;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
-import lexical.Lexer;
-import syntactical.Parser;
+import lexical.Sources;
+import symbol.Symbol;
 import translation.Program;
 import absyn.ClassDefinition;
 import errorMsg.ErrorMsg;
@@ -48,11 +50,40 @@ public final class ClassType extends ReferenceType {
 
 	private List<ClassType> instances;
 
+	/**
+	 * The version of the class hierarchy when {@link #instances} has been computed.
+	 * Instances must be recomputed when new classes join the hierarchy.
+	 */
+
+	private int instancesVersion;
+
+	/**
+	 * The number of this class in the pre-order visit of the class hierarchy.
+	 * This is meaningful only if {@link #numbering} is the current
+	 * numbering of the hierarchy. It is maintained by {@link ClassHierarchy}.
+	 */
+
+	int preorderNumber;
+
+	/**
+	 * The largest pre-order number of a subclass of this class.
+	 * It is maintained by {@link ClassHierarchy}.
+	 */
+
+	int lastInSubtree;
+
+	/**
+	 * The numbering of the class hierarchy where this class has been numbered.
+	 * It is maintained by {@link ClassHierarchy}.
+	 */
+
+	int numbering;
+
 	/**
 	 * A map from field symbols to their signature.
 	 */
 
-	private final Map<String, FieldSignature> fields = new HashMap<>();
+	private final Map<Symbol, FieldSignature> fields = new HashMap<>();
 
 	/**
 	 * The set of constructor signatures in this class.
@@ -60,7 +91,7 @@ public final class ClassType extends ReferenceType {
 
 	private final Set<ConstructorSignature> constructors = new HashSet<>();
 
-	private final Map<String, TestSignature> tests = new HashMap<>();
+	private final Map<Symbol, TestSignature> tests = new LinkedHashMap<>();
 	
 	private final Set<FixtureSignature> fixtures = new HashSet<>();
 	/**
@@ -68,7 +99,38 @@ public final class ClassType extends ReferenceType {
 	 * that name. Because of overloading, more than one method might have a given name.
 	 */
 
-	private final Map<String, Set<MethodSignature>> methods = new HashMap<>();
+	private final Map<Symbol, Set<MethodSignature>> methods = new HashMap<>();
+
+	/**
+	 * A map from field symbols to the signature of the field with that name,
+	 * defined in this class or inherited from its superclasses. This is a
+	 * cache for {@link #fieldLookup(Symbol)}, computed at its first use.
+	 */
+
+	private Map<Symbol, FieldSignature> allFields;
+
+	/**
+	 * A map from method symbols to the signatures of the methods with that name,
+	 * defined in this class or inherited and not overridden. This is a cache,
+	 * filled on demand for each name.
+	 */
+
+	private final Map<Symbol, Set<MethodSignature>> visibleMethods = new HashMap<>();
+
+	/**
+	 * A map from method symbols and types of actual parameters to the result
+	 * of {@link #methodsLookup(Symbol, TypeList)}. Since type lists are
+	 * hash-consed, each distinct shape of call is resolved only once.
+	 */
+
+	private final Map<Symbol, Map<TypeList, Set<MethodSignature>>> resolvedMethods = new HashMap<>();
+
+	/**
+	 * A map from types of actual parameters to the result of
+	 * {@link #constructorsLookup(TypeList)}.
+	 */
+
+	private final Map<TypeList, Set<ConstructorSignature>> resolvedConstructors = new HashMap<>();
 
 	/**
 	 * The utility for issuing errors about this class.
@@ -106,24 +168,16 @@ public final class ClassType extends ReferenceType {
 		// we record this object for future lookup
 		memory.put(name, this);
 	
-		// we perform lexical and syntactical analysis. The result is
-		// the abstract syntax of this class definition
-		ClassDefinition abstractSyntax;
+		// we perform lexical and syntactical analysis, unless it has been already
+		// performed in parallel. The result is the abstract syntax of this class definition
+		ParsedClass parsed = preparsed.remove(name);
+		if (parsed == null)
+			parsed = new ParsedClass(name);
 
-		try {
-			Parser parser = new Parser(new Lexer(name));
-			errorMsg = parser.getErrorMsg();
-			abstractSyntax = (ClassDefinition) parser.parse().value;
-		}
-		catch (Exception e) {
-			// there is a syntax error in the class text or the same class
-			// cannot be found on the file system or cannot be type-checked:
-			// we build a fictitious syntax for the class, so that the processing can go on
-			if (name.equals("Object"))
-				abstractSyntax = new ClassDefinition(0, name, null, null);
-			else
-				abstractSyntax = new ClassDefinition(0, name, "Object", null);
-		}
+		// the diagnostics of the parsing are reported in the order in which the classes are built
+		parsed.reportDiagnostics();
+		errorMsg = parsed.getErrorMsg();
+		ClassDefinition abstractSyntax = parsed.getAbstractSyntax();
 
 		// we add the fields, constructors and methods of this class
 		(this.abstractSyntax = abstractSyntax).addMembersTo(this);
@@ -136,7 +190,10 @@ public final class ClassType extends ReferenceType {
 		else
 			// if this is not Object, we also create its superclass and take
 			// note that we are a direct subclass of our superclass
-			(superclass = mk(abstractSyntax.getSuperclassName())).subclasses.add(this);
+			(superclass = mk(abstractSyntax.getSuperclassName().toString())).subclasses.add(this);
+
+		// we take note that the hierarchy of classes has changed
+		ClassHierarchy.add(this);
 	}
 
 	/**
@@ -197,7 +254,7 @@ public final class ClassType extends ReferenceType {
 	 */
 
 	public boolean subclass(ClassType other) {
-		return this == other || (superclass != null && superclass.subclass(other));
+		return ClassHierarchy.subclass(this, other);
 	}
 
 	/**
@@ -225,9 +282,7 @@ public final class ClassType extends ReferenceType {
 			return getObjectType();
 		else if (other instanceof ClassType)
 			// we look in our superclasses for a superclass of other
-			for (ClassType cursor = this; ; cursor = cursor.superclass)
-				if (other.canBeAssignedTo(cursor))
-					return cursor;
+			return ClassHierarchy.leastCommonSuperclass(this, (ClassType) other);
 
 		// the supertype of a class type and null or an unused type is the class itself,
 		// otherwise, there is no common supertype
@@ -244,19 +299,27 @@ public final class ClassType extends ReferenceType {
 	 */
 
 	public final List<ClassType> getInstances() {
-		// we first check to see if we already computed the set of instances of this class
-		if (instances != null)
+		// we first check to see if we already computed the set of instances of this
+		// class, after the last time a class joined the hierarchy
+		if (instances != null && instancesVersion == ClassHierarchy.getVersion())
 			return instances;
 
-		// we add this class itself
-		List<ClassType> result = new ArrayList<>();
-		result.add(this);
+		// they are a contiguous range of the numbering of the hierarchy
+		List<ClassType> result = ClassHierarchy.getInstances(this);
 
-		// we add the instances of our subclasses
-		for (ClassType sub: subclasses)
-			result.addAll(sub.getInstances());
+		if (result == null) {
+			// this class is not in the hierarchy rooted at Object:
+			// we add this class itself
+			result = new ArrayList<>();
+			result.add(this);
+
+			// we add the instances of our subclasses
+			for (ClassType sub: subclasses)
+				result.addAll(sub.getInstances());
+		}
 
 		// we take note of the set of instances, so that we do not recompute it next time
+		instancesVersion = ClassHierarchy.getVersion();
 		return instances = result;
 	}
 
@@ -268,8 +331,11 @@ public final class ClassType extends ReferenceType {
 	 * @param sig the signature of the field
 	 */
 
-	public void addField(String name, FieldSignature sig) {
+	public void addField(Symbol name, FieldSignature sig) {
 		fields.put(name,sig);
+
+		// the field is inherited by the subclasses
+		forgetFields();
 	}
 
 	/**
@@ -281,9 +347,12 @@ public final class ClassType extends ReferenceType {
 
 	public final void addConstructor(ConstructorSignature sig) {
 		constructors.add(sig);
+
+		// constructors are not inherited, hence only the lookups in this class change
+		resolvedConstructors.clear();
 	}
 	
-	public final void addTest(String name, TestSignature sig, int pos) {
+	public final void addTest(Symbol name, TestSignature sig, int pos) {
 		if(tests.containsKey(name))
 			errorMsg.error( pos ,"test " + name +" already declared");
 		tests.put(name, sig);
@@ -301,7 +370,7 @@ public final class ClassType extends ReferenceType {
 	 * @param sig the signature of the method
 	 */
 
-	public final void addMethod(String name, MethodSignature sig) {
+	public final void addMethod(Symbol name, MethodSignature sig) {
 		// we read all methods, in this class, with the given name
 		Set<MethodSignature> set = methods.get(name);
 		if (set == null)
@@ -309,6 +378,38 @@ public final class ClassType extends ReferenceType {
 
 		// we add this new method
 		set.add(sig);
+
+		// methods are added after type-checking as well, for instance by the
+		// optimizations: the lookups of methods with that name are outdated
+		forgetMethods(name);
+	}
+
+	/**
+	 * Forgets the cached fields of this class and of its subclasses.
+	 */
+
+	private void forgetFields() {
+		if (allFields != null) {
+			allFields = null;
+
+			for (ClassType subclass: subclasses)
+				subclass.forgetFields();
+		}
+	}
+
+	/**
+	 * Forgets the cached lookups of the methods with the given name,
+	 * in this class and in its subclasses.
+	 *
+	 * @param name the name of the methods
+	 */
+
+	private void forgetMethods(Symbol name) {
+		resolvedMethods.remove(name);
+
+		if (visibleMethods.remove(name) != null)
+			for (ClassType subclass: subclasses)
+				subclass.forgetMethods(name);
 	}
 
 	/**
@@ -317,7 +418,7 @@ public final class ClassType extends ReferenceType {
 	 * @return the fields
 	 */
 
-	public Map<String, FieldSignature> getFields() {
+	public Map<Symbol, FieldSignature> getFields() {
 		return fields;
 	}
 
@@ -331,7 +432,7 @@ public final class ClassType extends ReferenceType {
 		return constructors;
 	}
 	
-	public Map<String, TestSignature> getTests() {
+	public Map<Symbol, TestSignature> getTests() {
 		return tests;
 	}
 	
@@ -345,7 +446,7 @@ public final class ClassType extends ReferenceType {
 	 * @return the methods
 	 */
 
-	public Map<String, Set<MethodSignature>> getMethods() {
+	public Map<Symbol, Set<MethodSignature>> getMethods() {
 		return methods;
 	}
 
@@ -359,15 +460,30 @@ public final class ClassType extends ReferenceType {
 	 *         such field has been found
 	 */
 
-	public final FieldSignature fieldLookup(String name) {
-		FieldSignature result;
+	public final FieldSignature fieldLookup(Symbol name) {
+		return getAllFields().get(name);
+	}
 
-		// we first look in this signature
-		if ((result = fields.get(name)) != null)
-			return result;
+	/**
+	 * Yields the fields defined in this class or inherited from its superclasses.
+	 * They are flattened at their first lookup, and again only if a field is added later.
+	 *
+	 * @return a map from field symbols to their signature
+	 */
+
+	private Map<Symbol, FieldSignature> getAllFields() {
+		if (allFields == null) {
+			Map<Symbol, FieldSignature> result = new HashMap<>();
+
+			// the fields of this class hide those of the superclasses
+			if (superclass != null)
+				result.putAll(superclass.getAllFields());
 
-		// otherwise we look in the signature of the superclass
-		return superclass == null ? null : superclass.fieldLookup(name);
+			result.putAll(fields);
+			allFields = result;
+		}
+
+		return allFields;
 	}
 
 	/**
@@ -383,9 +499,14 @@ public final class ClassType extends ReferenceType {
 	 */
 
 	public final Set<ConstructorSignature> constructorsLookup(TypeList formals) {
+		Set<ConstructorSignature> result = resolvedConstructors.get(formals);
+
 		// we return the most specific constructors amongst those available
 		// for this class and whose formal parameters are compatible with formals
-		return mostSpecific(constructors, formals);
+		if (result == null)
+			resolvedConstructors.put(formals, result = Collections.unmodifiableSet(mostSpecific(constructors, formals)));
+
+		return result;
 	}
 
 	/**
@@ -409,7 +530,7 @@ public final class ClassType extends ReferenceType {
 		return null;
 	}
 	
-	public TestSignature testLookup(String name) {
+	public TestSignature testLookup(Symbol name) {
 		return tests.get(name);
 	}
 
@@ -424,18 +545,17 @@ public final class ClassType extends ReferenceType {
 	 *         such method has been found
 	 */
 
-	public final MethodSignature methodLookup(String name, TypeList formals) {
-		// we check all methods in this signature having the given name
-		Set<MethodSignature> candidates = methods.get(name);
-		if (candidates != null)
-			for (MethodSignature method: candidates)
-				// we check if they have the same parameters types
-				if (method.getParameters().equals(formals))
-					// found!
-					return method;
+	public final MethodSignature methodLookup(Symbol name, TypeList formals) {
+		// we check all methods visible in this class having the given name.
+		// Those with the same parameters as an inherited method override it
+		for (MethodSignature method: visibleMethods(name))
+			// we check if they have the same parameters types
+			if (method.getParameters().equals(formals))
+				// found!
+				return method;
 
-		// otherwise, we look up in the superclass, if any
-		return superclass == null ? null : superclass.methodLookup(name, formals);
+		// otherwise, we return <tt>null</tt>
+		return null;
 	}
 
 	/**
@@ -452,42 +572,70 @@ public final class ClassType extends ReferenceType {
 	 *         Returns an empty set if no method has been found
 	 */
 
-	public final Set<MethodSignature> methodsLookup(String name, TypeList formals) {
-		// the set of candidates is initially the set of all methods
-		// called name and defined in this class
-		Set<MethodSignature> candidates = methods.get(name);
-		if (candidates == null) candidates = new HashSet<>();
+	public final Set<MethodSignature> methodsLookup(Symbol name, TypeList formals) {
+		Map<TypeList, Set<MethodSignature>> resolved = resolvedMethods.get(name);
+		if (resolved == null)
+			resolvedMethods.put(name, resolved = new HashMap<>());
 
-		if (superclass != null) {
-			// if this class extends another class, we consider all possible
-			// candidate targets in the superclass, so that we allow method inheritance
-			Set<MethodSignature> superCandidates = superclass.methodsLookup(name,formals);
+		Set<MethodSignature> result = resolved.get(formals);
 
-			// we remove from the inherited candidates those which are
-			// redefined in this class, in order to model method overriding
-			Set<MethodSignature> toBeRemoved = new HashSet<>();
+		// we return the most specific methods amongst those called name
+		// and whose formal parameters are compatible with formals
+		if (result == null)
+			resolved.put(formals, result = Collections.unmodifiableSet(mostSpecific(visibleMethods(name), formals)));
 
-			TypeList sigFormals, sig2Formals;
-			for (MethodSignature sig: superCandidates) {
-				sigFormals = sig.getParameters();
+		return result;
+	}
 
-				for (MethodSignature sig2: candidates) {
-					sig2Formals = sig2.getParameters();
+	/**
+	 * Yields the signatures of the methods with the given name that are visible
+	 * in this class, that is, that are defined in this class or inherited from
+	 * a superclass and not overridden in this class.
+	 *
+	 * @param name the name of the methods
+	 * @return the signatures of the methods. This set must not be modified
+	 */
 
-					if (sigFormals.equals(sig2Formals))
-						toBeRemoved.add(sig);
-				}
-			}
+	private Set<MethodSignature> visibleMethods(Symbol name) {
+		Set<MethodSignature> result = visibleMethods.get(name);
+		if (result != null)
+			return result;
 
-			superCandidates.removeAll(toBeRemoved);
+		// the set of methods is initially the set of all methods
+		// called name and defined in this class
+		Set<MethodSignature> own = methods.get(name);
+		result = own != null ? new HashSet<>(own) : new HashSet<MethodSignature>();
 
-			// we add the inherited and not overridden candidates
-			candidates.addAll(superCandidates);
-		}
+		if (superclass != null)
+			// if this class extends another class, we consider all methods
+			// visible in the superclass, so that we allow method inheritance,
+			// but not those which are redefined in this class, in order to model
+			// method overriding
+			for (MethodSignature inherited: superclass.visibleMethods(name))
+				if (!overrides(own, inherited))
+					result.add(inherited);
 
-		// we return the most specific methods amongst those called name
-		// and whose formal parameters are compatible with formals
-		return mostSpecific(candidates, formals);
+		visibleMethods.put(name, result = Collections.unmodifiableSet(result));
+
+		return result;
+	}
+
+	/**
+	 * Determines if one of the given methods overrides another method, that is,
+	 * has its same parameters types.
+	 *
+	 * @param methods the methods, possibly {@code null}
+	 * @param method the method that might be overridden
+	 * @return true if and only if some of {@code methods} overrides {@code method}
+	 */
+
+	private static boolean overrides(Set<MethodSignature> methods, MethodSignature method) {
+		if (methods != null)
+			for (MethodSignature overriding: methods)
+				if (overriding.getParameters().equals(method.getParameters()))
+					return true;
+
+		return false;
 	}
 
 	/**
@@ -546,6 +694,61 @@ public final class ClassType extends ReferenceType {
 
 	private final static Map<String, ClassType> memory = new HashMap<>();
 
+	/**
+	 * The result of the parsing of the classes that have been parsed in
+	 * parallel but for which no class type has been built yet.
+	 */
+
+	private final static Map<String, ParsedClass> preparsed = new HashMap<>();
+
+	/**
+	 * The number of threads used to parse the classes. If this is 1,
+	 * classes are parsed sequentially, only when their class type is built.
+	 */
+
+	private static int parsingThreads = 1;
+
+	/**
+	 * Sets the number of threads used to parse a class and all the classes
+	 * it references, before they get type-checked by {@link #mkFromFileName(String)}.
+	 *
+	 * @param threads the number of threads. If this is 1, classes are parsed sequentially
+	 */
+
+	public static void setParsingThreads(int threads) {
+		if (threads < 1)
+			throw new IllegalArgumentException("the number of parsing threads must be positive");
+
+		parsingThreads = threads;
+	}
+
+	/**
+	 * Parses, in parallel, the class with the given name and all classes
+	 * transitively referenced from it. Their class types are built later,
+	 * sequentially, as it happens when they are not parsed in parallel.
+	 *
+	 * @param name the name of the class
+	 */
+
+	private static void parseInParallel(String name) {
+		ParallelParser parser = new ParallelParser(parsingThreads);
+
+		try {
+			parser.parseAll(name);
+		}
+		catch (InterruptedException e) {
+			// the classes that have not been parsed yet will be parsed sequentially
+			Thread.currentThread().interrupt();
+		}
+		finally {
+			parser.shutdown();
+		}
+
+		for (Map.Entry<String, ParsedClass> entry: parser.getParsedClasses().entrySet())
+			if (!memory.containsKey(entry.getKey()))
+				preparsed.put(entry.getKey(), entry.getValue());
+	}
+
 	/**
 	 * Yields a class type with the given name. If a class type object named
 	 * <tt>name</tt> already exists, that object is returned. Otherwise, if a
@@ -586,13 +789,37 @@ public final class ClassType extends ReferenceType {
 		if (fileName.endsWith(".kit"))
 			fileName = fileName.substring(0, fileName.length() - 4);
 
+		if (parsingThreads > 1 && !memory.containsKey(fileName))
+			parseInParallel(fileName);
+
 		ClassType result = mk(fileName);
 
 		result.typeCheck();
 
+		// type-checking has loaded all classes, hence the hierarchy can be fully numbered
+		ClassHierarchy.freeze();
+
 		return result;
 	}
 
+	/**
+	 * Yields a type-checked class type for the class with the given name,
+	 * whose source, as well as that of other classes, is provided in memory.
+	 * The classes whose source is not provided are read from the file system.
+	 *
+	 * @param className the name of the class, without the <tt>.kit</tt> termination
+	 * @param sources a map from class names to their source
+	 * @return the unique Kitten class type object for the (type-checked)
+	 *         class with the given name
+	 */
+
+	public static ClassType mkFromSources(String className, Map<String, ? extends CharSequence> sources) {
+		for (Map.Entry<String, ? extends CharSequence> entry: sources.entrySet())
+			Sources.put(entry.getKey(), entry.getValue());
+
+		return mkFromFileName(className);
+	}
+
 	/**
 	 * Yields {@code ClassType}'s that have been created so far.
 	 *
@@ -4,6 +4,7 @@ import javaBytecodeGenerator.JavaClassGenerator;
 
 import org.apache.bcel.generic.InvokeInstruction;
 
+import symbol.Symbol;
 import translation.Block;
 import absyn.CodeDeclaration;
 
@@ -19,7 +20,7 @@ public abstract class CodeSignature extends ClassMemberSignature {
      * The name of this code object.
      */
 
-    private final String name;
+    private final Symbol name;
 
     /**
      * The return type of this code object.
@@ -33,6 +34,13 @@ public abstract class CodeSignature extends ClassMemberSignature {
 
     private final TypeList parameters;
 
+    /**
+     * The hash code of this code object. It is computed only once, since
+     * signatures are frequently put into sets and maps.
+     */
+
+    private final int hashCode;
+
     /**
      * The intermediate Kitten code for this constructor or method.
      * This is {@code null} if this constructor or method has not been
@@ -52,18 +60,22 @@ public abstract class CodeSignature extends ClassMemberSignature {
      */
 
     protected CodeSignature(ClassType clazz, Type returnType, TypeList parameters,
-    		String name, CodeDeclaration abstractSyntax) {
+    		Symbol name, CodeDeclaration abstractSyntax) {
 
     	super(clazz,abstractSyntax);
 
     	this.parameters = parameters;
     	this.name = name;
     	this.returnType = returnType;
+    	this.hashCode = clazz.hashCode()
+    		+ name.hashCode() + parameters.hashCode() + returnType.hashCode();
     }
 
     @Override
     public boolean equals(Object other) {
-    	if (getClass() == other.getClass()) {
+    	if (this == other)
+    		return true;
+    	else if (getClass() == other.getClass()) {
     		CodeSignature otherM = (CodeSignature) other;
 
     		return otherM.getDefiningClass() == getDefiningClass() &&
@@ -77,8 +89,7 @@ public abstract class CodeSignature extends ClassMemberSignature {
 
     @Override
     public int hashCode() {
-    	return getDefiningClass().hashCode()
-   			+ name.hashCode() + parameters.hashCode() + returnType.hashCode();
+    	return hashCode;
     }
 
     @Override
@@ -113,7 +124,7 @@ public abstract class CodeSignature extends ClassMemberSignature {
      * @return the name of this code object
      */
 
-    public String getName() {
+    public Symbol getName() {
     	return name;
     }
 
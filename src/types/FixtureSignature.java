@@ -7,6 +7,7 @@ import org.apache.bcel.generic.INVOKESTATIC;
 import org.apache.bcel.generic.MethodGen;
 
 import absyn.CodeDeclaration;
+import symbol.Symbol;
 import translation.Block;
 
 public class FixtureSignature extends CodeSignature {
@@ -16,7 +17,7 @@ public class FixtureSignature extends CodeSignature {
 	private final int fixtureNum;
 
 	public FixtureSignature(ClassType clazz, CodeDeclaration abstractSyntax) {
-		super(clazz, VoidType.INSTANCE, TypeList.EMPTY, "", abstractSyntax);
+		super(clazz, VoidType.INSTANCE, TypeList.EMPTY, Symbol.mk(""), abstractSyntax);
 		
 		fixtureNum = ++FIXTURE_NUMBER;
 	}
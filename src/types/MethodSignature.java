@@ -1,12 +1,15 @@
 package types;
 
 import javaBytecodeGenerator.JavaClassGenerator;
+import javaBytecodeGenerator.Memoizer;
 
 import org.apache.bcel.Constants;
 import org.apache.bcel.generic.INVOKEVIRTUAL;
+import org.apache.bcel.generic.InstructionList;
 import org.apache.bcel.generic.MethodGen;
 
 import absyn.MethodDeclaration;
+import symbol.Symbol;
 import translation.Block;
 
 /**
@@ -17,6 +20,12 @@ import translation.Block;
 
 public class MethodSignature extends CodeSignature {
 
+	/**
+	 * The name of the method that starts the execution of a program.
+	 */
+
+	public final static Symbol MAIN = Symbol.mk("main");
+
 	/**
 	 * Constructs the signature of a method with the given name, return type
 	 * and parameters types.
@@ -29,11 +38,33 @@ public class MethodSignature extends CodeSignature {
 	 */
 
 	public MethodSignature(ClassType clazz, Type returnType,
-		TypeList parameters, String name, MethodDeclaration abstractSyntax) {
+		TypeList parameters, Symbol name, MethodDeclaration abstractSyntax) {
 
 		super(clazz, returnType, parameters, name, abstractSyntax);
 	}
 
+	/**
+	 * Yields the abstract syntax of this method declaration.
+	 *
+	 * @return the abstract syntax of this method declaration
+	 */
+
+	@Override
+	public MethodDeclaration getAbstractSyntax() {
+		return (MethodDeclaration) super.getAbstractSyntax();
+	}
+
+	/**
+	 * Determines if this method has been declared as {@code memo}, so that
+	 * its results are cached.
+	 *
+	 * @return true if and only if this method has been declared as {@code memo}
+	 */
+
+	public boolean isMemo() {
+		return getAbstractSyntax().isMemo();
+	}
+
 	/**
 	 * Generates an {@code invokevirtual} Java bytecode that calls this
 	 * method. The Java {@code invokevirtual} bytecode calls a method by using
@@ -52,11 +83,19 @@ public class MethodSignature extends CodeSignature {
 	 * Adds the the given class generator a Java bytecode method for this method.
 	 *
 	 * @param classGen the generator of the class where the method lives
+	 * @param isFinal true if and only if the method must be generated as {@code final},
+	 *                since it is not redefined in the program
 	 */
 
-	public void createMethod(JavaClassGenerator classGen) {
+	public void createMethod(JavaClassGenerator classGen, boolean isFinal) {
 		MethodGen methodGen;
-		if (getName().equals("main"))
+		InstructionList il = classGen.generateJavaBytecode(getCode());
+
+		// the body of a memo method is wrapped by a lookup into its cache
+		if (isMemo())
+			il = Memoizer.memoize(this, classGen, il);
+
+		if (getName() == MAIN)
 			methodGen = new MethodGen
 				(Constants.ACC_PUBLIC | Constants.ACC_STATIC, // public and static
 				org.apache.bcel.generic.Type.VOID, // return type
@@ -65,17 +104,17 @@ public class MethodSignature extends CodeSignature {
 				null, // parameters names: we do not care
 				"main", // method's name
 				classGen.getClassName(), // defining class
-				classGen.generateJavaBytecode(getCode()), // bytecode of the method
+				il, // bytecode of the method
 				classGen.getConstantPool()); // constant pool
 		else
 			methodGen = new MethodGen
-				(Constants.ACC_PUBLIC, // public
+				(isFinal ? Constants.ACC_PUBLIC | Constants.ACC_FINAL : Constants.ACC_PUBLIC, // public, possibly final
 				getReturnType().toBCEL(), // return type
 				getParameters().toBCEL(), // parameters types, if any
 				null, // parameters names: we do not care
-				getName(), // method's name
+				getName().toString(), // method's name
 				classGen.getClassName(), // defining class
-				classGen.generateJavaBytecode(getCode()), // bytecode of the method
+				il, // bytecode of the method
 				classGen.getConstantPool()); // constant pool
 
 		// we must always call these methods before the getMethod()
@@ -0,0 +1,115 @@
+package types;
+
+import javaBytecodeGenerator.JavaClassGenerator;
+
+import org.apache.bcel.Constants;
+import org.apache.bcel.generic.INVOKESTATIC;
+import org.apache.bcel.generic.MethodGen;
+
+import symbol.Symbol;
+
+/**
+ * The signature of a synthetic method holding a region of code extracted from
+ * an oversized constructor, method, test or fixture. It is compiled into a
+ * static Java method, whose first parameter stands for the receiver of the
+ * Kitten calls to the method. That receiver is the value of the local variable
+ * 0 of the code, that needs not be an object of the defining class, since
+ * the local variables of the code might have been reused, or {@code nil}.
+ *
+ * @author <A HREF="mailto:fausto.spoto@univr.it">Fausto Spoto</A>
+ */
+
+public class OutlinedMethodSignature extends MethodSignature {
+
+	/**
+	 * The type of the receiver of the calls to this method.
+	 */
+
+	private final Type receiverType;
+
+	/**
+	 * True if and only if this method is called from a test or fixture, hence
+	 * from another class than its defining class.
+	 */
+
+	private final boolean fromTests;
+
+	/**
+	 * Constructs the signature of a synthetic method holding a region of code
+	 * extracted from the given constructor, method, test or fixture.
+	 *
+	 * @param outer the constructor, method, test or fixture whose code is extracted
+	 * @param receiverType the type of the receiver of the calls to this method
+	 * @param returnType the return type of this method
+	 * @param parameters the types of the parameters of this method, besides the receiver
+	 * @param name the name of the method
+	 */
+
+	public OutlinedMethodSignature(CodeSignature outer, Type receiverType, Type returnType, TypeList parameters, Symbol name) {
+		// synthetic methods have no abstract syntax
+		super(outer.getDefiningClass(), returnType, parameters, name, null);
+
+		this.receiverType = receiverType;
+		this.fromTests = outer instanceof TestSignature || outer instanceof FixtureSignature
+			|| (outer instanceof OutlinedMethodSignature && ((OutlinedMethodSignature) outer).fromTests);
+	}
+
+	/**
+	 * Synthetic methods are never {@code memo}: the code they are extracted from is.
+	 *
+	 * @return false
+	 */
+
+	@Override
+	public boolean isMemo() {
+		return false;
+	}
+
+	/**
+	 * Adds to the given class generator a synthetic static Java method for this method.
+	 * It is private, unless it is called from the class generated for the tests.
+	 *
+	 * @param classGen the generator of the class where the method lives
+	 * @param isFinal irrelevant, since the method is static
+	 */
+
+	@Override
+	public void createMethod(JavaClassGenerator classGen, boolean isFinal) {
+		MethodGen methodGen = new MethodGen
+			((fromTests ? Constants.ACC_STATIC : Constants.ACC_PRIVATE | Constants.ACC_STATIC) | Constants.ACC_SYNTHETIC,
+			getReturnType().toBCEL(), // return type
+			getParameters().push(receiverType).toBCEL(), // the receiver is the first parameter
+			null, // parameters names: we do not care
+			getName().toString(), // method's name
+			classGen.getClassName(), // defining class
+			classGen.generateJavaBytecode(getCode()), // bytecode of the method
+			classGen.getConstantPool()); // constant pool
+
+		// we must always call these methods before the getMethod()
+		// method below. They set the number of local variables and stack
+		// elements used by the code of the method
+		methodGen.setMaxStack();
+		methodGen.setMaxLocals();
+
+		// we add a method to the class that we are generating
+		classGen.addMethod(methodGen.getMethod());
+	}
+
+	/**
+	 * Generates an {@code invokestatic} Java bytecode that calls this method.
+	 * The receiver on the stack becomes the first parameter of the call.
+	 *
+	 * @param classGen the class generator to be used to generate
+	 *                 the {@code invokestatic} Java bytecode
+	 * @return an {@code invokestatic} Java bytecode that calls this method
+	 */
+
+	public INVOKESTATIC createINVOKESTATIC(JavaClassGenerator classGen) {
+		return (INVOKESTATIC) classGen.getFactory().createInvoke
+			(getDefiningClass().toBCEL().toString(), // name of the class
+			getName().toString(), // name of the method
+			getReturnType().toBCEL(), // return type
+			getParameters().push(receiverType).toBCEL(), // parameters types, with the receiver first
+			Constants.INVOKESTATIC); // the type of invocation
+	}
+}
@@ -0,0 +1,182 @@
+package types;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+
+/**
+ * A parser that performs, in parallel, the lexical and syntactical analysis
+ * of a class and of all classes transitively referenced from it.
+ * Every class is parsed at most once, even if it is referenced
+ * from many other classes: the first request installs a future for its
+ * parsing in a concurrent registry and all later requests share that future.
+ * Type-checking is not performed here, since it is inherently sequential.
+ *
+ * @author <A HREF="mailto:fausto.spoto@univr.it">Fausto Spoto</A>
+ */
+
+public final class ParallelParser {
+
+	/**
+	 * The executor that runs the parsing tasks.
+	 */
+
+	private final ExecutorService executor;
+
+	/**
+	 * A map from the name of each class whose parsing has been requested
+	 * to the future result of that parsing.
+	 */
+
+	private final ConcurrentMap<String, Future<ParsedClass>> registry = new ConcurrentHashMap<>();
+
+	/**
+	 * Builds a parser that uses the given number of threads.
+	 *
+	 * @param threads the number of threads, at least 1
+	 */
+
+	public ParallelParser(int threads) {
+		if (threads < 1)
+			throw new IllegalArgumentException("the number of parsing threads must be positive");
+
+		this.executor = Executors.newFixedThreadPool(threads);
+	}
+
+	/**
+	 * Requests the parsing of the class with the given name,
+	 * unless it has already been requested before.
+	 *
+	 * @param name the name of the class
+	 */
+
+	private void submit(final String name) {
+		FutureTask<ParsedClass> task = new FutureTask<>(new Callable<ParsedClass>() {
+
+			@Override
+			public ParsedClass call() {
+				ParsedClass parsed = new ParsedClass(name);
+
+				// the referenced classes are requested before this task completes,
+				// so that waiting for this task implies that they are in the registry
+				for (String referenced: parsed.getReferencedClasses())
+					submit(referenced);
+
+				return parsed;
+			}
+		});
+
+		// only the first request for a class actually starts its parsing
+		if (registry.putIfAbsent(name, task) == null)
+			executor.execute(task);
+	}
+
+	/**
+	 * Parses the class with the given name and all classes
+	 * transitively referenced from it, and waits for the end of their parsing.
+	 *
+	 * @param name the name of the class
+	 * @return the number of classes that have been parsed so far
+	 * @throws InterruptedException if the current thread has been interrupted while waiting
+	 */
+
+	public int parseAll(String name) throws InterruptedException {
+		submit(name);
+
+		// once all tasks in the registry are completed, no new task can be added
+		int size;
+		do {
+			size = registry.size();
+			for (Future<ParsedClass> future: new ArrayList<>(registry.values()))
+				get(future);
+		}
+		while (registry.size() != size);
+
+		return size;
+	}
+
+	/**
+	 * Parses the class with the given name and all classes transitively referenced
+	 * from it, one after the other in the current thread. This is the parsing
+	 * performed when the class types are built without parsing in parallel,
+	 * hence it is a baseline for the speedup of this parser.
+	 *
+	 * @param name the name of the class
+	 * @return the number of classes that have been parsed
+	 */
+
+	public static int parseSequentially(String name) {
+		Set<String> requested = new HashSet<>();
+		Deque<String> worklist = new ArrayDeque<>();
+		requested.add(name);
+		worklist.add(name);
+
+		while (!worklist.isEmpty())
+			for (String referenced: new ParsedClass(worklist.pop()).getReferencedClasses())
+				if (requested.add(referenced))
+					worklist.add(referenced);
+
+		return requested.size();
+	}
+
+	/**
+	 * Yields the classes whose parsing has completed, by name.
+	 *
+	 * @return the map from class names to the result of their parsing
+	 */
+
+	Map<String, ParsedClass> getParsedClasses() {
+		Map<String, ParsedClass> result = new HashMap<>();
+
+		for (Map.Entry<String, Future<ParsedClass>> entry: registry.entrySet())
+			if (entry.getValue().isDone())
+				try {
+					result.put(entry.getKey(), get(entry.getValue()));
+				}
+				catch (InterruptedException e) {
+					// impossible, since the future is done
+					Thread.currentThread().interrupt();
+				}
+
+		return result;
+	}
+
+	/**
+	 * Waits for the result of a parsing task.
+	 *
+	 * @param future the future result of the task
+	 * @return the result of the task
+	 * @throws InterruptedException if the current thread has been interrupted while waiting
+	 */
+
+	private static ParsedClass get(Future<ParsedClass> future) throws InterruptedException {
+		try {
+			return future.get();
+		}
+		catch (ExecutionException e) {
+			// parsing errors are already turned into fictitious classes, hence
+			// this is an unexpected failure that must not be hidden
+			throw new IllegalStateException("parsing failed", e.getCause());
+		}
+	}
+
+	/**
+	 * Stops the threads of this parser. No more classes can be parsed afterwards.
+	 */
+
+	public void shutdown() {
+		executor.shutdown();
+	}
+}
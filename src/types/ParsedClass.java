@@ -0,0 +1,130 @@
+package types;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import lexical.Lexer;
+import symbol.Symbol;
+import syntactical.Parser;
+import absyn.ClassDefinition;
+import errorMsg.Diagnostic;
+import errorMsg.Diagnostics;
+import errorMsg.ErrorMsg;
+
+/**
+ * The result of the lexical and syntactical analysis of the source
+ * file of a class. It does not depend on any other class, hence
+ * distinct classes can be parsed in parallel.
+ *
+ * @author <A HREF="mailto:fausto.spoto@univr.it">Fausto Spoto</A>
+ */
+
+final class ParsedClass {
+
+	/**
+	 * The abstract syntax of the class.
+	 */
+
+	private final ClassDefinition abstractSyntax;
+
+	/**
+	 * The utility for issuing errors about the class. This is {@code null}
+	 * if the source file of the class could not be found.
+	 */
+
+	private final ErrorMsg errorMsg;
+
+	/**
+	 * The names of the classes referenced in the source file of the class.
+	 */
+
+	private final Set<String> referencedClasses;
+
+	/**
+	 * The diagnostics issued by the analysis of the class, that have not been reported yet.
+	 */
+
+	private final List<Diagnostic> diagnostics;
+
+	/**
+	 * Performs lexical and syntactical analysis of the class with the given name.
+	 * If the class cannot be found or contains a syntactical error,
+	 * a fictitious class with no fields, no constructors and no methods is used.
+	 *
+	 * @param name the name of the class
+	 */
+
+	ParsedClass(String name) {
+		ErrorMsg errorMsg = null;
+		ClassDefinition abstractSyntax;
+		Set<String> referencedClasses;
+
+		// the diagnostics are reported when the class type is built, since classes might be parsed in parallel
+		Diagnostics.hold();
+
+		try {
+			Parser parser = new Parser(new Lexer(name));
+			errorMsg = parser.getErrorMsg();
+			abstractSyntax = (ClassDefinition) parser.parse().value;
+			referencedClasses = parser.getReferencedClasses();
+		}
+		catch (Exception e) {
+			// there is a syntax error in the class text or the same class
+			// cannot be found on the file system or cannot be type-checked:
+			// we build a fictitious syntax for the class, so that the processing can go on
+			if (name.equals("Object")) {
+				abstractSyntax = new ClassDefinition(0, Symbol.mk(name), null, null);
+				referencedClasses = Collections.emptySet();
+			}
+			else {
+				abstractSyntax = new ClassDefinition(0, Symbol.mk(name), Symbol.mk("Object"), null);
+				referencedClasses = Collections.singleton("Object");
+			}
+		}
+
+		this.diagnostics = Diagnostics.release();
+
+		this.abstractSyntax = abstractSyntax;
+		this.errorMsg = errorMsg;
+		this.referencedClasses = referencedClasses;
+	}
+
+	/**
+	 * Yields the abstract syntax of the class.
+	 *
+	 * @return the abstract syntax
+	 */
+
+	ClassDefinition getAbstractSyntax() {
+		return abstractSyntax;
+	}
+
+	/**
+	 * Yields the utility for issuing errors about the class.
+	 *
+	 * @return the utility, or {@code null} if the source file could not be found
+	 */
+
+	ErrorMsg getErrorMsg() {
+		return errorMsg;
+	}
+
+	/**
+	 * Yields the names of the classes referenced in the source file of the class.
+	 *
+	 * @return the names of the referenced classes
+	 */
+
+	Set<String> getReferencedClasses() {
+		return referencedClasses;
+	}
+
+	/**
+	 * Reports the diagnostics issued by the analysis of the class.
+	 */
+
+	void reportDiagnostics() {
+		Diagnostics.report(diagnostics);
+	}
+}
@@ -8,13 +8,14 @@ import org.apache.bcel.generic.MethodGen;
 
 import bytecode.RETURN;
 import absyn.CodeDeclaration;
+import symbol.Symbol;
 import translation.Block;
 
 public class TestSignature extends CodeSignature {
 	
 	private static Type STRING_TYPE = ClassType.mk(runTime.String.class.getSimpleName());
 
-	public TestSignature(ClassType clazz, String name, CodeDeclaration abstractSyntax) {
+	public TestSignature(ClassType clazz, Symbol name, CodeDeclaration abstractSyntax) {
 		super(clazz, VoidType.INSTANCE, TypeList.EMPTY, name, abstractSyntax);
 	}
 
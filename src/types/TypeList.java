@@ -1,8 +1,13 @@
 package types;
 
+import java.util.HashMap;
+import java.util.Map;
+
 /**
  * A list of stack Kitten types. It is assumed that each type
- * uses as many elements as its size.
+ * uses as many elements as its size. Lists of types are hash-consed:
+ * there is a single list for each sequence of types, hence they can be
+ * compared by identity, and their hash code is computed only once.
  *
  * @author <A HREF="mailto:fausto.spoto@univr.it">Fausto Spoto</A>
  */
@@ -29,7 +34,42 @@ public class TypeList {
 	private final TypeList tail;
 
 	/**
-	 * Builds a list of types.
+	 * The hash code of this list. Unused elements do not contribute to it.
+	 */
+
+	private final int hashCode;
+
+	/**
+	 * The number of elements of this list.
+	 */
+
+	private final int size;
+
+	/**
+	 * True if and only if all elements of this list are unused.
+	 * This is the case of {@link #EMPTY}.
+	 */
+
+	private final boolean allUnused;
+
+	/**
+	 * True if and only if this list ends with some unused elements,
+	 * before {@link #EMPTY}. Such lists are equal to the same lists
+	 * without the trailing unused elements, although they are not the same object.
+	 */
+
+	private final boolean trailingUnused;
+
+	/**
+	 * The lists of types having this list as tail, indexed by their head.
+	 * This is {@code null} until the first extension of this list is built.
+	 */
+
+	private Map<Type, TypeList> extensions;
+
+	/**
+	 * Builds a list of types. It must only be called by {@link #push(Type)},
+	 * in order to guarantee that the list is unique.
 	 *
 	 * @param head the first type in the list
 	 * @param tail the tail of the list
@@ -38,6 +78,39 @@ public class TypeList {
 	private TypeList(Type head, TypeList tail) {
 		this.head = head;
 		this.tail = tail;
+
+		if (tail == null) {
+			// this is the empty list
+			this.hashCode = 0;
+			this.size = 0;
+			this.allUnused = true;
+			this.trailingUnused = false;
+		}
+		else {
+			// the i-th type is shifted i times
+			this.hashCode = (head != UnusedType.INSTANCE ? head.hashCode() : 0) + (tail.hashCode << 1);
+			this.size = tail.size + 1;
+			this.allUnused = head == UnusedType.INSTANCE && tail.allUnused;
+			this.trailingUnused = allUnused || tail.trailingUnused;
+		}
+	}
+
+	/**
+	 * Yields the unique list of types with the given head and with this list as tail.
+	 *
+	 * @param type the head of the list
+	 * @return the unique list of types
+	 */
+
+	private TypeList extend(Type type) {
+		if (extensions == null)
+			extensions = new HashMap<>();
+
+		TypeList result = extensions.get(type);
+		if (result == null)
+			extensions.put(type, result = new TypeList(type, this));
+
+		return result;
 	}
 
 	/**
@@ -89,10 +162,19 @@ public class TypeList {
 
 	@Override
 	public boolean equals(Object other) {
+		if (this == other)
+			return true;
+
 		if (!(other instanceof TypeList))
 			return false;
 
 		TypeList otherTL = (TypeList) other, cursor = this;
+
+		// since lists are hash-consed, distinct lists can only be
+		// equal if they differ for their trailing unused elements
+		if (!cursor.trailingUnused && !otherTL.trailingUnused)
+			return false;
+
 		while (cursor != EMPTY && otherTL != EMPTY)
 			if (cursor.head != otherTL.head)
 				return false;
@@ -112,15 +194,7 @@ public class TypeList {
 
 	@Override
 	public int hashCode() {
-		TypeList cursor = this;
-		Type t;
-		int code = 0;
-
-		for (int i = 0; cursor != EMPTY; cursor = cursor.tail, i++)
-			if ((t = cursor.head) != UnusedType.INSTANCE)
-				code += (t.hashCode() << i);
-
-		return code;
+		return hashCode;
 	}
 
 	/**
@@ -131,11 +205,7 @@ public class TypeList {
 	 */
 
 	public int getSize() {
-		int s = 0;
-		for (TypeList cursor = this; cursor != EMPTY; cursor = cursor.tail)
-			s++;
-
-		return s;
+		return size;
 	}
 
 	/**
@@ -211,7 +281,7 @@ public class TypeList {
 
 		int s = type.getSize();
 		while (s-- > 0)
-			result = new TypeList(type,result);
+			result = result.extend(type);
 
 		return result;
 	}